@@ -47,6 +47,7 @@ import org.jboss.as.cmp.ejbql.ASTNullComparison;
 import org.jboss.as.cmp.ejbql.SimpleNode;
 import org.jboss.as.cmp.jdbc.bridge.CMRMessage;
 import org.jboss.as.cmp.jdbc.metadata.JDBCQueryMetaData;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.logging.Cause;
@@ -1218,4 +1219,10 @@ public interface CmpMessages {
 
     @Message(id = 18895, value = "Instance was already removed: id=%s")
     NoSuchObjectLocalException instanceAlreadyRemovedLocal(Object pk);
+
+    @Message(id = 18896, value = "No CMP entity registered for address %s")
+    String noEntityRegisteredForAddress(PathAddress address);
+
+    @Message(id = 18897, value = "No CMP entity is available for address %s")
+    String noEntityAvailableForAddress(PathAddress address);
 }
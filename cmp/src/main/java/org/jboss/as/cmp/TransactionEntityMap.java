@@ -285,6 +285,8 @@ public class TransactionEntityMap implements Service<TransactionEntityMap> {
                     context.getTxAssociation().invokeEjbStore(currentThread, context);
                 }
 
+                // consecutive instances of the same entity are stored together, so the store manager can batch them
+                final List<CmpEntityBeanContext> group = new ArrayList<CmpEntityBeanContext>();
                 for (CmpEntityBeanContext instance : instances) {
                     // any one can mark the tx rollback at any time so check
                     // before continuing to the next store
@@ -292,8 +294,23 @@ public class TransactionEntityMap implements Service<TransactionEntityMap> {
                         return;
                     }
                     context = instance;
-                    context.getTxAssociation().synchronize(currentThread, tx, context);
+                    if (context.getTxAssociation() == SYNC_SCHEDULED && !context.isRemoved() && context.getPrimaryKey() != null) {
+                        if (!group.isEmpty() && group.get(0).getComponent() != context.getComponent()) {
+                            storeGroup(group);
+                            if (TxUtils.isRollback(tx)) {
+                                return;
+                            }
+                        }
+                        group.add(context);
+                    } else {
+                        storeGroup(group);
+                        if (TxUtils.isRollback(tx)) {
+                            return;
+                        }
+                        context.getTxAssociation().synchronize(currentThread, tx, context);
+                    }
                 }
+                storeGroup(group);
             } catch (Exception causeByException) {
                 // EJB 1.1 section 12.3.2 and EJB 2 section 18.3.3
                 // exception during store must log exception, mark tx for
@@ -319,5 +336,16 @@ public class TransactionEntityMap implements Service<TransactionEntityMap> {
                 synchronizing = false;
             }
         }
+
+        private static void storeGroup(List<CmpEntityBeanContext> group) throws Exception {
+            if (group.isEmpty()) {
+                return;
+            }
+            group.get(0).getComponent().storeEntities(group);
+            for (CmpEntityBeanContext context : group) {
+                context.setTxAssociation(SYNCHRONIZED);
+            }
+            group.clear();
+        }
     }
 }
@@ -24,6 +24,7 @@ package org.jboss.as.cmp.component;
 
 import java.lang.reflect.Method;
 import java.rmi.RemoteException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -157,6 +158,26 @@ public class CmpEntityBeanComponent extends EntityBeanComponent {
         }
     }
 
+    /**
+     * Stores the given instances, in order, letting the store manager write them together.
+     *
+     * @param contexts the instances to store
+     * @throws Exception thrown if some instance could not be stored
+     */
+    public void storeEntities(List<CmpEntityBeanContext> contexts) throws Exception {
+        final List<CmpEntityBeanContext> toStore = new ArrayList<CmpEntityBeanContext>(contexts.size());
+        for (CmpEntityBeanContext ctx : contexts) {
+            if (ctx.getPrimaryKey() != null && getStoreManager().isStoreRequired(ctx)) {
+                toStore.add(ctx);
+            }
+        }
+        if (toStore.size() == 1) {
+            getStoreManager().storeEntity(toStore.get(0));
+        } else if (!toStore.isEmpty()) {
+            getStoreManager().storeEntities(toStore);
+        }
+    }
+
     private void throwRemoteException(Exception e)
             throws RemoteException {
         if (e instanceof RemoteException) {
@@ -25,6 +25,7 @@ package org.jboss.as.cmp.jdbc;
 import java.lang.reflect.Method;
 import java.rmi.RemoteException;
 import java.util.Collection;
+import java.util.List;
 import javax.ejb.RemoveException;
 import javax.sql.DataSource;
 import org.jboss.as.cmp.CmpConfig;
@@ -179,6 +180,16 @@ public interface JDBCEntityPersistenceStore {
     void storeEntity(CmpEntityBeanContext instance)
             throws RemoteException;
 
+    /**
+     * This method is called whenever several instances of this entity have to be synchronized at once, e.g. at the
+     * end of a transaction. The instances must be stored in the given order.
+     *
+     * @param instances the instances to synchronize
+     * @throws RemoteException thrown if some system exception occurs
+     */
+    void storeEntities(List<CmpEntityBeanContext> instances)
+            throws RemoteException;
+
     /**
      * This method is called when an entity shall be passivate. The persistence
      * manager must call the ejbPassivate method on the instance.
@@ -24,6 +24,7 @@ package org.jboss.as.cmp.jdbc;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.ejb.EJBException;
 import javax.sql.DataSource;
 import org.jboss.as.cmp.CmpMessages;
@@ -32,14 +33,20 @@ import org.jboss.as.cmp.jdbc.bridge.JDBCCMRFieldBridge;
 import org.jboss.logging.Logger;
 
 /**
- * Inserts relations into a relation table.
+ * Inserts relations into a relation table. Several relations are inserted with one JDBC batch.
  *
  * @author <a href="mailto:dain@daingroup.com">Dain Sundstrom</a>
  * @author <a href="mailto:alex@jboss.org">Alexey Loubyansky</a>
  * @version $Revision: 81030 $
  */
 public final class JDBCInsertRelationsCommand {
+    /**
+     * The maximum number of relations inserted in one batch
+     */
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final Logger log;
+    private final AtomicLong batches = new AtomicLong();
 
     public JDBCInsertRelationsCommand(JDBCStoreManager manager) {
         this.log = Logger.getLogger(
@@ -48,6 +55,13 @@ public final class JDBCInsertRelationsCommand {
                         manager.getMetaData().getName());
     }
 
+    /**
+     * @return the number of JDBC batches executed to insert relations
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
     public void execute(RelationData relationData) {
         if (relationData.addedRelations.size() == 0) {
             return;
@@ -71,6 +85,8 @@ public final class JDBCInsertRelationsCommand {
             // get a prepared statement
             ps = con.prepareStatement(sql);
 
+            boolean batch = relationData.addedRelations.size() > 1 && con.getMetaData().supportsBatchUpdates();
+            int batchSize = 0;
             Iterator pairs = relationData.addedRelations.iterator();
             while (pairs.hasNext()) {
                 RelationPair pair = (RelationPair) pairs.next();
@@ -78,7 +94,16 @@ public final class JDBCInsertRelationsCommand {
                 // set the parameters
                 setParameters(ps, relationData, pair);
 
-                int rowsAffected = ps.executeUpdate();
+                if (batch) {
+                    ps.addBatch();
+                    if (++batchSize == MAX_BATCH_SIZE || !pairs.hasNext()) {
+                        ps.executeBatch();
+                        batches.incrementAndGet();
+                        batchSize = 0;
+                    }
+                } else {
+                    ps.executeUpdate();
+                }
             }
         } catch (Exception e) {
             throw CmpMessages.MESSAGES.couldNotInsertRelations(cmrField.getQualifiedTableName(), e);
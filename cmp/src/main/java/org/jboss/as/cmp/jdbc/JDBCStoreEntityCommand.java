@@ -23,6 +23,13 @@ package org.jboss.as.cmp.jdbc;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.ejb.EJBException;
 import org.jboss.as.cmp.CmpMessages;
 import org.jboss.as.cmp.context.CmpEntityBeanContext;
@@ -35,6 +42,11 @@ import org.jboss.logging.Logger;
  * JDBCStoreEntityCommand updates the row with the new state.
  * In the event that no field is dirty the command just returns.
  * Note: read-only fields are never considered dirty.
+ * <p/>
+ * When several instances are stored at once, consecutive instances with the same dirty fields and no optimistically
+ * locked fields are updated with one JDBC batch. The UPDATE statements are cached per set of dirty fields.
+ * If the driver does not report the number of rows a batched update affected, the update is repeated on its own to
+ * check that the row still exists, and the later instances are updated one by one with a shared statement.
  *
  * @author <a href="mailto:dain@daingroup.com">Dain Sundstrom</a>
  * @author <a href="mailto:rickard.oberg@telkel.com">Rickard Oberg</a>
@@ -46,22 +58,91 @@ import org.jboss.logging.Logger;
  * @version $Revision: 81030 $
  */
 public final class JDBCStoreEntityCommand {
+    /**
+     * The maximum number of updates sent in one batch
+     */
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final JDBCEntityBridge entity;
     private final JDBCFieldBridge[] primaryKeyFields;
     private final Logger log;
+    private final ConcurrentMap<BitSet, String> updateSql = new ConcurrentHashMap<BitSet, String>();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedUpdates = new AtomicLong();
+    private volatile Boolean batchUpdatesSupported;
 
     public JDBCStoreEntityCommand(JDBCStoreManager manager) {
-        entity = (JDBCEntityBridge) manager.getEntityBridge();
+        this((JDBCEntityBridge) manager.getEntityBridge(), manager.getMetaData().getName());
+    }
+
+    JDBCStoreEntityCommand(JDBCEntityBridge entity, String entityName) {
+        this.entity = entity;
         primaryKeyFields = entity.getPrimaryKeyFields();
 
         // Create the Log
         log = Logger.getLogger(
                 this.getClass().getName() +
                         "." +
-                        manager.getMetaData().getName());
+                        entityName);
+    }
+
+    /**
+     * @return the number of JDBC batches executed to store instances
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    /**
+     * @return the number of instances stored with JDBC batches
+     */
+    public long getBatchedUpdateCount() {
+        return batchedUpdates.get();
     }
 
     public void execute(CmpEntityBeanContext ctx) {
+        JDBCEntityBridge.FieldIterator dirtyIterator = getDirtyIterator(ctx);
+        if (dirtyIterator != null) {
+            execute(ctx, dirtyIterator);
+        }
+    }
+
+    /**
+     * Stores the given instances, in order.
+     *
+     * @param contexts the instances to store
+     */
+    public void execute(List<CmpEntityBeanContext> contexts) {
+        final List<CmpEntityBeanContext> batch = new ArrayList<CmpEntityBeanContext>();
+        final List<JDBCEntityBridge.FieldIterator> batchIterators = new ArrayList<JDBCEntityBridge.FieldIterator>();
+        BitSet batchMask = null;
+        for (CmpEntityBeanContext ctx : contexts) {
+            final JDBCEntityBridge.FieldIterator dirtyIterator = getDirtyIterator(ctx);
+            if (dirtyIterator == null) {
+                continue;
+            }
+            if (entity.hasLockedFields(ctx)) {
+                // the WHERE clause depends on the locked values, so the statement can't be shared
+                executeBatch(batch, batchIterators, batchMask);
+                batchMask = null;
+                execute(ctx, dirtyIterator);
+                continue;
+            }
+            final BitSet mask = getMask(dirtyIterator);
+            if (!mask.equals(batchMask) || batch.size() == MAX_BATCH_SIZE) {
+                executeBatch(batch, batchIterators, batchMask);
+                batchMask = mask;
+            }
+            batch.add(ctx);
+            batchIterators.add(dirtyIterator);
+        }
+        executeBatch(batch, batchIterators, batchMask);
+    }
+
+    /**
+     * @return the dirty fields of the instance, or {@code null} if it does not need to be stored
+     */
+    private JDBCEntityBridge.FieldIterator getDirtyIterator(CmpEntityBeanContext ctx) {
         // scheduled for batch cascade-delete instance should not be updated
         // because foreign key fields could be updated to null and cascade-delete will fail.
         JDBCEntityBridge.FieldIterator dirtyIterator = entity.getDirtyIterator(ctx);
@@ -70,17 +151,14 @@ public final class JDBCStoreEntityCommand {
                 log.trace("Store command NOT executed. Entity is not dirty "
                         + ", is being removed or scheduled for *batch* cascade delete: pk=" + ctx.getPrimaryKey());
             }
-            return;
+            return null;
         }
+        return dirtyIterator;
+    }
 
+    private void execute(CmpEntityBeanContext ctx, JDBCEntityBridge.FieldIterator dirtyIterator) {
         // generate sql
-        StringBuffer sql = new StringBuffer(200);
-        sql.append(SQLUtil.UPDATE)
-                .append(entity.getQualifiedTableName())
-                .append(SQLUtil.SET);
-        SQLUtil.getSetClause(dirtyIterator, sql)
-                .append(SQLUtil.WHERE);
-        SQLUtil.getWhereClause(primaryKeyFields, sql);
+        StringBuffer sql = new StringBuffer(getUpdateSql(getMask(dirtyIterator), dirtyIterator));
 
         boolean hasLockedFields = entity.hasLockedFields(ctx);
         JDBCEntityBridge.FieldIterator lockedIterator = null;
@@ -111,15 +189,8 @@ public final class JDBCStoreEntityCommand {
             con = entity.getDataSource().getConnection();
             ps = con.prepareStatement(sql.toString());
 
-            // SET: set the dirty fields parameters
-            int index = 1;
-            dirtyIterator.reset();
-            while (dirtyIterator.hasNext()) {
-                index = dirtyIterator.next().setInstanceParameters(ps, index, ctx);
-            }
-
-            // WHERE: set primary key fields
-            index = entity.setPrimaryKeyParameters(ps, index, ctx.getPrimaryKey());
+            // SET and WHERE: set the dirty fields and primary key parameters
+            int index = setParameters(ps, ctx, dirtyIterator);
 
             // WHERE: set optimistically locked field values
             if (hasLockedFields) {
@@ -147,10 +218,138 @@ public final class JDBCStoreEntityCommand {
             throw CmpMessages.MESSAGES.updateFailedTooManyRowsAffected(rowsAffected, ctx.getPrimaryKey());
         }
 
+        setClean(ctx, dirtyIterator);
+    }
+
+    /**
+     * Updates the given instances, which all have the same dirty fields and no locked fields, and clears the lists.
+     */
+    private void executeBatch(List<CmpEntityBeanContext> batch, List<JDBCEntityBridge.FieldIterator> dirtyIterators, BitSet mask) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (batch.size() == 1) {
+            execute(batch.get(0), dirtyIterators.get(0));
+            batch.clear();
+            dirtyIterators.clear();
+            return;
+        }
+
+        final String sql = getUpdateSql(mask, dirtyIterators.get(0));
+        Connection con = null;
+        PreparedStatement ps = null;
+        int[] rowsAffected;
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug("Executing SQL for " + batch.size() + " instances: " + sql);
+            }
+
+            con = entity.getDataSource().getConnection();
+            ps = con.prepareStatement(sql);
+            if (isBatchUpdatesSupported(con)) {
+                for (int i = 0; i < batch.size(); ++i) {
+                    setParameters(ps, batch.get(i), dirtyIterators.get(i));
+                    ps.addBatch();
+                }
+                rowsAffected = ps.executeBatch();
+                batches.incrementAndGet();
+                batchedUpdates.addAndGet(batch.size());
+            } else {
+                // at least share the statement
+                rowsAffected = new int[batch.size()];
+                for (int i = 0; i < batch.size(); ++i) {
+                    setParameters(ps, batch.get(i), dirtyIterators.get(i));
+                    rowsAffected[i] = ps.executeUpdate();
+                }
+            }
+        } catch (EJBException e) {
+            throw e;
+        } catch (Exception e) {
+            throw CmpMessages.MESSAGES.storeFailed(e);
+        } finally {
+            JDBCUtil.safeClose(ps);
+            JDBCUtil.safeClose(con);
+        }
+
+        // check results
+        for (int i = 0; i < batch.size(); ++i) {
+            if (rowsAffected[i] != 1 && rowsAffected[i] != Statement.SUCCESS_NO_INFO) {
+                throw CmpMessages.MESSAGES.updateFailedTooManyRowsAffected(rowsAffected[i], batch.get(i).getPrimaryKey());
+            }
+        }
+
+        for (int i = 0; i < batch.size(); ++i) {
+            if (rowsAffected[i] == Statement.SUCCESS_NO_INFO) {
+                // the driver does not tell whether the row was found, so repeat the update on its own to find out,
+                // and don't batch the later updates
+                batchUpdatesSupported = Boolean.FALSE;
+                execute(batch.get(i), dirtyIterators.get(i));
+            } else {
+                setClean(batch.get(i), dirtyIterators.get(i));
+            }
+        }
+        batch.clear();
+        dirtyIterators.clear();
+    }
+
+    private boolean isBatchUpdatesSupported(Connection con) throws java.sql.SQLException {
+        Boolean supported = batchUpdatesSupported;
+        if (supported == null) {
+            supported = con.getMetaData().supportsBatchUpdates();
+            batchUpdatesSupported = supported;
+        }
+        return supported;
+    }
+
+    /**
+     * @return the index of the next parameter
+     */
+    private int setParameters(PreparedStatement ps, CmpEntityBeanContext ctx, JDBCEntityBridge.FieldIterator dirtyIterator) {
+        // SET: set the dirty fields parameters
+        int index = 1;
+        dirtyIterator.reset();
+        while (dirtyIterator.hasNext()) {
+            index = dirtyIterator.next().setInstanceParameters(ps, index, ctx);
+        }
+
+        // WHERE: set primary key fields
+        return entity.setPrimaryKeyParameters(ps, index, ctx.getPrimaryKey());
+    }
+
+    private static void setClean(CmpEntityBeanContext ctx, JDBCEntityBridge.FieldIterator dirtyIterator) {
         // Mark the updated fields as clean.
         dirtyIterator.reset();
         while (dirtyIterator.hasNext()) {
             dirtyIterator.next().setClean(ctx);
         }
     }
+
+    private static BitSet getMask(JDBCEntityBridge.FieldIterator dirtyIterator) {
+        final BitSet mask = new BitSet();
+        dirtyIterator.reset();
+        while (dirtyIterator.hasNext()) {
+            mask.set(dirtyIterator.next().getTableIndex());
+        }
+        return mask;
+    }
+
+    /**
+     * @return the UPDATE statement for the dirty fields, up to and including the primary key part of the WHERE clause
+     */
+    private String getUpdateSql(BitSet mask, JDBCEntityBridge.FieldIterator dirtyIterator) {
+        String sql = updateSql.get(mask);
+        if (sql == null) {
+            StringBuffer buf = new StringBuffer(200);
+            buf.append(SQLUtil.UPDATE)
+                    .append(entity.getQualifiedTableName())
+                    .append(SQLUtil.SET);
+            dirtyIterator.reset();
+            SQLUtil.getSetClause(dirtyIterator, buf)
+                    .append(SQLUtil.WHERE);
+            SQLUtil.getWhereClause(primaryKeyFields, buf);
+            sql = buf.toString();
+            updateSql.putIfAbsent(mask, sql);
+        }
+        return sql;
+    }
 }
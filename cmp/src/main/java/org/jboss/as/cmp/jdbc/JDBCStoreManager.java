@@ -477,6 +477,32 @@ public final class JDBCStoreManager implements JDBCEntityPersistenceStore {
         synchronizeRelationData();
     }
 
+    public void storeEntities(List<CmpEntityBeanContext> instances) {
+        storeEntityCommand.execute(instances);
+        synchronizeRelationData();
+    }
+
+    /**
+     * @return the number of JDBC batches used to store instances of this entity
+     */
+    public long getStoreBatchCount() {
+        return storeEntityCommand.getBatchCount();
+    }
+
+    /**
+     * @return the number of instances of this entity stored with JDBC batches
+     */
+    public long getBatchedStoreCount() {
+        return storeEntityCommand.getBatchedUpdateCount();
+    }
+
+    /**
+     * @return the number of JDBC batches used to insert relations of this entity
+     */
+    public long getRelationBatchCount() {
+        return insertRelationsCommand.getBatchCount();
+    }
+
     private void synchronizeRelationData() {
         final JDBCCMRFieldBridge[] cmrFields = (JDBCCMRFieldBridge[]) entityBridge.getCMRFields();
         for (int i = 0; i < cmrFields.length; ++i) {
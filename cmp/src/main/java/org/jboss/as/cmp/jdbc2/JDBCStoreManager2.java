@@ -270,6 +270,10 @@ public class JDBCStoreManager2 implements JDBCEntityPersistenceStore {
         // scary?
     }
 
+    public void storeEntities(List<CmpEntityBeanContext> instances) {
+        // changes are flushed by the schema, like for storeEntity
+    }
+
     public void passivateEntity(CmpEntityBeanContext ctx) {
         JDBCEntityBridge2.destroyPersistenceContext(ctx);
     }
@@ -0,0 +1,391 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.cmp.jdbc2.schema;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.transaction.Transaction;
+import org.jboss.as.cmp.CmpMessages;
+
+/**
+ * Row cache that lets lookups of different rows proceed concurrently.
+ * <p/>
+ * Rows are kept in a concurrent map and {@link #lock(Object)} only locks the stripe of the given key, so readers of
+ * different rows do not contend on a table-wide monitor the way they do with {@link TableCache}. Eviction is an
+ * approximation of LRU (the CLOCK algorithm): rows are queued in insertion order and every access marks the row as
+ * referenced; when the cache is over capacity, referenced rows at the head of the queue get a second chance and the
+ * first unreferenced, unlocked row is evicted.
+ * <p/>
+ * When a read time-out is set, rows older than the time-out are no longer returned and are evicted on their next
+ * lookup, so the row is read again from the database.
+ */
+public class ConcurrentTableCache implements Cache {
+    private static final int STRIPES = 64;
+
+    private volatile Cache.Listener listener = Cache.Listener.NOOP;
+    private final ConcurrentMap<Object, CachedRow> rowsById;
+    private final Queue<CachedRow> clock = new ConcurrentLinkedQueue<CachedRow>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private volatile int maxCapacity;
+    private final int minCapacity;
+    private final long readTimeOut;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ConcurrentTableCache(int initialCapacity, int maxCapacity) {
+        this(initialCapacity, maxCapacity, -1);
+    }
+
+    /**
+     * @param initialCapacity the initial capacity of the cache
+     * @param maxCapacity     the number of rows above which rows are evicted
+     * @param readTimeOut     how long in milliseconds a cached row is valid, or -1 if it never expires
+     */
+    public ConcurrentTableCache(int initialCapacity, int maxCapacity, long readTimeOut) {
+        this.maxCapacity = maxCapacity;
+        this.minCapacity = initialCapacity;
+        this.readTimeOut = readTimeOut;
+        rowsById = new ConcurrentHashMap<Object, CachedRow>(initialCapacity, 0.75f, STRIPES);
+        for (int i = 0; i < locks.length; ++i) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public void registerListener(Cache.Listener listener) {
+        this.listener = listener;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public void setMaxCapacity(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+        evict();
+    }
+
+    public int getMinCapacity() {
+        return minCapacity;
+    }
+
+    public long getReadTimeOut() {
+        return readTimeOut;
+    }
+
+    /**
+     * @return the number of lookups that found the row in the cache
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of lookups that did not find the row in the cache
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of rows evicted, either because the cache was full or because they were too old
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public void lock() {
+    }
+
+    public void lock(Object key) {
+        final int stripe = getStripe(key);
+        final ReentrantLock lock = locks[stripe];
+        if (!lock.tryLock()) {
+            final long start = System.currentTimeMillis();
+            lock.lock();
+            listener.contention(stripe, System.currentTimeMillis() - start);
+        }
+    }
+
+    public void unlock() {
+    }
+
+    public void unlock(Object key) {
+        final ReentrantLock lock = locks[getStripe(key)];
+        if (!lock.isHeldByCurrentThread()) {
+            throw CmpMessages.MESSAGES.instanceIsLocked();
+        }
+        lock.unlock();
+    }
+
+    public Object[] getFields(Object pk) {
+        Object[] fields;
+        CachedRow row = getValidRow(pk);
+        if (row != null && row.locker == null) {
+            row.referenced = true;
+            fields = new Object[row.fields.length];
+            System.arraycopy(row.fields, 0, fields, 0, fields.length);
+            hits.incrementAndGet();
+            listener.hit(getStripe(pk));
+        } else {
+            fields = null;
+            misses.incrementAndGet();
+            listener.miss(getStripe(pk));
+        }
+        return fields;
+    }
+
+    public Object[] getRelations(Object pk) {
+        Object[] relations;
+        CachedRow row = getValidRow(pk);
+        if (row != null && row.relations != null && row.locker == null) {
+            row.referenced = true;
+            relations = new Object[row.relations.length];
+            System.arraycopy(row.relations, 0, relations, 0, relations.length);
+        } else {
+            relations = null;
+        }
+        return relations;
+    }
+
+    public void put(Transaction tx, Object pk, Object[] fields, Object[] relations) {
+        CachedRow row = rowsById.get(pk);
+        if (row == null) { // the row is not cached
+            Object[] fieldsCopy = new Object[fields.length];
+            System.arraycopy(fields, 0, fieldsCopy, 0, fields.length);
+            row = new CachedRow(pk, fieldsCopy);
+
+            if (relations != null) {
+                Object[] relationsCopy = new Object[relations.length];
+                System.arraycopy(relations, 0, relationsCopy, 0, relations.length);
+                row.relations = relationsCopy;
+            }
+
+            if (rowsById.putIfAbsent(pk, row) == null) {
+                clock.offer(row);
+                size.incrementAndGet();
+            }
+        } else if (row.locker == null || row.locker.equals(tx)) { // the row is cached
+            row.referenced = true;
+            System.arraycopy(fields, 0, row.fields, 0, fields.length);
+
+            if (relations != null) {
+                if (row.relations == null) {
+                    row.relations = new Object[relations.length];
+                }
+                System.arraycopy(relations, 0, row.relations, 0, relations.length);
+            }
+
+            row.lastUpdated = System.currentTimeMillis();
+            row.locker = null;
+        }
+
+        if (size.get() > maxCapacity) {
+            evict();
+        }
+    }
+
+    public void ageOut(long lastUpdated) {
+        for (Iterator<CachedRow> i = rowsById.values().iterator(); i.hasNext(); ) {
+            final CachedRow row = i.next();
+            if (row.lastUpdated < lastUpdated) {
+                tryEvict(row);
+            }
+        }
+    }
+
+    public void remove(Transaction tx, Object pk) {
+        CachedRow row = rowsById.get(pk);
+        if (row == null || row.locker != null && !tx.equals(row.locker)) {
+            if (row == null) {
+                throw CmpMessages.MESSAGES.removeRejected(pk, tx);
+            } else {
+                throw CmpMessages.MESSAGES.removeRejected(pk, tx, row.locker);
+            }
+        }
+
+        if (rowsById.remove(pk, row)) {
+            size.decrementAndGet();
+        }
+        row.locker = null;
+    }
+
+    public boolean contains(Transaction tx, Object pk) {
+        CachedRow row = getValidRow(pk);
+        return row != null && (row.locker == null || tx.equals(row.locker));
+    }
+
+    public void lockForUpdate(Transaction tx, Object pk) throws Exception {
+        CachedRow row = rowsById.get(pk);
+        if (row != null) {
+            if (row.locker != null && !tx.equals(row.locker)) {
+                throw CmpMessages.MESSAGES.lockAcquisitionRejected(tx, row.locker, pk);
+            }
+            row.locker = tx;
+        }
+    }
+
+    public void releaseLock(Transaction tx, Object pk) throws Exception {
+        CachedRow row = rowsById.get(pk);
+        if (row != null) {
+            if (!tx.equals(row.locker)) {
+                throw CmpMessages.MESSAGES.lockReleaseRejected(tx, row.locker, pk);
+            }
+            row.locker = null;
+        }
+    }
+
+    public void flush() {
+        evictionLock.lock();
+        try {
+            for (Iterator<CachedRow> i = rowsById.values().iterator(); i.hasNext(); ) {
+                i.next();
+                i.remove();
+                size.decrementAndGet();
+            }
+            clock.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public String toString() {
+        StringBuffer buf = new StringBuffer();
+        buf.append('[');
+        for (CachedRow row : rowsById.values()) {
+            buf.append('(')
+                    .append(row.pk)
+                    .append('|');
+
+            for (int i = 0; i < row.fields.length; ++i) {
+                if (i > 0) {
+                    buf.append(',');
+                }
+
+                buf.append(row.fields[i]);
+            }
+
+            buf.append(')');
+        }
+        buf.append(']');
+        return buf.toString();
+    }
+
+    // Private
+
+    /**
+     * Returns the cached row unless it is older than the read time-out, in which case it is evicted.
+     */
+    private CachedRow getValidRow(Object pk) {
+        CachedRow row = rowsById.get(pk);
+        if (row != null && readTimeOut >= 0 && System.currentTimeMillis() - row.lastUpdated > readTimeOut) {
+            tryEvict(row);
+            row = null;
+        }
+        return row;
+    }
+
+    /**
+     * Evicts rows until the cache is back to its maximum capacity. Only one thread evicts at a time; the others
+     * carry on, since the evicting thread works on their behalf.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            // every row gets at most one second chance, so this ends even if all the rows are locked
+            int remaining = 2 * size.get();
+            CachedRow row;
+            while (size.get() > maxCapacity && remaining-- > 0 && (row = clock.poll()) != null) {
+                if (rowsById.get(row.pk) != row) {
+                    // removed or replaced since it was queued
+                    continue;
+                }
+                if (row.referenced || row.locker != null || !tryEvict(row)) {
+                    row.referenced = false;
+                    clock.offer(row);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Evicts the row unless it is locked, either for update or by a thread working on its key.
+     *
+     * @return {@code true} if the row was evicted
+     */
+    private boolean tryEvict(CachedRow row) {
+        final ReentrantLock lock = locks[getStripe(row.pk)];
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            if (row.locker == null && rowsById.remove(row.pk, row)) {
+                final int newSize = size.decrementAndGet();
+                evictions.incrementAndGet();
+                listener.eviction(getStripe(row.pk), row.pk, newSize);
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int getStripe(Object key) {
+        int hash = key.hashCode();
+        // spread the bits, keys are often sequential numbers
+        hash ^= (hash >>> 20) ^ (hash >>> 12);
+        hash ^= (hash >>> 7) ^ (hash >>> 4);
+        return hash & (STRIPES - 1);
+    }
+
+    private static class CachedRow {
+        final Object pk;
+        final Object[] fields;
+        volatile Object[] relations;
+        volatile Transaction locker;
+        volatile boolean referenced;
+        volatile long lastUpdated = System.currentTimeMillis();
+
+        CachedRow(Object pk, Object[] fields) {
+            this.pk = pk;
+            this.fields = fields;
+        }
+    }
+}
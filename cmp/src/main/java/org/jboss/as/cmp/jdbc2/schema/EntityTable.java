@@ -131,7 +131,9 @@ public class EntityTable implements Table {
         batchCommitStrategy = null;
         invalidable = false;
 
-        cache = Cache.NONE;
+        // only the rows of read-only entities, i.e. reference data this server never writes, are cached across
+        // transactions, and for no longer than their read-time-out when one is set
+        cache = metadata.isReadOnly() ? new ConcurrentTableCache(minCapacity, maxCapacity, metadata.getReadTimeOut()) : Cache.NONE;
 
         if (batchCommitStrategy == null) {
             insertStrategy = NON_BATCH_UPDATE;
@@ -286,6 +288,10 @@ public class EntityTable implements Table {
         return fkc;
     }
 
+    public Cache getCache() {
+        return cache;
+    }
+
     public DataSource getDataSource() {
         return dataSource;
     }
@@ -23,11 +23,14 @@
 package org.jboss.as.cmp.processors;
 
 import org.jboss.as.cmp.jdbc.metadata.JDBCApplicationMetaData;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.server.deployment.AttachmentKey;
+import org.jboss.as.server.deployment.AttachmentList;
 
 /**
  * @author John Bailey
  */
 public class Attachments {
     static AttachmentKey<JDBCApplicationMetaData> JDBC_APPLICATION_KEY = AttachmentKey.create(JDBCApplicationMetaData.class);
+    static AttachmentKey<AttachmentList<PathAddress>> MANAGED_ENTITIES = AttachmentKey.createList(PathAddress.class);
 }
@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.cmp.processors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.cmp.component.CmpEntityBeanComponentDescription;
+import org.jboss.as.cmp.subsystem.CmpEntityRuntimeHandler;
+import org.jboss.as.cmp.subsystem.CmpExtension;
+import org.jboss.as.cmp.subsystem.CmpSubsystemModel;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.ee.component.ComponentConfiguration;
+import org.jboss.as.ee.component.EEModuleConfiguration;
+import org.jboss.as.server.deployment.DeploymentPhaseContext;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
+import org.jboss.as.server.deployment.DeploymentUnitProcessor;
+
+import static org.jboss.as.ee.component.Attachments.EE_MODULE_CONFIGURATION;
+
+/**
+ * Adds the management resources exposing the runtime metrics of the CMP entities of a deployment.
+ */
+public class CmpManagementDeploymentUnitProcessor implements DeploymentUnitProcessor {
+
+    public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
+        final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
+        final EEModuleConfiguration moduleConfiguration = deploymentUnit.getAttachment(EE_MODULE_CONFIGURATION);
+        if (moduleConfiguration == null) {
+            return;
+        }
+        if (deploymentUnit.getParent() != null && deploymentUnit.getParent().getParent() != null) {
+            // management resources are only exposed 2 levels deep
+            return;
+        }
+
+        for (final ComponentConfiguration configuration : moduleConfiguration.getComponentConfigurations()) {
+            if (configuration.getComponentDescription() instanceof CmpEntityBeanComponentDescription) {
+                final PathAddress address = getEntityAddress(configuration, deploymentUnit);
+                CmpEntityRuntimeHandler.INSTANCE.registerEntity(address, configuration.getComponentDescription().getStartServiceName());
+                deploymentUnit.addToAttachmentList(Attachments.MANAGED_ENTITIES, address);
+                deploymentUnit.createDeploymentSubModel(CmpExtension.SUBSYSTEM_NAME, address.getLastElement());
+            }
+        }
+    }
+
+    public void undeploy(DeploymentUnit deploymentUnit) {
+        for (final PathAddress address : deploymentUnit.getAttachmentList(Attachments.MANAGED_ENTITIES)) {
+            CmpEntityRuntimeHandler.INSTANCE.unregisterEntity(address);
+        }
+        deploymentUnit.removeAttachment(Attachments.MANAGED_ENTITIES);
+    }
+
+    private static PathAddress getEntityAddress(ComponentConfiguration configuration, DeploymentUnit deploymentUnit) {
+        final List<PathElement> elements = new ArrayList<PathElement>();
+        if (deploymentUnit.getParent() == null) {
+            elements.add(PathElement.pathElement(ModelDescriptionConstants.DEPLOYMENT, deploymentUnit.getName()));
+        } else {
+            elements.add(PathElement.pathElement(ModelDescriptionConstants.DEPLOYMENT, deploymentUnit.getParent().getName()));
+            elements.add(PathElement.pathElement(ModelDescriptionConstants.SUBDEPLOYMENT, deploymentUnit.getName()));
+        }
+        elements.add(PathElement.pathElement(ModelDescriptionConstants.SUBSYSTEM, CmpExtension.SUBSYSTEM_NAME));
+        elements.add(PathElement.pathElement(CmpSubsystemModel.ENTITY, configuration.getComponentName()));
+        return PathAddress.pathAddress(elements);
+    }
+}
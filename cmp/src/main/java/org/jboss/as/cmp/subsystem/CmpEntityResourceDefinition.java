@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.cmp.subsystem;
+
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Resource definition for the runtime metrics of a deployed CMP entity.
+ */
+public class CmpEntityResourceDefinition extends SimpleResourceDefinition {
+
+    public static final SimpleAttributeDefinition STORE_BATCH_COUNT = new SimpleAttributeDefinitionBuilder(CmpSubsystemModel.STORE_BATCH_COUNT, ModelType.LONG, false)
+            .setDefaultValue(new ModelNode(0L))
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition BATCHED_STORE_COUNT = new SimpleAttributeDefinitionBuilder(CmpSubsystemModel.BATCHED_STORE_COUNT, ModelType.LONG, false)
+            .setDefaultValue(new ModelNode(0L))
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition RELATION_BATCH_COUNT = new SimpleAttributeDefinitionBuilder(CmpSubsystemModel.RELATION_BATCH_COUNT, ModelType.LONG, false)
+            .setDefaultValue(new ModelNode(0L))
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition CACHE_HIT_COUNT = new SimpleAttributeDefinitionBuilder(CmpSubsystemModel.CACHE_HIT_COUNT, ModelType.LONG, false)
+            .setDefaultValue(new ModelNode(0L))
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition CACHE_MISS_COUNT = new SimpleAttributeDefinitionBuilder(CmpSubsystemModel.CACHE_MISS_COUNT, ModelType.LONG, false)
+            .setDefaultValue(new ModelNode(0L))
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition CACHE_EVICTION_COUNT = new SimpleAttributeDefinitionBuilder(CmpSubsystemModel.CACHE_EVICTION_COUNT, ModelType.LONG, false)
+            .setDefaultValue(new ModelNode(0L))
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition[] METRICS = {STORE_BATCH_COUNT, BATCHED_STORE_COUNT, RELATION_BATCH_COUNT,
+            CACHE_HIT_COUNT, CACHE_MISS_COUNT, CACHE_EVICTION_COUNT};
+
+    public static final CmpEntityResourceDefinition INSTANCE = new CmpEntityResourceDefinition();
+
+    private CmpEntityResourceDefinition() {
+        super(CmpSubsystemModel.ENTITY_PATH, CmpExtension.getResourceDescriptionResolver("deployed." + CmpSubsystemModel.ENTITY));
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        for (SimpleAttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, CmpEntityRuntimeHandler.INSTANCE);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.cmp.subsystem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.cmp.component.CmpEntityBeanComponent;
+import org.jboss.as.cmp.jdbc.JDBCEntityPersistenceStore;
+import org.jboss.as.cmp.jdbc.JDBCStoreManager;
+import org.jboss.as.cmp.jdbc2.JDBCStoreManager2;
+import org.jboss.as.cmp.jdbc2.bridge.JDBCEntityBridge2;
+import org.jboss.as.cmp.jdbc2.schema.Cache;
+import org.jboss.as.cmp.jdbc2.schema.ConcurrentTableCache;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+import static org.jboss.as.cmp.CmpMessages.MESSAGES;
+
+/**
+ * Reads the metrics of a deployed CMP entity from its store manager or, for jdbc2 entities, from its row cache.
+ */
+public class CmpEntityRuntimeHandler extends AbstractRuntimeOnlyHandler {
+
+    public static final CmpEntityRuntimeHandler INSTANCE = new CmpEntityRuntimeHandler();
+
+    private final Map<PathAddress, ServiceName> entities = Collections.synchronizedMap(new HashMap<PathAddress, ServiceName>());
+
+    private CmpEntityRuntimeHandler() {
+    }
+
+    /**
+     * Registers the entity whose metrics are exposed at the given address.
+     *
+     * @param address     the address of the entity resource, starting with the deployment
+     * @param serviceName the name of the start service of the entity component
+     */
+    public void registerEntity(final PathAddress address, final ServiceName serviceName) {
+        entities.put(address, serviceName);
+    }
+
+    public void unregisterEntity(final PathAddress address) {
+        entities.remove(address);
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final PathAddress address = PathAddress.pathAddress(operation.require(ModelDescriptionConstants.OP_ADDR));
+        final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+        final JDBCEntityPersistenceStore store = getComponent(context, address).getStoreManager();
+        long value = 0L;
+        if (store instanceof JDBCStoreManager) {
+            final JDBCStoreManager storeManager = (JDBCStoreManager) store;
+            if (CmpSubsystemModel.STORE_BATCH_COUNT.equals(attributeName)) {
+                value = storeManager.getStoreBatchCount();
+            } else if (CmpSubsystemModel.BATCHED_STORE_COUNT.equals(attributeName)) {
+                value = storeManager.getBatchedStoreCount();
+            } else if (CmpSubsystemModel.RELATION_BATCH_COUNT.equals(attributeName)) {
+                value = storeManager.getRelationBatchCount();
+            }
+        } else if (store instanceof JDBCStoreManager2) {
+            // only the rows of read-only entities are cached
+            final Cache cache = ((JDBCEntityBridge2) store.getEntityBridge()).getTable().getCache();
+            if (cache instanceof ConcurrentTableCache) {
+                final ConcurrentTableCache tableCache = (ConcurrentTableCache) cache;
+                if (CmpSubsystemModel.CACHE_HIT_COUNT.equals(attributeName)) {
+                    value = tableCache.getHitCount();
+                } else if (CmpSubsystemModel.CACHE_MISS_COUNT.equals(attributeName)) {
+                    value = tableCache.getMissCount();
+                } else if (CmpSubsystemModel.CACHE_EVICTION_COUNT.equals(attributeName)) {
+                    value = tableCache.getEvictionCount();
+                }
+            }
+        }
+        context.getResult().set(value);
+        context.completeStep();
+    }
+
+    private CmpEntityBeanComponent getComponent(final OperationContext context, final PathAddress operationAddress) throws OperationFailedException {
+        // the entities are registered relative to the deployment
+        final List<PathElement> relativeAddress = new ArrayList<PathElement>();
+        for (int i = operationAddress.size() - 1; i >= 0; i--) {
+            final PathElement pe = operationAddress.getElement(i);
+            relativeAddress.add(0, pe);
+            if (ModelDescriptionConstants.DEPLOYMENT.equals(pe.getKey())) {
+                break;
+            }
+        }
+        final ServiceName serviceName = entities.get(PathAddress.pathAddress(relativeAddress));
+        if (serviceName == null) {
+            throw new OperationFailedException(new ModelNode().set(MESSAGES.noEntityRegisteredForAddress(operationAddress)));
+        }
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(serviceName);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            throw new OperationFailedException(new ModelNode().set(MESSAGES.noEntityAvailableForAddress(operationAddress)));
+        }
+        return (CmpEntityBeanComponent) controller.getValue();
+    }
+}
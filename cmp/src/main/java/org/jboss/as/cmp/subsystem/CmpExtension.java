@@ -24,6 +24,8 @@ package org.jboss.as.cmp.subsystem;
 
 import org.jboss.as.controller.Extension;
 import org.jboss.as.controller.ExtensionContext;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.SubsystemRegistration;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.descriptions.StandardResourceDescriptionResolver;
@@ -33,6 +35,7 @@ import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIBE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
 
 /**
  * @author John Bailey
@@ -53,6 +56,12 @@ public class CmpExtension implements Extension {
         subsystemRegistration.registerSubModel(UUIDKeyGeneratorResourceDescription.INSTANCE);
 
         subsystemRegistration.registerSubModel(HiLoKeyGeneratorResourceDescription.INSTANCE);
+
+        if (context.isRuntimeOnlyRegistrationValid()) {
+            final ManagementResourceRegistration deploymentsRegistration = subsystem.registerDeploymentModel(
+                    new SimpleResourceDefinition(PathElement.pathElement(SUBSYSTEM, SUBSYSTEM_NAME), getResourceDescriptionResolver("deployed")));
+            deploymentsRegistration.registerSubModel(CmpEntityResourceDefinition.INSTANCE);
+        }
     }
 
     public void initializeParsers(final ExtensionParsingContext context) {
@@ -29,6 +29,7 @@ import org.jboss.as.cmp.keygenerator.KeyGeneratorFactoryRegistry;
 import org.jboss.as.cmp.processors.CmpDependencyProcessor;
 import org.jboss.as.cmp.processors.CmpEntityBeanComponentDescriptionFactory;
 import org.jboss.as.cmp.processors.CmpEntityMetaDataProcessor;
+import org.jboss.as.cmp.processors.CmpManagementDeploymentUnitProcessor;
 import org.jboss.as.cmp.processors.CmpParsingProcessor;
 import org.jboss.as.cmp.processors.CmpStoreManagerProcessor;
 import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
@@ -69,6 +70,7 @@ public class CmpSubsystemAdd extends AbstractBoottimeAddStepHandler {
                     processorTarget.addDeploymentProcessor(Phase.POST_MODULE, Phase.POST_MODULE_CMP_PARSE, new CmpParsingProcessor());
                     processorTarget.addDeploymentProcessor(Phase.POST_MODULE, Phase.POST_MODULE_CMP_ENTITY_METADATA, new CmpEntityMetaDataProcessor(CmpEntityBeanComponentDescription.class));
                     processorTarget.addDeploymentProcessor(Phase.POST_MODULE, Phase.POST_MODULE_CMP_STORE_MANAGER, new CmpStoreManagerProcessor());
+                    processorTarget.addDeploymentProcessor(Phase.INSTALL, Phase.INSTALL_CMP_MANAGEMENT_RESOURCES, new CmpManagementDeploymentUnitProcessor());
                 }
             }
         }, OperationContext.Stage.RUNTIME);
@@ -30,6 +30,7 @@ import org.jboss.as.controller.PathElement;
 public class CmpSubsystemModel {
     public static String HILO_KEY_GENERATOR = "hilo-keygenerator";
     public static String UUID_KEY_GENERATOR = "uuid-keygenerator";
+    public static String ENTITY = "entity";
 
     public static String BLOCK_SIZE = "block-size";
     public static String CREATE_TABLE = "create-table";
@@ -42,7 +43,15 @@ public class CmpSubsystemModel {
     public static String SEQUENCE_NAME = "sequence-name";
     public static String TABLE_NAME = "table-name";
 
+    public static String BATCHED_STORE_COUNT = "batched-store-count";
+    public static String CACHE_EVICTION_COUNT = "cache-eviction-count";
+    public static String CACHE_HIT_COUNT = "cache-hit-count";
+    public static String CACHE_MISS_COUNT = "cache-miss-count";
+    public static String RELATION_BATCH_COUNT = "relation-batch-count";
+    public static String STORE_BATCH_COUNT = "store-batch-count";
+
     public static final PathElement HILO_KEY_GENERATOR_PATH =  PathElement.pathElement(HILO_KEY_GENERATOR);
     public static final PathElement UUID_KEY_GENERATOR_PATH =  PathElement.pathElement(UUID_KEY_GENERATOR);
+    public static final PathElement ENTITY_PATH =  PathElement.pathElement(ENTITY);
 
 }
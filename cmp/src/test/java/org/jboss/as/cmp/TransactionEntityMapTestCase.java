@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.cmp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.ejb.EJBException;
+import javax.transaction.Status;
+import javax.transaction.Transaction;
+
+import org.jboss.as.cmp.component.CmpEntityBeanComponent;
+import org.jboss.as.cmp.context.CmpEntityBeanContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the synchronization of the instances associated with a transaction.
+ */
+public class TransactionEntityMapTestCase {
+
+    private Transaction tx;
+    private CmpEntityBeanComponent orders;
+    private CmpEntityBeanComponent customers;
+    private List<List<CmpEntityBeanContext>> stored;
+
+    @Before
+    public void setUp() throws Exception {
+        tx = mock(Transaction.class);
+        when(tx.getStatus()).thenReturn(Status.STATUS_ACTIVE);
+        stored = new ArrayList<List<CmpEntityBeanContext>>();
+        orders = component();
+        customers = component();
+    }
+
+    @Test
+    public void testConsecutiveInstancesOfSameEntityAreStoredTogether() throws Exception {
+        final CmpEntityBeanContext order1 = instance(orders, "o1");
+        final CmpEntityBeanContext order2 = instance(orders, "o2");
+        final CmpEntityBeanContext customer = instance(customers, "c1");
+        final CmpEntityBeanContext order3 = instance(orders, "o3");
+        final TransactionEntityMap.GlobalTxSynchronization sync = synchronization(order1, order2, customer, order3);
+
+        sync.synchronize();
+
+        assertEquals(Arrays.asList(Arrays.asList(order1, order2), Arrays.asList(customer), Arrays.asList(order3)), stored);
+        for (CmpEntityBeanContext ctx : Arrays.asList(order1, order2, customer, order3)) {
+            verify(ctx.getComponent()).invokeEjbStore(ctx);
+            verify(ctx).setTxAssociation(TransactionEntityMap.SYNCHRONIZED);
+        }
+        verify(tx, never()).setRollbackOnly();
+    }
+
+    @Test
+    public void testFailedBatchMarksRollback() throws Exception {
+        final CmpEntityBeanContext order1 = instance(orders, "o1");
+        final CmpEntityBeanContext order2 = instance(orders, "o2");
+        final CmpEntityBeanContext customer = instance(customers, "c1");
+        final TransactionEntityMap.GlobalTxSynchronization sync = synchronization(order1, order2, customer);
+        final EJBException failure = new EJBException("Update failed");
+        doThrow(failure).when(orders).storeEntities(anyListOf(CmpEntityBeanContext.class));
+
+        try {
+            sync.synchronize();
+            fail("the store failure must be rethrown");
+        } catch (EJBException e) {
+            assertEquals(failure, e);
+        }
+        verify(tx).setRollbackOnly();
+        verify(customers, never()).storeEntities(anyListOf(CmpEntityBeanContext.class));
+        verify(order1, never()).setTxAssociation(TransactionEntityMap.SYNCHRONIZED);
+        verify(order2, never()).setTxAssociation(TransactionEntityMap.SYNCHRONIZED);
+    }
+
+    private TransactionEntityMap.GlobalTxSynchronization synchronization(final CmpEntityBeanContext... instances) {
+        final TransactionEntityMap.GlobalTxSynchronization sync = new TransactionEntityMap.GlobalTxSynchronization(tx);
+        for (CmpEntityBeanContext instance : instances) {
+            sync.associate(instance);
+        }
+        return sync;
+    }
+
+    private CmpEntityBeanComponent component() throws Exception {
+        final CmpEntityBeanComponent component = mock(CmpEntityBeanComponent.class);
+        doAnswer(new Answer<Void>() {
+            @SuppressWarnings("unchecked")
+            public Void answer(InvocationOnMock invocation) {
+                // the list is reused for the next group, so keep a copy
+                stored.add(new ArrayList<CmpEntityBeanContext>((List<CmpEntityBeanContext>) invocation.getArguments()[0]));
+                return null;
+            }
+        }).when(component).storeEntities(anyListOf(CmpEntityBeanContext.class));
+        return component;
+    }
+
+    private static CmpEntityBeanContext instance(final CmpEntityBeanComponent component, final Object primaryKey) {
+        final CmpEntityBeanContext ctx = mock(CmpEntityBeanContext.class);
+        when(ctx.getComponent()).thenReturn(component);
+        when(ctx.getPrimaryKey()).thenReturn(primaryKey);
+        when(ctx.getTxAssociation()).thenReturn(TransactionEntityMap.SYNC_SCHEDULED);
+        return ctx;
+    }
+}
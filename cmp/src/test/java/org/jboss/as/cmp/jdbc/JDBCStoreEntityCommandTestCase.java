@@ -0,0 +1,297 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.cmp.jdbc;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.ejb.EJBException;
+import javax.sql.DataSource;
+
+import org.jboss.as.cmp.context.CmpEntityBeanContext;
+import org.jboss.as.cmp.jdbc.bridge.JDBCCMPFieldBridge;
+import org.jboss.as.cmp.jdbc.bridge.JDBCEntityBridge;
+import org.jboss.as.cmp.jdbc.bridge.JDBCFieldBridge;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the batched updates of {@link JDBCStoreEntityCommand}.
+ */
+public class JDBCStoreEntityCommandTestCase {
+
+    private static final String UPDATE_A = "UPDATE T SET A=? WHERE ID=?";
+    private static final String UPDATE_AB = "UPDATE T SET A=?, B=? WHERE ID=?";
+    private static final String UPDATE_A_LOCKED = "UPDATE T SET A=? WHERE ID=? AND V=?";
+
+    private JDBCEntityBridge entity;
+    private Connection connection;
+    private DatabaseMetaData metaData;
+    private PreparedStatement statement;
+    private JDBCCMPFieldBridge fieldA;
+    private JDBCCMPFieldBridge fieldB;
+    private JDBCCMPFieldBridge versionField;
+    private JDBCStoreEntityCommand command;
+
+    @Before
+    public void setUp() throws Exception {
+        entity = mock(JDBCEntityBridge.class);
+        final JDBCFieldBridge idField = mock(JDBCFieldBridge.class);
+        final JDBCType idType = type("ID");
+        when(idField.getJDBCType()).thenReturn(idType);
+        when(entity.getPrimaryKeyFields()).thenReturn(new JDBCFieldBridge[]{idField});
+        when(entity.getQualifiedTableName()).thenReturn("T");
+        when(entity.setPrimaryKeyParameters(any(PreparedStatement.class), anyInt(), any())).thenAnswer(NEXT_INDEX);
+
+        fieldA = field("A", 0);
+        fieldB = field("B", 1);
+        versionField = field("V", 2);
+        when(versionField.getLockedValue(any(CmpEntityBeanContext.class))).thenReturn(1L);
+        when(versionField.setArgumentParameters(any(PreparedStatement.class), anyInt(), any())).thenAnswer(NEXT_INDEX);
+
+        final DataSource dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        metaData = mock(DatabaseMetaData.class);
+        statement = mock(PreparedStatement.class);
+        when(entity.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.supportsBatchUpdates()).thenReturn(true);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeUpdate()).thenReturn(1);
+
+        command = new JDBCStoreEntityCommand(entity, "T");
+    }
+
+    @Test
+    public void testConsecutiveInstancesWithSameDirtyFieldsAreBatchedInOrder() throws Exception {
+        final CmpEntityBeanContext first = instance("1", false, fieldA);
+        final CmpEntityBeanContext second = instance("2", false, fieldA);
+        final CmpEntityBeanContext third = instance("3", false, fieldA, fieldB);
+        final CmpEntityBeanContext fourth = instance("4", false, fieldA, fieldB);
+        final CmpEntityBeanContext fifth = instance("5", false, fieldA);
+        when(statement.executeBatch()).thenReturn(new int[]{1, 1});
+
+        command.execute(Arrays.asList(first, second, third, fourth, fifth));
+
+        assertEquals(Arrays.asList(UPDATE_A, UPDATE_AB, UPDATE_A), preparedSql());
+        final InOrder order = inOrder(entity, statement);
+        order.verify(entity).setPrimaryKeyParameters(same(statement), eq(2), eq("1"));
+        order.verify(entity).setPrimaryKeyParameters(same(statement), eq(2), eq("2"));
+        order.verify(statement).executeBatch();
+        order.verify(entity).setPrimaryKeyParameters(same(statement), eq(3), eq("3"));
+        order.verify(entity).setPrimaryKeyParameters(same(statement), eq(3), eq("4"));
+        order.verify(statement).executeBatch();
+        order.verify(entity).setPrimaryKeyParameters(same(statement), eq(2), eq("5"));
+        order.verify(statement).executeUpdate();
+        assertEquals(2, command.getBatchCount());
+        assertEquals(4, command.getBatchedUpdateCount());
+        for (CmpEntityBeanContext ctx : Arrays.asList(first, second, third, fourth, fifth)) {
+            verify(fieldA).setClean(ctx);
+        }
+        verify(fieldB).setClean(third);
+        verify(fieldB).setClean(fourth);
+    }
+
+    @Test
+    public void testInstancesWithLockedFieldsAreUpdatedOneByOne() throws Exception {
+        final CmpEntityBeanContext first = instance("1", false, fieldA);
+        final CmpEntityBeanContext second = instance("2", true, fieldA);
+        final CmpEntityBeanContext third = instance("3", false, fieldA);
+        final CmpEntityBeanContext fourth = instance("4", false, fieldA);
+        when(statement.executeBatch()).thenReturn(new int[]{1, 1});
+
+        command.execute(Arrays.asList(first, second, third, fourth));
+
+        assertEquals(Arrays.asList(UPDATE_A, UPDATE_A_LOCKED, UPDATE_A), preparedSql());
+        final InOrder order = inOrder(entity, statement, versionField);
+        order.verify(entity).setPrimaryKeyParameters(same(statement), eq(2), eq("1"));
+        order.verify(statement).executeUpdate();
+        order.verify(entity).setPrimaryKeyParameters(same(statement), eq(2), eq("2"));
+        order.verify(versionField).setArgumentParameters(statement, 3, 1L);
+        order.verify(statement).executeUpdate();
+        order.verify(entity).setPrimaryKeyParameters(same(statement), eq(2), eq("3"));
+        order.verify(entity).setPrimaryKeyParameters(same(statement), eq(2), eq("4"));
+        order.verify(statement).executeBatch();
+        assertEquals(1, command.getBatchCount());
+        assertEquals(2, command.getBatchedUpdateCount());
+    }
+
+    @Test
+    public void testMissingRowInBatchFails() throws Exception {
+        final CmpEntityBeanContext first = instance("1", false, fieldA);
+        final CmpEntityBeanContext second = instance("2", false, fieldA);
+        when(statement.executeBatch()).thenReturn(new int[]{1, 0});
+
+        try {
+            command.execute(Arrays.asList(first, second));
+            fail("the update of a missing row must fail");
+        } catch (EJBException expected) {
+            // expected
+        }
+        verify(fieldA, never()).setClean(any(CmpEntityBeanContext.class));
+    }
+
+    @Test
+    public void testUnknownRowCountsAreCheckedWithSingleUpdates() throws Exception {
+        final CmpEntityBeanContext first = instance("1", false, fieldA);
+        final CmpEntityBeanContext second = instance("2", false, fieldA);
+        final CmpEntityBeanContext third = instance("3", false, fieldA);
+        final CmpEntityBeanContext fourth = instance("4", false, fieldA);
+        when(statement.executeBatch()).thenReturn(new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+
+        command.execute(Arrays.asList(first, second));
+
+        verify(statement, times(1)).executeBatch();
+        verify(statement, times(2)).executeUpdate();
+        verify(fieldA).setClean(first);
+        verify(fieldA).setClean(second);
+
+        // the driver can't tell whether a batched update found its row, so later instances aren't batched
+        when(statement.executeUpdate()).thenReturn(1, 0);
+        try {
+            command.execute(Arrays.asList(third, fourth));
+            fail("the update of a missing row must fail");
+        } catch (EJBException expected) {
+            // expected
+        }
+        verify(statement, times(1)).executeBatch();
+        verify(fieldA, never()).setClean(fourth);
+        assertEquals(1, command.getBatchCount());
+    }
+
+    @Test
+    public void testUnknownRowCountOfMissingRowFails() throws Exception {
+        final CmpEntityBeanContext first = instance("1", false, fieldA);
+        final CmpEntityBeanContext second = instance("2", false, fieldA);
+        when(statement.executeBatch()).thenReturn(new int[]{1, Statement.SUCCESS_NO_INFO});
+        when(statement.executeUpdate()).thenReturn(0);
+
+        try {
+            command.execute(Arrays.asList(first, second));
+            fail("the update of a missing row must fail");
+        } catch (EJBException expected) {
+            // expected
+        }
+        verify(fieldA).setClean(first);
+        verify(fieldA, never()).setClean(second);
+    }
+
+    private List<String> preparedSql() throws Exception {
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection, atLeastOnce()).prepareStatement(sql.capture());
+        return sql.getAllValues();
+    }
+
+    private CmpEntityBeanContext instance(final String id, final boolean locked, final JDBCCMPFieldBridge... dirtyFields) {
+        final CmpEntityBeanContext ctx = mock(CmpEntityBeanContext.class);
+        when(ctx.getPrimaryKey()).thenReturn(id);
+        when(entity.getDirtyIterator(ctx)).thenAnswer(new Answer<JDBCEntityBridge.FieldIterator>() {
+            public JDBCEntityBridge.FieldIterator answer(InvocationOnMock invocation) {
+                return new ListFieldIterator(dirtyFields);
+            }
+        });
+        when(entity.hasLockedFields(ctx)).thenReturn(locked);
+        if (locked) {
+            when(entity.getLockedIterator(ctx)).thenReturn(new ListFieldIterator(versionField));
+        }
+        return ctx;
+    }
+
+    private static JDBCCMPFieldBridge field(final String column, final int tableIndex) {
+        final JDBCCMPFieldBridge field = mock(JDBCCMPFieldBridge.class);
+        final JDBCType type = type(column);
+        when(field.getJDBCType()).thenReturn(type);
+        when(field.getTableIndex()).thenReturn(tableIndex);
+        when(field.setInstanceParameters(any(PreparedStatement.class), anyInt(), any(CmpEntityBeanContext.class))).thenAnswer(NEXT_INDEX);
+        return field;
+    }
+
+    private static JDBCType type(final String column) {
+        final JDBCType type = mock(JDBCType.class);
+        when(type.getColumnNames()).thenReturn(new String[]{column});
+        return type;
+    }
+
+    /**
+     * Answers the parameter index following the one passed as second argument.
+     */
+    private static final Answer<Integer> NEXT_INDEX = new Answer<Integer>() {
+        public Integer answer(InvocationOnMock invocation) {
+            return (Integer) invocation.getArguments()[1] + 1;
+        }
+    };
+
+    private static final class ListFieldIterator implements JDBCEntityBridge.FieldIterator {
+        private final List<JDBCCMPFieldBridge> fields;
+        private int index;
+
+        ListFieldIterator(final JDBCCMPFieldBridge... fields) {
+            this.fields = new ArrayList<JDBCCMPFieldBridge>(Arrays.asList(fields));
+        }
+
+        public boolean hasNext() {
+            return index < fields.size();
+        }
+
+        public JDBCCMPFieldBridge next() {
+            return fields.get(index++);
+        }
+
+        public void remove() {
+            fields.remove(--index);
+        }
+
+        public void removeAll() {
+            fields.clear();
+            index = 0;
+        }
+
+        public void reset() {
+            index = 0;
+        }
+    }
+}
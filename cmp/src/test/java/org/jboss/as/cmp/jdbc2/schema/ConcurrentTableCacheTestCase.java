@@ -0,0 +1,248 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.cmp.jdbc2.schema;
+
+import javax.transaction.Transaction;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests {@link ConcurrentTableCache}.
+ */
+public class ConcurrentTableCacheTestCase {
+
+    private Transaction tx;
+    private Transaction otherTx;
+
+    @Before
+    public void setUp() {
+        tx = mock(Transaction.class);
+        otherTx = mock(Transaction.class);
+    }
+
+    @Test
+    public void testNoEvictionUnderCapacity() {
+        final ConcurrentTableCache cache = new ConcurrentTableCache(3, 3);
+        put(cache, 1, 2, 3);
+
+        assertEquals(3, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+        for (int pk = 1; pk <= 3; pk++) {
+            assertArrayEquals(new Object[]{"row" + pk}, cache.getFields(pk));
+        }
+    }
+
+    @Test
+    public void testEvictionOverCapacity() {
+        final ConcurrentTableCache cache = new ConcurrentTableCache(3, 3);
+        put(cache, 1, 2, 3);
+        // row 1 was read, so it gets a second chance and row 2 is evicted instead
+        assertNotNull(cache.getFields(1));
+
+        put(cache, 4);
+
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertTrue(cache.contains(tx, 1));
+        assertFalse(cache.contains(tx, 2));
+        assertTrue(cache.contains(tx, 3));
+        assertTrue(cache.contains(tx, 4));
+    }
+
+    @Test
+    public void testLockedRowsAreNeverEvicted() throws Exception {
+        final ConcurrentTableCache cache = new ConcurrentTableCache(2, 2);
+        put(cache, 1, 2);
+        cache.lockForUpdate(tx, 1);
+
+        put(cache, 3, 4, 5);
+
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.getEvictionCount());
+        assertTrue(cache.contains(tx, 1));
+        assertTrue(cache.contains(tx, 5));
+    }
+
+    @Test
+    public void testEvictionEndsWhenAllRowsAreLocked() throws Exception {
+        final ConcurrentTableCache cache = new ConcurrentTableCache(2, 10);
+        put(cache, 1, 2);
+        cache.lockForUpdate(tx, 1);
+        cache.lockForUpdate(otherTx, 2);
+
+        cache.setMaxCapacity(1);
+
+        assertEquals(2, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+        assertTrue(cache.contains(tx, 1));
+        assertTrue(cache.contains(otherTx, 2));
+    }
+
+    @Test
+    public void testLockForUpdate() throws Exception {
+        final ConcurrentTableCache cache = new ConcurrentTableCache(2, 2);
+        put(cache, 1);
+        cache.lockForUpdate(tx, 1);
+
+        // a locked row is only visible to the transaction holding the lock
+        assertNull(cache.getFields(1));
+        assertTrue(cache.contains(tx, 1));
+        assertFalse(cache.contains(otherTx, 1));
+        try {
+            cache.lockForUpdate(otherTx, 1);
+            fail("the row is locked by another transaction");
+        } catch (Exception expected) {
+            // expected
+        }
+        try {
+            cache.releaseLock(otherTx, 1);
+            fail("the row is locked by another transaction");
+        } catch (Exception expected) {
+            // expected
+        }
+        // a row can't be updated by another transaction either
+        cache.put(otherTx, 1, new Object[]{"other"}, null);
+        assertTrue(cache.contains(tx, 1));
+
+        cache.releaseLock(tx, 1);
+        assertArrayEquals(new Object[]{"row1"}, cache.getFields(1));
+
+        // storing the row releases the lock
+        cache.lockForUpdate(tx, 1);
+        cache.put(tx, 1, new Object[]{"updated"}, null);
+        assertArrayEquals(new Object[]{"updated"}, cache.getFields(1));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        final ConcurrentTableCache cache = new ConcurrentTableCache(2, 2);
+        put(cache, 1, 2);
+        try {
+            cache.remove(tx, 3);
+            fail("the row is not cached");
+        } catch (Cache.RemoveException expected) {
+            // expected
+        }
+
+        cache.lockForUpdate(otherTx, 1);
+        try {
+            cache.remove(tx, 1);
+            fail("the row is locked by another transaction");
+        } catch (Cache.RemoveException expected) {
+            // expected
+        }
+        assertEquals(2, cache.size());
+
+        cache.remove(otherTx, 1);
+        cache.remove(tx, 2);
+        assertEquals(0, cache.size());
+        assertFalse(cache.contains(otherTx, 1));
+        assertNull(cache.getFields(2));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testCounters() {
+        final ConcurrentTableCache cache = new ConcurrentTableCache(2, 2);
+        put(cache, 1);
+
+        assertNotNull(cache.getFields(1));
+        assertNotNull(cache.getFields(1));
+        assertNull(cache.getFields(2));
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testRowsOlderThanReadTimeOutAreEvicted() throws Exception {
+        final ConcurrentTableCache cache = new ConcurrentTableCache(2, 2, 0);
+        put(cache, 1, 2);
+        Thread.sleep(10);
+
+        assertNull(cache.getFields(1));
+        assertFalse(cache.contains(tx, 2));
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(1, cache.getMissCount());
+
+        // a row read again from the database is cached afresh
+        put(cache, 1);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testRowsNeverExpireWithoutReadTimeOut() throws Exception {
+        final ConcurrentTableCache cache = new ConcurrentTableCache(2, 2, -1);
+        put(cache, 1);
+        Thread.sleep(10);
+
+        assertNotNull(cache.getFields(1));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testFieldsAreCopied() {
+        final ConcurrentTableCache cache = new ConcurrentTableCache(2, 2);
+        final Object[] fields = {"row1"};
+        cache.put(tx, 1, fields, null);
+        fields[0] = "changed";
+
+        final Object[] cached = cache.getFields(1);
+        assertArrayEquals(new Object[]{"row1"}, cached);
+        cached[0] = "changed";
+        assertArrayEquals(new Object[]{"row1"}, cache.getFields(1));
+    }
+
+    @Test
+    public void testFlush() {
+        final ConcurrentTableCache cache = new ConcurrentTableCache(2, 2);
+        put(cache, 1, 2);
+
+        cache.flush();
+
+        assertEquals(0, cache.size());
+        assertNull(cache.getFields(1));
+        // the flushed rows are no longer in the eviction queue
+        put(cache, 3, 4, 5);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    private void put(final ConcurrentTableCache cache, final int... pks) {
+        for (int pk : pks) {
+            cache.put(tx, pk, new Object[]{"row" + pk}, null);
+        }
+    }
+}
@@ -26,6 +26,7 @@ import java.sql.Driver;
 
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.logging.BasicLogger;
+import org.jboss.logging.Cause;
 import org.jboss.logging.LogMessage;
 import org.jboss.logging.Logger;
 import org.jboss.logging.Message;
@@ -207,5 +208,15 @@ public interface ConnectorLogger extends BasicLogger {
     @Message(id = 10414, value = "the attribute driver-name (%s) cannot be different from driver resource name (%s)")
     OperationFailedException driverNameAndResourceNameNotEquals(String driverName, String resourceName);
 
+    /**
+     * Logs a warning message indicating the spare connections of a data source could not be filled.
+     *
+     * @param cause    the cause of the error.
+     * @param jndiName the JNDI name of the data source.
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 10415, value = "Unable to fill spare connections for data source [%s]")
+    void cannotFillSpareConnections(@Cause Throwable cause, String jndiName);
+
 
 }
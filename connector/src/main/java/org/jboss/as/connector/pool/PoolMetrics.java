@@ -60,7 +60,7 @@ public abstract class PoolMetrics implements OperationStepHandler {
                             List<StatisticsPlugin> stats = getMatchingStats(jndiName, repository);
                             for (StatisticsPlugin stat : stats) {
 
-                                result.set("" + stat.getValue(attributeName));
+                                setResult(result, stat.getValue(attributeName));
                             }
                         } catch (Exception e) {
                             throw new OperationFailedException(MESSAGES.failedToGetMetrics(e.getLocalizedMessage()));
@@ -76,6 +76,21 @@ public abstract class PoolMetrics implements OperationStepHandler {
 
     protected abstract List<StatisticsPlugin> getMatchingStats(String jndiName, ManagementRepository repository);
 
+    /**
+     * Sets a statistic as the operation result. Plugins report structured statistics, such as histograms, as
+     * {@link ModelNode}s, which are used as they are; all other values are reported as strings.
+     *
+     * @param result the operation result
+     * @param value the statistic's value
+     */
+    static void setResult(final ModelNode result, final Object value) {
+        if (value instanceof ModelNode) {
+            result.set((ModelNode) value);
+        } else {
+            result.set("" + value);
+        }
+    }
+
     public static class ParametrizedPoolMetricsHandler implements OperationStepHandler {
 
         private final StatisticsPlugin stats;
@@ -97,7 +112,7 @@ public abstract class PoolMetrics implements OperationStepHandler {
                         if (managementRepoService != null) {
                             try {
                                 final ModelNode result = context.getResult();
-                                result.set("" + stats.getValue(attributeName));
+                                setResult(result, stats.getValue(attributeName));
 
                             } catch (Exception e) {
                                throw new OperationFailedException(MESSAGES.failedToGetMetrics(e.getLocalizedMessage()));
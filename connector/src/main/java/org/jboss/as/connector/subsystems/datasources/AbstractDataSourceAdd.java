@@ -24,6 +24,7 @@ package org.jboss.as.connector.subsystems.datasources;
 
 import java.sql.Driver;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.jboss.as.connector.ConnectorServices;
 import org.jboss.as.connector.registry.DriverRegistry;
@@ -51,6 +52,8 @@ import org.jboss.security.SubjectFactory;
 import static org.jboss.as.connector.ConnectorMessages.MESSAGES;
 import static org.jboss.as.connector.subsystems.datasources.Constants.DATASOURCE_DRIVER;
 import static org.jboss.as.connector.subsystems.datasources.Constants.JNDINAME;
+import static org.jboss.as.connector.subsystems.datasources.Constants.SPARE_CONNECTIONS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.SPARE_CONNECTIONS_INTERVAL;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 
 /**
@@ -75,6 +78,8 @@ public abstract class AbstractDataSourceAdd extends AbstractAddStepHandler {
 
 
         AbstractDataSourceService dataSourceService = createDataSourceService(dsName);
+        dataSourceService.setSpareConnections(SPARE_CONNECTIONS.resolveModelAttribute(context, model).asInt());
+        dataSourceService.setSpareConnectionsInterval(SPARE_CONNECTIONS_INTERVAL.resolveModelAttribute(context, model).asLong());
 
         final ManagementResourceRegistration registration = context.getResourceRegistrationForUpdate();
 
@@ -93,6 +98,8 @@ public abstract class AbstractDataSourceAdd extends AbstractAddStepHandler {
                         dataSourceService.getCcmInjector())
                 .addDependency(ConnectorServices.IDLE_REMOVER_SERVICE)
                 .addDependency(ConnectorServices.CONNECTION_VALIDATOR_SERVICE)
+                .addDependency(ConnectorServices.SPARE_CONNECTION_EXECUTOR_SERVICE, ScheduledExecutorService.class,
+                        dataSourceService.getSpareConnectionExecutorInjector())
                 .addDependency(NamingService.SERVICE_NAME);
 
         dataSourceServiceBuilder.addListener(new DataSourceStatisticsListener(registration, dsName));
@@ -34,10 +34,15 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 
 import javax.naming.Reference;
 import javax.resource.ResourceException;
+import javax.resource.spi.ConnectionRequestInfo;
+import javax.resource.spi.ManagedConnection;
 import javax.resource.spi.ManagedConnectionFactory;
+import javax.security.auth.Subject;
 import javax.sql.DataSource;
 
 import org.jboss.as.connector.registry.DriverRegistry;
@@ -94,11 +99,18 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
     private final InjectedValue<SubjectFactory> subjectFactory = new InjectedValue<SubjectFactory>();
     private final InjectedValue<DriverRegistry> driverRegistry = new InjectedValue<DriverRegistry>();
     private final InjectedValue<CachedConnectionManager> ccmValue = new InjectedValue<CachedConnectionManager>();
+    private final InjectedValue<ScheduledExecutorService> spareConnectionExecutor = new InjectedValue<ScheduledExecutorService>();
 
     private final String jndiName;
 
     protected CommonDeployment deploymentMD;
     private javax.sql.DataSource sqlDataSource;
+    private volatile DataSourceDiagnostics diagnostics;
+    private BaseWrapperManagedConnectionFactory managedConnectionFactory;
+    private boolean validateOnMatch;
+    private SpareConnectionFiller spareConnectionFiller;
+    private int spareConnections;
+    private long spareConnectionsInterval = SpareConnectionFiller.DEFAULT_INTERVAL;
 
     protected AbstractDataSourceService(final String jndiName) {
         this.jndiName = jndiName;
@@ -108,11 +120,27 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         try {
             final ServiceContainer container = startContext.getController().getServiceContainer();
 
+            // the managed connection factories hook the diagnostics in while the data source is deployed
+            diagnostics = new DataSourceDiagnostics();
             deploymentMD = getDeployer().deploy(container);
             if (deploymentMD.getCfs().length != 1) {
                 throw MESSAGES.cannotStartDs();
             }
+            final org.jboss.jca.core.api.management.DataSource[] mgtDataSources = deploymentMD.getDataSources();
+            if (mgtDataSources != null && mgtDataSources.length > 0) {
+                diagnostics.setJdbcStatistics(mgtDataSources[0].getStatistics());
+            }
             sqlDataSource = (javax.sql.DataSource) deploymentMD.getCfs()[0];
+            final org.jboss.jca.core.api.management.DataSource mgtDataSource = mgtDataSources != null && mgtDataSources.length > 0 ? mgtDataSources[0] : null;
+            // data sources deployed in archives have no spare connections and no executor to fill them on
+            final ScheduledExecutorService executor = spareConnectionExecutor.getOptionalValue();
+            if (executor != null) {
+                spareConnectionFiller = new SpareConnectionFiller(sqlDataSource, mgtDataSource != null ? mgtDataSource.getPool() : null,
+                        mgtDataSource != null ? mgtDataSource.getPoolConfiguration() : null, managedConnectionFactory,
+                        validateOnMatch, diagnostics, executor, jndiName);
+                spareConnectionFiller.setInterval(spareConnectionsInterval);
+                spareConnectionFiller.setSpareConnections(spareConnections);
+            }
             DS_DEPLOYER_LOGGER.debugf("Adding datasource: %s", deploymentMD.getCfJndiNames()[0]);
         } catch (Throwable t) {
             throw MESSAGES.deploymentError(t, jndiName);
@@ -122,6 +150,10 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
     protected abstract AS7DataSourceDeployer getDeployer() throws ValidateException ;
 
     public synchronized void stop(StopContext stopContext) {
+        if (spareConnectionFiller != null) {
+            spareConnectionFiller.stop();
+            spareConnectionFiller = null;
+        }
         if (deploymentMD != null) {
 
             if (deploymentMD.getDataSources() != null && managementRepositoryValue.getValue() != null) {
@@ -138,12 +170,43 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         }
 
         sqlDataSource = null;
+        diagnostics = null;
+        managedConnectionFactory = null;
     }
 
     public CommonDeployment getDeploymentMD() {
         return deploymentMD;
     }
 
+    public synchronized DataSourceDiagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Sets the number of validated spare connections to keep idle in the pool; applies immediately if the data source
+     * is started.
+     *
+     * @param spareConnections the number of spare connections, {@code 0} to keep none
+     */
+    synchronized void setSpareConnections(final int spareConnections) {
+        this.spareConnections = spareConnections;
+        if (spareConnectionFiller != null) {
+            spareConnectionFiller.setSpareConnections(spareConnections);
+        }
+    }
+
+    /**
+     * Sets the time between two rounds of the spare connection filler; applies immediately if the data source is started.
+     *
+     * @param interval the interval, in milliseconds
+     */
+    synchronized void setSpareConnectionsInterval(final long interval) {
+        this.spareConnectionsInterval = interval;
+        if (spareConnectionFiller != null) {
+            spareConnectionFiller.setInterval(interval);
+        }
+    }
+
     public synchronized DataSource getValue() throws IllegalStateException, IllegalArgumentException {
         return sqlDataSource;
     }
@@ -172,6 +235,10 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         return ccmValue;
     }
 
+    public Injector<ScheduledExecutorService> getSpareConnectionExecutorInjector() {
+        return spareConnectionExecutor;
+    }
+
     protected String buildConfigPropsString(Map<String, String> configProps) {
         final StringBuffer valueBuf = new StringBuffer();
         for (Map.Entry<String, String> connProperty : configProps.entrySet()) {
@@ -372,7 +439,7 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         @Override
         protected ManagedConnectionFactory createMcf(XaDataSource arg0, String arg1, ClassLoader arg2)
                 throws NotFoundException, DeployException {
-            final MyXaMCF xaManagedConnectionFactory = new MyXaMCF();
+            final MyXaMCF xaManagedConnectionFactory = new MyXaMCF(diagnostics);
 
             if (xaDataSourceConfig.getUrlDelimiter() != null) {
                 try {
@@ -406,6 +473,7 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
 
             setMcfProperties(xaManagedConnectionFactory, xaDataSourceConfig, xaDataSourceConfig.getStatement());
             xaManagedConnectionFactory.setUserTransactionJndiName("java:comp/UserTransaction");
+            AbstractDataSourceService.this.managedConnectionFactory = xaManagedConnectionFactory;
             return xaManagedConnectionFactory;
 
         }
@@ -413,7 +481,7 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         @Override
         protected ManagedConnectionFactory createMcf(org.jboss.jca.common.api.metadata.ds.DataSource arg0, String arg1,
                 ClassLoader arg2) throws NotFoundException, DeployException {
-            final LocalManagedConnectionFactory managedConnectionFactory = new LocalManagedConnectionFactory();
+            final LocalManagedConnectionFactory managedConnectionFactory = new MyLocalMCF(diagnostics);
             managedConnectionFactory.setUserTransactionJndiName("java:comp/UserTransaction");
             managedConnectionFactory.setDriverClass(dataSourceConfig.getDriverClass());
 
@@ -446,6 +514,7 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
             }
             setMcfProperties(managedConnectionFactory, dataSourceConfig, dataSourceConfig.getStatement());
 
+            AbstractDataSourceService.this.managedConnectionFactory = managedConnectionFactory;
             return managedConnectionFactory;
         }
 
@@ -490,9 +559,11 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
             }
 
             final Validation validation = dataSourceConfig.getValidation();
+            AbstractDataSourceService.this.validateOnMatch = false;
             if (validation != null) {
                 if (validation.isValidateOnMatch()) {
                     managedConnectionFactory.setValidateOnMatch(validation.isValidateOnMatch());
+                    AbstractDataSourceService.this.validateOnMatch = true;
                 }
                 if (validation.getCheckValidConnectionSql() != null) {
                     managedConnectionFactory.setCheckValidConnectionSQL(validation.getCheckValidConnectionSql());
@@ -561,9 +632,59 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
 
         private static final long serialVersionUID = 4876371551002746953L;
 
+        private final transient DataSourceDiagnostics diagnostics;
+
+        MyXaMCF(final DataSourceDiagnostics diagnostics) {
+            this.diagnostics = diagnostics;
+        }
+
         public void setXaProps(Map<String, String> inputProperties) {
             xaProps.putAll(inputProperties);
         }
 
+        @Override
+        public Object createConnectionFactory(final javax.resource.spi.ConnectionManager cm) throws ResourceException {
+            return super.createConnectionFactory(diagnostics == null ? cm : diagnostics.track(cm));
+        }
+
+        @Override
+        public ManagedConnection createManagedConnection(final Subject subject, final ConnectionRequestInfo cri) throws ResourceException {
+            final ManagedConnection connection = super.createManagedConnection(subject, cri);
+            return diagnostics == null ? connection : diagnostics.track(connection);
+        }
+
+        @Override
+        public ManagedConnection matchManagedConnections(final Set connectionSet, final Subject subject, final ConnectionRequestInfo cri) throws ResourceException {
+            // connections found invalid by the spare connection filler do not match, so the pool destroys them
+            return super.matchManagedConnections(diagnostics == null ? connectionSet : diagnostics.withoutInvalid(connectionSet), subject, cri);
+        }
+    }
+
+    private class MyLocalMCF extends LocalManagedConnectionFactory {
+
+        private static final long serialVersionUID = -7304364386213567207L;
+
+        private final transient DataSourceDiagnostics diagnostics;
+
+        MyLocalMCF(final DataSourceDiagnostics diagnostics) {
+            this.diagnostics = diagnostics;
+        }
+
+        @Override
+        public Object createConnectionFactory(final javax.resource.spi.ConnectionManager cm) throws ResourceException {
+            return super.createConnectionFactory(diagnostics == null ? cm : diagnostics.track(cm));
+        }
+
+        @Override
+        public ManagedConnection createManagedConnection(final Subject subject, final ConnectionRequestInfo cri) throws ResourceException {
+            final ManagedConnection connection = super.createManagedConnection(subject, cri);
+            return diagnostics == null ? connection : diagnostics.track(connection);
+        }
+
+        @Override
+        public ManagedConnection matchManagedConnections(final Set connectionSet, final Subject subject, final ConnectionRequestInfo cri) throws ResourceException {
+            // connections found invalid by the spare connection filler do not match, so the pool destroys them
+            return super.matchManagedConnections(diagnostics == null ? connectionSet : diagnostics.withoutInvalid(connectionSet), subject, cri);
+        }
     }
 }
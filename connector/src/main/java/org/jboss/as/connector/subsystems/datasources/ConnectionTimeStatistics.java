@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Lock-free accumulator for the connection timings of a data source: how long callers waited for a connection, how
+ * long they held it and how long spare connection validations took. Samples are grouped into the same buckets as the
+ * thread pool task time histograms, so both read alike in the management model.
+ */
+final class ConnectionTimeStatistics {
+
+    /** Upper bounds (inclusive, in milliseconds) of the histogram buckets; a final bucket collects everything above. */
+    private static final long[] BUCKET_BOUNDS_MS = {1, 5, 10, 50, 100, 500, 1000, 5000, 10000};
+    private static final long[] BUCKET_BOUNDS_NS;
+    private static final String[] BUCKET_NAMES;
+
+    static {
+        BUCKET_BOUNDS_NS = new long[BUCKET_BOUNDS_MS.length];
+        BUCKET_NAMES = new String[BUCKET_BOUNDS_MS.length + 1];
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            BUCKET_BOUNDS_NS[i] = TimeUnit.MILLISECONDS.toNanos(BUCKET_BOUNDS_MS[i]);
+            BUCKET_NAMES[i] = "le-" + BUCKET_BOUNDS_MS[i] + "ms";
+        }
+        BUCKET_NAMES[BUCKET_BOUNDS_MS.length] = "gt-" + BUCKET_BOUNDS_MS[BUCKET_BOUNDS_MS.length - 1] + "ms";
+    }
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_NAMES.length);
+
+    /**
+     * Records a single sample.
+     *
+     * @param nanos the measured time, in nanoseconds
+     */
+    void record(final long nanos) {
+        // a non-monotonic clock may produce negative deltas; count them as zero
+        final long value = nanos < 0L ? 0L : nanos;
+        count.incrementAndGet();
+        total.addAndGet(value);
+        long current;
+        while (value > (current = max.get())) {
+            if (max.compareAndSet(current, value)) {
+                break;
+            }
+        }
+        buckets.incrementAndGet(bucketIndex(value));
+    }
+
+    private static int bucketIndex(final long nanos) {
+        final long[] bounds = BUCKET_BOUNDS_NS;
+        for (int i = 0; i < bounds.length; i++) {
+            if (nanos <= bounds[i]) {
+                return i;
+            }
+        }
+        return bounds.length;
+    }
+
+    long getCount() {
+        return count.get();
+    }
+
+    long getAverage(final TimeUnit unit) {
+        final long count = this.count.get();
+        return count == 0L ? 0L : unit.convert(total.get() / count, TimeUnit.NANOSECONDS);
+    }
+
+    long getMax(final TimeUnit unit) {
+        return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the histogram as an object whose keys are the bucket names, e.g. {@code le-10ms}, and whose values are the
+     * number of samples in each bucket.
+     *
+     * @return the histogram
+     */
+    ModelNode getHistogram() {
+        final ModelNode result = new ModelNode();
+        for (int i = 0; i < BUCKET_NAMES.length; i++) {
+            result.get(BUCKET_NAMES[i]).set(buckets.get(i));
+        }
+        return result;
+    }
+}
@@ -25,6 +25,8 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.operations.validation.ParameterValidator;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -189,6 +191,14 @@ class Constants {
 
     static final String STATISTICS = "statistics";
 
+    static final String TRACK_CONNECTIONS = "track-connections";
+
+    private static final String SPARE_CONNECTIONS_NAME = "spare-connections";
+
+    private static final String SPARE_CONNECTIONS_INTERVAL_NAME = "spare-connections-interval";
+
+    static final String MAX_RESULTS = "max-results";
+
 
     static SimpleAttributeDefinition CONNECTION_URL = new SimpleAttributeDefinition(CONNECTION_URL_NAME, DataSource.Tag.CONNECTION_URL.getLocalName(),  new ModelNode(), ModelType.STRING, false, true, MeasurementUnit.NONE);
 
@@ -282,6 +292,10 @@ class Constants {
 
     static SimpleAttributeDefinition USE_CCM = new SimpleAttributeDefinition(USE_CCM_NAME, DataSource.Attribute.USE_CCM.getLocalName(), new ModelNode().set(Defaults.USE_CCM), ModelType.BOOLEAN, true, true, MeasurementUnit.NONE);
 
+    static SimpleAttributeDefinition SPARE_CONNECTIONS = new SimpleAttributeDefinition(SPARE_CONNECTIONS_NAME, SPARE_CONNECTIONS_NAME, new ModelNode().set(0), ModelType.INT, true, true, MeasurementUnit.NONE, new IntRangeValidator(0, Integer.MAX_VALUE, true, true));
+
+    static SimpleAttributeDefinition SPARE_CONNECTIONS_INTERVAL = new SimpleAttributeDefinition(SPARE_CONNECTIONS_INTERVAL_NAME, SPARE_CONNECTIONS_INTERVAL_NAME, new ModelNode().set(SpareConnectionFiller.DEFAULT_INTERVAL), ModelType.LONG, true, true, MeasurementUnit.MILLISECONDS, new LongRangeValidator(1L, Long.MAX_VALUE, true, true));
+
     static SimpleAttributeDefinition XADATASOURCECLASS = new SimpleAttributeDefinition(XADATASOURCECLASS_NAME, XaDataSource.Tag.XA_DATASOURCE_CLASS.getLocalName(),  new ModelNode(), ModelType.STRING, true, true, MeasurementUnit.NONE);
 
     static SimpleAttributeDefinition INTERLEAVING = new SimpleAttributeDefinition(INTERLEAVING_NAME, CommonXaPool.Tag.INTERLEAVING.getLocalName(), new ModelNode().set(Defaults.INTERLEAVING), ModelType.BOOLEAN, true, true, MeasurementUnit.NONE);
@@ -0,0 +1,523 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.resource.spi.ConnectionEvent;
+import javax.resource.spi.ConnectionEventListener;
+import javax.resource.spi.ConnectionManager;
+import javax.resource.spi.ManagedConnection;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.jca.core.spi.statistics.StatisticsPlugin;
+
+/**
+ * Connection level diagnostics for a single data source: how long callers wait to obtain a connection, how long
+ * they hold on to it, how effective the prepared statement cache is, which connections are currently checked out and
+ * how the {@link SpareConnectionFiller spare connection} validations fare.
+ * <p/>
+ * The data source bound in JNDI is the one created by IronJacamar; the diagnostics hook in below it, through the
+ * {@link #track(ConnectionManager) connection manager} the data source allocates its connections from and a
+ * {@link #track(ManagedConnection) connection event listener} on every physical connection of the pool, which is told
+ * when a handle is closed.
+ * <p/>
+ * Acquisition times are always recorded. Hold times and the checkout stacks used to hunt down leaks need every
+ * connection handed out to be tracked, so they are only collected while the plugin is {@link #setEnabled(boolean) enabled}.
+ * Connections checked out by the spare connection filler are not counted.
+ * <p/>
+ * As the diagnostics see every physical connection, they also remember the ones the filler found
+ * {@link #invalidate(Object) invalid}; the managed connection factory leaves them out when matching, which makes the
+ * pool destroy them.
+ */
+public final class DataSourceDiagnostics implements StatisticsPlugin {
+
+    static final String ACQUISITION_COUNT = "AcquisitionCount";
+    static final String AVERAGE_ACQUISITION_TIME = "AverageAcquisitionTime";
+    static final String MAX_ACQUISITION_TIME = "MaxAcquisitionTime";
+    static final String ACQUISITION_TIME_HISTOGRAM = "AcquisitionTimeHistogram";
+    static final String HOLD_COUNT = "HoldCount";
+    static final String AVERAGE_HOLD_TIME = "AverageHoldTime";
+    static final String MAX_HOLD_TIME = "MaxHoldTime";
+    static final String HOLD_TIME_HISTOGRAM = "HoldTimeHistogram";
+    static final String HELD_COUNT = "HeldCount";
+    static final String PREPARED_STATEMENT_CACHE_HIT_RATIO = "PreparedStatementCacheHitRatio";
+    static final String VALIDATION_COUNT = "ValidationCount";
+    static final String AVERAGE_VALIDATION_TIME = "AverageValidationTime";
+    static final String MAX_VALIDATION_TIME = "MaxValidationTime";
+    static final String VALIDATION_TIME_HISTOGRAM = "ValidationTimeHistogram";
+    static final String INVALID_COUNT = "InvalidCount";
+    static final String REFILL_COUNT = "RefillCount";
+
+    private static final Set<String> NAMES = Collections.unmodifiableSet(new LinkedHashSet<String>(Arrays.asList(
+            ACQUISITION_COUNT, AVERAGE_ACQUISITION_TIME, MAX_ACQUISITION_TIME, ACQUISITION_TIME_HISTOGRAM,
+            HOLD_COUNT, AVERAGE_HOLD_TIME, MAX_HOLD_TIME, HOLD_TIME_HISTOGRAM,
+            HELD_COUNT, PREPARED_STATEMENT_CACHE_HIT_RATIO,
+            VALIDATION_COUNT, AVERAGE_VALIDATION_TIME, MAX_VALIDATION_TIME, VALIDATION_TIME_HISTOGRAM,
+            INVALID_COUNT, REFILL_COUNT)));
+
+    /** The statistics reported as an object of bucket name to sample count. */
+    static final String[] HISTOGRAMS = {ACQUISITION_TIME_HISTOGRAM, HOLD_TIME_HISTOGRAM, VALIDATION_TIME_HISTOGRAM};
+
+    private static final Comparator<HeldConnection> LONGEST_HELD_FIRST = new Comparator<HeldConnection>() {
+        public int compare(final HeldConnection o1, final HeldConnection o2) {
+            final long diff = o1.acquiredAt - o2.acquiredAt;
+            return diff < 0L ? -1 : diff > 0L ? 1 : 0;
+        }
+    };
+
+    private volatile StatisticsPlugin jdbcStatistics;
+    /** Keyed by connection handle; handles need not implement equals, so they are compared by identity. */
+    private final Map<Object, HeldConnection> held = new IdentityHashMap<Object, HeldConnection>();
+    private final ConnectionEventListener releaseListener = new ReleaseListener();
+    private volatile ConnectionTimeStatistics acquisitionTime = new ConnectionTimeStatistics();
+    private volatile ConnectionTimeStatistics holdTime = new ConnectionTimeStatistics();
+    private volatile ConnectionTimeStatistics validationTime = new ConnectionTimeStatistics();
+    private final AtomicLong invalidCount = new AtomicLong();
+    private final AtomicLong refillCount = new AtomicLong();
+    private volatile boolean enabled;
+    /** Set on the spare connection filler's thread while it checks connections out. */
+    private final ThreadLocal<Boolean> filling = new ThreadLocal<Boolean>();
+    /** Handles found invalid, until they are closed; compared by identity like {@link #held}. */
+    private final Map<Object, Boolean> invalidHandles = new IdentityHashMap<Object, Boolean>();
+    /** Physical connections found invalid, until the pool matches them; weak in case the pool destroys them first. */
+    private final Map<ManagedConnection, Boolean> invalidConnections = new WeakHashMap<ManagedConnection, Boolean>();
+    private volatile boolean invalidConnectionsPresent;
+
+    /**
+     * Sets the data source's JDBC statistics, used to derive the prepared statement cache hit ratio. They only
+     * exist once the data source is deployed, while the diagnostics have to be in place before.
+     *
+     * @param jdbcStatistics the JDBC statistics; may be {@code null}
+     */
+    void setJdbcStatistics(final StatisticsPlugin jdbcStatistics) {
+        this.jdbcStatistics = jdbcStatistics;
+    }
+
+    /**
+     * Wraps the connection manager a data source is created with, so that every connection allocation is timed
+     * and, while tracking is enabled, recorded as held. The returned manager implements every interface of the
+     * given one and delegates all other calls to it unchanged.
+     *
+     * @param connectionManager the connection manager
+     * @return the tracking connection manager
+     */
+    ConnectionManager track(final ConnectionManager connectionManager) {
+        final Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+        for (Class<?> c = connectionManager.getClass(); c != null; c = c.getSuperclass()) {
+            addInterfaces(c, interfaces);
+        }
+        final ClassLoader classLoader = connectionManager.getClass().getClassLoader();
+        return (ConnectionManager) Proxy.newProxyInstance(classLoader == null ? ConnectionManager.class.getClassLoader() : classLoader,
+                interfaces.toArray(new Class<?>[interfaces.size()]), new AllocationHandler(connectionManager, this));
+    }
+
+    private static void addInterfaces(final Class<?> clazz, final Set<Class<?>> interfaces) {
+        for (Class<?> i : clazz.getInterfaces()) {
+            if (interfaces.add(i)) {
+                addInterfaces(i, interfaces);
+            }
+        }
+    }
+
+    /**
+     * Registers for the close events of a physical connection, so that the release of its handles is noticed.
+     *
+     * @param connection the physical connection, as created by the managed connection factory
+     * @return the given connection
+     */
+    ManagedConnection track(final ManagedConnection connection) {
+        connection.addConnectionEventListener(releaseListener);
+        return connection;
+    }
+
+    /**
+     * Marks the calling thread as the spare connection filler's, or clears the mark. The filler's checkouts are not
+     * callers waiting for or holding connections, so they are left out of the statistics.
+     *
+     * @param filling {@code true} before the filler checks out connections, {@code false} once it is done
+     */
+    void setFilling(final boolean filling) {
+        if (filling) {
+            this.filling.set(Boolean.TRUE);
+        } else {
+            this.filling.remove();
+        }
+    }
+
+    /**
+     * Marks a connection handle the spare connection filler found invalid. Once the handle is closed, its physical
+     * connection is left out by {@link #withoutInvalid(Set)}.
+     *
+     * @param handle the connection handle, before it is closed
+     */
+    void invalidate(final Object handle) {
+        synchronized (invalidHandles) {
+            invalidHandles.put(handle, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Removes the physical connections found invalid from a set of connections to match; the connections removed are
+     * forgotten, as the pool destroys them when they do not match.
+     *
+     * @param connections the connections to match
+     * @return the given set if none of them is known to be invalid, otherwise a copy without the invalid ones
+     */
+    Set<?> withoutInvalid(final Set<?> connections) {
+        if (!invalidConnectionsPresent) {
+            return connections;
+        }
+        synchronized (invalidConnections) {
+            Set<Object> result = null;
+            for (Object connection : connections) {
+                if (invalidConnections.remove(connection) != null) {
+                    if (result == null) {
+                        result = new HashSet<Object>(connections);
+                    }
+                    result.remove(connection);
+                }
+            }
+            invalidConnectionsPresent = !invalidConnections.isEmpty();
+            return result == null ? connections : result;
+        }
+    }
+
+    private void acquired(final Object handle, final long waitNanos) {
+        if (filling.get() != null) {
+            return;
+        }
+        acquisitionTime.record(waitNanos);
+        if (!enabled || handle == null) {
+            return;
+        }
+        final Thread thread = Thread.currentThread();
+        final HeldConnection record = new HeldConnection(System.nanoTime(), System.currentTimeMillis(), thread.getName(),
+                thread.getStackTrace());
+        synchronized (held) {
+            held.put(handle, record);
+        }
+    }
+
+    private void released(final Object handle) {
+        if (handle == null) {
+            return;
+        }
+        final HeldConnection record;
+        synchronized (held) {
+            record = held.remove(handle);
+        }
+        if (record != null) {
+            holdTime.record(System.nanoTime() - record.acquiredAt);
+        }
+    }
+
+    /**
+     * Records the validation of a spare connection.
+     *
+     * @param nanos the time the validation took, in nanoseconds
+     * @param valid whether the connection was found to be valid
+     */
+    void validated(final long nanos, final boolean valid) {
+        validationTime.record(nanos);
+        if (!valid) {
+            invalidCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records a completed round of the spare connection filler.
+     *
+     * @param connections the number of connections checked out during the round
+     */
+    void refilled(final int connections) {
+        if (connections > 0) {
+            refillCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the connections currently checked out through tracked calls, longest held first.
+     *
+     * @param max the maximum number of entries to return
+     * @return the held connections
+     */
+    List<HeldConnection> getLongestHeld(final int max) {
+        final List<HeldConnection> list;
+        synchronized (held) {
+            list = new ArrayList<HeldConnection>(held.values());
+        }
+        Collections.sort(list, LONGEST_HELD_FIRST);
+        return list.size() > max ? list.subList(0, max) : list;
+    }
+
+    @Override
+    public Set<String> getNames() {
+        return NAMES;
+    }
+
+    @Override
+    public Class getType(final String name) {
+        if (ACQUISITION_COUNT.equals(name) || AVERAGE_ACQUISITION_TIME.equals(name) || MAX_ACQUISITION_TIME.equals(name)
+                || HOLD_COUNT.equals(name) || AVERAGE_HOLD_TIME.equals(name) || MAX_HOLD_TIME.equals(name)
+                || VALIDATION_COUNT.equals(name) || AVERAGE_VALIDATION_TIME.equals(name) || MAX_VALIDATION_TIME.equals(name)
+                || INVALID_COUNT.equals(name) || REFILL_COUNT.equals(name)) {
+            return long.class;
+        } else if (HELD_COUNT.equals(name)) {
+            return int.class;
+        } else if (ACQUISITION_TIME_HISTOGRAM.equals(name) || HOLD_TIME_HISTOGRAM.equals(name)
+                || VALIDATION_TIME_HISTOGRAM.equals(name)) {
+            return ModelNode.class;
+        } else if (NAMES.contains(name)) {
+            return String.class;
+        }
+        return null;
+    }
+
+    @Override
+    public String getDescription(final String name) {
+        return getDescription(name, Locale.getDefault());
+    }
+
+    @Override
+    public String getDescription(final String name, final Locale locale) {
+        if (!NAMES.contains(name)) {
+            return "";
+        }
+        return ResourceBundle.getBundle(DataSourcesSubsystemProviders.RESOURCE_NAME, locale).getString("statistics.diagnostics." + name);
+    }
+
+    @Override
+    public Object getValue(final String name) {
+        if (ACQUISITION_COUNT.equals(name)) {
+            return acquisitionTime.getCount();
+        } else if (AVERAGE_ACQUISITION_TIME.equals(name)) {
+            return acquisitionTime.getAverage(TimeUnit.MILLISECONDS);
+        } else if (MAX_ACQUISITION_TIME.equals(name)) {
+            return acquisitionTime.getMax(TimeUnit.MILLISECONDS);
+        } else if (ACQUISITION_TIME_HISTOGRAM.equals(name)) {
+            return acquisitionTime.getHistogram();
+        } else if (HOLD_COUNT.equals(name)) {
+            return holdTime.getCount();
+        } else if (AVERAGE_HOLD_TIME.equals(name)) {
+            return holdTime.getAverage(TimeUnit.MILLISECONDS);
+        } else if (MAX_HOLD_TIME.equals(name)) {
+            return holdTime.getMax(TimeUnit.MILLISECONDS);
+        } else if (HOLD_TIME_HISTOGRAM.equals(name)) {
+            return holdTime.getHistogram();
+        } else if (HELD_COUNT.equals(name)) {
+            synchronized (held) {
+                return held.size();
+            }
+        } else if (PREPARED_STATEMENT_CACHE_HIT_RATIO.equals(name)) {
+            return getPreparedStatementCacheHitRatio();
+        } else if (VALIDATION_COUNT.equals(name)) {
+            return validationTime.getCount();
+        } else if (AVERAGE_VALIDATION_TIME.equals(name)) {
+            return validationTime.getAverage(TimeUnit.MILLISECONDS);
+        } else if (MAX_VALIDATION_TIME.equals(name)) {
+            return validationTime.getMax(TimeUnit.MILLISECONDS);
+        } else if (VALIDATION_TIME_HISTOGRAM.equals(name)) {
+            return validationTime.getHistogram();
+        } else if (INVALID_COUNT.equals(name)) {
+            return invalidCount.get();
+        } else if (REFILL_COUNT.equals(name)) {
+            return refillCount.get();
+        }
+        return null;
+    }
+
+    private String getPreparedStatementCacheHitRatio() {
+        final StatisticsPlugin jdbcStatistics = this.jdbcStatistics;
+        if (jdbcStatistics == null) {
+            return "0.0";
+        }
+        final long hits = asLong(jdbcStatistics.getValue("PreparedStatementCacheHitCount"));
+        final long misses = asLong(jdbcStatistics.getValue("PreparedStatementCacheMissCount"));
+        final long total = hits + misses;
+        return total == 0L ? "0.0" : String.valueOf((double) hits / total);
+    }
+
+    private static long asLong(final Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables connection tracking. Connections handed out while tracking is disabled are not reported
+     * as held and do not contribute to the hold time statistics; disabling tracking forgets the connections held so far.
+     *
+     * @param enabled {@code true} to track connections
+     */
+    @Override
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            synchronized (held) {
+                held.clear();
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        acquisitionTime = new ConnectionTimeStatistics();
+        holdTime = new ConnectionTimeStatistics();
+        validationTime = new ConnectionTimeStatistics();
+        invalidCount.set(0L);
+        refillCount.set(0L);
+    }
+
+    /**
+     * A connection checked out while tracking was enabled.
+     */
+    static final class HeldConnection {
+        private final long acquiredAt;
+        private final long acquiredTimestamp;
+        private final String threadName;
+        private final StackTraceElement[] stackTrace;
+
+        HeldConnection(final long acquiredAt, final long acquiredTimestamp, final String threadName, final StackTraceElement[] stackTrace) {
+            this.acquiredAt = acquiredAt;
+            this.acquiredTimestamp = acquiredTimestamp;
+            this.threadName = threadName;
+            this.stackTrace = stackTrace;
+        }
+
+        long getHeldTime(final TimeUnit unit) {
+            return unit.convert(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+        }
+
+        long getAcquiredTimestamp() {
+            return acquiredTimestamp;
+        }
+
+        String getThreadName() {
+            return threadName;
+        }
+
+        StackTraceElement[] getStackTrace() {
+            return stackTrace;
+        }
+    }
+
+    /**
+     * Times {@code allocateConnection}; the handler is serializable along with the data source, but only the
+     * instance the data source was created with reports to the diagnostics.
+     */
+    private static final class AllocationHandler implements InvocationHandler, Serializable {
+
+        private static final long serialVersionUID = -2364219318571093216L;
+
+        private final ConnectionManager delegate;
+        private final transient DataSourceDiagnostics diagnostics;
+
+        AllocationHandler(final ConnectionManager delegate, final DataSourceDiagnostics diagnostics) {
+            this.delegate = delegate;
+            this.diagnostics = diagnostics;
+        }
+
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            if ("equals".equals(name) && method.getParameterTypes().length == 1) {
+                return proxy == args[0];
+            } else if ("hashCode".equals(name) && method.getParameterTypes().length == 0) {
+                return System.identityHashCode(proxy);
+            }
+            final boolean allocation = diagnostics != null && "allocateConnection".equals(name)
+                    && method.getParameterTypes().length == 2;
+            final long start = allocation ? System.nanoTime() : 0L;
+            final Object result;
+            try {
+                result = method.invoke(delegate, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (allocation) {
+                diagnostics.acquired(result, System.nanoTime() - start);
+            }
+            return result;
+        }
+    }
+
+    private void closed(final ConnectionEvent event) {
+        final Object handle = event.getConnectionHandle();
+        if (handle == null) {
+            return;
+        }
+        final boolean invalid;
+        synchronized (invalidHandles) {
+            invalid = invalidHandles.remove(handle) != null;
+        }
+        if (invalid && event.getSource() instanceof ManagedConnection) {
+            synchronized (invalidConnections) {
+                invalidConnections.put((ManagedConnection) event.getSource(), Boolean.TRUE);
+                invalidConnectionsPresent = true;
+            }
+        }
+        released(handle);
+    }
+
+    private final class ReleaseListener implements ConnectionEventListener {
+
+        public void connectionClosed(final ConnectionEvent event) {
+            closed(event);
+        }
+
+        public void connectionErrorOccurred(final ConnectionEvent event) {
+            closed(event);
+        }
+
+        public void localTransactionStarted(final ConnectionEvent event) {
+        }
+
+        public void localTransactionCommitted(final ConnectionEvent event) {
+        }
+
+        public void localTransactionRolledback(final ConnectionEvent event) {
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.jboss.as.connector.StatisticsDescriptionProvider;
 import org.jboss.as.connector.pool.PoolMetrics;
 import org.jboss.as.connector.subsystems.ClearStatisticsHandler;
 import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.jca.core.spi.statistics.StatisticsPlugin;
 import org.jboss.jca.deployers.common.CommonDeployment;
@@ -37,7 +38,8 @@ public class DataSourceStatisticsListener extends AbstractServiceListener<Object
                 StatisticsPlugin poolStats = deploymentMD.getDataSources()[0].getPool().getStatistics();
                 int jdbcStatsSize = jdbcStats.getNames().size();
                 int poolStatsSize = poolStats.getNames().size();
-                if (jdbcStatsSize > 0 || poolStatsSize > 0) {
+                DataSourceDiagnostics diagnostics = ((AbstractDataSourceService) controller.getService()).getDiagnostics();
+                if (jdbcStatsSize > 0 || poolStatsSize > 0 || diagnostics != null) {
                     ManagementResourceRegistration subRegistration = registration.isAllowsOverride() ? registration.registerOverrideModel(dsName, DataSourcesSubsystemProviders.OVERRIDE_DS_DESC) : registration;
 
                     if (jdbcStatsSize > 0) {
@@ -60,6 +62,18 @@ public class DataSourceStatisticsListener extends AbstractServiceListener<Object
                             poolRegistration.registerMetric(statName, new PoolMetrics.ParametrizedPoolMetricsHandler(poolStats));
                         }
                     }
+
+                    if (diagnostics != null) {
+                        ManagementResourceRegistration diagnosticsRegistration = subRegistration.registerSubModel(PathElement.pathElement("statistics", "diagnostics"), DataSourcesSubsystemProviders.getDiagnosticsDescription(diagnostics));
+                        diagnosticsRegistration.setRuntimeOnly(true);
+                        diagnosticsRegistration.registerOperationHandler("clear-statistics", new ClearStatisticsHandler(diagnostics), DataSourcesSubsystemProviders.CLEAR_STATISTICS_DESC, false);
+                        diagnosticsRegistration.registerOperationHandler(ListHeldConnectionsHandler.OPERATION_NAME, new ListHeldConnectionsHandler(diagnostics), DataSourcesSubsystemProviders.LIST_HELD_CONNECTIONS_DESC, false);
+                        diagnosticsRegistration.registerReadWriteAttribute(Constants.TRACK_CONNECTIONS, new TrackConnectionsHandler.Read(diagnostics), new TrackConnectionsHandler.Write(diagnostics), AttributeAccess.Storage.RUNTIME);
+
+                        for (String statName : diagnostics.getNames()) {
+                            diagnosticsRegistration.registerMetric(statName, new PoolMetrics.ParametrizedPoolMetricsHandler(diagnostics));
+                        }
+                    }
                 }
                 break;
 
@@ -71,6 +85,7 @@ public class DataSourceStatisticsListener extends AbstractServiceListener<Object
                 if (subRegistration != null) {
                     subRegistration.unregisterSubModel(PathElement.pathElement("statistics", "jdbc"));
                     subRegistration.unregisterSubModel(PathElement.pathElement("statistics", "pool"));
+                    subRegistration.unregisterSubModel(PathElement.pathElement("statistics", "diagnostics"));
                     registration.unregisterOverrideModel(dsName);
                 }
                 break;
@@ -76,6 +76,8 @@ import static org.jboss.as.connector.subsystems.datasources.Constants.SAME_RM_OV
 import static org.jboss.as.connector.subsystems.datasources.Constants.SECURITY_DOMAIN;
 import static org.jboss.as.connector.subsystems.datasources.Constants.SETTXQUERYTIMEOUT;
 import static org.jboss.as.connector.subsystems.datasources.Constants.SHAREPREPAREDSTATEMENTS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.SPARE_CONNECTIONS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.SPARE_CONNECTIONS_INTERVAL;
 import static org.jboss.as.connector.subsystems.datasources.Constants.SPY;
 import static org.jboss.as.connector.subsystems.datasources.Constants.STALECONNECTIONCHECKERCLASSNAME;
 import static org.jboss.as.connector.subsystems.datasources.Constants.STALECONNECTIONCHECKER_PROPERTIES;
@@ -258,6 +260,8 @@ public class DataSourcesExtension implements Extension {
         for (final SimpleAttributeDefinition attribute : DataSourcesSubsystemProviders.DATASOURCE_ATTRIBUTE) {
             if (PoolConfigurationRWHandler.ATTRIBUTES.contains(attribute.getName())) {
                 dataSources.registerReadWriteAttribute(attribute, PoolConfigurationReadHandler.INSTANCE, LocalAndXaDataSourcePoolConfigurationWriteHandler.INSTANCE);
+            } else if (attribute == SPARE_CONNECTIONS || attribute == SPARE_CONNECTIONS_INTERVAL) {
+                dataSources.registerReadWriteAttribute(attribute, null, SpareConnectionsHandler.INSTANCE);
             } else {
                 dataSources.registerReadWriteAttribute(attribute, null, new DisableRequiredWriteAttributeHandler(DATASOURCE_ATTRIBUTE));
             }
@@ -289,6 +293,8 @@ public class DataSourcesExtension implements Extension {
            if (PoolConfigurationRWHandler.ATTRIBUTES.contains(attribute.getName())) {
                xaDataSources.registerReadWriteAttribute(attribute, PoolConfigurationReadHandler.INSTANCE,
                        LocalAndXaDataSourcePoolConfigurationWriteHandler.INSTANCE);
+           } else if (attribute == SPARE_CONNECTIONS || attribute == SPARE_CONNECTIONS_INTERVAL) {
+               xaDataSources.registerReadWriteAttribute(attribute, null, SpareConnectionsHandler.INSTANCE);
            } else {
                xaDataSources.registerReadWriteAttribute(attribute, null, new DisableRequiredWriteAttributeHandler(XA_DATASOURCE_ATTRIBUTE));
            }
@@ -345,6 +351,7 @@ public class DataSourcesExtension implements Extension {
     public void initializeParsers(final ExtensionParsingContext context) {
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.DATASOURCES_1_0.getUriString(), DataSourceSubsystemParser.INSTANCE);
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.DATASOURCES_1_1.getUriString(), DataSourceSubsystemParser.INSTANCE);
+        context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.DATASOURCES_1_2.getUriString(), DataSourceSubsystemParser.INSTANCE);
     }
 
     public static final class DataSourceSubsystemParser implements XMLStreamConstants, XMLElementReader<List<ModelNode>>,
@@ -407,6 +414,8 @@ public class DataSourcesExtension implements Extension {
                 USE_JAVA_CONTEXT.marshallAsAttribute(dataSourceNode, writer);
                 SPY.marshallAsAttribute(dataSourceNode, writer);
                 USE_CCM.marshallAsAttribute(dataSourceNode, writer);
+                SPARE_CONNECTIONS.marshallAsAttribute(dataSourceNode, writer);
+                SPARE_CONNECTIONS_INTERVAL.marshallAsAttribute(dataSourceNode, writer);
 
                 if (!isXADataSource) {
                     CONNECTION_URL.marshallAsElement(dataSourceNode, writer);
@@ -814,6 +823,21 @@ public class DataSourcesExtension implements Extension {
                         }
                         break;
                     }
+                    case DATASOURCES_1_2: {
+                        localName = reader.getLocalName();
+                        Element element = Element.forName(reader.getLocalName());
+                        SUBSYSTEM_DATASOURCES_LOGGER.tracef("%s -> %s", localName, element);
+                        switch (element) {
+                            case SUBSYSTEM: {
+
+                                final DsParser parser = new DsParser(Namespace.DATASOURCES_1_2);
+                                parser.parse(reader, list, address);
+                                requireNoContent(reader);
+                                break;
+                            }
+                        }
+                        break;
+                    }
                 }
             } catch (Exception e) {
                 throw new XMLStreamException(e);
@@ -24,6 +24,7 @@ package org.jboss.as.connector.subsystems.datasources;
 
 import java.util.List;
 
+import org.jboss.as.connector.ConnectorServices;
 import org.jboss.as.connector.deployers.DsDeploymentActivator;
 import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
 import org.jboss.as.controller.OperationContext;
@@ -68,5 +69,11 @@ class DataSourcesSubsystemAdd extends AbstractBoottimeAddStepHandler {
 
 
         newControllers.addAll(dsDeploymentActivator.activateServices(context.getServiceTarget(), verificationHandler));
+
+        newControllers.add(context.getServiceTarget()
+                .addService(ConnectorServices.SPARE_CONNECTION_EXECUTOR_SERVICE, new SpareConnectionExecutorService())
+                .addListener(verificationHandler)
+                .setInitialMode(ServiceController.Mode.ON_DEMAND)
+                .install());
     }
 }
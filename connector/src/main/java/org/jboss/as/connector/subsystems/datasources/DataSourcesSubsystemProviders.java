@@ -22,6 +22,7 @@
 
 package org.jboss.as.connector.subsystems.datasources;
 
+import org.jboss.as.connector.StatisticsDescriptionProvider;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.as.controller.descriptions.OverrideDescriptionProvider;
@@ -50,8 +51,10 @@ import static org.jboss.as.connector.subsystems.datasources.Constants.DRIVER_XA_
 import static org.jboss.as.connector.subsystems.datasources.Constants.INSTALLED_DRIVERS;
 import static org.jboss.as.connector.subsystems.datasources.Constants.JDBC_COMPLIANT;
 import static org.jboss.as.connector.subsystems.datasources.Constants.JDBC_DRIVER_NAME;
+import static org.jboss.as.connector.subsystems.datasources.Constants.MAX_RESULTS;
 import static org.jboss.as.connector.subsystems.datasources.Constants.MODULE_SLOT;
 import static org.jboss.as.connector.subsystems.datasources.Constants.STATISTICS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.TRACK_CONNECTIONS;
 import static org.jboss.as.connector.subsystems.datasources.Constants.XADATASOURCECLASS;
 import static org.jboss.as.connector.subsystems.datasources.Constants.XADATASOURCE_PROPERTIES;
 import static org.jboss.as.connector.subsystems.datasources.Constants.XADATASOURCE_PROPERTY_VALUE;
@@ -109,7 +112,7 @@ class DataSourcesSubsystemProviders {
             org.jboss.as.connector.pool.Constants.BACKGROUNDVALIDATION,
             org.jboss.as.connector.pool.Constants.USE_FAST_FAIL,
             Constants.VALIDATEONMATCH, Constants.SPY,
-            Constants.USE_CCM};
+            Constants.USE_CCM, Constants.SPARE_CONNECTIONS, Constants.SPARE_CONNECTIONS_INTERVAL};
 
     static final SimpleAttributeDefinition[] XA_DATASOURCE_ATTRIBUTE = new SimpleAttributeDefinition[] {
             Constants.XADATASOURCECLASS, Constants.JNDINAME, Constants.DATASOURCE_DRIVER,
@@ -138,7 +141,8 @@ class DataSourcesSubsystemProviders {
             Constants.SPY, Constants.USE_CCM,
             Constants.RECOVERY_USERNAME, Constants.RECOVERY_PASSWORD,
             Constants.RECOVERY_SECURITY_DOMAIN, Constants.RECOVERLUGIN_CLASSNAME,
-            Constants.RECOVERLUGIN_PROPERTIES, Constants.NO_RECOVERY, Constants.JTA};
+            Constants.RECOVERLUGIN_PROPERTIES, Constants.NO_RECOVERY, Constants.JTA,
+            Constants.SPARE_CONNECTIONS, Constants.SPARE_CONNECTIONS_INTERVAL};
 
     static final SimpleAttributeDefinition[] READONLY_DATASOURCE_ATTRIBUTE = new SimpleAttributeDefinition[] {Constants.ENABLED };
 
@@ -830,6 +834,55 @@ class DataSourcesSubsystemProviders {
         }
     };
 
+    static DescriptionProvider LIST_HELD_CONNECTIONS_DESC = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(ListHeldConnectionsHandler.OPERATION_NAME);
+            operation.get(DESCRIPTION).set(bundle.getString("statistics.diagnostics.list-held-connections"));
+            operation.get(REQUEST_PROPERTIES, MAX_RESULTS, DESCRIPTION).set(bundle.getString("statistics.diagnostics.list-held-connections.max-results"));
+            operation.get(REQUEST_PROPERTIES, MAX_RESULTS, TYPE).set(ModelType.INT);
+            operation.get(REQUEST_PROPERTIES, MAX_RESULTS, REQUIRED).set(false);
+            operation.get(REQUEST_PROPERTIES, MAX_RESULTS, DEFAULT).set(ListHeldConnectionsHandler.DEFAULT_MAX_RESULTS);
+
+            final ModelNode reply = operation.get(REPLY_PROPERTIES);
+            reply.get(DESCRIPTION).set(bundle.getString("statistics.diagnostics.list-held-connections.reply"));
+            reply.get(TYPE).set(ModelType.LIST);
+            ModelNode valueNode = reply.get(VALUE_TYPE);
+            valueNode.get(ListHeldConnectionsHandler.HELD_TIME, DESCRIPTION).set(bundle.getString("statistics.diagnostics.list-held-connections.held-time"));
+            valueNode.get(ListHeldConnectionsHandler.HELD_TIME, TYPE).set(ModelType.LONG);
+            valueNode.get(ListHeldConnectionsHandler.ACQUIRED_AT, DESCRIPTION).set(bundle.getString("statistics.diagnostics.list-held-connections.acquired-at"));
+            valueNode.get(ListHeldConnectionsHandler.ACQUIRED_AT, TYPE).set(ModelType.LONG);
+            valueNode.get(ListHeldConnectionsHandler.THREAD, DESCRIPTION).set(bundle.getString("statistics.diagnostics.list-held-connections.thread"));
+            valueNode.get(ListHeldConnectionsHandler.THREAD, TYPE).set(ModelType.STRING);
+            valueNode.get(ListHeldConnectionsHandler.STACK_TRACE, DESCRIPTION).set(bundle.getString("statistics.diagnostics.list-held-connections.stack-trace"));
+            valueNode.get(ListHeldConnectionsHandler.STACK_TRACE, TYPE).set(ModelType.LIST);
+            valueNode.get(ListHeldConnectionsHandler.STACK_TRACE, VALUE_TYPE).set(ModelType.STRING);
+            return operation;
+        }
+    };
+
+    static DescriptionProvider getDiagnosticsDescription(final DataSourceDiagnostics diagnostics) {
+        final StatisticsDescriptionProvider statistics = new StatisticsDescriptionProvider(RESOURCE_NAME, "statistics.diagnostics", diagnostics);
+        return new DescriptionProvider() {
+            @Override
+            public ModelNode getModelDescription(final Locale locale) {
+                final ResourceBundle bundle = getResourceBundle(locale);
+                final ModelNode description = statistics.getModelDescription(locale);
+                final ModelNode track = description.get(ATTRIBUTES, TRACK_CONNECTIONS);
+                track.get(DESCRIPTION).set(bundle.getString("statistics.diagnostics.track-connections"));
+                track.get(TYPE).set(ModelType.BOOLEAN);
+                track.get(REQUIRED).set(false);
+                track.get(DEFAULT).set(false);
+                for (String histogram : DataSourceDiagnostics.HISTOGRAMS) {
+                    description.get(ATTRIBUTES, histogram, VALUE_TYPE).set(ModelType.LONG);
+                }
+                return description;
+            }
+        };
+    }
+
     private static ResourceBundle getResourceBundle(Locale locale) {
         if (locale == null) {
             locale = Locale.getDefault();
@@ -77,6 +77,8 @@ import static org.jboss.as.connector.subsystems.datasources.Constants.SAME_RM_OV
 import static org.jboss.as.connector.subsystems.datasources.Constants.SECURITY_DOMAIN;
 import static org.jboss.as.connector.subsystems.datasources.Constants.SETTXQUERYTIMEOUT;
 import static org.jboss.as.connector.subsystems.datasources.Constants.SHAREPREPAREDSTATEMENTS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.SPARE_CONNECTIONS;
+import static org.jboss.as.connector.subsystems.datasources.Constants.SPARE_CONNECTIONS_INTERVAL;
 import static org.jboss.as.connector.subsystems.datasources.Constants.SPY;
 import static org.jboss.as.connector.subsystems.datasources.Constants.STALECONNECTIONCHECKERCLASSNAME;
 import static org.jboss.as.connector.subsystems.datasources.Constants.STALECONNECTIONCHECKER_PROPERTIES;
@@ -141,6 +143,20 @@ public class DsParser extends AbstractParser {
      */
     private static CommonBundle bundle = Messages.getBundle(CommonBundle.class);
 
+    private final Namespace namespace;
+
+    public DsParser() {
+        this(Namespace.DATASOURCES_1_1);
+    }
+
+    /**
+     * Create a parser for the given version of the subsystem schema.
+     *
+     * @param namespace the namespace of the subsystem element
+     */
+    public DsParser(final Namespace namespace) {
+        this.namespace = namespace;
+    }
 
     public void parse(final XMLExtendedStreamReader reader, final List<ModelNode> list, ModelNode parentAddress) throws Exception {
 
@@ -312,6 +328,20 @@ public class DsParser extends AbstractParser {
         throw new ParserException(bundle.unexpectedEndOfDocument());
     }
 
+    private void parseSpareConnectionAttributes(final XMLExtendedStreamReader reader, final ModelNode operation) throws XMLStreamException {
+        if (namespace == Namespace.DATASOURCES_1_0 || namespace == Namespace.DATASOURCES_1_1) {
+            return;
+        }
+        String value = rawAttributeText(reader, SPARE_CONNECTIONS.getXmlName());
+        if (value != null) {
+            SPARE_CONNECTIONS.parseAndSetParameter(value, operation, reader);
+        }
+        value = rawAttributeText(reader, SPARE_CONNECTIONS_INTERVAL.getXmlName());
+        if (value != null) {
+            SPARE_CONNECTIONS_INTERVAL.parseAndSetParameter(value, operation, reader);
+        }
+    }
+
     private void parseXADataSource(XMLExtendedStreamReader reader, final List<ModelNode> list, final ModelNode parentAddress) throws XMLStreamException, ParserException,
             ValidateException {
 
@@ -373,6 +403,7 @@ public class DsParser extends AbstractParser {
                     break;
             }
         }
+        parseSpareConnectionAttributes(reader, operation);
 
         final ModelNode dsAddress = parentAddress.clone();
         dsAddress.add(XA_DATASOURCE, poolName);
@@ -601,6 +632,7 @@ public class DsParser extends AbstractParser {
                     break;
             }
         }
+        parseSpareConnectionAttributes(reader, operation);
 
         final ModelNode dsAddress = parentAddress.clone();
         dsAddress.add(DATA_SOURCE, poolName);
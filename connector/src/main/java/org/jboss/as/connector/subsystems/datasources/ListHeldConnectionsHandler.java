@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.jboss.as.connector.subsystems.datasources.Constants.MAX_RESULTS;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Lists the connections of a data source that are currently checked out, longest held first, together with the
+ * stack of the thread that obtained them. Only connections obtained while connection tracking is enabled are listed.
+ */
+public class ListHeldConnectionsHandler implements OperationStepHandler {
+
+    static final String OPERATION_NAME = "list-held-connections";
+    static final int DEFAULT_MAX_RESULTS = 10;
+
+    static final String HELD_TIME = "held-time";
+    static final String ACQUIRED_AT = "acquired-at";
+    static final String THREAD = "thread";
+    static final String STACK_TRACE = "stack-trace";
+
+    private final DataSourceDiagnostics diagnostics;
+
+    public ListHeldConnectionsHandler(final DataSourceDiagnostics diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final int maxResults = operation.hasDefined(MAX_RESULTS) ? operation.get(MAX_RESULTS).asInt() : DEFAULT_MAX_RESULTS;
+        if (context.isNormalServer()) {
+            context.addStep(new OperationStepHandler() {
+                public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                    final ModelNode result = context.getResult();
+                    result.setEmptyList();
+                    for (DataSourceDiagnostics.HeldConnection held : diagnostics.getLongestHeld(maxResults)) {
+                        final ModelNode heldNode = new ModelNode();
+                        heldNode.get(HELD_TIME).set(held.getHeldTime(TimeUnit.MILLISECONDS));
+                        heldNode.get(ACQUIRED_AT).set(held.getAcquiredTimestamp());
+                        heldNode.get(THREAD).set(held.getThreadName());
+                        final ModelNode stackNode = heldNode.get(STACK_TRACE).setEmptyList();
+                        for (StackTraceElement element : held.getStackTrace()) {
+                            stackNode.add(element.toString());
+                        }
+                        result.add(heldNode);
+                    }
+                    context.completeStep();
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+        context.completeStep();
+    }
+}
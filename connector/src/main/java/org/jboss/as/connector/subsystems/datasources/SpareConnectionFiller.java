@@ -0,0 +1,245 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.jboss.as.connector.ConnectorLogger.DS_DEPLOYER_LOGGER;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.jboss.jca.adapters.jdbc.BaseWrapperManagedConnectionFactory;
+import org.jboss.jca.core.api.connectionmanager.pool.Pool;
+import org.jboss.jca.core.api.connectionmanager.pool.PoolConfiguration;
+import org.jboss.jca.core.spi.statistics.StatisticsPlugin;
+
+/**
+ * Keeps a number of validated spare connections idle in a data source's pool, so that callers neither wait for a
+ * connection to be created nor pay for its validation when demand rises.
+ * <p/>
+ * The pool itself is owned by IronJacamar, and it only creates a connection when it has no idle one to hand out. So
+ * every {@link #getInterval() interval} the filler works out how many idle connections are missing, and if any are it
+ * checks out connections one at a time, validating each, until the valid connections it holds and the idle ones still
+ * in the pool add up to the {@link #getSpareConnections() spare} count; then it hands them all back. At most the
+ * missing number of valid connections is created per round. A connection that fails validation is
+ * {@link DataSourceDiagnostics#invalidate(Object) marked}, so that the pool destroys that connection, and only that
+ * one, the next time it would hand it out.
+ * <p/>
+ * If the data source validates connections on match, the filler takes that over while it is active: the managed
+ * connection factory stops validating on the threads requesting connections, and every round the filler validates all
+ * idle connections of the pool as well. Connections are then validated once per round rather than on every checkout.
+ * <p/>
+ * The filler runs on the shared executor of the datasources subsystem, never on the threads requesting connections,
+ * and its checkouts are not counted in the data source's {@link DataSourceDiagnostics diagnostics}.
+ */
+final class SpareConnectionFiller {
+
+    static final long DEFAULT_INTERVAL = 30000L;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final DataSource dataSource;
+    private final Pool pool;
+    private final PoolConfiguration poolConfiguration;
+    private final BaseWrapperManagedConnectionFactory managedConnectionFactory;
+    private final boolean validateOnMatch;
+    private final DataSourceDiagnostics diagnostics;
+    private final ScheduledExecutorService executor;
+    private final String jndiName;
+    private final Runnable fillTask = new Runnable() {
+        public void run() {
+            try {
+                fill();
+            } catch (Throwable t) {
+                // keep the periodic task alive, e.g. for drivers that do not implement Connection.isValid()
+                DS_DEPLOYER_LOGGER.cannotFillSpareConnections(t, jndiName);
+            }
+        }
+    };
+
+    private volatile int spareConnections;
+    private volatile long interval = DEFAULT_INTERVAL;
+    private volatile boolean validateIdle;
+    private ScheduledFuture<?> periodicFill;
+
+    /**
+     * Create a new instance.
+     *
+     * @param dataSource the data source to check connections out of
+     * @param pool the data source's pool, used to count its idle connections; may be {@code null}
+     * @param poolConfiguration the pool's configuration; may be {@code null}
+     * @param managedConnectionFactory the data source's managed connection factory; may be {@code null}
+     * @param validateOnMatch whether the data source is configured to validate connections on match
+     * @param diagnostics the diagnostics recording the validations
+     * @param executor the executor to run the rounds on
+     * @param jndiName the data source's JNDI name, for logging
+     */
+    SpareConnectionFiller(final DataSource dataSource, final Pool pool, final PoolConfiguration poolConfiguration,
+            final BaseWrapperManagedConnectionFactory managedConnectionFactory, final boolean validateOnMatch,
+            final DataSourceDiagnostics diagnostics, final ScheduledExecutorService executor, final String jndiName) {
+        this.dataSource = dataSource;
+        this.pool = pool;
+        this.poolConfiguration = poolConfiguration;
+        this.managedConnectionFactory = managedConnectionFactory;
+        this.validateOnMatch = validateOnMatch;
+        this.diagnostics = diagnostics;
+        this.executor = executor;
+        this.jndiName = jndiName;
+    }
+
+    int getSpareConnections() {
+        return spareConnections;
+    }
+
+    /**
+     * Sets the number of spare connections to keep validated and ready; {@code 0} stops the filler.
+     *
+     * @param spareConnections the number of spare connections
+     */
+    synchronized void setSpareConnections(final int spareConnections) {
+        this.spareConnections = spareConnections;
+        reschedule();
+    }
+
+    long getInterval() {
+        return interval;
+    }
+
+    /**
+     * Sets the time between two rounds.
+     *
+     * @param interval the interval, in milliseconds
+     */
+    synchronized void setInterval(final long interval) {
+        this.interval = interval;
+        reschedule();
+    }
+
+    synchronized void stop() {
+        spareConnections = 0;
+        reschedule();
+    }
+
+    private void reschedule() {
+        if (periodicFill != null) {
+            periodicFill.cancel(false);
+            periodicFill = null;
+        }
+        final boolean active = spareConnections > 0;
+        if (validateOnMatch && managedConnectionFactory != null) {
+            managedConnectionFactory.setValidateOnMatch(!active);
+        }
+        validateIdle = active && validateOnMatch;
+        if (active) {
+            periodicFill = executor.scheduleWithFixedDelay(fillTask, 0L, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void fill() {
+        final int spare = spareConnections;
+        if (spare <= 0) {
+            return;
+        }
+        final boolean validateIdle = this.validateIdle;
+        final int idleAtStart = getIdleCount();
+        if (!validateIdle && idleAtStart >= spare) {
+            return;
+        }
+        // bounds the round should the pool statistics lag behind
+        final int limit = validateIdle ? spare + idleAtStart : spare;
+        final List<Connection> held = new ArrayList<Connection>(limit);
+        int valid = 0;
+        diagnostics.setFilling(true);
+        try {
+            while (held.size() < limit && !Thread.currentThread().isInterrupted()) {
+                // checking out an idle connection leaves the sum unchanged, only a newly created one increases it
+                final int idle = getIdleCount();
+                if (valid + idle >= spare && !(validateIdle && idle > 0)) {
+                    break;
+                }
+                final Connection connection = dataSource.getConnection();
+                held.add(connection);
+                if (validate(connection)) {
+                    valid++;
+                } else {
+                    diagnostics.invalidate(connection);
+                }
+            }
+        } catch (SQLException e) {
+            // the pool is exhausted or the database is unreachable; try again next round
+            DS_DEPLOYER_LOGGER.cannotFillSpareConnections(e, jndiName);
+        } finally {
+            diagnostics.setFilling(false);
+            for (Connection connection : held) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    DS_DEPLOYER_LOGGER.debugf(e, "Unable to return spare connection of data source %s", jndiName);
+                }
+            }
+        }
+        diagnostics.refilled(held.size());
+    }
+
+    private boolean validate(final Connection connection) {
+        final long start = System.nanoTime();
+        boolean valid;
+        try {
+            valid = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            valid = false;
+        }
+        diagnostics.validated(System.nanoTime() - start, valid);
+        return valid;
+    }
+
+    /**
+     * Gets the number of connections the pool could hand out without creating one. The pool statistics report the
+     * connections it holds and, through the permits still available, those checked out.
+     */
+    int getIdleCount() {
+        if (pool == null) {
+            return 0;
+        }
+        final StatisticsPlugin statistics = pool.getStatistics();
+        final int active = asInt(statistics.getValue("ActiveCount"));
+        final int inUse;
+        if (statistics.getNames().contains("InUseCount")) {
+            inUse = asInt(statistics.getValue("InUseCount"));
+        } else if (poolConfiguration != null) {
+            inUse = poolConfiguration.getMaxSize() - asInt(statistics.getValue("AvailableCount"));
+        } else {
+            return 0;
+        }
+        return Math.max(0, active - inUse);
+    }
+
+    private static int asInt(final Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.jboss.as.connector.subsystems.datasources.Constants.JNDINAME;
+import static org.jboss.as.connector.subsystems.datasources.Constants.SPARE_CONNECTIONS;
+
+import org.jboss.as.controller.AbstractWriteAttributeHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Write handler for the "spare-connections" and "spare-connections-interval" attributes of a data source, which
+ * configure its {@link SpareConnectionFiller}. Unlike the other data source attributes they take effect immediately,
+ * without disabling the data source.
+ */
+class SpareConnectionsHandler extends AbstractWriteAttributeHandler<Void> {
+
+    static final SpareConnectionsHandler INSTANCE = new SpareConnectionsHandler();
+
+    private SpareConnectionsHandler() {
+        super(Constants.SPARE_CONNECTIONS, Constants.SPARE_CONNECTIONS_INTERVAL);
+    }
+
+    @Override
+    protected boolean applyUpdateToRuntime(final OperationContext context, final ModelNode operation, final String attributeName,
+            final ModelNode resolvedValue, final ModelNode currentValue, final HandbackHolder<Void> handbackHolder) throws OperationFailedException {
+        apply(context, attributeName, resolvedValue);
+        return false;
+    }
+
+    @Override
+    protected void revertUpdateToRuntime(final OperationContext context, final ModelNode operation, final String attributeName,
+            final ModelNode valueToRestore, final ModelNode valueToRevert, final Void handback) throws OperationFailedException {
+        apply(context, attributeName, valueToRestore.resolve());
+    }
+
+    private static void apply(final OperationContext context, final String attributeName, final ModelNode value) {
+        final ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(
+                AbstractDataSourceService.SERVICE_NAME_BASE.append(model.get(JNDINAME.getName()).asString()));
+        if (controller == null) {
+            return;
+        }
+        final AbstractDataSourceService service = (AbstractDataSourceService) controller.getService();
+        if (SPARE_CONNECTIONS.getName().equals(attributeName)) {
+            service.setSpareConnections(value.isDefined() ? value.asInt() : SPARE_CONNECTIONS.getDefaultValue().asInt());
+        } else {
+            service.setSpareConnectionsInterval(value.isDefined() ? value.asLong() : Constants.SPARE_CONNECTIONS_INTERVAL.getDefaultValue().asLong());
+        }
+    }
+}
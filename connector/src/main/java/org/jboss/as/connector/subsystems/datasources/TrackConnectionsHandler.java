@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Read and write handlers for the runtime-only "track-connections" attribute of a data source's diagnostics,
+ * which switches hold time recording and leak tracking on and off.
+ */
+class TrackConnectionsHandler {
+
+    private TrackConnectionsHandler() {
+    }
+
+    static class Read implements OperationStepHandler {
+        private final DataSourceDiagnostics diagnostics;
+
+        Read(final DataSourceDiagnostics diagnostics) {
+            this.diagnostics = diagnostics;
+        }
+
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            context.getResult().set(diagnostics.isEnabled());
+            context.completeStep();
+        }
+    }
+
+    static class Write implements OperationStepHandler {
+        private final DataSourceDiagnostics diagnostics;
+
+        Write(final DataSourceDiagnostics diagnostics) {
+            this.diagnostics = diagnostics;
+        }
+
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final boolean enabled = operation.hasDefined(VALUE) && operation.get(VALUE).asBoolean();
+            if (context.isNormalServer()) {
+                context.addStep(new OperationStepHandler() {
+                    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                        final boolean previous = diagnostics.isEnabled();
+                        diagnostics.setEnabled(enabled);
+                        if (context.completeStep() != OperationContext.ResultAction.KEEP) {
+                            diagnostics.setEnabled(previous);
+                        }
+                    }
+                }, OperationContext.Stage.RUNTIME);
+            }
+            context.completeStep();
+        }
+    }
+}
@@ -270,6 +270,10 @@ public class XMLDataSourceRuntimeHandler extends AbstractXMLDataSourceRuntimeHan
             setBooleanIfNotNull(context, dataSource.isSpy());
         } else if (attributeName.equals(Constants.USE_CCM.getName())) {
             setBooleanIfNotNull(context, dataSource.isUseCcm());
+        } else if (attributeName.equals(Constants.SPARE_CONNECTIONS.getName())
+                || attributeName.equals(Constants.SPARE_CONNECTIONS_INTERVAL.getName())) {
+            // deployed data sources have no spare connection filler configuration
+            return;
         } else {
             throw ConnectorMessages.MESSAGES.unknownAttribute(attributeName);
         }
@@ -384,6 +384,10 @@ public class XMLXaDataSourceRuntimeHandler extends AbstractXMLDataSourceRuntimeH
             setBooleanIfNotNull(context, dataSource.isUseCcm());
         } else if (attributeName.equals(Constants.JTA.getName())) {
             setBooleanIfNotNull(context, true);
+        } else if (attributeName.equals(Constants.SPARE_CONNECTIONS.getName())
+                || attributeName.equals(Constants.SPARE_CONNECTIONS_INTERVAL.getName())) {
+            // deployed data sources have no spare connection filler configuration
+            return;
         } else {
             throw ConnectorMessages.MESSAGES.unknownAttribute(attributeName);
         }
@@ -0,0 +1,253 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.resource.ResourceException;
+import javax.resource.spi.ConnectionEvent;
+import javax.resource.spi.ConnectionEventListener;
+import javax.resource.spi.ConnectionManager;
+import javax.resource.spi.ConnectionRequestInfo;
+import javax.resource.spi.ManagedConnection;
+import javax.resource.spi.ManagedConnectionFactory;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Test;
+
+/**
+ * Tests of {@link DataSourceDiagnostics} and its {@link ConnectionTimeStatistics}.
+ */
+public class DataSourceDiagnosticsTestCase {
+
+    @Test
+    public void testBucketBoundsAreInclusive() {
+        final ConnectionTimeStatistics statistics = new ConnectionTimeStatistics();
+        statistics.record(0L);
+        statistics.record(ms(1));
+        statistics.record(ms(1) + 1L);
+        statistics.record(ms(5));
+        statistics.record(ms(10000));
+        statistics.record(ms(10000) + 1L);
+        statistics.record(-ms(3));
+        final ModelNode histogram = statistics.getHistogram();
+        assertEquals(ModelType.OBJECT, histogram.getType());
+        assertEquals(10, histogram.keys().size());
+        assertEquals(3L, histogram.get("le-1ms").asLong());
+        assertEquals(2L, histogram.get("le-5ms").asLong());
+        assertEquals(0L, histogram.get("le-10ms").asLong());
+        assertEquals(1L, histogram.get("le-10000ms").asLong());
+        assertEquals(1L, histogram.get("gt-10000ms").asLong());
+        assertEquals(7L, statistics.getCount());
+        assertEquals(10000L, statistics.getMax(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testAverageAndMax() {
+        final ConnectionTimeStatistics statistics = new ConnectionTimeStatistics();
+        assertEquals(0L, statistics.getAverage(TimeUnit.MILLISECONDS));
+        statistics.record(ms(2));
+        statistics.record(ms(4));
+        statistics.record(ms(12));
+        assertEquals(6L, statistics.getAverage(TimeUnit.MILLISECONDS));
+        assertEquals(12L, statistics.getMax(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testHistogramTypes() {
+        final DataSourceDiagnostics diagnostics = new DataSourceDiagnostics();
+        for (String histogram : DataSourceDiagnostics.HISTOGRAMS) {
+            assertSame(ModelNode.class, diagnostics.getType(histogram));
+            assertEquals(ModelType.OBJECT, ((ModelNode) diagnostics.getValue(histogram)).getType());
+        }
+        assertSame(long.class, diagnostics.getType(DataSourceDiagnostics.ACQUISITION_COUNT));
+        assertSame(int.class, diagnostics.getType(DataSourceDiagnostics.HELD_COUNT));
+    }
+
+    @Test
+    public void testAcquisitionIsAlwaysTimed() throws Exception {
+        final DataSourceDiagnostics diagnostics = new DataSourceDiagnostics();
+        final ConnectionManager manager = diagnostics.track(new StubConnectionManager(ms(2)));
+        manager.allocateConnection(null, null);
+        manager.allocateConnection(null, null);
+
+        assertEquals(2L, diagnostics.getValue(DataSourceDiagnostics.ACQUISITION_COUNT));
+        assertTrue((Long) diagnostics.getValue(DataSourceDiagnostics.MAX_ACQUISITION_TIME) >= 2L);
+        assertEquals(2L, sum((ModelNode) diagnostics.getValue(DataSourceDiagnostics.ACQUISITION_TIME_HISTOGRAM)));
+        // without tracking nothing is reported as held
+        assertEquals(0, diagnostics.getValue(DataSourceDiagnostics.HELD_COUNT));
+        assertEquals(0L, diagnostics.getValue(DataSourceDiagnostics.HOLD_COUNT));
+    }
+
+    @Test
+    public void testHoldTimeWhileTracking() throws Exception {
+        final DataSourceDiagnostics diagnostics = new DataSourceDiagnostics();
+        diagnostics.setEnabled(true);
+        final ConnectionManager manager = diagnostics.track(new StubConnectionManager(0L));
+        final StubConnection connection = new StubConnection();
+        final ManagedConnection physical = diagnostics.track(connection.proxy());
+
+        final Object first = manager.allocateConnection(null, null);
+        Thread.sleep(5L);
+        final Object second = manager.allocateConnection(null, null);
+        assertEquals(2, diagnostics.getValue(DataSourceDiagnostics.HELD_COUNT));
+
+        final List<DataSourceDiagnostics.HeldConnection> longest = diagnostics.getLongestHeld(1);
+        assertEquals(1, longest.size());
+        assertTrue(longest.get(0).getHeldTime(TimeUnit.MILLISECONDS) >= 5L);
+        assertEquals(Thread.currentThread().getName(), longest.get(0).getThreadName());
+
+        connection.close(physical, first);
+        assertEquals(1, diagnostics.getValue(DataSourceDiagnostics.HELD_COUNT));
+        assertEquals(1L, diagnostics.getValue(DataSourceDiagnostics.HOLD_COUNT));
+        assertTrue((Long) diagnostics.getValue(DataSourceDiagnostics.MAX_HOLD_TIME) >= 5L);
+
+        // a handle closed twice is only counted once
+        connection.close(physical, first);
+        assertEquals(1L, diagnostics.getValue(DataSourceDiagnostics.HOLD_COUNT));
+
+        diagnostics.setEnabled(false);
+        assertEquals(0, diagnostics.getValue(DataSourceDiagnostics.HELD_COUNT));
+        connection.close(physical, second);
+        assertEquals(1L, diagnostics.getValue(DataSourceDiagnostics.HOLD_COUNT));
+    }
+
+    @Test
+    public void testValidationAndRefill() {
+        final DataSourceDiagnostics diagnostics = new DataSourceDiagnostics();
+        diagnostics.validated(ms(3), true);
+        diagnostics.validated(ms(20), false);
+        diagnostics.refilled(0);
+        diagnostics.refilled(2);
+
+        assertEquals(2L, diagnostics.getValue(DataSourceDiagnostics.VALIDATION_COUNT));
+        assertEquals(20L, diagnostics.getValue(DataSourceDiagnostics.MAX_VALIDATION_TIME));
+        assertEquals(11L, diagnostics.getValue(DataSourceDiagnostics.AVERAGE_VALIDATION_TIME));
+        assertEquals(1L, diagnostics.getValue(DataSourceDiagnostics.INVALID_COUNT));
+        assertEquals(1L, diagnostics.getValue(DataSourceDiagnostics.REFILL_COUNT));
+        final ModelNode histogram = (ModelNode) diagnostics.getValue(DataSourceDiagnostics.VALIDATION_TIME_HISTOGRAM);
+        assertEquals(1L, histogram.get("le-5ms").asLong());
+        assertEquals(1L, histogram.get("le-50ms").asLong());
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        final DataSourceDiagnostics diagnostics = new DataSourceDiagnostics();
+        diagnostics.track(new StubConnectionManager(0L)).allocateConnection(null, null);
+        diagnostics.validated(ms(1), false);
+        diagnostics.refilled(1);
+        final ModelNode before = (ModelNode) diagnostics.getValue(DataSourceDiagnostics.ACQUISITION_TIME_HISTOGRAM);
+
+        diagnostics.clear();
+
+        assertEquals(0L, diagnostics.getValue(DataSourceDiagnostics.ACQUISITION_COUNT));
+        assertEquals(0L, diagnostics.getValue(DataSourceDiagnostics.VALIDATION_COUNT));
+        assertEquals(0L, diagnostics.getValue(DataSourceDiagnostics.INVALID_COUNT));
+        assertEquals(0L, diagnostics.getValue(DataSourceDiagnostics.REFILL_COUNT));
+        final ModelNode after = (ModelNode) diagnostics.getValue(DataSourceDiagnostics.ACQUISITION_TIME_HISTOGRAM);
+        assertNotSame(before, after);
+        assertEquals(1L, sum(before));
+        assertEquals(0L, sum(after));
+    }
+
+    @Test
+    public void testPreparedStatementCacheHitRatioWithoutJdbcStatistics() {
+        assertEquals("0.0", new DataSourceDiagnostics().getValue(DataSourceDiagnostics.PREPARED_STATEMENT_CACHE_HIT_RATIO));
+    }
+
+    private static long sum(final ModelNode histogram) {
+        long sum = 0L;
+        for (String key : histogram.keys()) {
+            sum += histogram.get(key).asLong();
+        }
+        return sum;
+    }
+
+    private static long ms(final long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static final class StubConnectionManager implements ConnectionManager {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long delayNanos;
+
+        StubConnectionManager(final long delayNanos) {
+            this.delayNanos = delayNanos;
+        }
+
+        public Object allocateConnection(final ManagedConnectionFactory mcf, final ConnectionRequestInfo cxRequestInfo)
+                throws ResourceException {
+            if (delayNanos > 0L) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(delayNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new Object();
+        }
+    }
+
+    /**
+     * A managed connection that only keeps its listeners, so that tests can fire close events.
+     */
+    private static final class StubConnection implements InvocationHandler {
+
+        private final List<ConnectionEventListener> listeners = new ArrayList<ConnectionEventListener>();
+
+        ManagedConnection proxy() {
+            return (ManagedConnection) Proxy.newProxyInstance(ManagedConnection.class.getClassLoader(),
+                    new Class<?>[] { ManagedConnection.class }, this);
+        }
+
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            if ("addConnectionEventListener".equals(method.getName())) {
+                listeners.add((ConnectionEventListener) args[0]);
+            } else if ("removeConnectionEventListener".equals(method.getName())) {
+                listeners.remove(args[0]);
+            }
+            return null;
+        }
+
+        void close(final ManagedConnection source, final Object handle) {
+            final ConnectionEvent event = new ConnectionEvent(source, ConnectionEvent.CONNECTION_CLOSED);
+            event.setConnectionHandle(handle);
+            for (ConnectionEventListener listener : listeners) {
+                listener.connectionClosed(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import javax.resource.spi.ConnectionEvent;
+import javax.resource.spi.ConnectionEventListener;
+import javax.resource.spi.ConnectionManager;
+import javax.resource.spi.ConnectionRequestInfo;
+import javax.resource.spi.ManagedConnection;
+import javax.resource.spi.ManagedConnectionFactory;
+import javax.sql.DataSource;
+
+import org.jboss.jca.core.api.connectionmanager.pool.Pool;
+import org.jboss.jca.core.spi.statistics.StatisticsPlugin;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link SpareConnectionFiller}, against a minimal pool that hands out idle connections first and destroys
+ * the ones that do not match, as the IronJacamar pools do.
+ */
+public class SpareConnectionFillerTestCase {
+
+    private DataSourceDiagnostics diagnostics;
+    private FakePool pool;
+    private RecordingExecutor executor;
+
+    @Before
+    public void setUp() {
+        diagnostics = new DataSourceDiagnostics();
+        pool = new FakePool(diagnostics);
+        executor = new RecordingExecutor();
+    }
+
+    @Test
+    public void testCreatesMissingSpareConnections() throws Exception {
+        final SpareConnectionFiller filler = createFiller(false);
+        filler.setSpareConnections(3);
+        filler.fill();
+
+        assertEquals(3, pool.idle.size());
+        assertEquals(3, pool.created);
+        assertEquals(3L, diagnostics.getValue(DataSourceDiagnostics.VALIDATION_COUNT));
+        assertEquals(1L, diagnostics.getValue(DataSourceDiagnostics.REFILL_COUNT));
+        // the filler is not a caller waiting for connections
+        assertEquals(0L, diagnostics.getValue(DataSourceDiagnostics.ACQUISITION_COUNT));
+    }
+
+    @Test
+    public void testOnlyTopsUpMissingConnections() throws Exception {
+        pool.addIdle(true);
+        final SpareConnectionFiller filler = createFiller(false);
+        filler.setSpareConnections(3);
+        filler.fill();
+
+        assertEquals(3, pool.idle.size());
+        assertEquals(2, pool.created);
+
+        filler.fill();
+        assertEquals(2, pool.created);
+        assertEquals(1L, diagnostics.getValue(DataSourceDiagnostics.REFILL_COUNT));
+    }
+
+    @Test
+    public void testInvalidConnectionIsDestroyedAlone() throws Exception {
+        final FakeConnection good = pool.addIdle(true);
+        final FakeConnection bad = pool.addIdle(false);
+        final SpareConnectionFiller filler = createFiller(true);
+        filler.setSpareConnections(2);
+        filler.fill();
+
+        // both idle connections were validated and a valid one was created to replace the invalid one
+        assertEquals(3L, diagnostics.getValue(DataSourceDiagnostics.VALIDATION_COUNT));
+        assertEquals(1L, diagnostics.getValue(DataSourceDiagnostics.INVALID_COUNT));
+        assertEquals(3, pool.idle.size());
+        assertTrue(pool.destroyed.isEmpty());
+
+        // the pool destroys the invalid connection when it tries to hand it out, and nothing else
+        for (int i = 0; i < 3; i++) {
+            pool.getConnection();
+        }
+        assertEquals(Collections.singletonList(bad), pool.destroyed);
+        assertFalse(pool.destroyed.contains(good));
+    }
+
+    @Test
+    public void testValidatesIdleConnectionsOnlyWhenValidatingOnMatch() throws Exception {
+        pool.addIdle(true);
+        pool.addIdle(true);
+        final SpareConnectionFiller filler = createFiller(false);
+        filler.setSpareConnections(2);
+        filler.fill();
+        assertEquals(0L, diagnostics.getValue(DataSourceDiagnostics.VALIDATION_COUNT));
+
+        final SpareConnectionFiller validating = createFiller(true);
+        validating.setSpareConnections(2);
+        validating.fill();
+        assertEquals(2L, diagnostics.getValue(DataSourceDiagnostics.VALIDATION_COUNT));
+        assertEquals(0, pool.created);
+    }
+
+    @Test
+    public void testScheduling() {
+        final SpareConnectionFiller filler = createFiller(false);
+        filler.setSpareConnections(0);
+        assertEquals(0, executor.scheduled);
+
+        filler.setSpareConnections(2);
+        assertEquals(1, executor.scheduled);
+        assertNotNull(executor.last);
+
+        filler.setInterval(1000L);
+        assertEquals(2, executor.scheduled);
+        assertEquals(1, executor.cancelled);
+
+        filler.stop();
+        assertEquals(2, executor.scheduled);
+        assertEquals(2, executor.cancelled);
+    }
+
+    @Test
+    public void testNothingToFillWhenStopped() throws Exception {
+        final SpareConnectionFiller filler = createFiller(false);
+        filler.fill();
+        assertEquals(0, pool.created);
+        assertEquals(0L, diagnostics.getValue(DataSourceDiagnostics.REFILL_COUNT));
+    }
+
+    private SpareConnectionFiller createFiller(final boolean validateOnMatch) {
+        return new SpareConnectionFiller(pool.dataSource(), pool.proxy(), null, null, validateOnMatch, diagnostics,
+                executor.proxy(), "java:/TestDS");
+    }
+
+    private static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SpareConnectionFillerTestCase.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    /**
+     * A physical connection: a {@link ManagedConnection} that keeps its listeners.
+     */
+    private static final class FakeConnection implements InvocationHandler {
+
+        private final boolean valid;
+        private final List<ConnectionEventListener> listeners = new ArrayList<ConnectionEventListener>();
+        private final ManagedConnection managedConnection = proxy(ManagedConnection.class, this);
+
+        FakeConnection(final boolean valid) {
+            this.valid = valid;
+        }
+
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            final String name = method.getName();
+            if ("addConnectionEventListener".equals(name)) {
+                listeners.add((ConnectionEventListener) args[0]);
+            } else if ("equals".equals(name)) {
+                return proxy == args[0];
+            } else if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            }
+            return null;
+        }
+
+        void closed(final Object handle) {
+            final ConnectionEvent event = new ConnectionEvent(managedConnection, ConnectionEvent.CONNECTION_CLOSED);
+            event.setConnectionHandle(handle);
+            for (ConnectionEventListener listener : listeners) {
+                listener.connectionClosed(event);
+            }
+        }
+    }
+
+    private static final class FakePool implements InvocationHandler {
+
+        private final DataSourceDiagnostics diagnostics;
+        private final LinkedList<FakeConnection> idle = new LinkedList<FakeConnection>();
+        private final List<FakeConnection> destroyed = new ArrayList<FakeConnection>();
+        private int inUse;
+        private int created;
+
+        FakePool(final DataSourceDiagnostics diagnostics) {
+            this.diagnostics = diagnostics;
+        }
+
+        FakeConnection addIdle(final boolean valid) {
+            final FakeConnection connection = new FakeConnection(valid);
+            diagnostics.track(connection.managedConnection);
+            idle.add(connection);
+            return connection;
+        }
+
+        Connection getConnection() {
+            FakeConnection connection = null;
+            while (connection == null && !idle.isEmpty()) {
+                final FakeConnection candidate = idle.removeFirst();
+                if (diagnostics.withoutInvalid(Collections.singleton(candidate.managedConnection)).isEmpty()) {
+                    destroyed.add(candidate);
+                } else {
+                    connection = candidate;
+                }
+            }
+            if (connection == null) {
+                connection = new FakeConnection(true);
+                diagnostics.track(connection.managedConnection);
+                created++;
+            }
+            inUse++;
+            return handle(connection);
+        }
+
+        private Connection handle(final FakeConnection connection) {
+            return SpareConnectionFillerTestCase.proxy(Connection.class, new InvocationHandler() {
+                public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                    final String name = method.getName();
+                    if ("isValid".equals(name)) {
+                        return connection.valid;
+                    } else if ("close".equals(name)) {
+                        connection.closed(proxy);
+                        inUse--;
+                        idle.add(connection);
+                    } else if ("equals".equals(name)) {
+                        return proxy == args[0];
+                    } else if ("hashCode".equals(name)) {
+                        return System.identityHashCode(proxy);
+                    }
+                    return null;
+                }
+            });
+        }
+
+        /**
+         * The data source allocates its connections through a tracked connection manager, as the deployed ones do.
+         */
+        DataSource dataSource() {
+            final ConnectionManager connectionManager = diagnostics.track(new ConnectionManager() {
+                private static final long serialVersionUID = 1L;
+
+                public Object allocateConnection(final ManagedConnectionFactory mcf, final ConnectionRequestInfo cxRequestInfo) {
+                    return getConnection();
+                }
+            });
+            return SpareConnectionFillerTestCase.proxy(DataSource.class, new InvocationHandler() {
+                public Object invoke(final Object proxy, final Method method, final Object[] args) throws Exception {
+                    return "getConnection".equals(method.getName()) ? connectionManager.allocateConnection(null, null) : null;
+                }
+            });
+        }
+
+        Pool proxy() {
+            return SpareConnectionFillerTestCase.proxy(Pool.class, this);
+        }
+
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            if (!"getStatistics".equals(method.getName())) {
+                return null;
+            }
+            return SpareConnectionFillerTestCase.proxy(StatisticsPlugin.class, new InvocationHandler() {
+                public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                    final String name = method.getName();
+                    if ("getNames".equals(name)) {
+                        return new HashSet<String>(Arrays.asList("ActiveCount", "InUseCount"));
+                    } else if ("getValue".equals(name)) {
+                        return "ActiveCount".equals(args[0]) ? idle.size() + inUse : "InUseCount".equals(args[0]) ? inUse : null;
+                    }
+                    return null;
+                }
+            });
+        }
+    }
+
+    /**
+     * Records the scheduling of rounds without running them, so that the tests run them on their own thread.
+     */
+    private static final class RecordingExecutor implements InvocationHandler {
+
+        private int scheduled;
+        private int cancelled;
+        private Runnable last;
+
+        ScheduledExecutorService proxy() {
+            return SpareConnectionFillerTestCase.proxy(ScheduledExecutorService.class, this);
+        }
+
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            if (!"scheduleWithFixedDelay".equals(method.getName())) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            scheduled++;
+            last = (Runnable) args[0];
+            return SpareConnectionFillerTestCase.proxy(ScheduledFuture.class, new InvocationHandler() {
+                public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                    if ("cancel".equals(method.getName())) {
+                        cancelled++;
+                        return true;
+                    }
+                    return null;
+                }
+            });
+        }
+    }
+}
@@ -26,6 +26,7 @@ import java.io.IOException;
 import org.jboss.as.connector.subsystems.datasources.DataSourcesExtension;
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
+import org.junit.Test;
 
 /**
  *
@@ -61,6 +62,42 @@ public class DatasourcesSubsystemTestCase extends AbstractSubsystemBaseTest {
     }
 
 
+    @Override
+    protected String getSubsystemXml(String configId) throws IOException {
+        return  "<subsystem xmlns=\"urn:jboss:domain:datasources:1.2\">" +
+                "    <datasources>" +
+                "        <datasource jndi-name=\"java:jboss/datasources/ExampleDS\" use-java-context=\"true\" pool-name=\"H2DS\"" +
+                "                    spare-connections=\"2\" spare-connections-interval=\"10000\">" +
+                "            <connection-url>jdbc:h2:mem:test;DB_CLOSE_DELAY=-1</connection-url>" +
+                "            <driver>h2</driver>" +
+                "            <security>" +
+                "                <user-name>sa</user-name>" +
+                "                <password>sa</password>" +
+                "            </security>" +
+                "        </datasource>" +
+                "        <drivers>" +
+                "            <driver name=\"h2\" module=\"com.h2database.h2\">" +
+                "                <xa-datasource-class>org.h2.jdbcx.JdbcDataSource</xa-datasource-class>" +
+                "            </driver>" +
+                "        </drivers>" +
+                "    </datasources>" +
+                "</subsystem>";
+    }
+
+    /**
+     * The 1.1 configuration is marshalled in the current namespace, so only the resulting models are compared.
+     */
+    @Override
+    @Test
+    public void testSubsystem() throws Exception {
+        standardSubsystemTest(null, false);
+    }
+
+    @Test
+    public void testSubsystem_1_2() throws Exception {
+        standardSubsystemTest("1.2");
+    }
+
     protected AdditionalInitialization createAdditionalInitialization() {
         return AdditionalInitialization.MANAGEMENT;
     }
@@ -0,0 +1,173 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client.helpers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+
+/**
+ * Pipelines independent operations over a {@link ModelControllerClient}: operations are sent without waiting for the
+ * responses to the previous ones, as long as no more than a fixed number of them are in flight. Responses are matched
+ * to their operations by the management protocol, so they may complete in any order.
+ * <p/>
+ * Only operations which do not depend on each other's outcome should be pipelined; use a composite operation for
+ * operations which have to be applied in order or all together.
+ */
+public final class OperationPipeline {
+
+    /** The default maximum number of operations in flight. */
+    public static final int DEFAULT_WINDOW = 16;
+
+    private final ModelControllerClient client;
+    private final int window;
+    private final Semaphore inFlight;
+
+    /**
+     * Create a pipeline with the {@link #DEFAULT_WINDOW default window}.
+     *
+     * @param client the client to execute the operations with
+     */
+    public OperationPipeline(final ModelControllerClient client) {
+        this(client, DEFAULT_WINDOW);
+    }
+
+    /**
+     * Create a pipeline.
+     *
+     * @param client the client to execute the operations with
+     * @param window the maximum number of operations in flight
+     */
+    public OperationPipeline(final ModelControllerClient client, final int window) {
+        if (client == null) {
+            throw new IllegalArgumentException("client is null");
+        }
+        if (window < 1) {
+            throw new IllegalArgumentException("window < 1");
+        }
+        this.client = client;
+        this.window = window;
+        this.inFlight = new Semaphore(window);
+    }
+
+    /**
+     * Send an operation, first waiting for a response if the window is full.
+     *
+     * @param operation the operation
+     * @return the future result of the operation
+     * @throws InterruptedException if interrupted while waiting for room in the window
+     */
+    public AsyncFuture<ModelNode> submit(final ModelNode operation) throws InterruptedException {
+        return submit(new OperationBuilder(operation).build(), null);
+    }
+
+    /**
+     * Send an operation, first waiting for a response if the window is full.
+     *
+     * @param operation the operation
+     * @param messageHandler the message handler to use for operation progress reporting, or {@code null} for none
+     * @return the future result of the operation
+     * @throws InterruptedException if interrupted while waiting for room in the window
+     */
+    public AsyncFuture<ModelNode> submit(final Operation operation, final OperationMessageHandler messageHandler) throws InterruptedException {
+        inFlight.acquire();
+        final AsyncFuture<ModelNode> future;
+        try {
+            future = client.executeAsync(operation, messageHandler);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+        future.addListener(new AsyncFuture.AbstractListener<ModelNode, Void>() {
+            @Override
+            public void handleComplete(final AsyncFuture<? extends ModelNode> future, final Void attachment) {
+                inFlight.release();
+            }
+
+            @Override
+            public void handleFailed(final AsyncFuture<? extends ModelNode> future, final Throwable cause, final Void attachment) {
+                inFlight.release();
+            }
+
+            @Override
+            public void handleCancelled(final AsyncFuture<? extends ModelNode> future, final Void attachment) {
+                inFlight.release();
+            }
+        }, null);
+        return future;
+    }
+
+    /**
+     * Execute all operations, pipelined.
+     *
+     * @param operations the operations
+     * @return the results, in the order of the operations
+     * @throws IOException if an operation could not be executed
+     */
+    public List<ModelNode> executeAll(final List<ModelNode> operations) throws IOException {
+        final List<AsyncFuture<ModelNode>> futures = new ArrayList<AsyncFuture<ModelNode>>(operations.size());
+        try {
+            for (ModelNode operation : operations) {
+                futures.add(submit(operation));
+            }
+            final List<ModelNode> results = new ArrayList<ModelNode>(operations.size());
+            for (AsyncFuture<ModelNode> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(futures);
+            throw new IOException(e);
+        } catch (Exception e) {
+            cancel(futures);
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Wait until no operation is in flight any more.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitCompletion() throws InterruptedException {
+        inFlight.acquire(window);
+        inFlight.release(window);
+    }
+
+    private static void cancel(final List<AsyncFuture<ModelNode>> futures) {
+        for (AsyncFuture<ModelNode> future : futures) {
+            if (future.getStatus() == AsyncFuture.Status.WAITING) {
+                future.asyncCancel(true);
+            }
+        }
+    }
+}
@@ -592,6 +592,10 @@ abstract class AbstractOperationContext implements OperationContext {
         return activeStep.response.get(SERVER_GROUPS);
     }
 
+    public final ModelNode getResponseHeaders() {
+        return activeStep.response.get(RESPONSE_HEADERS);
+    }
+
     private boolean hasMoreSteps() {
         Stage stage = currentStage;
         boolean more = !steps.get(stage).isEmpty();
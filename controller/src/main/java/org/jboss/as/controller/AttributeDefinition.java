@@ -641,6 +641,11 @@ public abstract class AttributeDefinition {
             return null;
         }
 
+        @Override
+        public ModelNode getResponseHeaders() {
+            return null;
+        }
+
         @Override
         public ManagementResourceRegistration getResourceRegistrationForUpdate() {
             return null;
@@ -157,6 +157,13 @@ public interface OperationContext {
      */
     ModelNode getServerResults();
 
+    /**
+     * Get the node into which the response headers of the operation should be written.
+     *
+     * @return the response headers node
+     */
+    ModelNode getResponseHeaders();
+
 
     /**
      * Complete a step, returning the overall operation result.  The step handler calling this operation should append
@@ -136,6 +136,7 @@ public class ModelDescriptionConstants {
     public static final String MASK = "mask";
     public static final String MASTER = "master";
     public static final String MAX = "max";
+    public static final String MAX_CONCURRENT_SERVER_LAUNCHES = "max-concurrent-server-launches";
     public static final String MAX_FAILED_SERVERS = "max-failed-servers";
     public static final String MAX_FAILURE_PERCENTAGE = "max-failure-percentage";
     public static final String MAX_LENGTH = "max-length";
@@ -192,6 +193,7 @@ public class ModelDescriptionConstants {
     public static final String READ_CHILDREN_RESOURCES_OPERATION = "read-children-resources";
     public static final String READ_CONFIG_AS_XML_OPERATION = "read-config-as-xml";
     public static final String READ_ONLY = "read-only";
+    public static final String READ_ONLY_THREADS = "read-only-threads";
     public static final String READ_OPERATION_DESCRIPTION_OPERATION = "read-operation-description";
     public static final String READ_OPERATION_NAMES_OPERATION = "read-operation-names";
     public static final String READ_RESOURCE_DESCRIPTION_OPERATION = "read-resource-description";
@@ -72,6 +72,7 @@ public enum Attribute {
     KEY_PASSWORD("key-password"),
     KEYSTORE_PASSWORD("keystore-password"),
     MANAGEMENT_SUBSYSTEM_ENDPOINT("management-subsystem-endpoint"),
+    MAX_CONCURRENT_SERVER_LAUNCHES("max-concurrent-server-launches"),
     MAX_SIZE("max-size"),
     MAX_THREADS("max-threads"),
     MODULE("module"),
@@ -88,6 +89,7 @@ public enum Attribute {
     PREFIX("prefix"),
     PROFILE("profile"),
     PROTOCOL("protocol"),
+    READ_ONLY_THREADS("read-only-threads"),
     RECURSIVE("recursive"),
     REF("ref"),
     RELATIVE_TO("relative-to"),
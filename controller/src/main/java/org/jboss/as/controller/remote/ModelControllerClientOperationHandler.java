@@ -51,6 +51,9 @@ import org.jboss.dmr.ModelNode;
 
 /**
  * Operation handlers for the remote implementation of {@link org.jboss.as.controller.client.ModelControllerClient}
+ * <p/>
+ * Requests are correlated by batch id and each is executed asynchronously, so a client may pipeline independent
+ * requests over the channel and have their responses back in whatever order they complete.
  *
  * @author <a href="kabir.khan@jboss.com">Kabir Khan</a>
  * @author Emanuel Muckenhuber
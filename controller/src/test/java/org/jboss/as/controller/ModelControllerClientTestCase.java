@@ -22,11 +22,13 @@
 package org.jboss.as.controller;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
@@ -39,6 +41,7 @@ import org.jboss.as.controller.client.ModelControllerClient;
 import org.jboss.as.controller.client.OperationAttachments;
 import org.jboss.as.controller.client.OperationBuilder;
 import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.helpers.OperationPipeline;
 import org.jboss.as.controller.remote.ExistingChannelModelControllerClient;
 import org.jboss.as.controller.remote.ModelControllerClientOperationHandler;
 import org.jboss.as.controller.support.RemoteChannelPairSetup;
@@ -304,6 +307,88 @@ public class ModelControllerClientTestCase {
 
     }
 
+    @Test
+    public void testPipelinedOperationsCompleteOutOfOrder() throws Exception {
+        final CountDownLatch fastExecuted = new CountDownLatch(1);
+        MockModelController controller = new MockModelController() {
+            @Override
+            public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+                if (operation.get("slow").asBoolean(false)) {
+                    try {
+                        // only completes once the operation sent after it has
+                        fastExecuted.await();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                } else {
+                    fastExecuted.countDown();
+                }
+                ModelNode result = new ModelNode();
+                result.get("testing").set(operation.get("test"));
+                return result;
+            }
+        };
+        final ModelControllerClient client = setupTestClient(controller);
+        try {
+            final OperationPipeline pipeline = new OperationPipeline(client, 2);
+            ModelNode slow = new ModelNode();
+            slow.get("slow").set(true);
+            slow.get("test").set("slow");
+            ModelNode fast = new ModelNode();
+            fast.get("test").set("fast");
+
+            AsyncFuture<ModelNode> slowFuture = pipeline.submit(slow);
+            AsyncFuture<ModelNode> fastFuture = pipeline.submit(fast);
+            assertEquals("fast", fastFuture.get().get("testing").asString());
+            assertEquals("slow", slowFuture.get().get("testing").asString());
+        } finally {
+            IoUtils.safeClose(client);
+        }
+    }
+
+    @Test
+    public void testPipelineWindowIsBounded() throws Exception {
+        final AtomicInteger executing = new AtomicInteger();
+        final AtomicInteger maxExecuting = new AtomicInteger();
+        MockModelController controller = new MockModelController() {
+            @Override
+            public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+                final int current = executing.incrementAndGet();
+                int max;
+                while ((max = maxExecuting.get()) < current && !maxExecuting.compareAndSet(max, current)) {
+                    //
+                }
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    executing.decrementAndGet();
+                }
+                ModelNode result = new ModelNode();
+                result.get("testing").set(operation.get("test"));
+                return result;
+            }
+        };
+        final ModelControllerClient client = setupTestClient(controller);
+        try {
+            final List<ModelNode> operations = new ArrayList<ModelNode>();
+            for (int i = 0; i < 40; i++) {
+                ModelNode operation = new ModelNode();
+                operation.get("test").set(i);
+                operations.add(operation);
+            }
+            final List<ModelNode> results = new OperationPipeline(client, 4).executeAll(operations);
+            assertEquals(40, results.size());
+            for (int i = 0; i < 40; i++) {
+                assertEquals(i, results.get(i).get("testing").asInt());
+            }
+            assertTrue("max executing " + maxExecuting.get(), maxExecuting.get() <= 4);
+        } finally {
+            IoUtils.safeClose(client);
+        }
+    }
+
     private void assertArrays(byte[] expected, byte[] actual) {
         assertEquals(expected.length, actual.length);
         for (int i = 0 ; i < expected.length ; i++) {
@@ -22,14 +22,14 @@
 
 package org.jboss.as.repository;
 
-import java.io.BufferedInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.DigestOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
@@ -108,8 +108,8 @@ public interface ContentRepository {
         private static class ContentRepositoryImpl implements ContentRepository, Service<ContentRepository> {
 
             protected static final String CONTENT = "content";
+            private static final int BUFFER_SIZE = 65536;
             private final File repoRoot;
-            protected final MessageDigest messageDigest;
 
             protected ContentRepositoryImpl(final File repoRoot) {
                 if (repoRoot == null)
@@ -126,39 +126,27 @@ public interface ContentRepository {
                     throw DeploymentRepositoryMessages.MESSAGES.cannotCreateDirectory(repoRoot.getAbsolutePath());
                 }
                 this.repoRoot = repoRoot;
-
-                try {
-                    this.messageDigest = MessageDigest.getInstance("SHA-1");
-                } catch (NoSuchAlgorithmException e) {
-                    throw DeploymentRepositoryMessages.MESSAGES.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
-                }
+                // fail early if SHA-1 is not available
+                createMessageDigest();
             }
 
             @Override
             public byte[] addContent(InputStream stream) throws IOException {
-                byte[] sha1Bytes;
+                // Each addition hashes with its own digest, so concurrent uploads don't wait for each other
+                final MessageDigest messageDigest = createMessageDigest();
+                // Stage the content in the repository root, on the same file system as its final location,
+                // so it can be moved there instead of being copied
                 File tmp = File.createTempFile(CONTENT, "tmp", repoRoot);
                 FileOutputStream fos = new FileOutputStream(tmp);
-                synchronized (messageDigest) {
-                    messageDigest.reset();
-                    try {
-                        DigestOutputStream dos = new DigestOutputStream(fos, messageDigest);
-                        BufferedInputStream bis = new BufferedInputStream(stream);
-                        byte[] bytes = new byte[8192];
-                        int read;
-                        while ((read = bis.read(bytes)) > -1) {
-                            dos.write(bytes, 0, read);
-                        }
-                        fos.flush();
-                        fos.getFD().sync();
-                        fos.close();
-                        fos = null;
-                    }
-                    finally {
-                        safeClose(fos);
-                    }
-                    sha1Bytes = messageDigest.digest();
+                try {
+                    writeAndDigest(stream, fos.getChannel(), messageDigest);
+                    fos.getFD().sync();
+                    fos.close();
+                    fos = null;
+                } finally {
+                    safeClose(fos);
                 }
+                final byte[] sha1Bytes = messageDigest.digest();
                 final File realFile = getDeploymentContentFile(sha1Bytes, true);
                 if(hasContent(sha1Bytes)) {
                     // we've already got this content
@@ -170,10 +158,31 @@ public interface ContentRepository {
                     moveTempToPermanent(tmp, realFile);
                     DeploymentRepositoryLogger.ROOT_LOGGER.contentAdded(realFile.getAbsolutePath());
                 }
-
                 return sha1Bytes;
             }
 
+            private static void writeAndDigest(final InputStream stream, final FileChannel out, final MessageDigest messageDigest) throws IOException {
+                final byte[] bytes = new byte[BUFFER_SIZE];
+                final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                int read;
+                while ((read = stream.read(bytes)) > -1) {
+                    messageDigest.update(bytes, 0, read);
+                    buffer.limit(read);
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+
+            private static MessageDigest createMessageDigest() {
+                try {
+                    return MessageDigest.getInstance("SHA-1");
+                } catch (NoSuchAlgorithmException e) {
+                    throw DeploymentRepositoryMessages.MESSAGES.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
+                }
+            }
+
             @Override
             public VirtualFile getContent(byte[] hash) {
                 if (hash == null)
@@ -232,7 +241,8 @@ public interface ContentRepository {
                     // AS7-3574. Try to avoid writing the permanent file bit by bit in we crash in the middle.
                     // Copy tmpFile to another tmpfile in the same dir as the permanent file (and thus same filesystem)
                     // and see then if we can rename it.
-                    File localTmp = new File(permanentFile.getParent(), "tmp");
+                    // Additions are no longer serialized, so each one needs its own local temp file
+                    File localTmp = File.createTempFile(CONTENT, "tmp", permanentFile.getParentFile());
                     try {
                         copyFile(tmpFile, localTmp);
                         if (!localTmp.renameTo(permanentFile)) {
@@ -267,12 +277,20 @@ public interface ContentRepository {
                 try {
                     fos = new FileOutputStream(dest);
                     fis = new FileInputStream(src);
-                    byte[] bytes = new byte[8192];
-                    int read;
-                    while ((read = fis.read(bytes)) > -1) {
-                        fos.write(bytes, 0, read);
+                    // let the file system copy the data rather than passing it through our buffers
+                    final FileChannel in = fis.getChannel();
+                    final FileChannel out = fos.getChannel();
+                    final long size = in.size();
+                    long position = 0;
+                    while (position < size) {
+                        final long transferred = in.transferTo(position, size - position, out);
+                        if (transferred <= 0) {
+                            // the channel made no progress, e.g. it does not support transfers; copy the rest ourselves
+                            position += copyChannel(in, position, out);
+                            break;
+                        }
+                        position += transferred;
                     }
-                    fos.flush();
                     fos.getFD().sync();
                     fos.close();
                     fos = null;
@@ -282,6 +300,21 @@ public interface ContentRepository {
                 }
             }
 
+            private static long copyChannel(final FileChannel in, final long position, final FileChannel out) throws IOException {
+                final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                long copied = 0;
+                int read;
+                while ((read = in.read(buffer, position + copied)) > -1) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                    copied += read;
+                }
+                return copied;
+            }
+
             @Override
             public void removeContent(byte[] hash) {
                 File file = getDeploymentContentFile(hash, true);
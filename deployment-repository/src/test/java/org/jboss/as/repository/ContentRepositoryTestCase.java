@@ -0,0 +1,172 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.repository;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link ContentRepository} implementation.
+ */
+public class ContentRepositoryTestCase {
+
+    private static final int THREADS = 8;
+    private static final int ADDITIONS = 32;
+
+    private File root;
+    private ContentRepository repository;
+
+    @Before
+    public void setUp() throws IOException {
+        root = File.createTempFile("content-repository", "test");
+        if (!root.delete() || !root.mkdir()) {
+            throw new IOException("Cannot create " + root);
+        }
+        repository = ContentRepository.Factory.create(root);
+    }
+
+    @After
+    public void tearDown() {
+        delete(root);
+    }
+
+    @Test
+    public void testAddContent() throws Exception {
+        final byte[] content = content(0, 100000);
+        final byte[] hash = repository.addContent(new ByteArrayInputStream(content));
+        assertArrayEquals(sha1(content), hash);
+        assertTrue(repository.hasContent(hash));
+        assertArrayEquals(content, read(repository.getContent(hash).getPhysicalFile()));
+        assertArrayEquals(hash, repository.addContent(new ByteArrayInputStream(content)));
+        assertNoTempFiles();
+    }
+
+    @Test
+    public void testConcurrentAddContent() throws Exception {
+        // half of the additions share their content with another one
+        final byte[][] contents = new byte[ADDITIONS][];
+        for (int i = 0; i < ADDITIONS; i++) {
+            contents[i] = content(i % (ADDITIONS / 2), 50000 + (i % (ADDITIONS / 2)) * 1000);
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<byte[]>> hashes = new ArrayList<Future<byte[]>>();
+            for (final byte[] content : contents) {
+                hashes.add(executor.submit(new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() throws Exception {
+                        start.await();
+                        return repository.addContent(new ByteArrayInputStream(content));
+                    }
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < ADDITIONS; i++) {
+                final byte[] hash = hashes.get(i).get(30, TimeUnit.SECONDS);
+                assertArrayEquals(sha1(contents[i]), hash);
+                assertTrue(repository.hasContent(hash));
+                assertArrayEquals(contents[i], read(repository.getContent(hash).getPhysicalFile()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertNoTempFiles();
+    }
+
+    @Test
+    public void testRemoveContent() throws Exception {
+        final byte[] hash = repository.addContent(new ByteArrayInputStream(content(1, 1000)));
+        repository.removeContent(hash);
+        assertTrue(!repository.hasContent(hash));
+    }
+
+    private void assertNoTempFiles() {
+        final String[] tmp = root.list(new FilenameFilter() {
+            @Override
+            public boolean accept(final File dir, final String name) {
+                return name.endsWith("tmp");
+            }
+        });
+        assertEquals(0, tmp.length);
+    }
+
+    private static byte[] content(final int seed, final int size) {
+        final byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (i * 31 + seed);
+        }
+        return bytes;
+    }
+
+    private static byte[] sha1(final byte[] content) throws Exception {
+        return MessageDigest.getInstance("SHA-1").digest(content);
+    }
+
+    private static byte[] read(final File file) throws IOException {
+        final InputStream in = new FileInputStream(file);
+        try {
+            final byte[] bytes = new byte[(int) file.length()];
+            int offset = 0;
+            int read;
+            while (offset < bytes.length && (read = in.read(bytes, offset, bytes.length - offset)) > -1) {
+                offset += read;
+            }
+            assertEquals(-1, in.read());
+            return bytes;
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void delete(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
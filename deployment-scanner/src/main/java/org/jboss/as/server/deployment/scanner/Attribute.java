@@ -41,6 +41,8 @@ enum Attribute {
     AUTO_DEPLOY_EXPLODED(CommonAttributes.AUTO_DEPLOY_EXPLODED),
     AUTO_DEPLOY_XML(CommonAttributes.AUTO_DEPLOY_XML),
     DEPLOYMENT_TIMEOUT(CommonAttributes.DEPLOYMENT_TIMEOUT),
+    FULL_SCAN_INTERVAL(CommonAttributes.FULL_SCAN_INTERVAL),
+    MAX_CONCURRENT_DEPLOYMENTS(CommonAttributes.MAX_CONCURRENT_DEPLOYMENTS),
     ;
 
     private final String name;
@@ -32,11 +32,17 @@ interface CommonAttributes {
     String AUTO_DEPLOY_XML = "auto-deploy-xml";
     String DEPLOYMENT_SCANNER = "deployment-scanner";
     String DEPLOYMENT_TIMEOUT = "deployment-timeout";
+    String FULL_SCAN_INTERVAL = "full-scan-interval";
+    String LAST_DEPLOYMENT_TIMES = "last-deployment-times";
+    String LAST_SCAN_CHANGES = "last-scan-changes";
+    String LAST_SCAN_DURATION = "last-scan-duration";
+    String MAX_CONCURRENT_DEPLOYMENTS = "max-concurrent-deployments";
     String NAME = "name";
     String PATH = "path";
     String RELATIVE_TO = "relative-to";
     String SCANNER = "scanner";
     String SCAN_ENABLED = "scan-enabled";
     String SCAN_INTERVAL = "scan-interval";
+    String SKIPPED_SCANS = "skipped-scans";
 
 }
@@ -59,6 +59,8 @@ import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_XML;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_ZIPPED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.DEPLOYMENT_TIMEOUT;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.FULL_SCAN_INTERVAL;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.MAX_CONCURRENT_DEPLOYMENTS;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.RELATIVE_TO;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_ENABLED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_INTERVAL;
@@ -103,6 +105,8 @@ class DeploymentScannerAdd implements OperationStepHandler {
             final Boolean autoDeployXml = AUTO_DEPLOY_XML.resolveModelAttribute(context, operation).asBoolean();
             final Long deploymentTimeout = DEPLOYMENT_TIMEOUT.resolveModelAttribute(context, operation).asLong();
             final Integer scanInterval = SCAN_INTERVAL.resolveModelAttribute(context, operation).asInt();
+            final Long fullScanInterval = FULL_SCAN_INTERVAL.resolveModelAttribute(context, operation).asLong();
+            final Integer maxConcurrentDeployments = MAX_CONCURRENT_DEPLOYMENTS.resolveModelAttribute(context, operation).asInt();
 
             final ThreadFactory threadFactory = new JBossThreadFactory(new ThreadGroup("DeploymentScanner-threads"), Boolean.FALSE, null, "%G - %t", null, null, AccessController.getContext());
             final ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(2, threadFactory);
@@ -125,6 +129,12 @@ class DeploymentScannerAdd implements OperationStepHandler {
                 if (scanInterval != null) {
                     bootTimeScanner.setScanInterval(scanInterval);
                 }
+                if (fullScanInterval != null) {
+                    bootTimeScanner.setFullScanInterval(fullScanInterval);
+                }
+                if (maxConcurrentDeployments != null) {
+                    bootTimeScanner.setMaxConcurrentDeployments(maxConcurrentDeployments);
+                }
             } else {
                 bootTimeScanner = null;
             }
@@ -220,9 +230,11 @@ class DeploymentScannerAdd implements OperationStepHandler {
         final Boolean autoDeployExp = AUTO_DEPLOY_EXPLODED.resolveModelAttribute(context, operation).asBoolean();
         final Boolean autoDeployXml = AUTO_DEPLOY_XML.resolveModelAttribute(context, operation).asBoolean();
         final Long deploymentTimeout = DEPLOYMENT_TIMEOUT.resolveModelAttribute(context, operation).asLong();
+        final Long fullScanInterval = FULL_SCAN_INTERVAL.resolveModelAttribute(context, operation).asLong();
+        final Integer maxConcurrentDeployments = MAX_CONCURRENT_DEPLOYMENTS.resolveModelAttribute(context, operation).asInt();
         final ServiceTarget serviceTarget = context.getServiceTarget();
         DeploymentScannerService.addService(serviceTarget, name, relativeTo, path, interval, TimeUnit.MILLISECONDS,
-                autoDeployZip, autoDeployExp, autoDeployXml, enabled, deploymentTimeout, newControllers, bootTimeScanner, executorService, verificationHandler);
+                autoDeployZip, autoDeployExp, autoDeployXml, enabled, deploymentTimeout, fullScanInterval, maxConcurrentDeployments, newControllers, bootTimeScanner, executorService, verificationHandler);
 
     }
 
@@ -1,9 +1,12 @@
 package org.jboss.as.server.deployment.scanner;
 
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.services.path.PathManager;
@@ -80,7 +83,21 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
                     .setAllowExpression(true)
                     .setDefaultValue(new ModelNode().set(600))
                     .build();
-    protected static final SimpleAttributeDefinition[] ALL_ATTRIBUTES = {PATH,RELATIVE_TO,SCAN_ENABLED,SCAN_INTERVAL,AUTO_DEPLOY_EXPLODED,AUTO_DEPLOY_XML,AUTO_DEPLOY_ZIPPED,DEPLOYMENT_TIMEOUT};
+    protected static final SimpleAttributeDefinition FULL_SCAN_INTERVAL =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.FULL_SCAN_INTERVAL, ModelType.LONG, true)
+                    .setXmlName(Attribute.FULL_SCAN_INTERVAL.getLocalName())
+                    .setAllowExpression(true)
+                    .setValidator(new LongRangeValidator(0, Long.MAX_VALUE, true, true))
+                    .setDefaultValue(new ModelNode().set(FileSystemDeploymentService.DEFAULT_FULL_SCAN_INTERVAL))
+                    .build();
+    protected static final SimpleAttributeDefinition MAX_CONCURRENT_DEPLOYMENTS =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.MAX_CONCURRENT_DEPLOYMENTS, ModelType.INT, true)
+                    .setXmlName(Attribute.MAX_CONCURRENT_DEPLOYMENTS.getLocalName())
+                    .setAllowExpression(true)
+                    .setValidator(new IntRangeValidator(0, Integer.MAX_VALUE, true, true))
+                    .setDefaultValue(new ModelNode().set(0))
+                    .build();
+    protected static final SimpleAttributeDefinition[] ALL_ATTRIBUTES = {PATH,RELATIVE_TO,SCAN_ENABLED,SCAN_INTERVAL,AUTO_DEPLOY_EXPLODED,AUTO_DEPLOY_XML,AUTO_DEPLOY_ZIPPED,DEPLOYMENT_TIMEOUT,FULL_SCAN_INTERVAL,MAX_CONCURRENT_DEPLOYMENTS};
 
     @Override
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
@@ -93,5 +110,10 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerReadWriteAttribute(AUTO_DEPLOY_EXPLODED, null, WriteAutoDeployExplodedAttributeHandler.INSTANCE);
         resourceRegistration.registerReadWriteAttribute(AUTO_DEPLOY_XML, null, WriteAutoDeployXMLAttributeHandler.INSTANCE);
         resourceRegistration.registerReadWriteAttribute(DEPLOYMENT_TIMEOUT, null, WriteDeploymentTimeoutAttributeHandler.INSTANCE);
+        resourceRegistration.registerReadWriteAttribute(FULL_SCAN_INTERVAL, null, WriteFullScanIntervalAttributeHandler.INSTANCE);
+        resourceRegistration.registerReadWriteAttribute(MAX_CONCURRENT_DEPLOYMENTS, null, WriteMaxConcurrentDeploymentsAttributeHandler.INSTANCE);
+        for (AttributeDefinition metric : DeploymentScannerMetricsHandler.METRICS) {
+            resourceRegistration.registerMetric(metric, DeploymentScannerMetricsHandler.INSTANCE);
+        }
     }
 }
@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import java.util.Map;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.server.deployment.scanner.api.DeploymentScanner;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the scan metrics of an installed {@code DeploymentScanner}.
+ */
+class DeploymentScannerMetricsHandler implements OperationStepHandler {
+
+    static final SimpleAttributeDefinition LAST_SCAN_DURATION =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.LAST_SCAN_DURATION, ModelType.LONG, true)
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setStorageRuntime()
+                    .build();
+    static final SimpleAttributeDefinition LAST_SCAN_CHANGES =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.LAST_SCAN_CHANGES, ModelType.INT, true)
+                    .setStorageRuntime()
+                    .build();
+    static final SimpleAttributeDefinition SKIPPED_SCANS =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.SKIPPED_SCANS, ModelType.LONG, true)
+                    .setStorageRuntime()
+                    .build();
+    static final SimpleAttributeDefinition LAST_DEPLOYMENT_TIMES =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.LAST_DEPLOYMENT_TIMES, ModelType.OBJECT, true)
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setStorageRuntime()
+                    .build();
+    static final AttributeDefinition[] METRICS = {LAST_SCAN_DURATION, LAST_SCAN_CHANGES, SKIPPED_SCANS, LAST_DEPLOYMENT_TIMES};
+
+    static final DeploymentScannerMetricsHandler INSTANCE = new DeploymentScannerMetricsHandler();
+
+    private DeploymentScannerMetricsHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String name = PathAddress.pathAddress(operation.require(OP_ADDR)).getLastElement().getValue();
+        final String attributeName = operation.require(NAME).asString();
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                final ServiceController<?> controller = context.getServiceRegistry(false).getService(DeploymentScannerService.getServiceName(name));
+                if (controller != null && controller.getState() == ServiceController.State.UP) {
+                    final DeploymentScanner scanner = (DeploymentScanner) controller.getValue();
+                    final ModelNode result = context.getResult();
+                    if (CommonAttributes.LAST_SCAN_DURATION.equals(attributeName)) {
+                        final long duration = scanner.getLastScanDuration();
+                        if (duration >= 0) {
+                            result.set(duration);
+                        }
+                    } else if (CommonAttributes.LAST_SCAN_CHANGES.equals(attributeName)) {
+                        result.set(scanner.getLastScanChanges());
+                    } else if (CommonAttributes.SKIPPED_SCANS.equals(attributeName)) {
+                        result.set(scanner.getSkippedScans());
+                    } else if (CommonAttributes.LAST_DEPLOYMENT_TIMES.equals(attributeName)) {
+                        result.setEmptyObject();
+                        for (Map.Entry<String, Long> entry : scanner.getLastDeploymentTimes().entrySet()) {
+                            result.get(entry.getKey()).set(entry.getValue());
+                        }
+                    }
+                }
+                context.completeStep();
+            }
+        }, OperationContext.Stage.RUNTIME);
+        context.completeStep();
+    }
+}
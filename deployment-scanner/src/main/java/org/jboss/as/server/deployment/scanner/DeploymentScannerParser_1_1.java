@@ -27,14 +27,20 @@ import static org.jboss.as.controller.parsing.ParseUtils.unexpectedElement;
  */
 class DeploymentScannerParser_1_1 implements XMLStreamConstants, XMLElementReader<List<ModelNode>>, XMLElementWriter<SubsystemMarshallingContext> {
 
-    public static final DeploymentScannerParser_1_1 INSTANCE = new DeploymentScannerParser_1_1();
+    public static final DeploymentScannerParser_1_1 INSTANCE = new DeploymentScannerParser_1_1(Namespace.DEPLOYMENT_SCANNER_1_1);
+
+    private final Namespace namespace;
+
+    DeploymentScannerParser_1_1(final Namespace namespace) {
+        this.namespace = namespace;
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
     public void writeContent(XMLExtendedStreamWriter writer, SubsystemMarshallingContext context) throws XMLStreamException {
-        context.startSubsystemElement(Namespace.CURRENT.getUriString(), false);
+        context.startSubsystemElement(namespace.getUriString(), false);
         ModelNode scanners = context.getModelNode();
         for (final Property list : scanners.asPropertyList()) {
 
@@ -59,6 +65,7 @@ class DeploymentScannerParser_1_1 implements XMLStreamConstants, XMLElementReade
                 DeploymentScannerDefinition.AUTO_DEPLOY_EXPLODED.marshallAsAttribute(configuration, writer);
                 DeploymentScannerDefinition.AUTO_DEPLOY_XML.marshallAsAttribute(configuration, writer);
                 DeploymentScannerDefinition.DEPLOYMENT_TIMEOUT.marshallAsAttribute(configuration, writer);
+                writeAttributes(configuration, writer);
             }
             writer.writeEndElement();
         }
@@ -83,18 +90,14 @@ class DeploymentScannerParser_1_1 implements XMLStreamConstants, XMLElementReade
 
         // elements
         while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
-            switch (Namespace.forUri(reader.getNamespaceURI())) {
-                case DEPLOYMENT_SCANNER_1_1: {
-                    final Element element = Element.forName(reader.getLocalName());
-                    switch (element) {
-                        case DEPLOYMENT_SCANNER: {
-                            //noinspection unchecked
-                            parseScanner(reader, address, list);
-                            break;
-                        }
-                        default:
-                            throw unexpectedElement(reader);
-                    }
+            if (Namespace.forUri(reader.getNamespaceURI()) != namespace) {
+                throw unexpectedElement(reader);
+            }
+            final Element element = Element.forName(reader.getLocalName());
+            switch (element) {
+                case DEPLOYMENT_SCANNER: {
+                    //noinspection unchecked
+                    parseScanner(reader, address, list);
                     break;
                 }
                 default:
@@ -154,7 +157,9 @@ class DeploymentScannerParser_1_1 implements XMLStreamConstants, XMLElementReade
                     break;
                 }
                 default:
-                    throw ParseUtils.unexpectedAttribute(reader, i);
+                    if (!parseAttribute(attribute, value, operation, reader)) {
+                        throw ParseUtils.unexpectedAttribute(reader, i);
+                    }
             }
         }
         if (name == null) {
@@ -168,4 +173,19 @@ class DeploymentScannerParser_1_1 implements XMLStreamConstants, XMLElementReade
         list.add(operation);
     }
 
+    /**
+     * Writes the scanner attributes added by later versions of the schema.
+     */
+    void writeAttributes(final ModelNode configuration, final XMLExtendedStreamWriter writer) throws XMLStreamException {
+    }
+
+    /**
+     * Parses a scanner attribute added by a later version of the schema.
+     *
+     * @return {@code false} if the attribute is not known
+     */
+    boolean parseAttribute(final Attribute attribute, final String value, final ModelNode operation, final XMLExtendedStreamReader reader) throws XMLStreamException {
+        return false;
+    }
+
 }
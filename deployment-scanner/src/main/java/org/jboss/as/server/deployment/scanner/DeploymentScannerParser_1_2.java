@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLExtendedStreamReader;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+
+/**
+ * Parser for the 1.2 schema, which adds the full-scan-interval and max-concurrent-deployments attributes to the 1.1
+ * schema.
+ */
+class DeploymentScannerParser_1_2 extends DeploymentScannerParser_1_1 {
+
+    public static final DeploymentScannerParser_1_2 INSTANCE = new DeploymentScannerParser_1_2();
+
+    private DeploymentScannerParser_1_2() {
+        super(Namespace.DEPLOYMENT_SCANNER_1_2);
+    }
+
+    @Override
+    void writeAttributes(final ModelNode configuration, final XMLExtendedStreamWriter writer) throws XMLStreamException {
+        DeploymentScannerDefinition.FULL_SCAN_INTERVAL.marshallAsAttribute(configuration, writer);
+        DeploymentScannerDefinition.MAX_CONCURRENT_DEPLOYMENTS.marshallAsAttribute(configuration, writer);
+    }
+
+    @Override
+    boolean parseAttribute(final Attribute attribute, final String value, final ModelNode operation, final XMLExtendedStreamReader reader) throws XMLStreamException {
+        switch (attribute) {
+            case FULL_SCAN_INTERVAL: {
+                DeploymentScannerDefinition.FULL_SCAN_INTERVAL.parseAndSetParameter(value,operation,reader);
+                return true;
+            }
+            case MAX_CONCURRENT_DEPLOYMENTS: {
+                DeploymentScannerDefinition.MAX_CONCURRENT_DEPLOYMENTS.parseAndSetParameter(value,operation,reader);
+                return true;
+            }
+            default:
+                return false;
+        }
+    }
+}
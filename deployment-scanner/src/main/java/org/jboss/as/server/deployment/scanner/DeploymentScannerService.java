@@ -59,6 +59,8 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     private boolean autoDeployExploded;
     private boolean autoDeployXml;
     private Long deploymentTimeout;
+    private Long fullScanInterval;
+    private Integer maxConcurrentDeployments;
     private final String relativeTo;
     private final String path;
 
@@ -86,16 +88,18 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
      * @param scanInterval      the scan interval
      * @param scanEnabled       scan enabled
      * @param deploymentTimeout the deployment timeout
+     * @param fullScanInterval  the max period periodic scans are skipped because nothing changed
+     * @param maxConcurrentDeployments the max number of independent deployments deployed together
      * @param bootTimeService   the deployment scanner used in the boot time scan
      * @return
      */
     public static ServiceController<DeploymentScanner> addService(final ServiceTarget serviceTarget, final String name, final String relativeTo, final String path,
                                                                   final Integer scanInterval, TimeUnit unit, final Boolean autoDeployZip,
                                                                   final Boolean autoDeployExploded, final Boolean autoDeployXml, final Boolean scanEnabled, final Long deploymentTimeout,
-                                                                  final List<ServiceController<?>> newControllers, final FileSystemDeploymentService bootTimeService, final ScheduledExecutorService scheduledExecutorService,
+                                                                  final Long fullScanInterval, final Integer maxConcurrentDeployments, final List<ServiceController<?>> newControllers, final FileSystemDeploymentService bootTimeService, final ScheduledExecutorService scheduledExecutorService,
                                                                   final ServiceListener<Object>... listeners) {
         final DeploymentScannerService service = new DeploymentScannerService(relativeTo, path, scanInterval, unit, autoDeployZip,
-                autoDeployExploded, autoDeployXml, scanEnabled, deploymentTimeout, bootTimeService);
+                autoDeployExploded, autoDeployXml, scanEnabled, deploymentTimeout, fullScanInterval, maxConcurrentDeployments, bootTimeService);
         final ServiceName serviceName = getServiceName(name);
 
         ServiceBuilder<DeploymentScanner> builder = serviceTarget.addService(serviceName, service)
@@ -113,7 +117,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
 
     DeploymentScannerService(final String relativeTo, final String path, final Integer interval, final TimeUnit unit, final Boolean autoDeployZipped,
                              final Boolean autoDeployExploded, final Boolean autoDeployXml, final Boolean enabled, final Long deploymentTimeout,
-                             final FileSystemDeploymentService bootTimeService) {
+                             final Long fullScanInterval, final Integer maxConcurrentDeployments, final FileSystemDeploymentService bootTimeService) {
         this.relativeTo = relativeTo;
         this.path = path;
         this.interval = interval == null ? DEFAULT_INTERVAL : interval.longValue();
@@ -123,6 +127,8 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         this.autoDeployXml = autoDeployXml == null ? true : autoDeployXml.booleanValue();
         this.enabled = enabled == null ? true : enabled.booleanValue();
         this.deploymentTimeout = deploymentTimeout;
+        this.fullScanInterval = fullScanInterval;
+        this.maxConcurrentDeployments = maxConcurrentDeployments;
         this.scanner = bootTimeService;
     }
 
@@ -161,6 +167,12 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
                 if (deploymentTimeout != null) {
                     scanner.setDeploymentTimeout(deploymentTimeout);
                 }
+                if (fullScanInterval != null) {
+                    scanner.setFullScanInterval(fullScanInterval);
+                }
+                if (maxConcurrentDeployments != null) {
+                    scanner.setMaxConcurrentDeployments(maxConcurrentDeployments);
+                }
                 this.scanner = scanner;
             } else {
                 // The boot-time scanner should use our DeploymentOperations.Factory
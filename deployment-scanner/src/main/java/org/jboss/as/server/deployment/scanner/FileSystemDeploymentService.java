@@ -28,8 +28,11 @@ import java.io.FileFilter;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -107,6 +110,12 @@ class FileSystemDeploymentService implements DeploymentScanner {
      */
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 600;
 
+    /**
+     * Default max period periodic scans can be skipped because nothing changed before a full scan is done anyway
+     */
+    static final long DEFAULT_FULL_SCAN_INTERVAL = 60000;
+
+
     private File deploymentDir;
     private long scanInterval = 0;
     private volatile boolean scanEnabled = false;
@@ -134,6 +143,17 @@ class FileSystemDeploymentService implements DeploymentScanner {
     private volatile long maxNoProgress = MAX_NO_PROGRESS;
 
     private volatile long deploymentTimeout = DEFAULT_DEPLOYMENT_TIMEOUT;
+    private volatile long fullScanInterval = DEFAULT_FULL_SCAN_INTERVAL;
+
+    /** Fingerprint of the scanned tree taken before the last periodic scan; {@code null} to force a full scan */
+    private volatile Long scanFingerprint;
+    private long lastFullScan;
+    private volatile long lastScanDuration = -1;
+    private volatile int lastScanChanges;
+    private volatile long skippedScans;
+    private volatile Map<String, Long> lastDeploymentTimes = Collections.emptyMap();
+    private volatile int maxConcurrentDeployments;
+    private final IndependentDeploymentScanner independentDeployments = new IndependentDeploymentScanner();
 
     private final String relativeTo;
     private final String relativePath;
@@ -143,7 +163,7 @@ class FileSystemDeploymentService implements DeploymentScanner {
         @Override
         public void run() {
             try {
-                scan(false, deploymentOperations);
+                scan(false, deploymentOperations, true);
             } catch (Exception e) {
                 ROOT_LOGGER.scanException(e, deploymentDir.getAbsolutePath());
             }
@@ -196,6 +216,7 @@ class FileSystemDeploymentService implements DeploymentScanner {
     @Override
     public void setAutoDeployZippedContent(boolean autoDeployZip) {
         this.autoDeployZip = autoDeployZip;
+        scanFingerprint = null;
     }
 
     @Override
@@ -209,11 +230,13 @@ class FileSystemDeploymentService implements DeploymentScanner {
             ROOT_LOGGER.explodedAutoDeploymentContentWarning(DO_DEPLOY, CommonAttributes.AUTO_DEPLOY_EXPLODED);
         }
         this.autoDeployExploded = autoDeployExploded;
+        scanFingerprint = null;
     }
 
     @Override
     public void setAutoDeployXMLContent(final boolean autoDeployXML) {
         this.autoDeployXml = autoDeployXML;
+        scanFingerprint = null;
     }
 
     @Override
@@ -245,6 +268,36 @@ class FileSystemDeploymentService implements DeploymentScanner {
         this.deploymentTimeout = deploymentTimeout;
     }
 
+    @Override
+    public long getFullScanInterval() {
+        return fullScanInterval;
+    }
+
+    @Override
+    public void setFullScanInterval(long fullScanInterval) {
+        this.fullScanInterval = fullScanInterval;
+    }
+
+    @Override
+    public long getLastScanDuration() {
+        return lastScanDuration;
+    }
+
+    @Override
+    public int getLastScanChanges() {
+        return lastScanChanges;
+    }
+
+    @Override
+    public long getSkippedScans() {
+        return skippedScans;
+    }
+
+    @Override
+    public Map<String, Long> getLastDeploymentTimes() {
+        return lastDeploymentTimes;
+    }
+
     @Override
     public void bootTimeScan(final OperationContext context, final ServiceVerificationHandler verificationHandler, final List<ServiceController<?>> newControllers) {
 
@@ -267,6 +320,7 @@ class FileSystemDeploymentService implements DeploymentScanner {
             return;
         }
         establishDeployedContentList(deploymentDir);
+        this.scanFingerprint = null;
         this.scanEnabled = true;
         startScan();
         ROOT_LOGGER.started(getClass().getSimpleName(), deploymentDir.getAbsolutePath());
@@ -296,6 +350,16 @@ class FileSystemDeploymentService implements DeploymentScanner {
         this.maxNoProgress = max;
     }
 
+    @Override
+    public int getMaxConcurrentDeployments() {
+        return maxConcurrentDeployments;
+    }
+
+    @Override
+    public void setMaxConcurrentDeployments(int maxConcurrentDeployments) {
+        this.maxConcurrentDeployments = maxConcurrentDeployments;
+    }
+
     private void establishDeployedContentList(File dir) {
         final Set<String> deploymentNames = deploymentOperations.getDeploymentNames();
         final File[] children = dir.listFiles();
@@ -341,6 +405,20 @@ class FileSystemDeploymentService implements DeploymentScanner {
      * This method isn't private solely to allow a unit test in the same package to call it.
      */
     void scan(boolean oneOffScan, final DeploymentOperations deploymentOperations) {
+        scan(oneOffScan, deploymentOperations, false);
+    }
+
+    /**
+     * This method isn't private solely to allow a unit test in the same package to call it.
+     *
+     * @param changesOnly {@code true} to skip the scan if nothing in the scanned tree changed since the last one
+     */
+    void scan(boolean oneOffScan, final DeploymentOperations deploymentOperations, boolean changesOnly) {
+
+        if (maxConcurrentDeployments > 0) {
+            // Reading the content can take a while, so do it before locking out other scans and deployment operations
+            independentDeployments.check(deploymentDir);
+        }
 
         try {
             scanLock.lockInterruptibly();
@@ -350,8 +428,23 @@ class FileSystemDeploymentService implements DeploymentScanner {
         }
 
         boolean scheduleRescan = false;
+        long scanStart = -1;
         try {
             if (scanEnabled || oneOffScan) { // confirm the scan is still wanted
+                if (changesOnly) {
+                    // Taken before scanning, so changes made while we scan are seen by the next check
+                    final long fingerprint = getFingerprint(deploymentDir);
+                    if (isUnchanged(fingerprint)) {
+                        skippedScans++;
+                        ROOT_LOGGER.tracef("No changes in directory %s, skipping scan", deploymentDir.getAbsolutePath());
+                        return;
+                    }
+                    scanFingerprint = fingerprint;
+                    lastFullScan = System.currentTimeMillis();
+                } else {
+                    scanFingerprint = null;
+                }
+                scanStart = System.nanoTime();
                 ROOT_LOGGER.tracef("Scanning directory %s for deployment content changes", deploymentDir.getAbsolutePath());
 
                 ScanContext scanContext = new ScanContext(deploymentOperations);
@@ -393,6 +486,7 @@ class FileSystemDeploymentService implements DeploymentScanner {
                 // Deal with any incomplete or non-scannable auto-deploy content
                 ScanStatus status = handleAutoDeployFailures(scanContext);
                 if (status != ScanStatus.PROCEED) {
+                    lastScanChanges = 0;
                     if (status == ScanStatus.RETRY && scanInterval > 1000) {
                         // in finally block, schedule a non-repeating task to try again more quickly
                         scheduleRescan = true;
@@ -410,72 +504,34 @@ class FileSystemDeploymentService implements DeploymentScanner {
                     File parent = deploymentDir;
                     scannerTasks.add(new UndeployTask(missing, parent, scanContext.scanStartTime));
                 }
+                lastScanChanges = scannerTasks.size();
                 // Process the tasks
                 if (scannerTasks.size() > 0) {
-                    List<ModelNode> updates = new ArrayList<ModelNode>(scannerTasks.size());
-
                     for (ScannerTask task : scannerTasks) {
                         task.recordInProgress(); // puts down .isdeploying, .isundeploying
-                        final ModelNode update = task.getUpdate();
-                        if (ROOT_LOGGER.isDebugEnabled()) {
-                            ROOT_LOGGER.debugf("Deployment scan of [%s] found update action [%s]", deploymentDir, update);
-                        }
-                        updates.add(update);
                     }
 
-                    boolean first = true;
-                    while (!updates.isEmpty() && (first || !oneOffScan)) {
-                        first = false;
-
-                        final Future<ModelNode> futureResults = deploymentOperations.deploy(getCompositeUpdate(updates), scheduledExecutor);
-                        final ModelNode results;
-                        try {
-                            results = futureResults.get(deploymentTimeout, TimeUnit.SECONDS);
-                        } catch (TimeoutException e) {
-                            futureResults.cancel(true);
-                            final ModelNode failure = new ModelNode();
-                            failure.get(OUTCOME).set(FAILED);
-                            failure.get(FAILURE_DESCRIPTION).set(MESSAGES.deploymentTimeout(deploymentTimeout));
-                            for (ScannerTask task : scannerTasks) {
-                                task.handleFailureResult(failure);
-                            }
-                            break;
-                        } catch (Exception e) {
-                            ROOT_LOGGER.fileSystemDeploymentFailed(e);
-                            futureResults.cancel(true);
-                            final ModelNode failure = new ModelNode();
-                            failure.get(OUTCOME).set(FAILED);
-                            failure.get(FAILURE_DESCRIPTION).set(e.getMessage());
-                            for (ScannerTask task : scannerTasks) {
-                                task.handleFailureResult(failure);
-                            }
-                            break;
-                        }
-
-                        final List<Property> resultList = results.get(RESULT).asPropertyList();
-                        final List<ModelNode> toRetry = new ArrayList<ModelNode>();
-                        final List<ScannerTask> retryTasks = new ArrayList<ScannerTask>();
-                        for (int i = 0; i < resultList.size(); i++) {
-                            final ModelNode result = resultList.get(i).getValue();
-                            final ScannerTask task = scannerTasks.get(i);
-                            final ModelNode outcome = result.get(OUTCOME);
-                            if (outcome.isDefined() && SUCCESS.equals(outcome.asString())) {
-                                task.handleSuccessResult();
-                            } else if (outcome.isDefined() && CANCELLED.equals(outcome.asString())) {
-                                toRetry.add(updates.get(i));
-                                retryTasks.add(task);
-                            } else {
-                                task.handleFailureResult(result);
-                            }
+                    final Map<String, Long> deploymentTimes = new LinkedHashMap<String, Long>();
+                    // All groups share one timeout, so the scan lock is held no longer than without groups
+                    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(deploymentTimeout);
+                    for (List<ScannerTask> batch : getBatches(scannerTasks)) {
+                        // The tasks of a group are executed as one operation, so they all took as long as it did
+                        final long batchStart = System.nanoTime();
+                        executeTasks(batch, oneOffScan, deploymentOperations, deadline);
+                        final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batchStart);
+                        for (ScannerTask task : batch) {
+                            deploymentTimes.put(task.deploymentName, elapsed);
                         }
-                        updates = toRetry;
-                        scannerTasks = retryTasks;
                     }
+                    lastDeploymentTimes = Collections.unmodifiableMap(deploymentTimes);
                 }
                 ROOT_LOGGER.tracef("Scan complete");
                 firstScan = false;
             }
         } finally {
+            if (scanStart >= 0) {
+                lastScanDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scanStart);
+            }
 
             scanLock.unlock();
 
@@ -489,6 +545,153 @@ class FileSystemDeploymentService implements DeploymentScanner {
         }
     }
 
+    /**
+     * Splits the tasks of a scan into the groups that are executed one after the other, each as one composite
+     * operation. Without a {@link #setMaxConcurrentDeployments(int) limit} all tasks are executed together. Otherwise
+     * deployments of content {@link IndependentDeploymentScanner proven independent} of other deployments are executed
+     * in groups of at most that many, followed by a last group with everything else, so deployments that depend on one
+     * another, or may do so, still get deployed together.
+     */
+    private List<List<ScannerTask>> getBatches(final List<ScannerTask> scannerTasks) {
+        if (maxConcurrentDeployments <= 0 || scannerTasks.size() <= maxConcurrentDeployments) {
+            return Collections.singletonList(scannerTasks);
+        }
+        final List<List<ScannerTask>> batches = new ArrayList<List<ScannerTask>>();
+        final List<ScannerTask> others = new ArrayList<ScannerTask>();
+        List<ScannerTask> batch = null;
+        for (ScannerTask task : scannerTasks) {
+            if (task instanceof ContentAddingTask && independentDeployments.isProvenIndependent(((ContentAddingTask) task).deploymentFile)) {
+                if (batch == null || batch.size() == maxConcurrentDeployments) {
+                    batch = new ArrayList<ScannerTask>(maxConcurrentDeployments);
+                    batches.add(batch);
+                }
+                batch.add(task);
+            } else {
+                others.add(task);
+            }
+        }
+        if (!others.isEmpty()) {
+            batches.add(others);
+        }
+        return batches;
+    }
+
+    /**
+     * Executes the given tasks as one composite operation, retrying those that were only rolled back because
+     * others failed. Tasks not complete by the deadline fail.
+     *
+     * @param deadline the {@link System#nanoTime()} by which the tasks must be complete
+     */
+    private void executeTasks(List<ScannerTask> scannerTasks, final boolean oneOffScan, final DeploymentOperations deploymentOperations,
+                              final long deadline) {
+        List<ModelNode> updates = new ArrayList<ModelNode>(scannerTasks.size());
+        for (ScannerTask task : scannerTasks) {
+            final ModelNode update = task.getUpdate();
+            if (ROOT_LOGGER.isDebugEnabled()) {
+                ROOT_LOGGER.debugf("Deployment scan of [%s] found update action [%s]", deploymentDir, update);
+            }
+            updates.add(update);
+        }
+
+        boolean first = true;
+        while (!updates.isEmpty() && (first || !oneOffScan)) {
+            first = false;
+
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                handleFailureResult(scannerTasks, MESSAGES.deploymentTimeout(deploymentTimeout));
+                break;
+            }
+            final Future<ModelNode> futureResults = deploymentOperations.deploy(getCompositeUpdate(updates), scheduledExecutor);
+            final ModelNode results;
+            try {
+                results = futureResults.get(remaining, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                futureResults.cancel(true);
+                handleFailureResult(scannerTasks, MESSAGES.deploymentTimeout(deploymentTimeout));
+                break;
+            } catch (Exception e) {
+                ROOT_LOGGER.fileSystemDeploymentFailed(e);
+                futureResults.cancel(true);
+                handleFailureResult(scannerTasks, e.getMessage());
+                break;
+            }
+
+            final List<Property> resultList = results.get(RESULT).asPropertyList();
+            final List<ModelNode> toRetry = new ArrayList<ModelNode>();
+            final List<ScannerTask> retryTasks = new ArrayList<ScannerTask>();
+            for (int i = 0; i < resultList.size(); i++) {
+                final ModelNode result = resultList.get(i).getValue();
+                final ScannerTask task = scannerTasks.get(i);
+                final ModelNode outcome = result.get(OUTCOME);
+                if (outcome.isDefined() && SUCCESS.equals(outcome.asString())) {
+                    task.handleSuccessResult();
+                } else if (outcome.isDefined() && CANCELLED.equals(outcome.asString())) {
+                    toRetry.add(updates.get(i));
+                    retryTasks.add(task);
+                } else {
+                    task.handleFailureResult(result);
+                }
+            }
+            updates = toRetry;
+            scannerTasks = retryTasks;
+        }
+    }
+
+    private static void handleFailureResult(final List<ScannerTask> scannerTasks, final String failureDescription) {
+        final ModelNode failure = new ModelNode();
+        failure.get(OUTCOME).set(FAILED);
+        failure.get(FAILURE_DESCRIPTION).set(failureDescription);
+        for (ScannerTask task : scannerTasks) {
+            task.handleFailureResult(failure);
+        }
+    }
+
+    /**
+     * Whether a periodic scan would find nothing to do, i.e. whether everything it looks at is as it was when the
+     * previous full scan started. Invoke with the scan lock held.
+     *
+     * @param fingerprint the fingerprint of the scanned tree
+     */
+    private boolean isUnchanged(final long fingerprint) {
+        final Long previous = scanFingerprint;
+        return previous != null && previous.longValue() == fingerprint
+                && !firstScan
+                // changes inside exploded content are not part of the fingerprint
+                && !autoDeployExploded
+                // incomplete content times out even if it does not change
+                && incompleteDeployments.isEmpty()
+                && System.currentTimeMillis() - lastFullScan < fullScanInterval;
+    }
+
+    /**
+     * Computes a fingerprint of the names, timestamps and sizes of everything {@link #scanDirectory} looks at,
+     * without the recursive timestamp and completeness checks a scan does on deployment content.
+     */
+    private long getFingerprint(final File directory) {
+        final File[] children = directory.listFiles(filter);
+        if (children == null) {
+            return 0;
+        }
+        // listFiles does not guarantee any order, which would change the fingerprint between scans
+        Arrays.sort(children);
+        long fingerprint = children.length;
+        for (File child : children) {
+            final String fileName = child.getName();
+            fingerprint = 31 * fingerprint + fileName.hashCode();
+            fingerprint = 31 * fingerprint + child.lastModified();
+            if (child.isDirectory()) {
+                if (!isEEArchive(fileName) && !isXmlFile(fileName)
+                        && !WEB_INF.equalsIgnoreCase(fileName) && !META_INF.equalsIgnoreCase(fileName)) {
+                    fingerprint = 31 * fingerprint + getFingerprint(child);
+                }
+            } else {
+                fingerprint = 31 * fingerprint + child.length();
+            }
+        }
+        return fingerprint;
+    }
+
     /**
      * Scan the given directory for content changes.
      *
@@ -0,0 +1,351 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Decides whether scanned deployment content is proven not to depend on other deployments, so that it can be deployed
+ * ahead of, and apart from, the rest of the content a scan found.
+ * <p/>
+ * Only war, jar and ear content can be independent, XML deployments, resource adapters and service archives provide
+ * resources or services other deployments may use. The content, including nested archives, must not contain a
+ * jboss-deployment-structure.xml, a manifest {@code Dependencies} entry naming a deployment, a manifest
+ * {@code Class-Path}, resource or service definitions such as {@code *-ds.xml}, resource adapters or service archives,
+ * or descriptors declaring EJB, resource, message destination or persistence unit references or lookups.
+ * Only the descriptors and manifests are read, classes are not inspected. Whenever the content cannot be read, it is
+ * not independent.
+ * <p/>
+ * Reading the content can take a while, so it is done by {@link #check(File)} before a scan takes its lock, and the
+ * scan only looks up the results with {@link #isProvenIndependent(File)}.
+ *
+ * @see FileSystemDeploymentService#setMaxConcurrentDeployments(int)
+ */
+final class IndependentDeploymentScanner {
+
+    private static final String DEPLOYMENT_STRUCTURE = "jboss-deployment-structure.xml";
+    private static final String DEPENDENCIES = "Dependencies";
+    private static final String DEPLOYMENT_MODULE_PREFIX = "deployment.";
+    private static final String MANIFEST = JarFile.MANIFEST_NAME.toLowerCase(Locale.ENGLISH);
+    private static final String[] INDEPENDENT_SUFFIXES = {".war", ".jar", ".ear"};
+    private static final String[] RESOURCE_DEFINITION_SUFFIXES = {"-ds.xml", "-jms.xml", "-service.xml", ".rar", ".sar"};
+    /** Directories holding descriptors */
+    private static final String[] DESCRIPTOR_DIRECTORIES = {"meta-inf/", "web-inf/", "web-inf/classes/meta-inf/"};
+    /** Directories of exploded content holding descriptors or nested archives */
+    private static final String[] SCANNED_DIRECTORIES = {"meta-inf/", "web-inf/", "web-inf/classes/meta-inf/", "web-inf/lib/", "lib/"};
+    /** Descriptor elements referring to something another deployment may provide */
+    private static final byte[][] DESCRIPTOR_MARKERS = bytes("<ejb-ref", "<ejb-local-ref", "<resource-ref",
+            "<resource-env-ref", "<message-destination-ref", "<persistence-unit", "<persistence-context-ref",
+            "<data-source", "lookup-name>", "mapped-name>");
+    private static final int BUFFER_SIZE = 8192;
+
+    /** The results of {@link #check(File)}, by deployment content */
+    private final ConcurrentMap<File, Result> results = new ConcurrentHashMap<File, Result>();
+
+    /**
+     * Checks the deployment content in the given directory tree. Archives already checked are only read again once
+     * they changed.
+     *
+     * @param directory the scanned directory
+     */
+    void check(final File directory) {
+        for (Iterator<File> it = results.keySet().iterator(); it.hasNext(); ) {
+            if (!it.next().exists()) {
+                it.remove();
+            }
+        }
+        checkDirectory(directory);
+    }
+
+    private void checkDirectory(final File directory) {
+        final File[] children = directory.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            if (hasSuffix(child.getName(), INDEPENDENT_SUFFIXES)) {
+                final Result previous = results.get(child);
+                // Exploded content is checked every time, a change deep inside it does not show on the directory
+                if (previous == null || child.isDirectory() || !previous.isCurrent(child)) {
+                    final long lastModified = child.lastModified();
+                    final long length = child.length();
+                    results.put(child, new Result(lastModified, length, isIndependent(child)));
+                }
+            } else if (child.isDirectory() && !hasSuffix(child.getName(), RESOURCE_DEFINITION_SUFFIXES)) {
+                checkDirectory(child);
+            }
+        }
+    }
+
+    /**
+     * Gets whether the last {@link #check(File) check} proved the given deployment content independent of other
+     * deployments, and the content did not change since.
+     *
+     * @param deploymentFile the deployment archive or exploded deployment directory
+     * @return {@code true} if the content can be deployed apart from other deployments
+     */
+    boolean isProvenIndependent(final File deploymentFile) {
+        final Result result = results.get(deploymentFile);
+        return result != null && result.independent && result.isCurrent(deploymentFile);
+    }
+
+    /**
+     * Gets whether the given deployment content is proven independent of other deployments.
+     *
+     * @param deploymentFile the deployment archive or exploded deployment directory
+     * @return {@code true} if the content can be deployed apart from other deployments
+     */
+    static boolean isIndependent(final File deploymentFile) {
+        if (!hasSuffix(deploymentFile.getName(), INDEPENDENT_SUFFIXES)) {
+            return false;
+        }
+        try {
+            if (deploymentFile.isDirectory()) {
+                return isIndependentDirectory(deploymentFile, "");
+            }
+            // Unlike a stream, the zip file only inflates the entries which are read
+            final ZipFile zip = new ZipFile(deploymentFile);
+            try {
+                final Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    final ZipEntry entry = entries.nextElement();
+                    if (entry.isDirectory()) {
+                        continue;
+                    }
+                    final String name = entry.getName().toLowerCase(Locale.ENGLISH);
+                    if (isDependent(name)) {
+                        return false;
+                    }
+                    if (needsReading(name)) {
+                        final InputStream stream = zip.getInputStream(entry);
+                        try {
+                            if (!isIndependentEntry(name, stream)) {
+                                return false;
+                            }
+                        } finally {
+                            safeClose(stream);
+                        }
+                    }
+                }
+                return true;
+            } finally {
+                safeClose(zip);
+            }
+        } catch (IOException e) {
+            DeploymentScannerLogger.ROOT_LOGGER.debugf(e, "Cannot read %s, deploying it with the other deployments", deploymentFile);
+            return false;
+        }
+    }
+
+    private static boolean isIndependentDirectory(final File directory, final String path) throws IOException {
+        final File[] children = directory.listFiles();
+        if (children == null) {
+            throw new IOException(directory.getAbsolutePath());
+        }
+        for (File child : children) {
+            final String name = path + child.getName().toLowerCase(Locale.ENGLISH);
+            if (isDependent(name)) {
+                return false;
+            }
+            if (child.isDirectory()) {
+                if (hasSuffix(name, INDEPENDENT_SUFFIXES)) {
+                    // An exploded module of an exploded ear
+                    if (!isIndependentDirectory(child, "")) {
+                        return false;
+                    }
+                } else if (isScannedDirectory(name + "/") && !isIndependentDirectory(child, name + "/")) {
+                    return false;
+                }
+            } else if (needsReading(name)) {
+                final InputStream stream = new FileInputStream(child);
+                try {
+                    if (!isIndependentEntry(name, stream)) {
+                        return false;
+                    }
+                } finally {
+                    safeClose(stream);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIndependentArchive(final InputStream stream) throws IOException {
+        final ZipInputStream zip = new ZipInputStream(stream);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (entry.isDirectory()) {
+                continue;
+            }
+            final String name = entry.getName().toLowerCase(Locale.ENGLISH);
+            if (isDependent(name) || (needsReading(name) && !isIndependentEntry(name, zip))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the name alone shows the content depends on, or provides something for, other deployments.
+     */
+    private static boolean isDependent(final String name) {
+        return name.endsWith(DEPLOYMENT_STRUCTURE) || hasSuffix(name, RESOURCE_DEFINITION_SUFFIXES);
+    }
+
+    /**
+     * Whether the entry is a nested archive, a manifest or a descriptor.
+     */
+    private static boolean needsReading(final String name) {
+        return hasSuffix(name, INDEPENDENT_SUFFIXES) || name.equals(MANIFEST) || isDescriptor(name);
+    }
+
+    private static boolean isDescriptor(final String name) {
+        if (!name.endsWith(".xml")) {
+            return false;
+        }
+        final String directory = name.substring(0, name.lastIndexOf('/') + 1);
+        for (String descriptorDirectory : DESCRIPTOR_DIRECTORIES) {
+            if (directory.equals(descriptorDirectory)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isScannedDirectory(final String path) {
+        for (String scannedDirectory : SCANNED_DIRECTORIES) {
+            if (scannedDirectory.startsWith(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIndependentEntry(final String name, final InputStream stream) throws IOException {
+        if (hasSuffix(name, INDEPENDENT_SUFFIXES)) {
+            return isIndependentArchive(stream);
+        } else if (name.equals(MANIFEST)) {
+            final Attributes attributes = new Manifest(stream).getMainAttributes();
+            final String dependencies = attributes.getValue(DEPENDENCIES);
+            final String classPath = attributes.getValue(Attributes.Name.CLASS_PATH);
+            // The class path may name archives of other deployments
+            return (dependencies == null || !dependencies.contains(DEPLOYMENT_MODULE_PREFIX))
+                    && (classPath == null || classPath.trim().length() == 0);
+        }
+        return !contains(read(stream), DESCRIPTOR_MARKERS);
+    }
+
+    private static boolean hasSuffix(final String name, final String[] suffixes) {
+        final String lowerCaseName = name.toLowerCase(Locale.ENGLISH);
+        for (String suffix : suffixes) {
+            if (lowerCaseName.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] read(final InputStream stream) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = stream.read(buffer)) > -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean contains(final byte[] bytes, final byte[][] markers) {
+        for (byte[] marker : markers) {
+            outer:
+            for (int i = 0; i <= bytes.length - marker.length; i++) {
+                for (int j = 0; j < marker.length; j++) {
+                    if (bytes[i + j] != marker[j]) {
+                        continue outer;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[][] bytes(final String... markers) {
+        final byte[][] bytes = new byte[markers.length][];
+        for (int i = 0; i < markers.length; i++) {
+            try {
+                bytes[i] = markers[i].getBytes("US-ASCII");
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return bytes;
+    }
+
+    private static void safeClose(final InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void safeClose(final ZipFile zip) {
+        try {
+            zip.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static final class Result {
+
+        private final long lastModified;
+        private final long length;
+        private final boolean independent;
+
+        private Result(final long lastModified, final long length, final boolean independent) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.independent = independent;
+        }
+
+        private boolean isCurrent(final File file) {
+            return file.lastModified() == lastModified && file.length() == length;
+        }
+    }
+}
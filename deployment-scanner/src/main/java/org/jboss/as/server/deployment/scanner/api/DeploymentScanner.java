@@ -23,6 +23,7 @@
 package org.jboss.as.server.deployment.scanner.api;
 
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.ServiceVerificationHandler;
@@ -138,6 +139,72 @@ public interface DeploymentScanner {
      */
     void setDeploymentTimeout(long timeout);
 
+    /**
+     * Gets the max period periodic scans are skipped because nothing changed in the scanned directory, before a full
+     * scan is done anyway.
+     * <p/>
+     * Periodic scans only compare the names, timestamps and sizes of the entries in the scanned directory with those
+     * seen by the previous scan. A change none of them reflects, such as content replaced within the timestamp
+     * resolution of the file system by content of the same size, is only noticed by the next full scan.
+     *
+     * @return the interval in ms; {@code 0} if every periodic scan is a full scan
+     */
+    long getFullScanInterval();
+
+    /**
+     * Set the max period periodic scans are skipped because nothing changed in the scanned directory.
+     *
+     * @param fullScanInterval the interval in ms; {@code 0} to make every periodic scan a full scan
+     * @see #getFullScanInterval()
+     */
+    void setFullScanInterval(long fullScanInterval);
+
+    /**
+     * Gets how many deployments of content that does not depend on other deployments a scan deploys together.
+     * Deployments that do, or may, depend on others are deployed together after those.
+     *
+     * @return the max number of independent deployments deployed together; {@code 0} if a scan deploys everything it
+     *         found together
+     */
+    int getMaxConcurrentDeployments();
+
+    /**
+     * Sets how many deployments of content that does not depend on other deployments a scan deploys together.
+     *
+     * @param maxConcurrentDeployments the max number of independent deployments deployed together; {@code 0} to deploy
+     *                                 everything a scan found together
+     */
+    void setMaxConcurrentDeployments(int maxConcurrentDeployments);
+
+    /**
+     * Gets how long the last scan took.
+     *
+     * @return the duration of the last scan in ms, or {@code -1} if no scan was done yet
+     */
+    long getLastScanDuration();
+
+    /**
+     * Gets the number of deployment changes, i.e. deployments, redeployments and undeployments, the last scan found.
+     *
+     * @return the number of changes found by the last scan
+     */
+    int getLastScanChanges();
+
+    /**
+     * Gets the number of periodic scans that were skipped because nothing changed in the scanned directory.
+     *
+     * @return the number of skipped scans
+     */
+    long getSkippedScans();
+
+    /**
+     * Gets how long it took to deploy, redeploy or undeploy each of the deployments the last scan that found changes
+     * changed. Deployments executed together in one operation all report the time of that operation.
+     *
+     * @return the times in ms, by deployment name
+     */
+    Map<String, Long> getLastDeploymentTimes();
+
     /**
      * Perform a scan as part of the server boot operation.
      *
@@ -3,7 +3,10 @@ package org.jboss.as.server.deployment.scanner;
 
 import java.io.IOException;
 
+import javax.xml.stream.XMLStreamException;
+
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
+import org.junit.Test;
 
 /**
  * @author Tomaz Cerar
@@ -12,6 +15,16 @@ import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 
 public class DeploymentScannerParsingTestCase extends AbstractSubsystemBaseTest {
     private static final String SUBSYSTEM_XML =
+            "<subsystem xmlns=\"urn:jboss:domain:deployment-scanner:1.2\">\n" +
+            "    <deployment-scanner name=\"myScanner\" path=\"deployments_${custom.system.property:test}\" " +
+                   "relative-to=\"jboss.server.base.dir\" scan-enabled=\"false\" scan-interval=\"5000\" " +
+                   "auto-deploy-xml=\"true\" deployment-timeout=\"60\" full-scan-interval=\"30000\" max-concurrent-deployments=\"4\"/>\n" +
+            "    <deployment-scanner path=\"deployments\"  relative-to=\"jboss.server.base.dir\" " +
+                   "scan-enabled=\"false\" scan-interval=\"5000\" " +
+                   "auto-deploy-xml=\"true\" deployment-timeout=\"30\"/>\n" +
+            "</subsystem>";
+
+    private static final String SUBSYSTEM_XML_1_1 =
             "<subsystem xmlns=\"urn:jboss:domain:deployment-scanner:1.1\">\n" +
             "    <deployment-scanner name=\"myScanner\" path=\"deployments_${custom.system.property:test}\" " +
                    "relative-to=\"jboss.server.base.dir\" scan-enabled=\"false\" scan-interval=\"5000\" " +
@@ -37,5 +50,23 @@ public class DeploymentScannerParsingTestCase extends AbstractSubsystemBaseTest
     protected String getSubsystemXml() throws IOException {
         return SUBSYSTEM_XML;
     }
+
+    @Override
+    protected String getSubsystemXml(String configId) throws IOException {
+        return SUBSYSTEM_XML_1_1;
+    }
+
+    /**
+     * The 1.1 configuration is marshalled in the current namespace, so only the resulting models are compared.
+     */
+    @Test
+    public void testSubsystem_1_1() throws Exception {
+        standardSubsystemTest("1.1", false);
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testFullScanIntervalRejectedInVersion_1_1() throws Exception {
+        parse(SUBSYSTEM_XML_1_1.replace("deployment-timeout=\"30\"", "deployment-timeout=\"30\" full-scan-interval=\"1000\""));
+    }
 }
 
@@ -10,6 +10,7 @@ import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -138,6 +139,151 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertTrue(deployed.exists());
     }
 
+    @Test
+    public void testUnchangedDirectoryNotRescanned() throws Exception {
+        File war = createFile("foo.war");
+        File dodeploy = createFile("foo.war" + FileSystemDeploymentService.DO_DEPLOY);
+        File deployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED);
+        TesteeSet ts = createTestee();
+        DeploymentOperations ops = new DefaultDeploymentOperations(ts.controller);
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan(false, ops, true);
+        assertTrue(war.exists());
+        assertFalse(dodeploy.exists());
+        assertTrue(deployed.exists());
+        assertEquals(1, ts.testee.getLastScanChanges());
+
+        // The deployment changed the markers, so this is a full scan
+        ts.testee.scan(false, ops, true);
+        assertEquals(0, ts.testee.getSkippedScans());
+        assertEquals(0, ts.testee.getLastScanChanges());
+
+        ts.testee.scan(false, ops, true);
+        assertEquals(1, ts.testee.getSkippedScans());
+
+        // A new marker must be noticed
+        File bar = createFile("bar.war");
+        dodeploy = createFile("bar.war" + FileSystemDeploymentService.DO_DEPLOY);
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan(false, ops, true);
+        assertTrue(bar.exists());
+        assertFalse(dodeploy.exists());
+        assertTrue(new File(tmpDir, "bar.war" + FileSystemDeploymentService.DEPLOYED).exists());
+        assertEquals(1, ts.testee.getSkippedScans());
+        assertEquals(1, ts.testee.getLastScanChanges());
+        assertTrue(ts.testee.getLastScanDuration() >= 0);
+    }
+
+    @Test
+    public void testFullScanInterval() throws Exception {
+        createFile("foo.war");
+        createFile("foo.war" + FileSystemDeploymentService.DO_DEPLOY);
+        TesteeSet ts = createTestee();
+        assertEquals(FileSystemDeploymentService.DEFAULT_FULL_SCAN_INTERVAL, ts.testee.getFullScanInterval());
+        DeploymentOperations ops = new DefaultDeploymentOperations(ts.controller);
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan(false, ops, true);
+        ts.testee.scan(false, ops, true);
+        ts.testee.scan(false, ops, true);
+        assertEquals(1, ts.testee.getSkippedScans());
+
+        // Without skipping, every periodic scan is a full scan
+        ts.testee.setFullScanInterval(0);
+        ts.testee.scan(false, ops, true);
+        ts.testee.scan(false, ops, true);
+        assertEquals(1, ts.testee.getSkippedScans());
+
+        // Once the interval has elapsed, an unchanged directory is scanned anyway
+        ts.testee.setFullScanInterval(500);
+        ts.testee.scan(false, ops, true);
+        assertEquals(2, ts.testee.getSkippedScans());
+        Thread.sleep(600);
+        ts.testee.scan(false, ops, true);
+        assertEquals(2, ts.testee.getSkippedScans());
+        ts.testee.scan(false, ops, true);
+        assertEquals(3, ts.testee.getSkippedScans());
+    }
+
+    @Test
+    public void testLimitedConcurrentDeployments() throws Exception {
+        for (String name : new String[] {"a.war", "b.war", "c.war", "d.war"}) {
+            createFile(new File(tmpDir, name), "index.html");
+            createFile(name + FileSystemDeploymentService.DO_DEPLOY);
+        }
+        // d.war may depend on other deployments, XML deployments and resource adapters may provide resources for
+        // others, so they go last
+        createFile(new File(tmpDir, "d.war" + File.separator + "META-INF"), "jboss-deployment-structure.xml");
+        createXmlFile("e-ds.xml", "<datasources/>");
+        createFile("e-ds.xml" + FileSystemDeploymentService.DO_DEPLOY);
+        createFile(new File(tmpDir, "f.rar" + File.separator + "META-INF"), "ra.xml");
+        createFile("f.rar" + FileSystemDeploymentService.DO_DEPLOY);
+        TesteeSet ts = createTestee();
+        ts.testee.setMaxConcurrentDeployments(2);
+        assertEquals(2, ts.testee.getMaxConcurrentDeployments());
+        ts.controller.addCompositeSuccessResponse(2);
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.controller.addCompositeSuccessResponse(3);
+        ts.testee.scan();
+        for (String name : new String[] {"a.war", "b.war", "c.war", "d.war", "e-ds.xml", "f.rar"}) {
+            assertTrue(new File(tmpDir, name + FileSystemDeploymentService.DEPLOYED).exists());
+            assertTrue(ts.testee.getLastDeploymentTimes().containsKey(name));
+        }
+        assertTrue(ts.controller.responses.isEmpty());
+        assertEquals(6, ts.testee.getLastScanChanges());
+        // the independent deployments went first
+        final List<String> order = new ArrayList<String>(ts.testee.getLastDeploymentTimes().keySet());
+        assertEquals(new HashSet<String>(Arrays.asList("a.war", "b.war", "c.war")), new HashSet<String>(order.subList(0, 3)));
+    }
+
+    @Test
+    public void testConcurrentDeploymentsShareTimeout() throws Exception {
+        for (String name : new String[] {"a.war", "b.war", "c.war"}) {
+            createFile(new File(tmpDir, name), "index.html");
+            createFile(name + FileSystemDeploymentService.DO_DEPLOY);
+        }
+        final List<Long> timeouts = new ArrayList<Long>();
+        TesteeSet ts = createTestee(new DiscardTaskExecutor() {
+            @Override
+            public <T> Future<T> submit(final Callable<T> tCallable) {
+                return new CallOnGetFuture<T>(tCallable) {
+                    @Override
+                    public T get(long l, TimeUnit timeUnit) throws InterruptedException, ExecutionException, TimeoutException {
+                        timeouts.add(timeUnit.toMillis(l));
+                        // the first group takes most of the deployment timeout, so the next one runs out of time
+                        if (timeUnit.toMillis(l) < 1500) {
+                            throw new TimeoutException();
+                        }
+                        Thread.sleep(1500);
+                        return get();
+                    }
+                };
+            }
+        });
+        ts.testee.setDeploymentTimeout(2);
+        ts.testee.setMaxConcurrentDeployments(1);
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+
+        int deployed = 0;
+        int failed = 0;
+        for (String name : new String[] {"a.war", "b.war", "c.war"}) {
+            if (new File(tmpDir, name + FileSystemDeploymentService.DEPLOYED).exists()) {
+                deployed++;
+            } else if (new File(tmpDir, name + FileSystemDeploymentService.FAILED_DEPLOY).exists()) {
+                failed++;
+            }
+        }
+        assertEquals(1, deployed);
+        assertEquals(2, failed);
+        assertTrue(ts.controller.responses.isEmpty());
+        // no group waited longer than what was left of the one timeout
+        assertTrue(timeouts.toString(), timeouts.size() >= 2);
+        assertTrue(timeouts.toString(), timeouts.get(0) <= 2000);
+        for (int i = 1; i < timeouts.size(); i++) {
+            assertTrue(timeouts.toString(), timeouts.get(i) <= 2000 - 1500);
+        }
+    }
+
     @Test
     public void testBasicXmlDeploy() throws Exception {
         File xml = createXmlFile("foo.xml", "<rootElement/>");
@@ -1733,7 +1879,9 @@ public class FileSystemDeploymentServiceUnitTestCase {
 
         @Override
         public T get(long l, TimeUnit timeUnit) throws InterruptedException, ExecutionException, TimeoutException {
-            assertEquals( "Should use the configured timeout", expectedTimeout, l);
+            // the wait is what is left of the configured timeout since the deployment started
+            final long millis = timeUnit.toMillis(l);
+            assertTrue("Should use the configured timeout", millis <= expectedTimeout * 1000 && millis > (expectedTimeout - 1) * 1000);
             throw new TimeoutException();
         }
     }
@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.EnterpriseArchive;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests of {@link IndependentDeploymentScanner}.
+ */
+public class IndependentDeploymentScannerUnitTestCase {
+
+    private static AutoDeployTestSupport testSupport;
+
+    @BeforeClass
+    public static void setupClass() {
+        testSupport = new AutoDeployTestSupport(IndependentDeploymentScannerUnitTestCase.class.getSimpleName());
+    }
+
+    @AfterClass
+    public static void teardownClass() {
+        if (testSupport != null) {
+            testSupport.cleanupFiles();
+        }
+    }
+
+    @Test
+    public void testPlainArchivesAreIndependent() throws Exception {
+        assertTrue(IndependentDeploymentScanner.isIndependent(testSupport.getBasicWar()));
+        assertTrue(IndependentDeploymentScanner.isIndependent(export(war("plain.war"))));
+        final JavaArchive jar = ShrinkWrap.create(JavaArchive.class, "plain.jar")
+                .add(new ByteArrayAsset(classBytes("Ljava/lang/Deprecated;")), "org/test/Plain.class");
+        assertTrue(IndependentDeploymentScanner.isIndependent(export(jar)));
+        final EnterpriseArchive ear = ShrinkWrap.create(EnterpriseArchive.class, "plain.ear").addAsModule(war("module.war"));
+        assertTrue(IndependentDeploymentScanner.isIndependent(export(ear)));
+    }
+
+    @Test
+    public void testResourceProvidersAreNotIndependent() throws Exception {
+        assertFalse(IndependentDeploymentScanner.isIndependent(testSupport.getFile("test-ds.xml")));
+        assertFalse(IndependentDeploymentScanner.isIndependent(testSupport.getFile("test.xml")));
+        assertFalse(IndependentDeploymentScanner.isIndependent(export(ShrinkWrap.create(JavaArchive.class, "test.rar")
+                .addAsManifestResource(new StringAsset("<connector/>"), "ra.xml"))));
+        assertFalse(IndependentDeploymentScanner.isIndependent(export(ShrinkWrap.create(JavaArchive.class, "test.sar")
+                .addAsManifestResource(new StringAsset("<server/>"), "jboss-service.xml"))));
+        assertFalse(IndependentDeploymentScanner.isIndependent(export(war("ds.war")
+                .addAsWebInfResource(new StringAsset("<datasources/>"), "test-ds.xml"))));
+        final EnterpriseArchive ear = ShrinkWrap.create(EnterpriseArchive.class, "rar.ear")
+                .addAsModule(ShrinkWrap.create(JavaArchive.class, "nested.rar"));
+        assertFalse(IndependentDeploymentScanner.isIndependent(export(ear)));
+    }
+
+    @Test
+    public void testDeclaredDependencies() throws Exception {
+        assertFalse(IndependentDeploymentScanner.isIndependent(export(war("structure.war")
+                .addAsWebInfResource(new StringAsset("<jboss-deployment-structure/>"), "jboss-deployment-structure.xml"))));
+        assertFalse(IndependentDeploymentScanner.isIndependent(export(war("manifest.war")
+                .setManifest(new StringAsset("Manifest-Version: 1.0\nDependencies: deployment.other.jar\n\n")))));
+        assertTrue(IndependentDeploymentScanner.isIndependent(export(war("module.war")
+                .setManifest(new StringAsset("Manifest-Version: 1.0\nDependencies: org.jboss.logging\n\n")))));
+        assertFalse(IndependentDeploymentScanner.isIndependent(export(war("class-path.war")
+                .setManifest(new StringAsset("Manifest-Version: 1.0\nClass-Path: other.jar\n\n")))));
+    }
+
+    @Test
+    public void testReferences() throws Exception {
+        assertFalse(IndependentDeploymentScanner.isIndependent(export(war("ejb-ref.war")
+                .setWebXML(new StringAsset("<web-app><ejb-local-ref><ejb-ref-name>x</ejb-ref-name></ejb-local-ref></web-app>")))));
+        assertFalse(IndependentDeploymentScanner.isIndependent(export(war("persistence.war")
+                .addAsWebInfResource(new StringAsset("<persistence><persistence-unit name=\"x\"/></persistence>"), "classes/META-INF/persistence.xml"))));
+        assertFalse(IndependentDeploymentScanner.isIndependent(export(war("lookup.war")
+                .setWebXML(new StringAsset("<web-app><env-entry><lookup-name>java:global/x</lookup-name></env-entry></web-app>")))));
+        // also when the descriptor is in a library of the deployment
+        final JavaArchive library = ShrinkWrap.create(JavaArchive.class, "library.jar")
+                .addAsManifestResource(new StringAsset("<ejb-jar><ejb-ref><ejb-ref-name>x</ejb-ref-name></ejb-ref></ejb-jar>"), "ejb-jar.xml");
+        assertFalse(IndependentDeploymentScanner.isIndependent(export(war("library.war").addAsLibrary(library))));
+        // only descriptors are read
+        assertTrue(IndependentDeploymentScanner.isIndependent(export(war("other-xml.war")
+                .add(new StringAsset("<ejb-ref/>"), "WEB-INF/classes/org/test/test.xml"))));
+    }
+
+    @Test
+    public void testExplodedContent() throws Exception {
+        final File exploded = new File(testSupport.getTempDir(), "exploded.war");
+        final File classes = new File(exploded, "WEB-INF" + File.separator + "classes");
+        classes.mkdirs();
+        write(new File(exploded, "index.html"), "<html/>".getBytes("US-ASCII"));
+        write(new File(classes, "Plain.class"), classBytes("Ljava/lang/Deprecated;"));
+        assertTrue(IndependentDeploymentScanner.isIndependent(exploded));
+        write(new File(exploded, "WEB-INF" + File.separator + "web.xml"), "<web-app><resource-ref/></web-app>".getBytes("US-ASCII"));
+        assertFalse(IndependentDeploymentScanner.isIndependent(exploded));
+    }
+
+    @Test
+    public void testCheckedContent() throws Exception {
+        final File directory = new File(testSupport.getTempDir(), "checked");
+        directory.mkdirs();
+        final WebArchive war = war("checked.war");
+        final File file = new File(directory, war.getName());
+        war.as(ZipExporter.class).exportTo(file, true);
+
+        final IndependentDeploymentScanner scanner = new IndependentDeploymentScanner();
+        assertFalse(scanner.isProvenIndependent(file));
+        scanner.check(directory);
+        assertTrue(scanner.isProvenIndependent(file));
+
+        // the result does not hold for changed content until it is checked again
+        war.addAsWebInfResource(new StringAsset("<jboss-deployment-structure/>"), "jboss-deployment-structure.xml");
+        war.as(ZipExporter.class).exportTo(file, true);
+        file.setLastModified(file.lastModified() + 1000);
+        assertFalse(scanner.isProvenIndependent(file));
+        scanner.check(directory);
+        assertFalse(scanner.isProvenIndependent(file));
+    }
+
+    private static WebArchive war(final String name) {
+        return ShrinkWrap.create(WebArchive.class, name).add(new StringAsset("<html/>"), "index.html");
+    }
+
+    private static File export(final Archive<?> archive) {
+        final File file = new File(testSupport.getTempDir(), archive.getName());
+        archive.as(ZipExporter.class).exportTo(file, true);
+        return file;
+    }
+
+    /**
+     * Fake class file bytes with the given constant pool entry.
+     */
+    private static byte[] classBytes(final String constant) throws IOException {
+        final byte[] bytes = constant.getBytes("US-ASCII");
+        final byte[] classBytes = new byte[bytes.length + 16];
+        classBytes[0] = (byte) 0xCA;
+        classBytes[1] = (byte) 0xFE;
+        classBytes[2] = (byte) 0xBA;
+        classBytes[3] = (byte) 0xBE;
+        System.arraycopy(bytes, 0, classBytes, 8, bytes.length);
+        return classBytes;
+    }
+
+    private static void write(final File file, final byte[] bytes) throws IOException {
+        final FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(bytes);
+        } finally {
+            out.close();
+        }
+    }
+}
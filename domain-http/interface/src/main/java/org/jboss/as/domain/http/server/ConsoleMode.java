@@ -110,8 +110,11 @@ public enum ConsoleMode {
         * (Later may change the return type to return the context so a sub-class can just continue after the parent class start)
         */
         @Override
-        public void start(HttpServer httpServer, SecurityRealm securityRealm) {
+        public void start(HttpServer httpServer, SecurityRealm securityRealm, RequestLimiter requestLimiter) {
             HttpContext httpContext = httpServer.createContext(getContext(), this);
+            if (requestLimiter != null) {
+                httpContext.getFilters().add(requestLimiter.getConsoleFilter());
+            }
             if (securityRealm != null) {
                 DomainCallbackHandler domainCBH = securityRealm.getCallbackHandler();
                 httpContext.getFilters().add(new RealmReadinessFilter(domainCBH, ErrorHandler.getRealmRedirect()));
@@ -49,13 +49,16 @@ public interface Constants {
      */
 
     String ACCEPT = "Accept";
+    String ACCEPT_ENCODING = "Accept-Encoding";
     String AUTHORIZATION_HEADER = "Authorization";
     String CONTENT_DISPOSITION = "Content-Disposition";
+    String CONTENT_ENCODING = "Content-Encoding";
     String CONTENT_TYPE = "Content-Type";
     String HOST = "Host";
     String LOCATION = "Location";
     String ORIGIN = "Origin";
     String RETRY_AFTER = "Retry-After";
+    String VARY = "Vary";
     String VIA = "Via";
     String WWW_AUTHENTICATE_HEADER = "WWW-Authenticate";
 
@@ -63,6 +66,7 @@ public interface Constants {
      * Content Types
      */
 
+    String APPLICATION_DMR = "application/dmr";
     String APPLICATION_DMR_ENCODED = "application/dmr-encoded";
     String APPLICATION_JAVASCRIPT = "application/javascript";
     String APPLICATION_JSON = "application/json";
@@ -73,6 +77,13 @@ public interface Constants {
     String TEXT_CSS = "text/css";
     String TEXT_HTML = "text/html";
 
+    /*
+     * Content Codings
+     */
+
+    String DEFLATE = "deflate";
+    String GZIP = "gzip";
+
     /*
      * Charsets
      */
@@ -25,12 +25,17 @@ package org.jboss.as.domain.http.server;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.domain.http.server.Constants.ACCEPT;
+import static org.jboss.as.domain.http.server.Constants.ACCEPT_ENCODING;
+import static org.jboss.as.domain.http.server.Constants.APPLICATION_DMR;
 import static org.jboss.as.domain.http.server.Constants.APPLICATION_DMR_ENCODED;
 import static org.jboss.as.domain.http.server.Constants.APPLICATION_JSON;
 import static org.jboss.as.domain.http.server.Constants.CONTENT_DISPOSITION;
+import static org.jboss.as.domain.http.server.Constants.CONTENT_ENCODING;
 import static org.jboss.as.domain.http.server.Constants.CONTENT_TYPE;
+import static org.jboss.as.domain.http.server.Constants.DEFLATE;
 import static org.jboss.as.domain.http.server.Constants.FORBIDDEN;
 import static org.jboss.as.domain.http.server.Constants.GET;
+import static org.jboss.as.domain.http.server.Constants.GZIP;
 import static org.jboss.as.domain.http.server.Constants.HOST;
 import static org.jboss.as.domain.http.server.Constants.HTTP;
 import static org.jboss.as.domain.http.server.Constants.HTTPS;
@@ -46,10 +51,14 @@ import static org.jboss.as.domain.http.server.Constants.TEXT_HTML;
 import static org.jboss.as.domain.http.server.Constants.UNSUPPORTED_MEDIA_TYPE;
 import static org.jboss.as.domain.http.server.Constants.US_ASCII;
 import static org.jboss.as.domain.http.server.Constants.UTF_8;
+import static org.jboss.as.domain.http.server.Constants.VARY;
 import static org.jboss.as.domain.http.server.HttpServerLogger.ROOT_LOGGER;
 import static org.jboss.as.domain.http.server.HttpServerMessages.MESSAGES;
 
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -66,6 +75,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.jboss.as.controller.ControlledProcessState;
 import org.jboss.as.controller.ControlledProcessStateService;
@@ -86,6 +97,10 @@ import org.jboss.dmr.ModelNode;
 
 /**
  * An embedded web server that provides a JSON over HTTP API to the domain management model.
+ * <p/>
+ * Besides JSON, requests and responses may use base64 encoded ({@code application/dmr-encoded}) or raw binary
+ * ({@code application/dmr}) DMR, selected by the request's {@code Content-Type} and {@code Accept} headers. Responses are
+ * compressed with gzip or deflate if the client lists either in {@code Accept-Encoding}.
  *
  * @author Jason T. Greene
  * @author <a href="mailto:darran.lofthouse@jboss.com">Darran Lofthouse</a>
@@ -124,6 +139,34 @@ class DomainApiHandler implements ManagementHttpHandler {
         }
     }
 
+    /**
+     * The encodings of a DMR request or response body.
+     */
+    enum Format {
+        JSON(APPLICATION_JSON),
+        DMR_ENCODED(APPLICATION_DMR_ENCODED),
+        DMR(APPLICATION_DMR);
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        static Format forContentType(String contentType) {
+            for (Format format : values()) {
+                if (format.contentType.equals(contentType)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
     private final Authenticator authenticator;
     private final ControlledProcessStateService controlledProcessStateService;
     private ModelControllerClient modelController;
@@ -194,7 +237,7 @@ class DomainApiHandler implements ManagementHttpHandler {
         /*
          *  Cross Site Request Forgery makes use of a specially constructed form to pass in what appears to be
          *  a valid operation request - except for upload requests any inbound requests where the Content-Type
-         *  is not application/json or application/dmr-encoded will be rejected.
+         *  is not application/json, application/dmr-encoded or application/dmr will be rejected.
          */
 
         final boolean uploadRequest = UPLOAD_REQUEST.equals(request.getPath());
@@ -207,13 +250,13 @@ class DomainApiHandler implements ManagementHttpHandler {
             }
 
             String contentType = extractContentType(headers.getFirst(CONTENT_TYPE));
-            if (!(APPLICATION_JSON.equals(contentType) || APPLICATION_DMR_ENCODED.equals(contentType))) {
+            if (Format.forContentType(contentType) == null) {
                 drain(http);
                 // RFC 2616: 14.11 Content-Encoding
                 // If the content-coding of an entity in a request message is not
                 // acceptable to the origin server, the server SHOULD respond with a
                 // status code of 415 (Unsupported Media Type).
-                ROOT_LOGGER.debug("Request rejected due to unsupported media type - should be one of (application/json,application/dmr-encoded).");
+                ROOT_LOGGER.debug("Request rejected due to unsupported media type - should be one of (application/json,application/dmr-encoded,application/dmr).");
                 sendResponse(http, UNSUPPORTED_MEDIA_TYPE, contentType + "\n");
 
                 return;
@@ -278,7 +321,7 @@ class DomainApiHandler implements ManagementHttpHandler {
         }
 
         // TODO Determine what format the response should be in for a deployment upload request.
-        writeResponse(http, false, false, response, OK, false, TEXT_HTML);
+        writeResponse(http, false, false, response, OK, Format.JSON, TEXT_HTML);
     }
 
     /**
@@ -304,11 +347,11 @@ class DomainApiHandler implements ManagementHttpHandler {
         int status = OK;
 
         Headers requestHeaders = http.getRequestHeaders();
-        boolean encode = APPLICATION_DMR_ENCODED.equals(requestHeaders.getFirst(ACCEPT))
-                || APPLICATION_DMR_ENCODED.equals(requestHeaders.getFirst(CONTENT_TYPE));
+        final Format requestFormat = isGet ? Format.JSON : Format.forContentType(extractContentType(requestHeaders.getFirst(CONTENT_TYPE)));
+        final Format responseFormat = selectResponseFormat(requestHeaders.getFirst(ACCEPT), requestFormat);
 
         try {
-            dmr = isGet ? convertGetRequest(request) : convertPostRequest(http.getRequestBody(), encode);
+            dmr = isGet ? convertGetRequest(request) : convertPostRequest(http.getRequestBody(), requestFormat);
         } catch (Exception iae) {
             ROOT_LOGGER.debugf("Unable to construct ModelNode '%s'", iae.getMessage());
             sendError(http,isGet,iae);
@@ -328,13 +371,78 @@ class DomainApiHandler implements ManagementHttpHandler {
         }
 
         boolean pretty = dmr.hasDefined("json.pretty") && dmr.get("json.pretty").asBoolean();
-        writeResponse(http, isGet, pretty, response, status, encode);
+        writeResponse(http, isGet, pretty, response, status, responseFormat);
+    }
+
+    /**
+     * Selects the format of an operation response: a DMR format if the client accepts it or used it for the request,
+     * JSON otherwise.
+     *
+     * @param accept The value of the request's Accept header, may be {@code null}.
+     * @param requestFormat The format of the request body.
+     * @return the response format.
+     */
+    private Format selectResponseFormat(final String accept, final Format requestFormat) {
+        if (requestFormat == Format.DMR || accepts(accept, APPLICATION_DMR)) {
+            return Format.DMR;
+        }
+        if (requestFormat == Format.DMR_ENCODED || accepts(accept, APPLICATION_DMR_ENCODED)) {
+            return Format.DMR_ENCODED;
+        }
+        return Format.JSON;
+    }
+
+    /**
+     * Selects the content coding of a response from the request's Accept-Encoding header, preferring gzip to deflate.
+     *
+     * @param acceptEncoding The value of the Accept-Encoding header, may be {@code null}.
+     * @return the content coding, or {@code null} if the response is not to be compressed.
+     */
+    private String selectContentEncoding(final String acceptEncoding) {
+        if (accepts(acceptEncoding, GZIP)) {
+            return GZIP;
+        }
+        if (accepts(acceptEncoding, DEFLATE)) {
+            return DEFLATE;
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a comma separated header value such as Accept or Accept-Encoding lists a value with a non-zero
+     * quality.
+     */
+    private static boolean accepts(final String header, final String value) {
+        if (header == null) {
+            return false;
+        }
+        for (String element : header.split(",")) {
+            final String[] parts = element.split(";");
+            if (value.equalsIgnoreCase(parts[0].trim())) {
+                return quality(parts) > 0;
+            }
+        }
+        return false;
+    }
+
+    private static float quality(final String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            final String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Float.parseFloat(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
     }
 
     private void sendError(final HttpExchange http, boolean isGet, Throwable t) throws IOException {
         ModelNode response = new ModelNode();
         response.set(t.getMessage());
-        writeResponse(http, isGet, true, response, INTERNAL_SERVER_ERROR, false);
+        writeResponse(http, isGet, true, response, INTERNAL_SERVER_ERROR, Format.JSON);
     }
 
     private void sendResponse(final HttpExchange exchange, final int responseCode, final String body) throws IOException {
@@ -349,9 +457,8 @@ class DomainApiHandler implements ManagementHttpHandler {
     }
 
      private void writeResponse(final HttpExchange http, boolean isGet, boolean pretty, ModelNode response, int status,
-            boolean encode) throws IOException {
-         String contentType = encode ? APPLICATION_DMR_ENCODED : APPLICATION_JSON;
-         writeResponse(http, isGet, pretty, response, status, encode, contentType);
+            Format format) throws IOException {
+         writeResponse(http, isGet, pretty, response, status, format, format.contentType());
      }
 
     /**
@@ -362,28 +469,62 @@ class DomainApiHandler implements ManagementHttpHandler {
      * @param pretty Flag indicating whether or not the output, if JSON, should be pretty printed or not.
      * @param response The DMR response from the operation.
      * @param status The HTTP status code to be included in the response.
-     * @param encode Flag indicating whether or not to Base64 encode the response payload.
+     * @param format The format of the response payload.
+     * @param contentType The value of the Content-Type header.
      * @throws IOException if an error occurs while attempting to generate the HTTP response.
      */
     private void writeResponse(final HttpExchange http, boolean isGet, boolean pretty, ModelNode response, int status,
-            boolean encode, String contentType) throws IOException {
+            Format format, String contentType) throws IOException {
         final Headers responseHeaders = http.getResponseHeaders();
         responseHeaders.add(CONTENT_TYPE, contentType);
+        // the format is negotiated from Accept and the content coding from Accept-Encoding
+        responseHeaders.add(VARY, ACCEPT + ", " + ACCEPT_ENCODING);
+        final String contentEncoding = selectContentEncoding(http.getRequestHeaders().getFirst(ACCEPT_ENCODING));
+        if (contentEncoding != null) {
+            responseHeaders.add(CONTENT_ENCODING, contentEncoding);
+        }
         http.sendResponseHeaders(status, 0);
 
-        final OutputStream out = http.getResponseBody();
-        final PrintWriter print = new PrintWriter(out);
-
         // GET (read) operations will never have a compensating update, and the status is already
         // available via the http response status code, so unwrap them.
         if (isGet && status == OK)
             response = response.get("result");
 
+        writePayload(http.getResponseBody(), response, format, contentEncoding, pretty);
+    }
+
+    /**
+     * Writes a DMR payload to a response body and closes it.
+     *
+     * @param target The response body.
+     * @param payload The payload.
+     * @param format The format of the payload.
+     * @param contentEncoding The content coding to compress the payload with, {@code null} for none.
+     * @param pretty Flag indicating whether or not the output, if JSON, should be pretty printed or not.
+     * @throws IOException if an error occurs while writing the payload.
+     */
+    static void writePayload(final OutputStream target, final ModelNode payload, final Format format,
+            final String contentEncoding, final boolean pretty) throws IOException {
+        // The payload is streamed to the (chunked) response body as it is written, compressed on the way if negotiated;
+        // the buffer only saves the byte-at-a-time DMR writers from going through the deflater for every byte.
+        final OutputStream body;
+        if (GZIP.equals(contentEncoding)) {
+            body = new GZIPOutputStream(target);
+        } else if (DEFLATE.equals(contentEncoding)) {
+            body = new DeflaterOutputStream(target);
+        } else {
+            body = target;
+        }
+        final OutputStream out = new BufferedOutputStream(body);
+        final PrintWriter print = new PrintWriter(out);
+
         try {
-            if (encode) {
-                response.writeBase64(out);
+            if (format == Format.DMR) {
+                payload.writeExternal(new DataOutputStream(out));
+            } else if (format == Format.DMR_ENCODED) {
+                payload.writeBase64(out);
             } else {
-                response.writeJSONString(print, !pretty);
+                payload.writeJSONString(print, !pretty);
             }
         } finally {
             print.flush();
@@ -455,15 +596,24 @@ class DomainApiHandler implements ManagementHttpHandler {
         }
     }
 
-    private void safeClose(Closeable close) {
+    private static void safeClose(Closeable close) {
         try {
             close.close();
         } catch (Throwable eat) {
         }
     }
 
-    private ModelNode convertPostRequest(InputStream stream, boolean encode) throws IOException {
-        return encode ? ModelNode.fromBase64(stream) : ModelNode.fromJSONStream(stream);
+    private ModelNode convertPostRequest(InputStream stream, Format format) throws IOException {
+        switch (format) {
+            case DMR:
+                final ModelNode dmr = new ModelNode();
+                dmr.readExternal(new DataInputStream(stream));
+                return dmr;
+            case DMR_ENCODED:
+                return ModelNode.fromBase64(stream);
+            default:
+                return ModelNode.fromJSONStream(stream);
+        }
     }
 
     private ModelNode convertGetRequest(URI request) {
@@ -565,10 +715,13 @@ class DomainApiHandler implements ManagementHttpHandler {
         return parameters;
     }
 
-    public void start(HttpServer httpServer, SecurityRealm securityRealm) {
+    public void start(HttpServer httpServer, SecurityRealm securityRealm, RequestLimiter requestLimiter) {
         // The SubjectAssociationHandler wraps all calls to this HttpHandler to ensure the Subject has been associated
         // with the security context.
         HttpContext context = httpServer.createContext(DOMAIN_API_CONTEXT, new SubjectAssociationHandler(this));
+        if (requestLimiter != null) {
+            context.getFilters().add(requestLimiter.getFilter());
+        }
         // Once there is a trust store we can no longer rely on users being defined so skip
         // any redirects.
         if (authenticator != null) {
@@ -12,6 +12,7 @@ import org.jboss.as.domain.http.server.security.DigestAuthenticator;
 import org.jboss.as.domain.http.server.security.NonceFactory;
 import org.jboss.as.domain.management.SecurityRealm;
 import org.jboss.com.sun.net.httpserver.Headers;
+import org.jboss.com.sun.net.httpserver.HttpContext;
 import org.jboss.com.sun.net.httpserver.HttpExchange;
 import org.jboss.com.sun.net.httpserver.HttpServer;
 
@@ -23,8 +24,11 @@ class LogoutHandler implements ManagementHttpHandler {
     private String realm;
 
     @Override
-    public void start(HttpServer httpServer, SecurityRealm securityRealm) {
-        httpServer.createContext("/logout", this);
+    public void start(HttpServer httpServer, SecurityRealm securityRealm, RequestLimiter requestLimiter) {
+        HttpContext httpContext = httpServer.createContext("/logout", this);
+        if (requestLimiter != null) {
+            httpContext.getFilters().add(requestLimiter.getConsoleFilter());
+        }
         realm = securityRealm != null ? securityRealm.getName() : null;
     }
 
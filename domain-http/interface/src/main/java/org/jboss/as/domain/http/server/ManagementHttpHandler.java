@@ -36,7 +36,14 @@ import org.jboss.com.sun.net.httpserver.HttpServer;
  */
 interface ManagementHttpHandler extends HttpHandler {
 
-    void start(HttpServer httpServer, SecurityRealm securityRealm);
+    /**
+     * Creates the contexts of this handler on the server.
+     *
+     * @param httpServer the server
+     * @param securityRealm the security realm, may be {@code null}
+     * @param requestLimiter the limiter to add the filter of to the contexts, or {@code null} if requests are not limited
+     */
+    void start(HttpServer httpServer, SecurityRealm securityRealm, RequestLimiter requestLimiter);
 
     void stop(HttpServer httpServer);
 
@@ -64,12 +64,15 @@ public class ManagementHttpServer {
 
     private SecurityRealm securityRealm;
 
+    private final RequestLimiter requestLimiter;
+
     private List<ManagementHttpHandler> handlers = new LinkedList<ManagementHttpHandler>();
 
-    private ManagementHttpServer(HttpServer httpServer, HttpServer secureHttpServer, SecurityRealm securityRealm) {
+    private ManagementHttpServer(HttpServer httpServer, HttpServer secureHttpServer, SecurityRealm securityRealm, RequestLimiter requestLimiter) {
         this.httpServer = httpServer;
         this.secureHttpServer = secureHttpServer;
         this.securityRealm = securityRealm;
+        this.requestLimiter = requestLimiter;
     }
 
     void addHandler(ManagementHttpHandler handler) {
@@ -86,7 +89,7 @@ public class ManagementHttpServer {
             return;
 
         for (ManagementHttpHandler current : handlers) {
-            current.start(httpServer, securityRealm);
+            current.start(httpServer, securityRealm, requestLimiter);
         }
         httpServer.start();
     }
@@ -108,6 +111,17 @@ public class ManagementHttpServer {
 
     public static ManagementHttpServer create(InetSocketAddress bindAddress, InetSocketAddress secureBindAddress, int backlog, ModelControllerClient modelControllerClient, Executor executor, SecurityRealm securityRealm, ControlledProcessStateService controlledProcessStateService, ConsoleMode consoleMode, String consoleSlot)
             throws IOException {
+        return create(bindAddress, secureBindAddress, backlog, modelControllerClient, executor, securityRealm, controlledProcessStateService, consoleMode, consoleSlot, null);
+    }
+
+    /**
+     * Creates the management HTTP server.
+     *
+     * @param executor the executor the HTTP server dispatches requests to, see {@link RequestLimiter#createExecutor(java.util.concurrent.ThreadFactory)}
+     * @param requestLimiter the limits applied to management API and console requests, or {@code null} if they are not limited
+     */
+    public static ManagementHttpServer create(InetSocketAddress bindAddress, InetSocketAddress secureBindAddress, int backlog, ModelControllerClient modelControllerClient, Executor executor, SecurityRealm securityRealm, ControlledProcessStateService controlledProcessStateService, ConsoleMode consoleMode, String consoleSlot,
+            RequestLimiter requestLimiter) throws IOException {
         Map<String, String> configuration = Collections.emptyMap();
 
         Authenticator auth = null;
@@ -176,7 +190,7 @@ public class ManagementHttpServer {
             }
         }
 
-        ManagementHttpServer managementHttpServer = new ManagementHttpServer(httpServer, secureHttpServer, securityRealm);
+        ManagementHttpServer managementHttpServer = new ManagementHttpServer(httpServer, secureHttpServer, securityRealm, requestLimiter);
         ResourceHandler consoleHandler = null;
         try {
             consoleHandler = consoleMode.createConsoleHandler(consoleSlot);
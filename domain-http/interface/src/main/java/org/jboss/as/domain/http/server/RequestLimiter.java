@@ -0,0 +1,264 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.domain.http.server.Constants.GET;
+import static org.jboss.as.domain.http.server.Constants.RETRY_AFTER;
+import static org.jboss.as.domain.http.server.Constants.SERVICE_UNAVAILABLE;
+import static org.jboss.as.domain.http.server.HttpServerLogger.ROOT_LOGGER;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.com.sun.net.httpserver.Filter;
+import org.jboss.com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Bounds the number of management API requests handled at the same time and keeps statistics about them.
+ * <p/>
+ * At most {@code maxThreads} requests of any kind are handled at the same time; another {@code readOnlyThreads} are
+ * reserved for read-only GET requests, so that e.g. health checks are still answered while slow deployment uploads
+ * occupy all the others. A request for which there is no room is rejected with a 503 (Service Unavailable) response.
+ * Requests for the console resources share the threads, they are limited to {@link #CONSOLE_THREADS} at the same time
+ * by the {@link #getConsoleFilter() console filter}.
+ * <p/>
+ * The limits are applied by the filters, the HTTP server dispatches the requests to the
+ * {@link #createExecutor(ThreadFactory) executor}, which has exactly one thread per request admitted at the same time
+ * and does not queue. A request dispatched while all threads are busy is handed to a single rejection thread, which
+ * answers it with a 503 response as well.
+ */
+public final class RequestLimiter {
+
+    public static final int DEFAULT_MAX_THREADS = 10;
+    public static final int DEFAULT_READ_ONLY_THREADS = 2;
+    static final int CONSOLE_THREADS = 2;
+    /** The number of requests waiting to be rejected, before the dispatching thread rejects them itself. */
+    private static final int REJECTION_QUEUE = 16;
+
+    private final int maxThreads;
+    private final int readOnlyThreads;
+    private final Semaphore requestPermits;
+    private final Semaphore readOnlyPermits;
+    private final Semaphore consolePermits = new Semaphore(CONSOLE_THREADS);
+    /** Set while the current thread runs a request the executor had no thread for. */
+    private final ThreadLocal<Boolean> overflow = new ThreadLocal<Boolean>();
+
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong rejectedRequestCount = new AtomicLong();
+    private final AtomicLong totalResponseTime = new AtomicLong();
+    private final AtomicLong maxResponseTime = new AtomicLong();
+
+    private final Filter filter = new Filter() {
+        @Override
+        public void doFilter(final HttpExchange exchange, final Chain chain) throws IOException {
+            final long start = System.nanoTime();
+            final Semaphore permits = overflow.get() != null ? null : acquire(GET.equals(exchange.getRequestMethod()));
+            if (permits == null) {
+                reject(exchange);
+                return;
+            }
+            activeRequests.incrementAndGet();
+            try {
+                chain.doFilter(exchange);
+            } finally {
+                activeRequests.decrementAndGet();
+                permits.release();
+                requestCount.incrementAndGet();
+                record(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public String description() {
+            return "Limits the number of management requests handled at the same time";
+        }
+    };
+
+    private final Filter consoleFilter = new Filter() {
+        @Override
+        public void doFilter(final HttpExchange exchange, final Chain chain) throws IOException {
+            if (overflow.get() != null || !consolePermits.tryAcquire()) {
+                reject(exchange);
+                return;
+            }
+            try {
+                chain.doFilter(exchange);
+            } finally {
+                consolePermits.release();
+            }
+        }
+
+        @Override
+        public String description() {
+            return "Limits the number of console requests handled at the same time";
+        }
+    };
+
+    public RequestLimiter(final int maxThreads, final int readOnlyThreads) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("maxThreads < 1");
+        }
+        if (readOnlyThreads < 0) {
+            throw new IllegalArgumentException("readOnlyThreads < 0");
+        }
+        this.maxThreads = maxThreads;
+        this.readOnlyThreads = readOnlyThreads;
+        this.requestPermits = new Semaphore(maxThreads);
+        this.readOnlyPermits = new Semaphore(readOnlyThreads);
+    }
+
+    private Semaphore acquire(final boolean readOnly) {
+        if (readOnly && readOnlyPermits.tryAcquire()) {
+            return readOnlyPermits;
+        }
+        return requestPermits.tryAcquire() ? requestPermits : null;
+    }
+
+    private void reject(final HttpExchange exchange) throws IOException {
+        rejectedRequestCount.incrementAndGet();
+        ROOT_LOGGER.debugf("Request %s %s rejected, all %d management request threads are busy",
+                exchange.getRequestMethod(), exchange.getRequestURI(), getThreads());
+        try {
+            exchange.getRequestBody().close();
+        } catch (IOException e) {
+            // ignore
+        }
+        exchange.getResponseHeaders().add(RETRY_AFTER, "2");
+        exchange.sendResponseHeaders(SERVICE_UNAVAILABLE, -1);
+    }
+
+    private int getThreads() {
+        return maxThreads + readOnlyThreads + CONSOLE_THREADS;
+    }
+
+    private void record(final long nanos) {
+        totalResponseTime.addAndGet(nanos);
+        long current;
+        while ((current = maxResponseTime.get()) < nanos && !maxResponseTime.compareAndSet(current, nanos)) {
+            //
+        }
+    }
+
+    /**
+     * Creates the executor for the HTTP server to dispatch requests to. The caller is responsible for shutting it down.
+     * <p/>
+     * The executor does not queue, a request dispatched while all of its threads are busy is run by a separate
+     * rejection thread, where the filters answer it with a 503 response without handling it. Should the rejection
+     * thread fall behind too, the dispatching thread rejects the request itself.
+     *
+     * @param threadFactory the factory for the request threads
+     * @return the executor
+     */
+    public ExecutorService createExecutor(final ThreadFactory threadFactory) {
+        final ThreadPoolExecutor rejectionExecutor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(REJECTION_QUEUE), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+        rejectionExecutor.allowCoreThreadTimeOut(true);
+        final RejectedExecutionHandler rejectionHandler = new RejectedExecutionHandler() {
+            @Override
+            public void rejectedExecution(final Runnable command, final ThreadPoolExecutor executor) {
+                if (executor.isShutdown()) {
+                    return;
+                }
+                rejectionExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        overflow.set(Boolean.TRUE);
+                        try {
+                            command.run();
+                        } finally {
+                            overflow.remove();
+                        }
+                    }
+                });
+            }
+        };
+        final int threads = getThreads();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<Runnable>(), threadFactory, rejectionHandler) {
+            @Override
+            protected void terminated() {
+                rejectionExecutor.shutdown();
+            }
+        };
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Gets the filter that applies the limits to the requests of an {@link org.jboss.com.sun.net.httpserver.HttpContext}
+     * of the management API.
+     *
+     * @return the filter
+     */
+    public Filter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Gets the filter that limits the requests of an {@link org.jboss.com.sun.net.httpserver.HttpContext} serving the
+     * console.
+     *
+     * @return the filter
+     */
+    public Filter getConsoleFilter() {
+        return consoleFilter;
+    }
+
+    public int getActiveRequests() {
+        return activeRequests.get();
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getRejectedRequestCount() {
+        return rejectedRequestCount.get();
+    }
+
+    /**
+     * @return the average time taken to handle a request, in milliseconds
+     */
+    public long getAverageResponseTime() {
+        final long count = requestCount.get();
+        return count == 0L ? 0L : TimeUnit.NANOSECONDS.toMillis(totalResponseTime.get() / count);
+    }
+
+    /**
+     * @return the longest time taken to handle a request, in milliseconds
+     */
+    public long getMaxResponseTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxResponseTime.get());
+    }
+
+}
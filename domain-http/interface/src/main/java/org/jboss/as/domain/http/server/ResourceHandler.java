@@ -61,6 +61,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.jboss.as.domain.management.SecurityRealm;
 import org.jboss.com.sun.net.httpserver.Headers;
+import org.jboss.com.sun.net.httpserver.HttpContext;
 import org.jboss.com.sun.net.httpserver.HttpExchange;
 import org.jboss.com.sun.net.httpserver.HttpServer;
 import org.jboss.modules.Module;
@@ -311,8 +312,11 @@ class ResourceHandler implements ManagementHttpHandler {
             return loader;
     }
 
-    public void start(HttpServer httpServer, SecurityRealm securityRealm) {
-        httpServer.createContext(context, this);
+    public void start(HttpServer httpServer, SecurityRealm securityRealm, RequestLimiter requestLimiter) {
+        HttpContext httpContext = httpServer.createContext(context, this);
+        if (requestLimiter != null) {
+            httpContext.getFilters().add(requestLimiter.getConsoleFilter());
+        }
     }
 
     public void stop(HttpServer httpServer) {
@@ -32,6 +32,7 @@ import java.net.URI;
 
 import org.jboss.as.domain.management.SecurityRealm;
 import org.jboss.com.sun.net.httpserver.Headers;
+import org.jboss.com.sun.net.httpserver.HttpContext;
 import org.jboss.com.sun.net.httpserver.HttpExchange;
 import org.jboss.com.sun.net.httpserver.HttpServer;
 
@@ -50,8 +51,11 @@ public class RootHandler implements ManagementHttpHandler {
         this.consoleHandler = consoleHandler;
     }
 
-    public void start(HttpServer httpServer, SecurityRealm securityRealm) {
-        httpServer.createContext(ROOT_CONTEXT, this);
+    public void start(HttpServer httpServer, SecurityRealm securityRealm, RequestLimiter requestLimiter) {
+        HttpContext httpContext = httpServer.createContext(ROOT_CONTEXT, this);
+        if (requestLimiter != null) {
+            httpContext.getFilters().add(requestLimiter.getConsoleFilter());
+        }
     }
 
     public void stop(HttpServer httpServer) {
@@ -0,0 +1,215 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.ControlledProcessStateService;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.com.sun.net.httpserver.HttpServer;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Tests the negotiation of the format and the content coding of HTTP management API requests and responses.
+ */
+public class DomainApiHandlerTestCase {
+
+    private HttpServer httpServer;
+    private DomainApiHandler handler;
+    private String url;
+
+    @Before
+    @SuppressWarnings("deprecation")
+    public void start() throws Exception {
+        // answers every operation with the name of the attribute it reads
+        final ModelControllerClient client = mock(ModelControllerClient.class);
+        when(client.execute(any(Operation.class))).thenAnswer(new Answer<ModelNode>() {
+            public ModelNode answer(final InvocationOnMock invocation) {
+                final ModelNode operation = ((Operation) invocation.getArguments()[0]).getOperation();
+                final ModelNode response = new ModelNode();
+                response.get("outcome").set("success");
+                response.get("result").set(operation.get("name"));
+                return response;
+            }
+        });
+        final ControlledProcessStateService processState = mock(ControlledProcessStateService.class);
+        when(processState.getCurrentState()).thenReturn(ControlledProcessState.State.RUNNING);
+
+        httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 10, Collections.<String, String>emptyMap());
+        handler = new DomainApiHandler(client, null, processState);
+        handler.start(httpServer, null, null);
+        httpServer.start();
+        url = "http://127.0.0.1:" + httpServer.getAddress().getPort() + "/management";
+    }
+
+    @After
+    public void stop() {
+        httpServer.stop(0);
+        handler.stop(httpServer);
+    }
+
+    @Test
+    public void testIdentityWithoutAcceptEncoding() throws Exception {
+        final HttpURLConnection connection = get(null);
+        assertEquals(200, connection.getResponseCode());
+        assertNull(connection.getHeaderField(Constants.CONTENT_ENCODING));
+        assertEquals(Constants.ACCEPT + ", " + Constants.ACCEPT_ENCODING, connection.getHeaderField(Constants.VARY));
+        assertEquals(Constants.APPLICATION_JSON, connection.getHeaderField(Constants.CONTENT_TYPE));
+        assertEquals("test", ModelNode.fromJSONStream(connection.getInputStream()).asString());
+    }
+
+    @Test
+    public void testGzipPreferred() throws Exception {
+        final HttpURLConnection connection = get("deflate, gzip");
+        assertEquals(Constants.GZIP, connection.getHeaderField(Constants.CONTENT_ENCODING));
+        assertEquals(Constants.ACCEPT + ", " + Constants.ACCEPT_ENCODING, connection.getHeaderField(Constants.VARY));
+        assertEquals("test", ModelNode.fromJSONStream(new GZIPInputStream(connection.getInputStream())).asString());
+    }
+
+    @Test
+    public void testZeroQualityNotUsed() throws Exception {
+        HttpURLConnection connection = get("gzip;q=0, deflate;q=0.5");
+        assertEquals(Constants.DEFLATE, connection.getHeaderField(Constants.CONTENT_ENCODING));
+        assertEquals("test", ModelNode.fromJSONStream(new InflaterInputStream(connection.getInputStream())).asString());
+
+        connection = get("gzip; q=0.0");
+        assertNull(connection.getHeaderField(Constants.CONTENT_ENCODING));
+        assertEquals("test", ModelNode.fromJSONStream(connection.getInputStream()).asString());
+    }
+
+    @Test
+    public void testUnsupportedEncoding() throws Exception {
+        final HttpURLConnection connection = get("br, compress;q=0.8");
+        assertEquals(200, connection.getResponseCode());
+        assertNull(connection.getHeaderField(Constants.CONTENT_ENCODING));
+        assertEquals(Constants.ACCEPT + ", " + Constants.ACCEPT_ENCODING, connection.getHeaderField(Constants.VARY));
+        assertEquals("test", ModelNode.fromJSONStream(connection.getInputStream()).asString());
+    }
+
+    @Test
+    public void testDmrRequestAndResponse() throws Exception {
+        final HttpURLConnection connection = post(Constants.APPLICATION_DMR, null, "gzip");
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        operation().writeExternal(new DataOutputStream(bytes));
+        send(connection, bytes.toByteArray());
+
+        assertEquals(200, connection.getResponseCode());
+        assertEquals(Constants.APPLICATION_DMR, connection.getHeaderField(Constants.CONTENT_TYPE));
+        assertEquals(Constants.GZIP, connection.getHeaderField(Constants.CONTENT_ENCODING));
+        final ModelNode response = new ModelNode();
+        response.readExternal(new DataInputStream(new GZIPInputStream(connection.getInputStream())));
+        assertEquals("success", response.get("outcome").asString());
+        assertEquals("test", response.get("result").asString());
+    }
+
+    @Test
+    public void testDmrResponseToJsonRequest() throws Exception {
+        final HttpURLConnection connection = post(Constants.APPLICATION_JSON, Constants.APPLICATION_DMR, null);
+        send(connection, operation().toJSONString(true).getBytes(Constants.UTF_8));
+
+        assertEquals(Constants.APPLICATION_DMR, connection.getHeaderField(Constants.CONTENT_TYPE));
+        final ModelNode response = new ModelNode();
+        response.readExternal(new DataInputStream(connection.getInputStream()));
+        assertEquals("test", response.get("result").asString());
+    }
+
+    @Test
+    public void testDmrEncodedRequest() throws Exception {
+        final HttpURLConnection connection = post(Constants.APPLICATION_DMR_ENCODED, null, null);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        operation().writeBase64(bytes);
+        send(connection, bytes.toByteArray());
+
+        assertEquals(Constants.APPLICATION_DMR_ENCODED, connection.getHeaderField(Constants.CONTENT_TYPE));
+        assertEquals("test", ModelNode.fromBase64(connection.getInputStream()).get("result").asString());
+    }
+
+    @Test
+    public void testUnsupportedMediaType() throws Exception {
+        final HttpURLConnection connection = post("text/plain", null, null);
+        send(connection, "read-attribute".getBytes(Constants.UTF_8));
+        assertEquals(415, connection.getResponseCode());
+    }
+
+    private HttpURLConnection get(final String acceptEncoding) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(url + "?operation=attribute&name=test").openConnection();
+        if (acceptEncoding != null) {
+            connection.setRequestProperty(Constants.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return connection;
+    }
+
+    private HttpURLConnection post(final String contentType, final String accept, final String acceptEncoding) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod(Constants.POST);
+        connection.setDoOutput(true);
+        connection.setRequestProperty(Constants.CONTENT_TYPE, contentType);
+        if (accept != null) {
+            connection.setRequestProperty(Constants.ACCEPT, accept);
+        }
+        if (acceptEncoding != null) {
+            connection.setRequestProperty(Constants.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return connection;
+    }
+
+    private static void send(final HttpURLConnection connection, final byte[] body) throws IOException {
+        final OutputStream out = connection.getOutputStream();
+        try {
+            out.write(body);
+        } finally {
+            out.close();
+        }
+    }
+
+    private static ModelNode operation() {
+        final ModelNode operation = new ModelNode();
+        operation.get("operation").set("read-attribute");
+        operation.get("address").setEmptyList();
+        operation.get("name").set("test");
+        return operation;
+    }
+}
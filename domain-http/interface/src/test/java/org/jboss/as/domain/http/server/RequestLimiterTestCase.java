@@ -0,0 +1,205 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.com.sun.net.httpserver.Filter;
+import org.jboss.com.sun.net.httpserver.Headers;
+import org.jboss.com.sun.net.httpserver.HttpExchange;
+import org.jboss.com.sun.net.httpserver.HttpHandler;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the limits applied by {@link RequestLimiter}.
+ */
+public class RequestLimiterTestCase {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger handled = new AtomicInteger();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @After
+    public void cleanup() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    public void testReadOnlyThreadsReservedForGet() throws Exception {
+        final RequestLimiter limiter = new RequestLimiter(1, 1);
+        final CountDownLatch entered = new CountDownLatch(2);
+        filterInBackground(limiter.getFilter(), exchange(Constants.POST), entered);
+        filterInBackground(limiter.getFilter(), exchange(Constants.GET), entered);
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        assertEquals(2, limiter.getActiveRequests());
+
+        final HttpExchange post = exchange(Constants.POST);
+        limiter.getFilter().doFilter(post, chain(null));
+        assertRejected(post);
+        final HttpExchange get = exchange(Constants.GET);
+        limiter.getFilter().doFilter(get, chain(null));
+        assertRejected(get);
+        assertEquals(2, limiter.getRejectedRequestCount());
+
+        release.countDown();
+        waitForIdle(limiter);
+        final HttpExchange admitted = exchange(Constants.POST);
+        limiter.getFilter().doFilter(admitted, chain(null));
+        verify(admitted, never()).sendResponseHeaders(Constants.SERVICE_UNAVAILABLE, -1);
+        assertEquals(3, handled.get());
+    }
+
+    @Test
+    public void testConsoleRequestsLimited() throws Exception {
+        final RequestLimiter limiter = new RequestLimiter(1, 0);
+        final CountDownLatch entered = new CountDownLatch(RequestLimiter.CONSOLE_THREADS);
+        for (int i = 0; i < RequestLimiter.CONSOLE_THREADS; i++) {
+            filterInBackground(limiter.getConsoleFilter(), exchange(Constants.GET), entered);
+        }
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+        final HttpExchange console = exchange(Constants.GET);
+        limiter.getConsoleFilter().doFilter(console, chain(null));
+        assertRejected(console);
+
+        // the console does not take the permits of the management API
+        final HttpExchange api = exchange(Constants.POST);
+        limiter.getFilter().doFilter(api, chain(null));
+        verify(api, never()).sendResponseHeaders(Constants.SERVICE_UNAVAILABLE, -1);
+        assertEquals(RequestLimiter.CONSOLE_THREADS + 1, handled.get());
+    }
+
+    @Test
+    public void testExecutorRejectsInsteadOfQueueing() throws Exception {
+        final RequestLimiter limiter = new RequestLimiter(1, 0);
+        final ExecutorService executor = limiter.createExecutor(Executors.defaultThreadFactory());
+        try {
+            final int threads = 1 + RequestLimiter.CONSOLE_THREADS;
+            final CountDownLatch busy = new CountDownLatch(threads);
+            for (int i = 0; i < threads; i++) {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        busy.countDown();
+                        await(release);
+                    }
+                });
+            }
+            assertTrue(busy.await(10, TimeUnit.SECONDS));
+
+            final HttpExchange overflow = exchange(Constants.GET);
+            final CountDownLatch done = new CountDownLatch(1);
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        limiter.getConsoleFilter().doFilter(overflow, chain(null));
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+            assertTrue("request was queued behind the busy threads", done.await(10, TimeUnit.SECONDS));
+            assertRejected(overflow);
+            assertEquals(0, handled.get());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private void filterInBackground(final Filter filter, final HttpExchange exchange, final CountDownLatch entered) {
+        callers.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    filter.doFilter(exchange, chain(entered));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+    }
+
+    private Filter.Chain chain(final CountDownLatch entered) {
+        return new Filter.Chain(Collections.<Filter>emptyList(), new HttpHandler() {
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                handled.incrementAndGet();
+                if (entered != null) {
+                    entered.countDown();
+                    await(release);
+                }
+            }
+        });
+    }
+
+    private static HttpExchange exchange(final String method) {
+        final HttpExchange exchange = mock(HttpExchange.class);
+        when(exchange.getRequestMethod()).thenReturn(method);
+        when(exchange.getRequestBody()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        when(exchange.getResponseHeaders()).thenReturn(new Headers());
+        return exchange;
+    }
+
+    private static void assertRejected(final HttpExchange exchange) throws IOException {
+        verify(exchange).sendResponseHeaders(Constants.SERVICE_UNAVAILABLE, -1);
+        assertEquals("2", exchange.getResponseHeaders().getFirst(Constants.RETRY_AFTER));
+    }
+
+    private static void waitForIdle(final RequestLimiter limiter) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (limiter.getActiveRequests() > 0) {
+            assertFalse("requests still active", System.currentTimeMillis() > deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -23,12 +23,14 @@
 package org.jboss.as.ee.component;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.jboss.as.ee.component.interceptors.ElidingInterceptorFactory;
 import org.jboss.as.ee.component.interceptors.InvocationType;
 import org.jboss.as.naming.ManagedReference;
 import org.jboss.as.naming.ValueManagedReference;
@@ -60,6 +62,7 @@ public class BasicComponent implements Component {
     private final NamespaceContextSelector namespaceContextSelector;
     private final ServiceName createServiceName;
 
+    private volatile Map<Method, Integer> componentInterceptorChainLengths;
     private volatile boolean gate;
     private final AtomicBoolean stopping = new AtomicBoolean();
 
@@ -145,6 +148,9 @@ public class BasicComponent implements Component {
         for (Method method : interceptorFactoryMap.keySet()) {
             interceptorMap.put(method, interceptorFactoryMap.get(method).create(context));
         }
+        if (componentInterceptorChainLengths == null) {
+            componentInterceptorChainLengths = getChainLengths(interceptorFactoryMap, interceptorMap, context);
+        }
 
         // create the component instance
         final BasicComponentInstance basicComponentInstance = this.instantiateComponentInstance(instanceReference, componentInstancePreDestroyInterceptor, interceptorMap, context);
@@ -168,6 +174,17 @@ public class BasicComponent implements Component {
         return basicComponentInstance;
     }
 
+    private static Map<Method, Integer> getChainLengths(final Map<Method, InterceptorFactory> interceptorFactoryMap, final Map<Method, Interceptor> interceptorMap, final InterceptorFactoryContext context) {
+        final Map<Method, Integer> chainLengths = new IdentityHashMap<Method, Integer>();
+        for (Map.Entry<Method, InterceptorFactory> entry : interceptorFactoryMap.entrySet()) {
+            if (entry.getValue() instanceof ElidingInterceptorFactory) {
+                final ElidingInterceptorFactory factory = (ElidingInterceptorFactory) entry.getValue();
+                chainLengths.put(entry.getKey(), Integer.valueOf(factory.getChainLength(context, interceptorMap.get(entry.getKey()))));
+            }
+        }
+        return chainLengths;
+    }
+
     /**
      * Method that can be overridden to perform setup on the instance after it has been created
      * @param basicComponentInstance The component instance
@@ -209,6 +226,21 @@ public class BasicComponent implements Component {
         return componentName;
     }
 
+    /**
+     * Get the number of component interceptors an invocation of each component method passes through, once no-op
+     * interceptors have been left out of the chains. The lengths are those of the chains built for the first instance
+     * of this component.
+     *
+     * @return the chain length of each component method, or an empty map if no instance has been created yet
+     */
+    public Map<Method, Integer> getComponentInterceptorChainLengths() {
+        final Map<Method, Integer> chainLengths = componentInterceptorChainLengths;
+        if (chainLengths == null) {
+            return Collections.emptyMap();
+        }
+        return chainLengths;
+    }
+
     public ServiceName getCreateServiceName() {
         return createServiceName;
     }
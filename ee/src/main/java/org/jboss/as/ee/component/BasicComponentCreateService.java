@@ -26,10 +26,10 @@ import java.lang.reflect.Method;
 import java.util.IdentityHashMap;
 import java.util.Map;
 
+import org.jboss.as.ee.component.interceptors.ElidingInterceptorFactory;
 import org.jboss.as.naming.context.NamespaceContextSelector;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.invocation.InterceptorFactory;
-import org.jboss.invocation.Interceptors;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
@@ -66,11 +66,11 @@ public class BasicComponentCreateService implements Service<Component> {
     public BasicComponentCreateService(final ComponentConfiguration componentConfiguration) {
         serviceName = componentConfiguration.getComponentDescription().getCreateServiceName();
         componentName = componentConfiguration.getComponentName();
-        postConstruct = Interceptors.getChainedInterceptorFactory(componentConfiguration.getPostConstructInterceptors());
-        preDestroy = Interceptors.getChainedInterceptorFactory(componentConfiguration.getPreDestroyInterceptors());
+        postConstruct = new ElidingInterceptorFactory(componentConfiguration.getPostConstructInterceptors());
+        preDestroy = new ElidingInterceptorFactory(componentConfiguration.getPreDestroyInterceptors());
         final IdentityHashMap<Method, InterceptorFactory> componentInterceptors = new IdentityHashMap<Method, InterceptorFactory>();
         for (Method method : componentConfiguration.getDefinedComponentMethods()) {
-            componentInterceptors.put(method, Interceptors.getChainedInterceptorFactory(componentConfiguration.getComponentInterceptors(method)));
+            componentInterceptors.put(method, new ElidingInterceptorFactory(componentConfiguration.getComponentInterceptors(method)));
         }
         componentClass = componentConfiguration.getComponentClass();
         this.componentInterceptors = componentInterceptors;
@@ -41,6 +41,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.as.ee.component.interceptors.InterceptorClassDescription;
 import org.jboss.as.ee.component.interceptors.InterceptorOrder;
+import org.jboss.as.ee.component.interceptors.PassThroughInterceptor;
 import org.jboss.as.ee.component.interceptors.UserInterceptorFactory;
 import org.jboss.as.ee.component.serialization.WriteReplaceInterface;
 import org.jboss.as.ee.metadata.MetadataCompleteMarker;
@@ -532,6 +533,9 @@ public class ComponentDescription implements ResourceInjectionTarget {
     }
 
     private static InterceptorFactory weaved(final Collection<InterceptorFactory> interceptorFactories) {
+        if (interceptorFactories.isEmpty()) {
+            return PassThroughInterceptor.FACTORY;
+        }
         return new InterceptorFactory() {
             @Override
             public Interceptor create(InterceptorFactoryContext context) {
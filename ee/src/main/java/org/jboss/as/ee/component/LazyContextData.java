@@ -0,0 +1,132 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.component;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The context data map of a component invocation. The backing {@link HashMap} is only allocated once an entry is
+ * added or a view of the map is requested, so invocations that never use their context data do not pay for it.
+ */
+final class LazyContextData extends AbstractMap<Object, Object> implements Serializable {
+
+    private static final long serialVersionUID = -5309423264016342460L;
+
+    private HashMap<Object, Object> delegate;
+
+    private HashMap<Object, Object> delegate() {
+        HashMap<Object, Object> delegate = this.delegate;
+        if (delegate == null) {
+            delegate = this.delegate = new HashMap<Object, Object>();
+        }
+        return delegate;
+    }
+
+    @Override
+    public int size() {
+        return delegate == null ? 0 : delegate.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegate == null || delegate.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return delegate != null && delegate.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        return delegate != null && delegate.containsValue(value);
+    }
+
+    @Override
+    public Object get(final Object key) {
+        return delegate == null ? null : delegate.get(key);
+    }
+
+    @Override
+    public Object put(final Object key, final Object value) {
+        return delegate().put(key, value);
+    }
+
+    @Override
+    public void putAll(final Map<?, ?> m) {
+        if (!m.isEmpty()) {
+            delegate().putAll(m);
+        }
+    }
+
+    @Override
+    public Object remove(final Object key) {
+        return delegate == null ? null : delegate.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        if (delegate != null) {
+            delegate.clear();
+        }
+    }
+
+    @Override
+    public Set<Object> keySet() {
+        return delegate().keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return delegate().values();
+    }
+
+    @Override
+    public Set<Entry<Object, Object>> entrySet() {
+        return delegate().entrySet();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o == this || (delegate == null ? o instanceof Map && ((Map<?, ?>) o).isEmpty() : delegate.equals(o));
+    }
+
+    @Override
+    public int hashCode() {
+        return delegate == null ? 0 : delegate.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return delegate == null ? "{}" : delegate.toString();
+    }
+
+    private Object writeReplace() {
+        return delegate == null ? new HashMap<Object, Object>() : delegate;
+    }
+}
@@ -24,7 +24,6 @@ package org.jboss.as.ee.component;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
 
 import org.jboss.invocation.Interceptor;
@@ -67,8 +66,8 @@ public final class ProxyInvocationHandler implements InvocationHandler {
         context.putPrivateData(ComponentView.class, componentView);
         context.setParameters(args);
         context.setMethod(method);
-        // setup the public context data
-        context.setContextData(new HashMap());
+        // setup the public context data; most invocations never touch it, so it is only allocated on first write
+        context.setContextData(new LazyContextData());
         return interceptor.processInvocation(context);
     }
 }
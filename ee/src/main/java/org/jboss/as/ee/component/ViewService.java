@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.jboss.as.ee.component.interceptors.ElidingInterceptorFactory;
 import org.jboss.as.ee.utils.DescriptorUtils;
 import org.jboss.as.naming.ManagedReference;
 import org.jboss.invocation.Interceptor;
@@ -80,8 +81,8 @@ public final class ViewService implements Service<ComponentView> {
             if (method.getName().equals("finalize") && method.getParameterTypes().length == 0) {
                 viewInterceptorFactories.put(method, Interceptors.getTerminalInterceptorFactory());
             } else {
-                viewInterceptorFactories.put(method, Interceptors.getChainedInterceptorFactory(viewConfiguration.getViewInterceptors(method)));
-                clientInterceptorFactories.put(method, Interceptors.getChainedInterceptorFactory(viewConfiguration.getClientInterceptors(method)));
+                viewInterceptorFactories.put(method, new ElidingInterceptorFactory(viewConfiguration.getViewInterceptors(method)));
+                clientInterceptorFactories.put(method, new ElidingInterceptorFactory(viewConfiguration.getClientInterceptors(method)));
             }
         }
         this.viewInterceptorFactories = viewInterceptorFactories;
@@ -118,10 +119,26 @@ public final class ViewService implements Service<ComponentView> {
         return view;
     }
 
+    /**
+     * Get the number of server side interceptors an invocation of each view method passes through, once no-op
+     * interceptors have been left out of the chains. The lengths are those of the chains built when the view was
+     * started.
+     *
+     * @return the chain length of each view method, or an empty map if the view is not started
+     */
+    public Map<Method, Integer> getViewInterceptorChainLengths() {
+        final View view = this.view;
+        if (view == null) {
+            return Collections.emptyMap();
+        }
+        return view.viewInterceptorChainLengths;
+    }
+
     class View implements ComponentView {
 
         private final Component component;
         private final Map<Method, Interceptor> viewInterceptors;
+        private final Map<Method, Integer> viewInterceptorChainLengths;
         private final Map<MethodDescription, Method> methods;
         private final Map<Class<?>, Object> privateData;
 
@@ -130,6 +147,7 @@ public final class ViewService implements Service<ComponentView> {
             component = componentInjector.getValue();
             //we need to build the view interceptor chain
             this.viewInterceptors = new IdentityHashMap<Method, Interceptor>();
+            this.viewInterceptorChainLengths = new IdentityHashMap<Method, Integer>();
             this.methods = new HashMap<MethodDescription, Method>();
         }
 
@@ -143,7 +161,12 @@ public final class ViewService implements Service<ComponentView> {
             factoryContext.getContextData().put(ComponentView.class, this);
 
             for (Method method : viewInterceptorFactories.keySet()) {
-                viewEntryPoints.put(method, viewInterceptorFactories.get(method).create(factoryContext));
+                final InterceptorFactory factory = viewInterceptorFactories.get(method);
+                final Interceptor interceptor = factory.create(factoryContext);
+                viewEntryPoints.put(method, interceptor);
+                if (factory instanceof ElidingInterceptorFactory) {
+                    viewInterceptorChainLengths.put(method, Integer.valueOf(((ElidingInterceptorFactory) factory).getChainLength(factoryContext, interceptor)));
+                }
                 methods.put(new MethodDescription(method.getName(), DescriptorUtils.methodDescriptor(method)), method);
             }
 
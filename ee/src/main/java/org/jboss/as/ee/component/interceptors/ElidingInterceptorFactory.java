@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.component.interceptors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.InterceptorFactoryContext;
+import org.jboss.invocation.Interceptors;
+
+/**
+ * Factory for an interceptor chain that only contains the interceptors which have something to do.
+ * <p/>
+ * Nested eliding factories are flattened into this one when it is constructed, and {@link PassThroughInterceptor}s
+ * are left out of the chain each time it is created. A chain that ends up with a single interceptor is that
+ * interceptor itself.
+ * <p/>
+ * The length of a chain can be read back with {@link #getChainLength(InterceptorFactoryContext, Interceptor)}. It is
+ * only recorded in the {@link InterceptorFactoryContext} the chain was created with when interceptors were left out
+ * of it; otherwise it is the number of factories of this chain.
+ */
+public final class ElidingInterceptorFactory implements InterceptorFactory {
+
+    private static final Object CHAIN_LENGTHS_KEY = new Object();
+
+    private final InterceptorFactory[] factories;
+
+    public ElidingInterceptorFactory(final List<InterceptorFactory> factories) {
+        final List<InterceptorFactory> flattened = new ArrayList<InterceptorFactory>(factories.size());
+        for (InterceptorFactory factory : factories) {
+            if (factory instanceof ElidingInterceptorFactory) {
+                Collections.addAll(flattened, ((ElidingInterceptorFactory) factory).factories);
+            } else if (factory != PassThroughInterceptor.FACTORY) {
+                flattened.add(factory);
+            }
+        }
+        this.factories = flattened.toArray(new InterceptorFactory[flattened.size()]);
+    }
+
+    public Interceptor create(final InterceptorFactoryContext context) {
+        final List<Interceptor> interceptors = new ArrayList<Interceptor>(factories.length);
+        for (InterceptorFactory factory : factories) {
+            final Interceptor interceptor = factory.create(context);
+            if (interceptor != PassThroughInterceptor.INSTANCE) {
+                interceptors.add(interceptor);
+            }
+        }
+        final Interceptor chain = interceptors.size() == 1 ? interceptors.get(0) : Interceptors.getChainedInterceptor(interceptors);
+        if (interceptors.size() != factories.length) {
+            chainLengths(context).put(chain, Integer.valueOf(interceptors.size()));
+        }
+        return chain;
+    }
+
+    /**
+     * Get the number of interceptors an invocation passes through in a chain created by this factory. Each
+     * interceptor created by one of the factories of the chain counts as one.
+     *
+     * @param context the context the chain was created with
+     * @param chain the chain
+     * @return the length of the chain
+     */
+    public int getChainLength(final InterceptorFactoryContext context, final Interceptor chain) {
+        @SuppressWarnings("unchecked")
+        final Map<Interceptor, Integer> chainLengths = (Map<Interceptor, Integer>) context.getContextData().get(CHAIN_LENGTHS_KEY);
+        final Integer chainLength = chainLengths == null ? null : chainLengths.get(chain);
+        return chainLength == null ? factories.length : chainLength.intValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Interceptor, Integer> chainLengths(final InterceptorFactoryContext context) {
+        final Map<Object, Object> contextData = context.getContextData();
+        Map<Interceptor, Integer> chainLengths = (Map<Interceptor, Integer>) contextData.get(CHAIN_LENGTHS_KEY);
+        if (chainLengths == null) {
+            chainLengths = new IdentityHashMap<Interceptor, Integer>();
+            contextData.put(CHAIN_LENGTHS_KEY, chainLengths);
+        }
+        return chainLengths;
+    }
+}
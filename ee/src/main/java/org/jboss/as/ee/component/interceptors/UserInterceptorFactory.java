@@ -26,6 +26,10 @@ public class UserInterceptorFactory implements InterceptorFactory {
     public Interceptor create(final InterceptorFactoryContext context) {
         final Interceptor aroundInvoke = this.aroundInvoke.create(context);
         final Interceptor aroundTimeout = this.aroundTimeout.create(context);
+        if (aroundInvoke == PassThroughInterceptor.INSTANCE && aroundTimeout == PassThroughInterceptor.INSTANCE) {
+            // no @AroundInvoke or @AroundTimeout applies to this method
+            return PassThroughInterceptor.INSTANCE;
+        }
         return new Interceptor() {
             @Override
             public Object processInvocation(final InterceptorContext context) throws Exception {
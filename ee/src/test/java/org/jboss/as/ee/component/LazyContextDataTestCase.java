@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests that {@link LazyContextData} behaves as a plain {@link HashMap}.
+ */
+public class LazyContextDataTestCase {
+
+    @Test
+    public void testEmpty() {
+        final LazyContextData data = new LazyContextData();
+        assertTrue(data.isEmpty());
+        assertEquals(0, data.size());
+        assertNull(data.get("key"));
+        assertNull(data.remove("key"));
+        assertFalse(data.containsKey("key"));
+        assertEquals(Collections.emptyMap(), data);
+        assertEquals(new HashMap<Object, Object>().hashCode(), data.hashCode());
+        assertEquals("{}", data.toString());
+    }
+
+    @Test
+    public void testReadWrite() {
+        final LazyContextData data = new LazyContextData();
+        assertNull(data.put("key", "value"));
+        assertEquals("value", data.get("key"));
+        assertTrue(data.containsValue("value"));
+
+        final Map<Object, Object> expected = new HashMap<Object, Object>();
+        expected.put("key", "value");
+        assertEquals(expected, data);
+        assertEquals(expected.hashCode(), data.hashCode());
+
+        data.putAll(Collections.singletonMap("other", "value2"));
+        assertEquals(2, data.size());
+        data.keySet().remove("other");
+        assertFalse(data.containsKey("other"));
+        assertEquals("value", data.remove("key"));
+        assertTrue(data.isEmpty());
+    }
+
+    @Test
+    public void testViewsWriteThrough() {
+        final LazyContextData data = new LazyContextData();
+        final Map.Entry<Object, Object> entry;
+        data.put("key", "value");
+        entry = data.entrySet().iterator().next();
+        entry.setValue("changed");
+        assertEquals("changed", data.get("key"));
+        data.values().clear();
+        assertTrue(data.isEmpty());
+    }
+
+    @Test
+    public void testSerializedAsHashMap() throws Exception {
+        final LazyContextData data = new LazyContextData();
+        assertEquals(HashMap.class, roundTrip(data).getClass());
+        data.put("key", "value");
+        final Object copy = roundTrip(data);
+        assertEquals(HashMap.class, copy.getClass());
+        assertEquals(Collections.singletonMap("key", "value"), copy);
+    }
+
+    private static Object roundTrip(final Object object) throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(object);
+        out.close();
+        return new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.junit.Test;
+
+/**
+ * Tests of the dispatch of {@link ProxyInvocationHandler}.
+ */
+public class ProxyInvocationHandlerTestCase {
+
+    public interface View {
+        String first(String arg);
+        String second(String arg);
+    }
+
+    @Test
+    public void testDispatchToEntryPointOfMethod() throws Exception {
+        final View view = proxy(handler(View.class.getMethod("first", String.class), View.class.getMethod("second", String.class)));
+
+        assertEquals("first(a)", view.first("a"));
+        assertEquals("second(b)", view.second("b"));
+        assertEquals("first(c)", view.first("c"));
+    }
+
+    @Test
+    public void testUnknownMethod() throws Exception {
+        final View view = proxy(handler(View.class.getMethod("first", String.class)));
+        try {
+            view.second("a");
+            fail("Expected NoSuchMethodError");
+        } catch (NoSuchMethodError expected) {
+        }
+    }
+
+    @Test
+    public void testInvocationContext() throws Exception {
+        final Method first = View.class.getMethod("first", String.class);
+        final List<InterceptorContext> seen = new ArrayList<InterceptorContext>();
+        final Map<Method, Interceptor> entryPoints = new IdentityHashMap<Method, Interceptor>();
+        entryPoints.put(first, Interceptors.getChainedInterceptor(new Interceptor() {
+            public Object processInvocation(final InterceptorContext context) throws Exception {
+                assertTrue(context.getContextData().isEmpty());
+                context.getContextData().put("key", "value");
+                return context.proceed();
+            }
+        }, new Interceptor() {
+            public Object processInvocation(final InterceptorContext context) throws Exception {
+                seen.add(context);
+                return context.getContextData().get("key");
+            }
+        }));
+        final View view = proxy(new ProxyInvocationHandler(entryPoints, null, null));
+
+        assertEquals("value", view.first("a"));
+        assertEquals("value", view.first("b"));
+
+        assertEquals(2, seen.size());
+        final InterceptorContext context = seen.get(0);
+        assertSame(view, context.getPrivateData(Object.class));
+        assertSame(first, context.getMethod());
+        assertEquals("a", context.getParameters()[0]);
+        assertNull(context.getPrivateData(Component.class));
+        // each invocation has its own context data
+        assertTrue(seen.get(0).getContextData() != seen.get(1).getContextData());
+    }
+
+    private static ProxyInvocationHandler handler(final Method... methods) {
+        final Map<Method, Interceptor> entryPoints = new IdentityHashMap<Method, Interceptor>();
+        for (Method method : methods) {
+            entryPoints.put(method, named(method.getName()));
+        }
+        return new ProxyInvocationHandler(entryPoints, null, null);
+    }
+
+    private static Interceptor named(final String name) {
+        return new Interceptor() {
+            public Object processInvocation(final InterceptorContext context) throws Exception {
+                return name + "(" + context.getParameters()[0] + ")";
+            }
+        };
+    }
+
+    private static View proxy(final InvocationHandler handler) {
+        return (View) Proxy.newProxyInstance(View.class.getClassLoader(), new Class<?>[] {View.class}, handler);
+    }
+}
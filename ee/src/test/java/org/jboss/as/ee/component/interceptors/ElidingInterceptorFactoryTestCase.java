@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.component.interceptors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.invocation.ImmediateInterceptorFactory;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.InterceptorFactoryContext;
+import org.jboss.invocation.Interceptors;
+import org.jboss.invocation.SimpleInterceptorFactoryContext;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ElidingInterceptorFactory}.
+ */
+public class ElidingInterceptorFactoryTestCase {
+
+    private final List<String> calls = new ArrayList<String>();
+
+    @Test
+    public void testPassThroughLeftOut() throws Exception {
+        final InterceptorFactoryContext context = new SimpleInterceptorFactoryContext();
+        final ElidingInterceptorFactory factory = new ElidingInterceptorFactory(Arrays.asList(
+                PassThroughInterceptor.FACTORY, recording("a"), passThroughCreating(), recording("b"), terminal()));
+
+        final Interceptor chain = factory.create(context);
+
+        assertEquals("result", chain.processInvocation(new InterceptorContext()));
+        assertEquals(Arrays.asList("a", "b"), calls);
+        assertEquals(3, factory.getChainLength(context, chain));
+        assertEquals(1, context.getContextData().size());
+    }
+
+    @Test
+    public void testSingleInterceptorNotChained() {
+        final InterceptorFactoryContext context = new SimpleInterceptorFactoryContext();
+        final Interceptor terminal = Interceptors.getTerminalInterceptor();
+        final ElidingInterceptorFactory factory = new ElidingInterceptorFactory(Arrays.<InterceptorFactory>asList(
+                PassThroughInterceptor.FACTORY, new ImmediateInterceptorFactory(terminal)));
+
+        final Interceptor chain = factory.create(context);
+
+        assertSame(terminal, chain);
+        assertEquals(1, factory.getChainLength(context, chain));
+    }
+
+    @Test
+    public void testNestedChainsInlined() {
+        final InterceptorFactoryContext context = new SimpleInterceptorFactoryContext();
+        final ElidingInterceptorFactory inner = new ElidingInterceptorFactory(Arrays.asList(recording("b"), passThroughCreating(), recording("c")));
+        final InterceptorFactory opaque = new InterceptorFactory() {
+            public Interceptor create(final InterceptorFactoryContext context) {
+                return inner.create(context);
+            }
+        };
+        final ElidingInterceptorFactory factory = new ElidingInterceptorFactory(Arrays.asList(recording("a"), opaque, inner, terminal()));
+
+        final Interceptor chain = factory.create(context);
+
+        // a, the chain created by the opaque factory, b and c inlined, and the terminal interceptor
+        assertEquals(5, factory.getChainLength(context, chain));
+    }
+
+    @Test
+    public void testNothingRecordedWithoutElision() {
+        final InterceptorFactoryContext context = new SimpleInterceptorFactoryContext();
+        final ElidingInterceptorFactory factory = new ElidingInterceptorFactory(Arrays.asList(recording("a"), recording("b"), terminal()));
+
+        final Interceptor chain = factory.create(context);
+
+        assertEquals(3, factory.getChainLength(context, chain));
+        assertTrue(context.getContextData().isEmpty());
+    }
+
+    @Test
+    public void testChainLengthPerContext() {
+        final ElidingInterceptorFactory factory = new ElidingInterceptorFactory(Arrays.asList(recording("a"), passThroughCreating(), terminal()));
+        final ElidingInterceptorFactory other = new ElidingInterceptorFactory(Collections.singletonList(passThroughCreating()));
+        final InterceptorFactoryContext context = new SimpleInterceptorFactoryContext();
+
+        final Interceptor chain = factory.create(context);
+        final Interceptor empty = other.create(context);
+
+        assertEquals(2, factory.getChainLength(context, chain));
+        assertEquals(0, other.getChainLength(context, empty));
+        // a chain created with another context is unknown to this one, so nothing counts as left out
+        assertEquals(3, factory.getChainLength(context, factory.create(new SimpleInterceptorFactoryContext())));
+    }
+
+    private InterceptorFactory recording(final String name) {
+        return new ImmediateInterceptorFactory(new Interceptor() {
+            public Object processInvocation(final InterceptorContext context) throws Exception {
+                calls.add(name);
+                return context.proceed();
+            }
+        });
+    }
+
+    private static InterceptorFactory passThroughCreating() {
+        return new InterceptorFactory() {
+            public Interceptor create(final InterceptorFactoryContext context) {
+                return PassThroughInterceptor.INSTANCE;
+            }
+        };
+    }
+
+    private static InterceptorFactory terminal() {
+        return new ImmediateInterceptorFactory(new Interceptor() {
+            public Object processInvocation(final InterceptorContext context) throws Exception {
+                return "result";
+            }
+        });
+    }
+}
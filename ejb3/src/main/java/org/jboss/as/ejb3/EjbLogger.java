@@ -456,6 +456,14 @@ public interface EjbLogger extends BasicLogger {
     @Message(id = 14150, value = "Failed to parse property %s due to %s")
     void failedToCreateOptionForProperty(String propertyName, String reason);
 
+    @LogMessage(level = WARN)
+    @Message(id = 14151, value = "Could not generate an IIOP parameter reader for signature %s, its parameters are unmarshalled one by one")
+    void failedToGenerateIIOPParamsReader(String shape, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 14152, value = "Could not generate an IIOP parameter writer for signature %s, its parameters are marshalled one by one")
+    void failedToGenerateIIOPParamsWriter(String shape, @Cause Throwable cause);
+
     // Don't add message ids greater that 14299!!! If you need more first check what EjbMessages is
     // using and take more (lower) numbers from the available range for this module. If the range for the module is
     // all used, go to https://community.jboss.org/docs/DOC-16810 and allocate another block for this subsystem
@@ -444,6 +444,15 @@ public abstract class EJBComponent extends BasicComponent {
         return moduleName;
     }
 
+    /**
+     * Get the service names of the views of this component.
+     *
+     * @return the view service names, keyed by view class name
+     */
+    public Map<String, ServiceName> getViewServices() {
+        return viewServices;
+    }
+
     public ServiceName getEjbLocalObjectViewServiceName() {
         return ejbLocalObjectViewServiceName;
     }
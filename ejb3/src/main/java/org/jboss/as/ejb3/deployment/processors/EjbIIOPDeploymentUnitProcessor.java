@@ -44,12 +44,14 @@ import org.jboss.as.ejb3.component.EJBComponentDescription;
 import org.jboss.as.ejb3.component.EJBViewDescription;
 import org.jboss.as.ejb3.deployment.EjbDeploymentAttachmentKeys;
 import org.jboss.as.ejb3.deployment.EjbDeploymentMarker;
+import org.jboss.as.ejb3.iiop.CDRParamsCompiler;
 import org.jboss.as.ejb3.iiop.EjbIIOPService;
 import org.jboss.as.ejb3.iiop.EjbIIOPTransactionInterceptor;
 import org.jboss.as.ejb3.iiop.POARegistry;
 import org.jboss.as.ejb3.subsystem.IIOPSettingsService;
 import org.jboss.as.jacorb.deployment.JacORBDeploymentMarker;
 import org.jboss.as.jacorb.rmi.AttributeAnalysis;
+import org.jboss.as.jacorb.rmi.ContainerAnalysis;
 import org.jboss.as.jacorb.rmi.InterfaceAnalysis;
 import org.jboss.as.jacorb.rmi.OperationAnalysis;
 import org.jboss.as.jacorb.rmi.RMIIIOPViolationException;
@@ -139,7 +141,10 @@ public class EjbIIOPDeploymentUnitProcessor implements DeploymentUnitProcessor {
 
     @Override
     public void undeploy(final DeploymentUnit context) {
-
+        final Module module = context.getAttachment(org.jboss.as.server.deployment.Attachments.MODULE);
+        if (module != null) {
+            ContainerAnalysis.clearCache(module.getClassLoader());
+        }
     }
 
     private void processEjb(final EJBComponentDescription componentDescription, final DeploymentClassIndex classIndex,
@@ -188,14 +193,14 @@ public class EjbIIOPDeploymentUnitProcessor implements DeploymentUnitProcessor {
                 //TODO: this needs to be fixed so it just returns the correct method
                 final Method method = translateMethod(deploymentReflectionIndex, op);
 
-                beanMethodMap.put(op.getIDLName(), new SkeletonStrategy(method));
+                beanMethodMap.put(op.getIDLName(), CDRParamsCompiler.skeletonStrategy(method));
                 final OperationAnalysis setop = remoteAttrs[i].getMutatorAnalysis();
                 if (setop != null) {
                     EjbLogger.ROOT_LOGGER.debug("    " + setop.getJavaName() + "\n                " + setop.getIDLName());
                     //translate to the deployment reflection index method
                     //TODO: this needs to be fixed so it just returns the correct method
                     final Method realSetmethod = translateMethod(deploymentReflectionIndex, setop);
-                    beanMethodMap.put(setop.getIDLName(), new SkeletonStrategy(realSetmethod));
+                    beanMethodMap.put(setop.getIDLName(), CDRParamsCompiler.skeletonStrategy(realSetmethod));
                 }
             }
         }
@@ -203,7 +208,7 @@ public class EjbIIOPDeploymentUnitProcessor implements DeploymentUnitProcessor {
         final OperationAnalysis[] ops = remoteInterfaceAnalysis.getOperations();
         for (int i = 0; i < ops.length; i++) {
             EjbLogger.ROOT_LOGGER.debug("    " + ops[i].getJavaName() + "\n                " + ops[i].getIDLName());
-            beanMethodMap.put(ops[i].getIDLName(), new SkeletonStrategy(translateMethod(deploymentReflectionIndex, ops[i])));
+            beanMethodMap.put(ops[i].getIDLName(), CDRParamsCompiler.skeletonStrategy(translateMethod(deploymentReflectionIndex, ops[i])));
         }
 
         // Initialize repository ids of remote interface
@@ -225,11 +230,11 @@ public class EjbIIOPDeploymentUnitProcessor implements DeploymentUnitProcessor {
             final OperationAnalysis op = attrs[i].getAccessorAnalysis();
             if (op != null) {
                 EjbLogger.ROOT_LOGGER.debug("    " + op.getJavaName() + "\n                " + op.getIDLName());
-                homeMethodMap.put(op.getIDLName(), new SkeletonStrategy(translateMethod(deploymentReflectionIndex, op)));
+                homeMethodMap.put(op.getIDLName(), CDRParamsCompiler.skeletonStrategy(translateMethod(deploymentReflectionIndex, op)));
                 final OperationAnalysis setop = attrs[i].getMutatorAnalysis();
                 if (setop != null) {
                     EjbLogger.ROOT_LOGGER.debug("    " + setop.getJavaName() + "\n                " + setop.getIDLName());
-                    homeMethodMap.put(setop.getIDLName(), new SkeletonStrategy(translateMethod(deploymentReflectionIndex, setop)));
+                    homeMethodMap.put(setop.getIDLName(), CDRParamsCompiler.skeletonStrategy(translateMethod(deploymentReflectionIndex, setop)));
                 }
             }
         }
@@ -237,7 +242,7 @@ public class EjbIIOPDeploymentUnitProcessor implements DeploymentUnitProcessor {
         final OperationAnalysis[] homeops = homeInterfaceAnalysis.getOperations();
         for (int i = 0; i < homeops.length; i++) {
             EjbLogger.ROOT_LOGGER.debug("    " + homeops[i].getJavaName() + "\n                " + homeops[i].getIDLName());
-            homeMethodMap.put(homeops[i].getIDLName(), new SkeletonStrategy(translateMethod(deploymentReflectionIndex, homeops[i])));
+            homeMethodMap.put(homeops[i].getIDLName(), CDRParamsCompiler.skeletonStrategy(translateMethod(deploymentReflectionIndex, homeops[i])));
         }
 
         // Initialize repository ids of home interface
@@ -0,0 +1,402 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.iiop;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.as.ejb3.EjbLogger;
+import org.jboss.as.jacorb.rmi.marshal.CDRParamsReader;
+import org.jboss.as.jacorb.rmi.marshal.CDRParamsWriter;
+import org.jboss.as.jacorb.rmi.marshal.CDRStream;
+import org.jboss.as.jacorb.rmi.marshal.CDRStreamReader;
+import org.jboss.as.jacorb.rmi.marshal.CDRStreamWriter;
+import org.jboss.as.jacorb.rmi.marshal.strategy.SkeletonStrategy;
+import org.jboss.as.jacorb.rmi.marshal.strategy.StubStrategy;
+import org.jboss.classfilewriter.ClassFile;
+import org.jboss.classfilewriter.code.CodeAttribute;
+
+/**
+ * Generates the bytecode of {@link CDRParamsReader}s and {@link CDRParamsWriter}s, which unmarshal and marshal all the
+ * parameters of an IIOP operation in straight-line code: basic types and strings are read and written by direct calls
+ * on the CDR stream, other types by the {@link CDRStreamReader} or {@link CDRStreamWriter} for their declared type.
+ * <p/>
+ * The generated classes only depend on the shape of the signature, not on the deployment's types, so one class is
+ * generated per signature shape and shared by all operations and deployments that have it. If a class cannot be
+ * generated, a warning is logged once for its signature shape and the strategies fall back to a reader or writer per
+ * parameter.
+ */
+public final class CDRParamsCompiler {
+
+    /** Set to {@code false} to always marshal parameters through a reader or writer per parameter */
+    public static final String ENABLED_PROPERTY = "jboss.as.ejb3.iiop.generated-marshalling";
+
+    private static final boolean ENABLED = Boolean.parseBoolean(SecurityActions.getSystemProperty(ENABLED_PROPERTY, "true"));
+
+    private static final String READER_CLASS_PREFIX = CDRParamsCompiler.class.getName() + "$Reader$";
+    private static final String WRITER_CLASS_PREFIX = CDRParamsCompiler.class.getName() + "$Writer$";
+
+    private static final String INPUT_STREAM = "org.omg.CORBA_2_3.portable.InputStream";
+    private static final String OUTPUT_STREAM = "org.omg.CORBA_2_3.portable.OutputStream";
+    private static final String INPUT_STREAM_DESCRIPTOR = "Lorg/omg/CORBA_2_3/portable/InputStream;";
+    private static final String OUTPUT_STREAM_DESCRIPTOR = "Lorg/omg/CORBA_2_3/portable/OutputStream;";
+    private static final String READERS_FIELD = "readers";
+    private static final String WRITERS_FIELD = "writers";
+
+    /** Marks, in a signature shape, a parameter marshalled by its reader or writer */
+    private static final char OBJECT = 'x';
+
+    private static final ConcurrentMap<String, Constructor<?>> readers = new ConcurrentHashMap<String, Constructor<?>>();
+    private static final ConcurrentMap<String, Constructor<?>> writers = new ConcurrentHashMap<String, Constructor<?>>();
+    /** The signature shapes a reader or writer could not be generated for, so generation is not retried */
+    private static final Set<String> failedReaders = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private static final Set<String> failedWriters = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private static final GeneratedClassLoader loader = new GeneratedClassLoader(CDRParamsCompiler.class.getClassLoader());
+
+    private CDRParamsCompiler() {
+    }
+
+    /**
+     * Creates the {@link SkeletonStrategy} for a bean method, with a generated {@link CDRParamsReader} if possible.
+     *
+     * @param method the method
+     * @return the skeleton strategy
+     */
+    public static SkeletonStrategy skeletonStrategy(final Method method) {
+        return new SkeletonStrategy(method, readerFor(method.getParameterTypes()));
+    }
+
+    /**
+     * Creates the {@link StubStrategy} for a stub method, with a generated {@link CDRParamsWriter} if possible. This is
+     * called by the static initializers of the stubs generated by {@link org.jboss.as.ejb3.iiop.stub.IIOPStubCompiler},
+     * with the same arguments as {@link StubStrategy#forMethod(String[], String[], String[], String, ClassLoader)}.
+     */
+    public static StubStrategy stubStrategy(final String[] paramTypes, final String[] excepIds, final String[] excepTypes,
+                                            final String retvalType, ClassLoader cl) {
+        if (cl == null) {
+            cl = SecurityActions.getContextClassLoader();
+        }
+        return StubStrategy.forMethod(paramTypes, excepIds, excepTypes, retvalType, cl, writerFor(paramTypes, cl));
+    }
+
+    /**
+     * Returns a generated {@link CDRParamsReader} for the given parameter types, or {@code null} if it cannot be
+     * generated.
+     *
+     * @param paramTypes the parameter types of the method
+     * @return the reader, or {@code null}
+     */
+    public static CDRParamsReader readerFor(final Class<?>[] paramTypes) {
+        if (!ENABLED) {
+            return null;
+        }
+        final StringBuilder shape = new StringBuilder(paramTypes.length);
+        final CDRStreamReader[] paramReaders = new CDRStreamReader[paramTypes.length];
+        for (int i = 0; i < paramTypes.length; i++) {
+            final char c = shapeOf(CDRStream.abbrevFor(paramTypes[i]));
+            if (c == OBJECT) {
+                paramReaders[i] = CDRStream.readerFor(paramTypes[i]);
+            }
+            shape.append(c);
+        }
+        final String key = shape.toString();
+        if (failedReaders.contains(key)) {
+            return null;
+        }
+        try {
+            return (CDRParamsReader) constructor(true, key).newInstance((Object) paramReaders);
+        } catch (Throwable t) {
+            if (failedReaders.add(key)) {
+                EjbLogger.ROOT_LOGGER.failedToGenerateIIOPParamsReader(key, t);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns a generated {@link CDRParamsWriter} for the given marshaller abbreviated names, or {@code null} if it
+     * cannot be generated.
+     *
+     * @param paramTypes the marshaller abbreviated names of the method parameters
+     * @param cl         the class loader of value classes
+     * @return the writer, or {@code null}
+     * @see CDRStream#abbrevFor(Class)
+     */
+    public static CDRParamsWriter writerFor(final String[] paramTypes, final ClassLoader cl) {
+        if (!ENABLED) {
+            return null;
+        }
+        final StringBuilder shape = new StringBuilder(paramTypes.length);
+        final CDRStreamWriter[] paramWriters = new CDRStreamWriter[paramTypes.length];
+        for (int i = 0; i < paramTypes.length; i++) {
+            final char c = shapeOf(paramTypes[i]);
+            if (c == OBJECT) {
+                paramWriters[i] = CDRStream.writerFor(paramTypes[i], cl);
+            }
+            shape.append(c);
+        }
+        final String key = shape.toString();
+        if (failedWriters.contains(key)) {
+            return null;
+        }
+        try {
+            return (CDRParamsWriter) constructor(false, key).newInstance((Object) paramWriters);
+        } catch (Throwable t) {
+            if (failedWriters.add(key)) {
+                EjbLogger.ROOT_LOGGER.failedToGenerateIIOPParamsWriter(key, t);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Maps a marshaller abbreviated name to the character of the signature shape: basic types and strings keep
+     * their abbreviated name, everything else is marshalled by its reader or writer.
+     */
+    private static char shapeOf(final String abbrev) {
+        final char c = abbrev.charAt(0);
+        switch (c) {
+            case 'Z':
+            case 'B':
+            case 'C':
+            case 'D':
+            case 'F':
+            case 'I':
+            case 'J':
+            case 'S':
+            case 'G':
+                return c;
+            default:
+                return OBJECT;
+        }
+    }
+
+    private static Constructor<?> constructor(final boolean reader, final String shape) throws NoSuchMethodException {
+        final ConcurrentMap<String, Constructor<?>> cache = reader ? readers : writers;
+        Constructor<?> constructor = cache.get(shape);
+        if (constructor == null) {
+            synchronized (cache) {
+                constructor = cache.get(shape);
+                if (constructor == null) {
+                    final ClassFile classFile = reader ? generateReader(READER_CLASS_PREFIX + shape, shape) : generateWriter(WRITER_CLASS_PREFIX + shape, shape);
+                    final Class<?> generated = classFile.define(loader);
+                    constructor = generated.getConstructor(reader ? CDRStreamReader[].class : CDRStreamWriter[].class);
+                    cache.put(shape, constructor);
+                }
+            }
+        }
+        return constructor;
+    }
+
+    private static ClassFile generateReader(final String className, final String shape) {
+        final ClassFile file = new ClassFile(className, Object.class.getName(), CDRParamsReader.class.getName());
+        addConstructor(file, className, READERS_FIELD, CDRStreamReader[].class);
+
+        final CodeAttribute ca = file.addMethod(Modifier.PUBLIC, "read", "[Ljava/lang/Object;", INPUT_STREAM_DESCRIPTOR).getCodeAttribute();
+        ca.iconst(shape.length());
+        ca.anewarray(Object.class.getName());
+        for (int i = 0; i < shape.length(); i++) {
+            ca.dup();
+            ca.iconst(i);
+            final char c = shape.charAt(i);
+            if (c == OBJECT) {
+                ca.aload(0);
+                ca.getfield(className, READERS_FIELD, CDRStreamReader[].class);
+                ca.iconst(i);
+                ca.aaload();
+                ca.aload(1);
+                ca.invokeinterface(CDRStreamReader.class.getName(), "read", "(" + INPUT_STREAM_DESCRIPTOR + ")Ljava/lang/Object;");
+            } else if (c == 'G') {
+                ca.aload(1);
+                ca.invokestatic(CDRStream.class.getName(), "readString", "(" + INPUT_STREAM_DESCRIPTOR + ")Ljava/lang/String;");
+            } else {
+                ca.aload(1);
+                ca.invokevirtual(INPUT_STREAM, readMethod(c), "()" + c);
+                ca.invokestatic(wrapper(c), "valueOf", "(" + c + ")L" + wrapper(c).replace('.', '/') + ";");
+            }
+            ca.aastore();
+        }
+        ca.returnInstruction();
+        return file;
+    }
+
+    private static ClassFile generateWriter(final String className, final String shape) {
+        final ClassFile file = new ClassFile(className, Object.class.getName(), CDRParamsWriter.class.getName());
+        addConstructor(file, className, WRITERS_FIELD, CDRStreamWriter[].class);
+
+        final CodeAttribute ca = file.addMethod(Modifier.PUBLIC, "write", "V", OUTPUT_STREAM_DESCRIPTOR, "[Ljava/lang/Object;").getCodeAttribute();
+        for (int i = 0; i < shape.length(); i++) {
+            final char c = shape.charAt(i);
+            if (c == OBJECT) {
+                ca.aload(0);
+                ca.getfield(className, WRITERS_FIELD, CDRStreamWriter[].class);
+                ca.iconst(i);
+                ca.aaload();
+                ca.aload(1);
+                ca.aload(2);
+                ca.iconst(i);
+                ca.aaload();
+                ca.invokestatic(StubStrategy.class.getName(), "writeParam", "(Lorg/jboss/as/jacorb/rmi/marshal/CDRStreamWriter;" + OUTPUT_STREAM_DESCRIPTOR + "Ljava/lang/Object;)V");
+            } else if (c == 'G') {
+                ca.aload(1);
+                ca.aload(2);
+                ca.iconst(i);
+                ca.aaload();
+                ca.invokestatic(CDRStream.class.getName(), "writeString", "(" + OUTPUT_STREAM_DESCRIPTOR + "Ljava/lang/Object;)V");
+            } else {
+                final String wrapper = wrapper(c);
+                ca.aload(1);
+                ca.aload(2);
+                ca.iconst(i);
+                ca.aaload();
+                ca.checkcast(wrapper);
+                ca.invokevirtual(wrapper, unboxMethod(c), "()" + c);
+                ca.invokevirtual(OUTPUT_STREAM, writeMethod(c), "(" + c + ")V");
+            }
+        }
+        ca.returnInstruction();
+        return file;
+    }
+
+    private static void addConstructor(final ClassFile file, final String className, final String field, final Class<?> fieldType) {
+        file.addField(Modifier.PRIVATE | Modifier.FINAL, field, fieldType);
+        final CodeAttribute ca = file.addMethod(Modifier.PUBLIC, "<init>", "V", "[L" + fieldType.getComponentType().getName().replace('.', '/') + ";").getCodeAttribute();
+        ca.aload(0);
+        ca.invokespecial(Object.class.getName(), "<init>", "()V");
+        ca.aload(0);
+        ca.aload(1);
+        ca.putfield(className, field, fieldType);
+        ca.returnInstruction();
+    }
+
+    private static String wrapper(final char c) {
+        switch (c) {
+            case 'Z':
+                return Boolean.class.getName();
+            case 'B':
+                return Byte.class.getName();
+            case 'C':
+                return Character.class.getName();
+            case 'D':
+                return Double.class.getName();
+            case 'F':
+                return Float.class.getName();
+            case 'I':
+                return Integer.class.getName();
+            case 'J':
+                return Long.class.getName();
+            case 'S':
+                return Short.class.getName();
+            default:
+                throw new IllegalArgumentException(String.valueOf(c));
+        }
+    }
+
+    private static String unboxMethod(final char c) {
+        switch (c) {
+            case 'Z':
+                return "booleanValue";
+            case 'B':
+                return "byteValue";
+            case 'C':
+                return "charValue";
+            case 'D':
+                return "doubleValue";
+            case 'F':
+                return "floatValue";
+            case 'I':
+                return "intValue";
+            case 'J':
+                return "longValue";
+            case 'S':
+                return "shortValue";
+            default:
+                throw new IllegalArgumentException(String.valueOf(c));
+        }
+    }
+
+    /**
+     * @return the CDR input stream method reading the basic type, as used by the per type readers of {@link CDRStream}
+     */
+    private static String readMethod(final char c) {
+        switch (c) {
+            case 'Z':
+                return "read_boolean";
+            case 'B':
+                return "read_octet";
+            case 'C':
+                return "read_wchar";
+            case 'D':
+                return "read_double";
+            case 'F':
+                return "read_float";
+            case 'I':
+                return "read_long";
+            case 'J':
+                return "read_longlong";
+            case 'S':
+                return "read_short";
+            default:
+                throw new IllegalArgumentException(String.valueOf(c));
+        }
+    }
+
+    /**
+     * @return the CDR output stream method writing the basic type, as used by the per type writers of {@link CDRStream}
+     */
+    private static String writeMethod(final char c) {
+        switch (c) {
+            case 'Z':
+                return "write_boolean";
+            case 'B':
+                return "write_octet";
+            case 'C':
+                return "write_wchar";
+            case 'D':
+                return "write_double";
+            case 'F':
+                return "write_float";
+            case 'I':
+                return "write_long";
+            case 'J':
+                return "write_longlong";
+            case 'S':
+                return "write_short";
+            default:
+                throw new IllegalArgumentException(String.valueOf(c));
+        }
+    }
+
+    /**
+     * Defines the generated classes, which only need to see the JacORB integration and the CORBA API.
+     */
+    private static final class GeneratedClassLoader extends ClassLoader {
+        GeneratedClassLoader(final ClassLoader parent) {
+            super(parent);
+        }
+    }
+}
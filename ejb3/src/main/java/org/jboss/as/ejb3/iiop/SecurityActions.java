@@ -67,4 +67,25 @@ final class SecurityActions {
         }
     }
 
+    /**
+     * Gets a system property.
+     *
+     * @param name
+     *            the name of the property
+     * @param defaultValue
+     *            the value returned if the property is not set
+     * @return the value of the property
+     */
+    static String getSystemProperty(final String name, final String defaultValue) {
+        if (System.getSecurityManager() == null) {
+            return System.getProperty(name, defaultValue);
+        } else {
+            return AccessController.doPrivileged(new PrivilegedAction<String>() {
+                public String run() {
+                    return System.getProperty(name, defaultValue);
+                }
+            });
+        }
+    }
+
 }
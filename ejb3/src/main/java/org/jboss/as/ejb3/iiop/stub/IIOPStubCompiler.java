@@ -28,6 +28,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.rmi.RemoteException;
 
+import org.jboss.as.ejb3.iiop.CDRParamsCompiler;
 import org.jboss.as.jacorb.rmi.AttributeAnalysis;
 import org.jboss.as.jacorb.rmi.ExceptionAnalysis;
 import org.jboss.as.jacorb.rmi.InterfaceAnalysis;
@@ -229,7 +230,7 @@ public class IIOPStubCompiler {
             init.aconstNull();
 
             // Constructs the StubStrategy
-            init.invokestatic(StubStrategy.class.getName(), "forMethod", "([Ljava/lang/String;[Ljava/lang/String;[Ljava/lang/String;Ljava/lang/String;Ljava/lang/ClassLoader;)Lorg/jboss/as/jacorb/rmi/marshal/strategy/StubStrategy;");
+            init.invokestatic(CDRParamsCompiler.class.getName(), "stubStrategy", "([Ljava/lang/String;[Ljava/lang/String;[Ljava/lang/String;Ljava/lang/String;Ljava/lang/ClassLoader;)Lorg/jboss/as/jacorb/rmi/marshal/strategy/StubStrategy;");
 
             // Set the strategy field of this stub class
             init.putstatic(asm.getName(), strategyField, StubStrategy.class);
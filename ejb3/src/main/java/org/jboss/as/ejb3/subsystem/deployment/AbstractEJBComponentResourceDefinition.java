@@ -143,6 +143,7 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
         resourceRegistration.registerReadOnlyAttribute(SECURITY_DOMAIN, handler);
         resourceRegistration.registerReadOnlyAttribute(RUN_AS_ROLE, handler);
         resourceRegistration.registerReadOnlyAttribute(DECLARED_ROLES, handler);
+        resourceRegistration.registerReadOnlyAttribute(InterceptorChainsAttributeDefinition.INSTANCE, handler);
         if (componentType.hasTimer()) {
             resourceRegistration.registerReadOnlyAttribute(TimerAttributeDefinition.INSTANCE, handler);
         }
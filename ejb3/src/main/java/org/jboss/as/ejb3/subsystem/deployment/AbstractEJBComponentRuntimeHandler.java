@@ -127,6 +127,8 @@ public abstract class AbstractEJBComponentRuntimeHandler<T extends EJBComponent>
                     }
                 }
             }
+        } else if (InterceptorChainsAttributeDefinition.INSTANCE.getName().equals(attributeName)) {
+            InterceptorChainsAttributeDefinition.addInterceptorChains(component, context.getServiceRegistry(false), context.getResult());
         } else if (componentType.hasTimer() && TimerAttributeDefinition.INSTANCE.getName().equals(attributeName)) {
             TimerAttributeDefinition.addTimers(component, context.getResult());
         } else if (hasPool && POOL_AVAILABLE_COUNT.getName().equals(attributeName)) {
@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.subsystem.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NILLABLE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+import static org.jboss.as.ejb3.EjbMessages.MESSAGES;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.jboss.as.controller.ListAttributeDefinition;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
+import org.jboss.as.controller.operations.validation.ModelTypeValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.ee.component.ViewService;
+import org.jboss.as.ee.utils.DescriptorUtils;
+import org.jboss.as.ejb3.component.EJBComponent;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceRegistry;
+
+/**
+ * Attribute definition for the effective length of the interceptor chains of each view method of an EJB, that is the
+ * number of view interceptors and component interceptors an invocation passes through once the interceptors that have
+ * nothing to do for the method have been left out.
+ */
+public class InterceptorChainsAttributeDefinition extends ListAttributeDefinition {
+
+    public static final InterceptorChainsAttributeDefinition INSTANCE = new InterceptorChainsAttributeDefinition();
+
+    public static final String VIEW = "view";
+    public static final String METHOD = "method";
+    public static final String INTERCEPTORS = "interceptors";
+    public static final String COMPONENT_INTERCEPTORS = "component-interceptors";
+
+    private InterceptorChainsAttributeDefinition() {
+        super("interceptor-chains", false, new ModelTypeValidator(ModelType.OBJECT), AttributeAccess.Flag.STORAGE_RUNTIME);
+    }
+
+    @Override
+    protected void addValueTypeDescription(ModelNode node, ResourceBundle bundle) {
+        throw MESSAGES.resourceBundleDescriptionsNotSupported(getName());
+    }
+
+    @Override
+    protected void addAttributeValueTypeDescription(ModelNode node, ResourceDescriptionResolver resolver, Locale locale, ResourceBundle bundle) {
+        addValueTypeDescription(node, resolver, locale, bundle);
+    }
+
+    @Override
+    protected void addOperationParameterValueTypeDescription(ModelNode node, String operationName, ResourceDescriptionResolver resolver, Locale locale, ResourceBundle bundle) {
+        addValueTypeDescription(node, resolver, locale, bundle);
+    }
+
+    @Override
+    public void marshallAsElement(ModelNode resourceModel, XMLStreamWriter writer) throws XMLStreamException {
+        throw MESSAGES.runtimeAttributeNotMarshallable(getName());
+    }
+
+    private void addValueTypeDescription(ModelNode node, ResourceDescriptionResolver resolver, Locale locale, ResourceBundle bundle) {
+        final ModelNode valueTypeNode = node.get(ModelDescriptionConstants.VALUE_TYPE);
+        addAttributeDescription(resolver, locale, bundle, valueTypeNode, ModelType.STRING, VIEW, false);
+        addAttributeDescription(resolver, locale, bundle, valueTypeNode, ModelType.STRING, METHOD, false);
+        addAttributeDescription(resolver, locale, bundle, valueTypeNode, ModelType.INT, INTERCEPTORS, false);
+        addAttributeDescription(resolver, locale, bundle, valueTypeNode, ModelType.INT, COMPONENT_INTERCEPTORS, true);
+    }
+
+    private void addAttributeDescription(final ResourceDescriptionResolver resolver, final Locale locale, final ResourceBundle bundle,
+                                         final ModelNode node, final ModelType type, final String suffix, final boolean nillable) {
+        final ModelNode valNode = node.get(suffix);
+        valNode.get(DESCRIPTION).set(resolver.getResourceAttributeValueTypeDescription(getName(), locale, bundle, suffix));
+        valNode.get(TYPE).set(type);
+        valNode.get(NILLABLE).set(nillable);
+    }
+
+    public static void addInterceptorChains(final EJBComponent ejb, final ServiceRegistry serviceRegistry, final ModelNode response) {
+        response.setEmptyList();
+        // view methods reach the component method with the same name and descriptor
+        final Map<String, Integer> componentChains = new HashMap<String, Integer>();
+        for (Map.Entry<Method, Integer> chain : ejb.getComponentInterceptorChainLengths().entrySet()) {
+            componentChains.put(describe(chain.getKey()), chain.getValue());
+        }
+        for (Map.Entry<String, ServiceName> view : ejb.getViewServices().entrySet()) {
+            final ServiceController<?> controller = serviceRegistry.getService(view.getValue());
+            if (controller == null || !(controller.getService() instanceof ViewService)) {
+                continue;
+            }
+            final ViewService viewService = (ViewService) controller.getService();
+            for (Map.Entry<Method, Integer> chain : viewService.getViewInterceptorChainLengths().entrySet()) {
+                final String method = describe(chain.getKey());
+                final ModelNode chainNode = response.add();
+                chainNode.get(VIEW).set(view.getKey());
+                chainNode.get(METHOD).set(method);
+                chainNode.get(INTERCEPTORS).set(chain.getValue().intValue());
+                final Integer componentChain = componentChains.get(method);
+                if (componentChain != null) {
+                    chainNode.get(COMPONENT_INTERCEPTORS).set(componentChain.intValue());
+                }
+            }
+        }
+    }
+
+    private static String describe(final Method method) {
+        return method.getName() + DescriptorUtils.methodDescriptor(method);
+    }
+}
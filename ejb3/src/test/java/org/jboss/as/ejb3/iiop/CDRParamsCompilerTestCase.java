@@ -0,0 +1,258 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.iiop;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.List;
+
+import org.jboss.as.jacorb.rmi.marshal.CDRParamsReader;
+import org.jboss.as.jacorb.rmi.marshal.CDRParamsWriter;
+import org.jboss.as.jacorb.rmi.marshal.CDRStream;
+import org.jboss.as.jacorb.rmi.marshal.strategy.SkeletonStrategy;
+import org.jboss.as.jacorb.rmi.marshal.strategy.StubStrategy;
+import org.junit.Assert;
+import org.junit.Test;
+import org.omg.CORBA.portable.ObjectImpl;
+
+/**
+ * Checks that the readers and writers generated by {@link CDRParamsCompiler} marshal parameters exactly as the
+ * per-parameter {@link SkeletonStrategy} and {@link StubStrategy} do: the same calls, in the same order, with the same
+ * values on the CDR stream.
+ */
+public class CDRParamsCompilerTestCase {
+
+    private static final String[] NO_EXCEPTIONS = {};
+
+    private static final Object[] ALL_TYPES_PARAMS = {
+            Boolean.TRUE, (byte) -7, '\u20ac', 19.99d, 0.5f, 42, 4200000000L, (short) -300, "express delivery",
+            new Money(1999), new AccountStub(), new AccountStub()
+    };
+
+    private static final Object[] NULL_PARAMS = {
+            Boolean.FALSE, (byte) 0, '\0', 0d, 0f, 0, 0L, (short) 0, null, null, null, null
+    };
+
+    @Test
+    public void testWriterIsGenerated() throws Exception {
+        final CDRParamsWriter writer = CDRParamsCompiler.writerFor(abbrevsFor(allTypes()), getClass().getClassLoader());
+        Assert.assertNotNull(writer);
+        Assert.assertTrue(writer.getClass().getName().startsWith(CDRParamsCompiler.class.getName() + "$Writer$"));
+    }
+
+    @Test
+    public void testReaderIsGenerated() throws Exception {
+        final CDRParamsReader reader = CDRParamsCompiler.readerFor(allTypes().getParameterTypes());
+        Assert.assertNotNull(reader);
+        Assert.assertTrue(reader.getClass().getName().startsWith(CDRParamsCompiler.class.getName() + "$Reader$"));
+    }
+
+    @Test
+    public void testGeneratedWriterMatchesPerParameterWriters() throws Exception {
+        assertSameOutput(allTypes(), ALL_TYPES_PARAMS);
+    }
+
+    @Test
+    public void testGeneratedWriterMatchesPerParameterWritersForNulls() throws Exception {
+        assertSameOutput(allTypes(), NULL_PARAMS);
+    }
+
+    @Test
+    public void testGeneratedReaderMatchesPerParameterReaders() throws Exception {
+        assertSameInput(allTypes(), ALL_TYPES_PARAMS);
+    }
+
+    @Test
+    public void testGeneratedReaderMatchesPerParameterReadersForNulls() throws Exception {
+        assertSameInput(allTypes(), NULL_PARAMS);
+    }
+
+    @Test
+    public void testEachParameterType() throws Exception {
+        final Method allTypes = allTypes();
+        final Class<?>[] types = allTypes.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            final Method method = Operations.class.getMethod("single", int.class, types[i]);
+            final Object[] params = { 42, ALL_TYPES_PARAMS[i] };
+            assertSameOutput(method, params);
+            assertSameInput(method, params);
+        }
+    }
+
+    @Test
+    public void testClassesAreSharedBySignatureShape() throws Exception {
+        final ClassLoader cl = getClass().getClassLoader();
+        final Method value = Operations.class.getMethod("single", int.class, Money.class);
+        final Method remote = Operations.class.getMethod("single", int.class, Account.class);
+        final Method longValue = Operations.class.getMethod("single", long.class, Money.class);
+
+        Assert.assertSame(CDRParamsCompiler.readerFor(value.getParameterTypes()).getClass(),
+                CDRParamsCompiler.readerFor(remote.getParameterTypes()).getClass());
+        Assert.assertSame(CDRParamsCompiler.writerFor(abbrevsFor(value), cl).getClass(),
+                CDRParamsCompiler.writerFor(abbrevsFor(remote), cl).getClass());
+        Assert.assertNotSame(CDRParamsCompiler.readerFor(value.getParameterTypes()).getClass(),
+                CDRParamsCompiler.readerFor(longValue.getParameterTypes()).getClass());
+        Assert.assertNotSame(CDRParamsCompiler.writerFor(abbrevsFor(value), cl).getClass(),
+                CDRParamsCompiler.writerFor(abbrevsFor(longValue), cl).getClass());
+    }
+
+    /**
+     * Writes the parameters with the generated writer and with the per-parameter writers and compares the output.
+     */
+    private void assertSameOutput(final Method method, final Object[] params) {
+        final ClassLoader cl = getClass().getClassLoader();
+        final String[] abbrevs = abbrevsFor(method);
+
+        final RecordingOutputStream expected = new RecordingOutputStream();
+        StubStrategy.forMethod(abbrevs, NO_EXCEPTIONS, NO_EXCEPTIONS, "V", cl).writeParams(expected, params);
+
+        final RecordingOutputStream actual = new RecordingOutputStream();
+        final CDRParamsWriter writer = CDRParamsCompiler.writerFor(abbrevs, cl);
+        Assert.assertNotNull(method.toString(), writer);
+        writer.write(actual, params);
+
+        Assert.assertArrayEquals(method.toString(), expected.toByteArray(), actual.toByteArray());
+        assertSameElements(method.toString(), expected.getObjects(), actual.getObjects());
+    }
+
+    /**
+     * Reads the parameters with the generated reader and with the per-parameter readers and compares the results.
+     */
+    private void assertSameInput(final Method method, final Object[] params) {
+        final RecordingOutputStream out = new RecordingOutputStream();
+        StubStrategy.forMethod(abbrevsFor(method), NO_EXCEPTIONS, NO_EXCEPTIONS, "V", getClass().getClassLoader()).writeParams(out, params);
+
+        final RecordingInputStream expectedIn = out.create_input_stream();
+        final Object[] expected = new SkeletonStrategy(method).readParams(expectedIn);
+        Assert.assertTrue(method.toString(), expectedIn.isConsumed());
+
+        final CDRParamsReader reader = CDRParamsCompiler.readerFor(method.getParameterTypes());
+        Assert.assertNotNull(method.toString(), reader);
+        final RecordingInputStream actualIn = out.create_input_stream();
+        final Object[] actual = reader.read(actualIn);
+        Assert.assertTrue(method.toString(), actualIn.isConsumed());
+
+        Assert.assertArrayEquals(method.toString(), params, actual);
+        Assert.assertArrayEquals(method.toString(), expected, actual);
+        for (int i = 0; i < actual.length; i++) {
+            if (!(actual[i] instanceof Number || actual[i] instanceof Boolean || actual[i] instanceof Character)) {
+                Assert.assertSame(method.toString(), params[i], actual[i]);
+            }
+        }
+    }
+
+    private static void assertSameElements(final String message, final List<Object> expected, final List<Object> actual) {
+        Assert.assertEquals(message, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertSame(message, expected.get(i), actual.get(i));
+        }
+    }
+
+    private static Method allTypes() throws NoSuchMethodException {
+        return Operations.class.getMethod("allTypes", boolean.class, byte.class, char.class, double.class, float.class,
+                int.class, long.class, short.class, String.class, Money.class, Account.class, org.omg.CORBA.Object.class);
+    }
+
+    private static String[] abbrevsFor(final Method method) {
+        final Class<?>[] types = method.getParameterTypes();
+        final String[] abbrevs = new String[types.length];
+        for (int i = 0; i < types.length; i++) {
+            abbrevs[i] = CDRStream.abbrevFor(types[i]);
+        }
+        return abbrevs;
+    }
+
+    public interface Operations {
+        void allTypes(boolean z, byte b, char c, double d, float f, int i, long j, short s, String g, Money l, Account r,
+                      org.omg.CORBA.Object m);
+
+        void single(int i, boolean value);
+
+        void single(int i, byte value);
+
+        void single(int i, char value);
+
+        void single(int i, double value);
+
+        void single(int i, float value);
+
+        void single(int i, int value);
+
+        void single(int i, long value);
+
+        void single(long j, Money value);
+
+        void single(int i, short value);
+
+        void single(int i, String value);
+
+        void single(int i, Money value);
+
+        void single(int i, Account value);
+
+        void single(int i, org.omg.CORBA.Object value);
+    }
+
+    public interface Account extends Remote {
+        long getBalance() throws RemoteException;
+    }
+
+    /**
+     * A stub without an ORB, compared by identity as the {@link ObjectImpl} methods need a delegate.
+     */
+    public static class AccountStub extends ObjectImpl implements Account {
+        public String[] _ids() {
+            return new String[] { "RMI:" + Account.class.getName() + ":0000000000000000" };
+        }
+
+        public long getBalance() {
+            return 0L;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return this == obj;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+
+    public static class Money implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long cents;
+
+        public Money(final long cents) {
+            this.cents = cents;
+        }
+
+        public long getCents() {
+            return cents;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.iiop;
+
+import static org.jboss.as.ejb3.iiop.RecordingOutputStream.ABSTRACT_INTERFACE;
+import static org.jboss.as.ejb3.iiop.RecordingOutputStream.BOOLEAN;
+import static org.jboss.as.ejb3.iiop.RecordingOutputStream.DOUBLE;
+import static org.jboss.as.ejb3.iiop.RecordingOutputStream.FLOAT;
+import static org.jboss.as.ejb3.iiop.RecordingOutputStream.LONG;
+import static org.jboss.as.ejb3.iiop.RecordingOutputStream.LONGLONG;
+import static org.jboss.as.ejb3.iiop.RecordingOutputStream.OBJECT;
+import static org.jboss.as.ejb3.iiop.RecordingOutputStream.OCTET;
+import static org.jboss.as.ejb3.iiop.RecordingOutputStream.SHORT;
+import static org.jboss.as.ejb3.iiop.RecordingOutputStream.VALUE;
+import static org.jboss.as.ejb3.iiop.RecordingOutputStream.WCHAR;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+
+import org.omg.CORBA.Any;
+import org.omg.CORBA.MARSHAL;
+import org.omg.CORBA.NO_IMPLEMENT;
+import org.omg.CORBA.TypeCode;
+import org.omg.CORBA_2_3.portable.InputStream;
+
+/**
+ * Replays the calls recorded by a {@link RecordingOutputStream}, failing with a {@link MARSHAL} exception if they are
+ * not read back in the order and with the types they were written.
+ */
+class RecordingInputStream extends InputStream {
+
+    private final DataInputStream data;
+    private final List<Object> objects;
+
+    RecordingInputStream(final byte[] bytes, final List<Object> objects) {
+        this.data = new DataInputStream(new ByteArrayInputStream(bytes));
+        this.objects = objects;
+    }
+
+    private void expect(final int tag) throws IOException {
+        final int actual = data.readByte();
+        if (actual != tag) {
+            throw new MARSHAL("Expected " + (char) tag + " but found " + (char) actual);
+        }
+    }
+
+    private Object readObject(final int tag, final String type) {
+        try {
+            expect(tag);
+            final String actual = data.readUTF();
+            if (!actual.equals(type)) {
+                throw new MARSHAL("Expected a value of type " + type + " but found " + actual);
+            }
+            return objects.get(data.readInt());
+        } catch (IOException e) {
+            throw new MARSHAL(e.toString());
+        }
+    }
+
+    @Override
+    public boolean read_boolean() {
+        try {
+            expect(BOOLEAN);
+            return data.readBoolean();
+        } catch (IOException e) {
+            throw new MARSHAL(e.toString());
+        }
+    }
+
+    @Override
+    public byte read_octet() {
+        try {
+            expect(OCTET);
+            return data.readByte();
+        } catch (IOException e) {
+            throw new MARSHAL(e.toString());
+        }
+    }
+
+    @Override
+    public char read_wchar() {
+        try {
+            expect(WCHAR);
+            return data.readChar();
+        } catch (IOException e) {
+            throw new MARSHAL(e.toString());
+        }
+    }
+
+    @Override
+    public double read_double() {
+        try {
+            expect(DOUBLE);
+            return data.readDouble();
+        } catch (IOException e) {
+            throw new MARSHAL(e.toString());
+        }
+    }
+
+    @Override
+    public float read_float() {
+        try {
+            expect(FLOAT);
+            return data.readFloat();
+        } catch (IOException e) {
+            throw new MARSHAL(e.toString());
+        }
+    }
+
+    @Override
+    public int read_long() {
+        try {
+            expect(LONG);
+            return data.readInt();
+        } catch (IOException e) {
+            throw new MARSHAL(e.toString());
+        }
+    }
+
+    @Override
+    public long read_longlong() {
+        try {
+            expect(LONGLONG);
+            return data.readLong();
+        } catch (IOException e) {
+            throw new MARSHAL(e.toString());
+        }
+    }
+
+    @Override
+    public short read_short() {
+        try {
+            expect(SHORT);
+            return data.readShort();
+        } catch (IOException e) {
+            throw new MARSHAL(e.toString());
+        }
+    }
+
+    @Override
+    public Serializable read_value(final Class clz) {
+        return (Serializable) readObject(VALUE, clz.getName());
+    }
+
+    @Override
+    public org.omg.CORBA.Object read_Object() {
+        return (org.omg.CORBA.Object) readObject(OBJECT, "");
+    }
+
+    @Override
+    public Object read_abstract_interface() {
+        return readObject(ABSTRACT_INTERFACE, "");
+    }
+
+    /**
+     * @return {@code true} if all the recorded calls have been read back
+     */
+    boolean isConsumed() {
+        try {
+            return data.available() == 0;
+        } catch (IOException e) {
+            throw new MARSHAL(e.toString());
+        }
+    }
+
+    // the calls below are not made by the parameter readers and writers under test
+
+    @Override
+    public char read_char() {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public short read_ushort() {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public int read_ulong() {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public long read_ulonglong() {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public String read_string() {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public String read_wstring() {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void read_boolean_array(final boolean[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void read_char_array(final char[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void read_wchar_array(final char[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void read_octet_array(final byte[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void read_short_array(final short[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void read_ushort_array(final short[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void read_long_array(final int[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void read_ulong_array(final int[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void read_longlong_array(final long[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void read_ulonglong_array(final long[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void read_float_array(final float[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void read_double_array(final double[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public TypeCode read_TypeCode() {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public Any read_any() {
+        throw new NO_IMPLEMENT();
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.iiop;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.omg.CORBA.Any;
+import org.omg.CORBA.NO_IMPLEMENT;
+import org.omg.CORBA.TypeCode;
+import org.omg.CORBA_2_3.portable.OutputStream;
+
+/**
+ * A CDR output stream that records the calls made on it, so that two marshalling strategies can be compared byte for
+ * byte without an ORB. Every call is recorded as a tag followed by its value; objects are recorded by their index in
+ * the list of marshalled objects, and read back as the same instances by the {@link RecordingInputStream}.
+ */
+class RecordingOutputStream extends OutputStream {
+
+    static final int BOOLEAN = 'Z';
+    static final int OCTET = 'B';
+    static final int WCHAR = 'C';
+    static final int DOUBLE = 'D';
+    static final int FLOAT = 'F';
+    static final int LONG = 'I';
+    static final int LONGLONG = 'J';
+    static final int SHORT = 'S';
+    static final int VALUE = 'V';
+    static final int OBJECT = 'O';
+    static final int ABSTRACT_INTERFACE = 'A';
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream data = new DataOutputStream(bytes);
+    private final List<Object> objects = new ArrayList<Object>();
+
+    byte[] toByteArray() {
+        return bytes.toByteArray();
+    }
+
+    List<Object> getObjects() {
+        return objects;
+    }
+
+    @Override
+    public RecordingInputStream create_input_stream() {
+        return new RecordingInputStream(toByteArray(), objects);
+    }
+
+    @Override
+    public void write_boolean(final boolean value) {
+        try {
+            data.writeByte(BOOLEAN);
+            data.writeBoolean(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void write_octet(final byte value) {
+        try {
+            data.writeByte(OCTET);
+            data.writeByte(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void write_wchar(final char value) {
+        try {
+            data.writeByte(WCHAR);
+            data.writeChar(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void write_double(final double value) {
+        try {
+            data.writeByte(DOUBLE);
+            data.writeDouble(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void write_float(final float value) {
+        try {
+            data.writeByte(FLOAT);
+            data.writeFloat(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void write_long(final int value) {
+        try {
+            data.writeByte(LONG);
+            data.writeInt(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void write_longlong(final long value) {
+        try {
+            data.writeByte(LONGLONG);
+            data.writeLong(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void write_short(final short value) {
+        try {
+            data.writeByte(SHORT);
+            data.writeShort(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void write_value(final Serializable value, final Class clz) {
+        writeObject(VALUE, value, clz.getName());
+    }
+
+    @Override
+    public void write_Object(final org.omg.CORBA.Object value) {
+        writeObject(OBJECT, value, "");
+    }
+
+    @Override
+    public void write_abstract_interface(final Object value) {
+        writeObject(ABSTRACT_INTERFACE, value, "");
+    }
+
+    private void writeObject(final int tag, final Object value, final String type) {
+        try {
+            data.writeByte(tag);
+            data.writeUTF(type);
+            data.writeInt(objects.size());
+            objects.add(value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // the calls below are not made by the parameter readers and writers under test
+
+    @Override
+    public void write_char(final char value) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_ushort(final short value) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_ulong(final int value) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_ulonglong(final long value) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_string(final String value) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_wstring(final String value) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_boolean_array(final boolean[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_char_array(final char[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_wchar_array(final char[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_octet_array(final byte[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_short_array(final short[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_ushort_array(final short[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_long_array(final int[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_ulong_array(final int[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_longlong_array(final long[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_ulonglong_array(final long[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_float_array(final float[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_double_array(final double[] value, final int offset, final int length) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_TypeCode(final TypeCode value) {
+        throw new NO_IMPLEMENT();
+    }
+
+    @Override
+    public void write_any(final Any value) {
+        throw new NO_IMPLEMENT();
+    }
+}
@@ -546,4 +546,38 @@ public interface DomainControllerMessages {
      */
     @Message(id = 10876, value = "No deployment content with hash %s is available in the deployment content repository for deployment '%s'. This is a fatal boot error. To correct the problem, either restart with the --admin-only switch set and use the CLI to install the missing content or remove it from the configuration, or remove the deployment from the xml configuraiton file and restart.")
     String noDeploymentContentWithHashAtBoot(String contentHash, String deploymentName);
+
+    /**
+     * A message indicating a remote host did not complete the first phase of a domain operation in time.
+     *
+     * @param hostName the name of the host
+     * @param timeout  the timeout, in milliseconds
+     *
+     * @return the message.
+     */
+    @Message(id = 10877, value = "Host %s did not respond within %d ms")
+    String hostTimedOut(String hostName, long timeout);
+
+    /**
+     * A message reporting that a remote host completed the first phase of a domain operation.
+     *
+     * @param hostName the name of the host
+     * @param outcome  the outcome on the host
+     * @param latency  the time the host took, in milliseconds
+     *
+     * @return the message.
+     */
+    @Message(id = 10878, value = "Host %s completed with outcome %s in %d ms")
+    String hostCompleted(String hostName, String outcome, long latency);
+
+    /**
+     * Creates an exception indicating an operation header that must hold a non-negative number holds something else.
+     *
+     * @param header the name of the header
+     * @param value  the value of the header
+     *
+     * @return an {@link OperationFailedException} for the error.
+     */
+    @Message(id = 10879, value = "Operation header %s must be a non-negative number but was %s")
+    OperationFailedException invalidNonNegativeOperationHeader(String header, String value);
 }
@@ -97,12 +97,14 @@ import org.jboss.as.domain.controller.descriptions.DomainAttributes;
 import org.jboss.as.domain.controller.descriptions.DomainDescriptionProviders;
 import org.jboss.as.domain.controller.descriptions.DomainRootDescription;
 import org.jboss.as.domain.controller.operations.ApplyRemoteMasterDomainModelHandler;
+import org.jboss.as.domain.controller.operations.DomainModelSnapshots;
 import org.jboss.as.domain.controller.operations.DomainServerLifecycleHandlers;
 import org.jboss.as.domain.controller.operations.LocalHostNameOperationHandler;
 import org.jboss.as.domain.controller.operations.ProcessTypeHandler;
 import org.jboss.as.domain.controller.operations.ProfileAddHandler;
 import org.jboss.as.domain.controller.operations.ProfileDescribeHandler;
 import org.jboss.as.domain.controller.operations.ProfileRemoveHandler;
+import org.jboss.as.domain.controller.operations.ReadDomainModelDigestHandler;
 import org.jboss.as.domain.controller.operations.ReadMasterDomainModelHandler;
 import org.jboss.as.domain.controller.operations.ResolveExpressionOnDomainHandler;
 import org.jboss.as.domain.controller.operations.ServerGroupAddHandler;
@@ -181,8 +183,16 @@ public class DomainModelUtil {
                                                                   final ContentRepository contentRepository, final HostFileRepository fileRepository,
                                                                   final DomainController domainController, final ExtensionRegistry extensionRegistry,
                                                                   final PathManagerService pathManager) {
+        initializeMasterDomainRegistry(root, configurationPersister, contentRepository, fileRepository, domainController,
+                extensionRegistry, pathManager, new DomainModelSnapshots());
+    }
+
+    public static void initializeMasterDomainRegistry(final ManagementResourceRegistration root, final ExtensibleConfigurationPersister configurationPersister,
+                                                                  final ContentRepository contentRepository, final HostFileRepository fileRepository,
+                                                                  final DomainController domainController, final ExtensionRegistry extensionRegistry,
+                                                                  final PathManagerService pathManager, final DomainModelSnapshots domainModelSnapshots) {
         initializeDomainRegistry(root, configurationPersister, contentRepository, fileRepository, true, domainController,
-                domainController.getLocalHostInfo(), extensionRegistry, null, pathManager);
+                domainController.getLocalHostInfo(), extensionRegistry, null, pathManager, domainModelSnapshots);
     }
 
     public static void initializeSlaveDomainRegistry(final ManagementResourceRegistration root, final ExtensibleConfigurationPersister configurationPersister,
@@ -191,14 +201,14 @@ public class DomainModelUtil {
                                                              final IgnoredDomainResourceRegistry ignoredDomainResourceRegistry,
                                                              final PathManagerService pathManager) {
         initializeDomainRegistry(root, configurationPersister, contentRepository, fileRepository, false, null,
-                hostControllerInfo, extensionRegistry, ignoredDomainResourceRegistry, pathManager);
+                hostControllerInfo, extensionRegistry, ignoredDomainResourceRegistry, pathManager, null);
     }
 
     private static void initializeDomainRegistry(final ManagementResourceRegistration root, final ExtensibleConfigurationPersister configurationPersister,
                                                              final ContentRepository contentRepo, final HostFileRepository fileRepository, final boolean isMaster,
                                                              final DomainController domainController, final LocalHostControllerInfo hostControllerInfo,
                                                              final ExtensionRegistry extensionRegistry, final IgnoredDomainResourceRegistry ignoredDomainResourceRegistry,
-                                                             final PathManagerService pathManager) {
+                                                             final PathManagerService pathManager, final DomainModelSnapshots domainModelSnapshots) {
 
         final EnumSet<OperationEntry.Flag> readOnly = EnumSet.of(OperationEntry.Flag.READ_ONLY);
         final EnumSet<OperationEntry.Flag> masterOnly = EnumSet.of(OperationEntry.Flag.MASTER_HOST_CONTROLLER_ONLY);
@@ -325,8 +335,10 @@ public class DomainModelUtil {
             ApplyRemoteMasterDomainModelHandler armdmh = new ApplyRemoteMasterDomainModelHandler(extensionRegistry, fileRepository,
                     contentRepo, hostControllerInfo, ignoredDomainResourceRegistry);
             root.registerOperationHandler(ApplyRemoteMasterDomainModelHandler.OPERATION_NAME, armdmh, armdmh, false, OperationEntry.EntryType.PRIVATE);
+            final ReadDomainModelDigestHandler rdmdh = ReadDomainModelDigestHandler.INSTANCE;
+            root.registerOperationHandler(ReadDomainModelDigestHandler.OPERATION_NAME, rdmdh, rdmdh, false, OperationEntry.EntryType.PRIVATE, readOnly);
         } else {
-            final ReadMasterDomainModelHandler rmdmh = ReadMasterDomainModelHandler.INSTANCE;
+            final ReadMasterDomainModelHandler rmdmh = new ReadMasterDomainModelHandler(domainModelSnapshots);
             root.registerOperationHandler(ReadMasterDomainModelHandler.OPERATION_NAME, rmdmh, rmdmh, false, OperationEntry.EntryType.PRIVATE, EnumSet.of(OperationEntry.Flag.READ_ONLY));
         }
     }
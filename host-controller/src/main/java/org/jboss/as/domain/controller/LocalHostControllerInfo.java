@@ -95,6 +95,21 @@ public interface LocalHostControllerInfo {
      */
     String getHttpManagementSecurityRealm();
 
+    /**
+     * Gets the maximum number of HTTP management API requests handled at the same time.
+     *
+     * @return the number of requests
+     */
+    int getHttpManagementMaxThreads();
+
+    /**
+     * Gets the number of HTTP management API requests, in addition to the
+     * {@link #getHttpManagementMaxThreads() maximum}, reserved for read-only requests.
+     *
+     * @return the number of requests
+     */
+    int getHttpManagementReadOnlyThreads();
+
     /**
      *  Gets the host name of the remote domain controller
      *  @return the host name
@@ -112,10 +112,10 @@ public class ApplyRemoteMasterDomainModelHandler implements OperationStepHandler
 
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
 
-        // We get the model as a list of resources descriptions
+        // We get the model as a list of resources descriptions, or only the resources which changed since our version
         final ModelNode domainModel = operation.get(DOMAIN_MODEL);
-
-        final ModelNode startRoot = Resource.Tools.readModel(context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS));
+        final boolean delta = operation.hasDefined(ReadMasterDomainModelHandler.DOMAIN_MODEL_DELTA)
+                && operation.get(ReadMasterDomainModelHandler.DOMAIN_MODEL_DELTA).asBoolean();
 
         final Set<String> ourServerGroups = getOurServerGroups(context);
         final Map<String, Set<byte[]>> deploymentHashes = new HashMap<String, Set<byte[]>>();
@@ -123,14 +123,23 @@ public class ApplyRemoteMasterDomainModelHandler implements OperationStepHandler
         final Set<byte[]> requiredContent = new HashSet<byte[]>();
 
         final Resource rootResource = context.readResourceForUpdate(PathAddress.EMPTY_ADDRESS);
-        clearDomain(rootResource);
+        // For a delta only the types of resources which changed need to be compared to find the affected servers
+        final Set<String> comparedTypes = delta ? getComparedTypes(domainModel) : null;
+        final ModelNode startRoot = context.isBooting() ? null : readModel(rootResource, comparedTypes);
+        if (!delta) {
+            clearDomain(rootResource);
+        }
 
         for (final ModelNode resourceDescription : domainModel.asList()) {
 
-            final PathAddress resourceAddress = PathAddress.pathAddress(resourceDescription.require("domain-resource-address"));
+            final PathAddress resourceAddress = PathAddress.pathAddress(resourceDescription.require(ReadMasterDomainModelHandler.DOMAIN_RESOURCE_ADDRESS));
             if (ignoredResourceRegistry.isResourceExcluded(resourceAddress)) {
                 continue;
             }
+            if (resourceDescription.hasDefined(ReadMasterDomainModelHandler.DOMAIN_RESOURCE_REMOVED)) {
+                removeResource(resourceAddress, rootResource);
+                continue;
+            }
 
             final Resource resource = getResource(resourceAddress, rootResource, context);
             if (resourceAddress.size() == 1 && resourceAddress.getElement(0).getKey().equals(EXTENSION)) {
@@ -140,7 +149,7 @@ public class ApplyRemoteMasterDomainModelHandler implements OperationStepHandler
                     initializeExtension(module);
                 }
             }
-            resource.writeModel(resourceDescription.get("domain-resource-model"));
+            resource.writeModel(resourceDescription.get(ReadMasterDomainModelHandler.DOMAIN_RESOURCE_MODEL));
 
             // Track deployment and management content hashes and server group deployments so we can pull over the content we need
             if (resourceAddress.size() == 1) {
@@ -182,6 +191,16 @@ public class ApplyRemoteMasterDomainModelHandler implements OperationStepHandler
             Set<byte[]> hashes = deploymentHashes.remove(id);
             if (hashes != null) {
                 requiredContent.addAll(hashes);
+            } else if (delta) {
+                // The deployment did not change, but it may only now have been added to one of our server groups
+                final Resource deployment = rootResource.getChild(PathElement.pathElement(DEPLOYMENT, id));
+                if (deployment != null && deployment.getModel().hasDefined(CONTENT)) {
+                    for (ModelNode contentItem : deployment.getModel().get(CONTENT).asList()) {
+                        if (contentItem.hasDefined(HASH)) {
+                            requiredContent.add(contentItem.get(HASH).asBytes());
+                        }
+                    }
+                }
             }
         }
         for (byte[] hash : requiredContent) {
@@ -189,13 +208,12 @@ public class ApplyRemoteMasterDomainModelHandler implements OperationStepHandler
         }
 
         if (!context.isBooting()) {
-            final Resource domainRootResource = context.readResourceForUpdate(PathAddress.EMPTY_ADDRESS);
-            final ModelNode endRoot = Resource.Tools.readModel(domainRootResource);
+            final ModelNode endRoot = readModel(rootResource, comparedTypes);
             final Set<ServerIdentity> affectedServers = new HashSet<ServerIdentity>();
             final ModelNode hostModel = endRoot.require(HOST).asPropertyList().iterator().next().getValue();
             final ModelNode existingHostModel = startRoot.require(HOST).asPropertyList().iterator().next().getValue();
 
-            final Map<String, ProxyController> serverProxies = DomainServerUtils.getServerProxies(localHostInfo.getLocalHostName(), domainRootResource, context.getResourceRegistration());
+            final Map<String, ProxyController> serverProxies = DomainServerUtils.getServerProxies(localHostInfo.getLocalHostName(), rootResource, context.getResourceRegistration());
 
             final ModelNode startExtensions = startRoot.get(EXTENSION);
             final ModelNode finishExtensions = endRoot.get(EXTENSION);
@@ -387,6 +405,17 @@ public class ApplyRemoteMasterDomainModelHandler implements OperationStepHandler
         }
     }
 
+    private void removeResource(PathAddress resourceAddress, Resource rootResource) {
+        Resource parent = rootResource;
+        for (int i = 0; i < resourceAddress.size() - 1 && parent != null; i++) {
+            parent = parent.getChild(resourceAddress.getElement(i));
+        }
+        if (parent != null && resourceAddress.size() > 0) {
+            // Our parent may already have been removed, taking us with it
+            parent.removeChild(resourceAddress.getLastElement());
+        }
+    }
+
     private Resource getResource(PathAddress resourceAddress, Resource rootResource, OperationContext context) {
         if(resourceAddress.size() == 0) {
             return rootResource;
@@ -418,6 +447,40 @@ public class ApplyRemoteMasterDomainModelHandler implements OperationStepHandler
         return temp;
     }
 
+    private static Set<String> getComparedTypes(final ModelNode domainModel) {
+        final Set<String> types = new HashSet<String>();
+        // The servers are found through the host and the server groups
+        types.add(HOST);
+        types.add(SERVER_GROUP);
+        for (final ModelNode resourceDescription : domainModel.asList()) {
+            final PathAddress address = PathAddress.pathAddress(resourceDescription.require(ReadMasterDomainModelHandler.DOMAIN_RESOURCE_ADDRESS));
+            if (address.size() > 0) {
+                types.add(address.getElement(0).getKey());
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Reads the model of the domain, limited to the children of the given types.
+     *
+     * @param rootResource the root resource
+     * @param types the types of children to read, or {@code null} to read the complete model
+     * @return the model
+     */
+    private static ModelNode readModel(final Resource rootResource, final Set<String> types) {
+        if (types == null) {
+            return Resource.Tools.readModel(rootResource);
+        }
+        final ModelNode model = new ModelNode();
+        for (final String type : types) {
+            for (final Resource.ResourceEntry child : rootResource.getChildren(type)) {
+                model.get(type, child.getName()).set(Resource.Tools.readModel(child));
+            }
+        }
+        return model;
+    }
+
     private Collection<ServerIdentity> getServersAffectedByPath(final String pathName, final ModelNode hostModel, final boolean forDomain) {
         if (forDomain && hostModel.hasDefined(PATH) && hostModel.get(PATH).keys().contains(pathName)) {
             // Host will take precedence; ignore the domain
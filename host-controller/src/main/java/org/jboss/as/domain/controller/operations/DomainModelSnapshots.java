@@ -0,0 +1,311 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.host.controller.HostControllerConfigurationPersister;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Keeps the last few versions of the domain model, as described for registering slave host controllers, so that
+ * slaves reconnecting after a master restart or a network failure share one description of the model and only get
+ * sent the resources which changed since the version they already have.
+ * <p/>
+ * A version is identified by the digest of its description, so a slave can compute it from its own copy of the model
+ * without having to remember anything. The description of the current model is reused for as long as the domain
+ * configuration has not been changed, which the master tracks through the domain model version of its
+ * {@link HostControllerConfigurationPersister}. The descriptions and changes are also serialized only once, so they
+ * can be sent to any number of slaves without being copied.
+ */
+public final class DomainModelSnapshots {
+
+    /** The number of versions of the domain model slaves can get the changes from. */
+    static final int MAX_SNAPSHOTS = 8;
+
+    private final HostControllerConfigurationPersister persister;
+    private final Map<String, Snapshot> snapshots = new LinkedHashMap<String, Snapshot>(MAX_SNAPSHOTS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Snapshot> eldest) {
+            return size() > MAX_SNAPSHOTS;
+        }
+    };
+    private Snapshot current;
+    private long currentVersion = -1;
+
+    /**
+     * Creates snapshots which describe the model again for every registration, as there is no way to tell whether
+     * it changed.
+     */
+    public DomainModelSnapshots() {
+        this(null);
+    }
+
+    /**
+     * Creates snapshots which reuse the description of the domain model until the persister stores a change.
+     *
+     * @param persister the host controller's persister, or {@code null}
+     */
+    public DomainModelSnapshots(final HostControllerConfigurationPersister persister) {
+        this.persister = persister;
+    }
+
+    /**
+     * Gets the snapshot of the current domain model. The model is only read, which copies it, if it changed since
+     * the current snapshot was taken.
+     *
+     * @param context the context of the operation reading the domain model
+     * @return the snapshot
+     */
+    Snapshot getCurrent(final OperationContext context) {
+        final boolean booting = context.isBooting();
+        synchronized (this) {
+            if (isCurrent(getVersion(booting))) {
+                return current;
+            }
+        }
+        return getCurrent(context.readResource(PathAddress.EMPTY_ADDRESS), booting);
+    }
+
+    /**
+     * Gets the snapshot of the current domain model.
+     *
+     * @param root the root resource of the domain model
+     * @param booting whether the controller is booting, in which case the model may change without being persisted
+     * @return the snapshot
+     */
+    synchronized Snapshot getCurrent(final Resource root, final boolean booting) {
+        final long version = getVersion(booting);
+        if (isCurrent(version)) {
+            return current;
+        }
+        final List<ModelNode> resources = ReadMasterDomainModelHandler.describeAsNodeList(root);
+        final String digest = digest(resources);
+        Snapshot snapshot = snapshots.get(digest);
+        if (snapshot == null) {
+            snapshot = new Snapshot(digest, resources);
+            snapshots.put(digest, snapshot);
+        }
+        current = snapshot;
+        currentVersion = version;
+        return snapshot;
+    }
+
+    private long getVersion(final boolean booting) {
+        return persister == null || booting ? -1 : persister.getDomainModelVersion();
+    }
+
+    private boolean isCurrent(final long version) {
+        return current != null && version >= 0 && version == currentVersion;
+    }
+
+    /**
+     * Gets the serialized list of all resources of a version of the domain model.
+     *
+     * @param snapshot the snapshot of the version
+     * @return the resources, as written by {@link ModelNode#writeExternal(java.io.DataOutput)}
+     */
+    synchronized byte[] getSerializedResources(final Snapshot snapshot) {
+        if (snapshot.serializedResources == null) {
+            snapshot.serializedResources = serialize(snapshot.resources);
+        }
+        return snapshot.serializedResources;
+    }
+
+    /**
+     * Gets the serialized changes a slave needs to apply to go from one version of the domain model to the current one.
+     *
+     * @param current the snapshot of the current domain model
+     * @param digest the digest of the slave's version
+     * @return the changes, as written by {@link ModelNode#writeExternal(java.io.DataOutput)}, or {@code null} if the
+     *         slave's version is not known anymore
+     */
+    synchronized byte[] getSerializedChanges(final Snapshot current, final String digest) {
+        byte[] serialized = current.serializedChanges.get(digest);
+        if (serialized == null) {
+            final List<ModelNode> changes = getChanges(current, digest);
+            if (changes == null) {
+                return null;
+            }
+            serialized = serialize(changes);
+            current.serializedChanges.put(digest, serialized);
+        }
+        return serialized;
+    }
+
+    private static byte[] serialize(final List<ModelNode> resources) {
+        final ModelNode list = new ModelNode();
+        list.setEmptyList();
+        for (final ModelNode resource : resources) {
+            list.add(resource);
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            final DataOutputStream output = new DataOutputStream(bytes);
+            list.writeExternal(output);
+            output.flush();
+        } catch (IOException e) {
+            // the stream does not throw
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Gets the changes a slave needs to apply to go from one version of the domain model to the current one.
+     *
+     * @param current the snapshot of the current domain model
+     * @param digest the digest of the slave's version
+     * @return the changes, or {@code null} if the slave's version is not known anymore
+     */
+    synchronized List<ModelNode> getChanges(final Snapshot current, final String digest) {
+        if (current.digest.equals(digest)) {
+            return Collections.emptyList();
+        }
+        final Snapshot base = snapshots.get(digest);
+        if (base == null) {
+            return null;
+        }
+        List<ModelNode> changes = current.changes.get(digest);
+        if (changes == null) {
+            changes = current.changesSince(base);
+            current.changes.put(digest, changes);
+        }
+        return changes;
+    }
+
+    /**
+     * Computes the digest identifying a version of the domain model. The digest does not depend on the order of the
+     * resources, which may differ between the master and the slaves.
+     *
+     * @param resources the description of the domain model, as returned by {@link ReadMasterDomainModelHandler}
+     * @return the digest
+     */
+    static String digest(final List<ModelNode> resources) {
+        final Map<String, ModelNode> sorted = new TreeMap<String, ModelNode>();
+        for (final ModelNode resource : resources) {
+            sorted.put(resource.get(ReadMasterDomainModelHandler.DOMAIN_RESOURCE_ADDRESS).asString(), resource);
+        }
+        final MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final DataOutputStream output = new DataOutputStream(new OutputStream() {
+            @Override
+            public void write(final int b) {
+                messageDigest.update((byte) b);
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+                messageDigest.update(b, off, len);
+            }
+        });
+        try {
+            for (final ModelNode resource : sorted.values()) {
+                resource.writeExternal(output);
+            }
+            output.flush();
+        } catch (IOException e) {
+            // the stream does not throw
+            throw new IllegalStateException(e);
+        }
+        return HashUtil.bytesToHexString(messageDigest.digest());
+    }
+
+    /**
+     * An immutable description of one version of the domain model.
+     */
+    static final class Snapshot {
+
+        private final String digest;
+        private final List<ModelNode> resources;
+        private final Map<String, ModelNode> resourcesByAddress;
+        /** The changes since older versions, by digest; guarded by the enclosing {@link DomainModelSnapshots}. */
+        private final Map<String, List<ModelNode>> changes = new HashMap<String, List<ModelNode>>();
+        /** The serialized changes since older versions, by digest; guarded like {@link #changes}. */
+        private final Map<String, byte[]> serializedChanges = new HashMap<String, byte[]>();
+        /** The serialized resources; guarded like {@link #changes}. */
+        private byte[] serializedResources;
+
+        Snapshot(final String digest, final List<ModelNode> resources) {
+            this.digest = digest;
+            this.resourcesByAddress = new HashMap<String, ModelNode>();
+            for (final ModelNode resource : resources) {
+                resource.protect();
+                resourcesByAddress.put(resource.get(ReadMasterDomainModelHandler.DOMAIN_RESOURCE_ADDRESS).asString(), resource);
+            }
+            this.resources = Collections.unmodifiableList(resources);
+        }
+
+        String getDigest() {
+            return digest;
+        }
+
+        List<ModelNode> getResources() {
+            return resources;
+        }
+
+        /**
+         * Describes the changes since an older version: the resources which were removed, followed by the resources
+         * which were added or changed, parents before their children.
+         */
+        private List<ModelNode> changesSince(final Snapshot base) {
+            final List<ModelNode> changes = new ArrayList<ModelNode>();
+            for (final Map.Entry<String, ModelNode> entry : base.resourcesByAddress.entrySet()) {
+                if (!resourcesByAddress.containsKey(entry.getKey())) {
+                    final ModelNode removed = new ModelNode();
+                    removed.get(ReadMasterDomainModelHandler.DOMAIN_RESOURCE_ADDRESS).set(entry.getValue().get(ReadMasterDomainModelHandler.DOMAIN_RESOURCE_ADDRESS));
+                    removed.get(ReadMasterDomainModelHandler.DOMAIN_RESOURCE_REMOVED).set(true);
+                    removed.protect();
+                    changes.add(removed);
+                }
+            }
+            for (final ModelNode resource : resources) {
+                final ModelNode previous = base.resourcesByAddress.get(resource.get(ReadMasterDomainModelHandler.DOMAIN_RESOURCE_ADDRESS).asString());
+                if (!resource.equals(previous)) {
+                    changes.add(resource);
+                }
+            }
+            return Collections.unmodifiableList(changes);
+        }
+    }
+}
@@ -44,13 +44,45 @@ import org.jboss.dmr.ModelNode;
 public class ReadMasterDomainModelHandler implements OperationStepHandler, DescriptionProvider {
 
     public static final String OPERATION_NAME = "read-master-domain-model";
-    public static final ReadMasterDomainModelHandler INSTANCE = new ReadMasterDomainModelHandler();
+    /**
+     * The digest of the domain model the registering host-controller already has. If the parameter is present the
+     * result is an object with the digest of the current domain model and either the complete model or the changes
+     * since the host-controller's version, serialized as {@code BYTES}; otherwise it is the complete model, for older
+     * host-controllers.
+     */
+    public static final String DOMAIN_MODEL_DIGEST = "domain-model-digest";
+    /** Whether the result only contains the changes since the host-controller's version of the domain model. */
+    public static final String DOMAIN_MODEL_DELTA = "domain-model-delta";
+
+    static final String DOMAIN_RESOURCE_ADDRESS = "domain-resource-address";
+    static final String DOMAIN_RESOURCE_MODEL = "domain-resource-model";
+    static final String DOMAIN_RESOURCE_REMOVED = "domain-resource-removed";
+
+    private final DomainModelSnapshots snapshots;
+
+    public ReadMasterDomainModelHandler(final DomainModelSnapshots snapshots) {
+        this.snapshots = snapshots;
+    }
 
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
-        // Lock the model here
-        final Resource root = context.readResourceForUpdate(PathAddress.EMPTY_ADDRESS);
-        // Get the list of all resources registered in this model
-        context.getResult().set(describeAsNodeList(root));
+        // Get the list of all resources registered in this model, shared between all registering host-controllers
+        final DomainModelSnapshots.Snapshot snapshot = snapshots.getCurrent(context);
+        if (operation.has(DOMAIN_MODEL_DIGEST)) {
+            final ModelNode result = context.getResult();
+            result.get(DOMAIN_MODEL_DIGEST).set(snapshot.getDigest());
+            // The serialized form is shared, setting it does not copy it
+            final byte[] changes = operation.hasDefined(DOMAIN_MODEL_DIGEST)
+                    ? snapshots.getSerializedChanges(snapshot, operation.get(DOMAIN_MODEL_DIGEST).asString()) : null;
+            if (changes != null) {
+                result.get(DOMAIN_MODEL_DELTA).set(true);
+                result.get(ModelDescriptionConstants.DOMAIN_MODEL).set(changes);
+            } else {
+                result.get(DOMAIN_MODEL_DELTA).set(false);
+                result.get(ModelDescriptionConstants.DOMAIN_MODEL).set(snapshots.getSerializedResources(snapshot));
+            }
+        } else {
+            context.getResult().set(snapshot.getResources());
+        }
         // The HC registration process will hijack the operationPrepared call and push
         // the model to a registering host-controller
         context.completeStep();
@@ -78,8 +110,8 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler, Descr
             return; // ignore hosts
         }
         final ModelNode description = new ModelNode();
-        description.get("domain-resource-address").set(base.toModelNode());
-        description.get("domain-resource-model").set(resource.getModel());
+        description.get(DOMAIN_RESOURCE_ADDRESS).set(base.toModelNode());
+        description.get(DOMAIN_RESOURCE_MODEL).set(resource.getModel());
         nodes.add(description);
         for(final String childType : resource.getChildTypes()) {
             for(final Resource.ResourceEntry entry : resource.getChildren(childType)) {
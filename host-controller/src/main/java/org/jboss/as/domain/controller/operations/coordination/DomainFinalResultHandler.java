@@ -45,6 +45,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
 import org.jboss.as.controller.OperationContext;
@@ -73,6 +74,7 @@ public class DomainFinalResultHandler implements OperationStepHandler {
         context.completeStep();
 
         // On the way out, fix up the response
+        addHostLatencies(context);
         final boolean isDomain = isDomainOperation(operation);
         boolean shouldContinue = collectDomainFailure(context, isDomain);
         shouldContinue = shouldContinue && collectContextFailure(context, isDomain);
@@ -90,6 +92,16 @@ public class DomainFinalResultHandler implements OperationStepHandler {
         }
     }
 
+    private void addHostLatencies(final OperationContext context) {
+        final Map<String, Long> hostLatencies = domainOperationContext.getHostLatencies();
+        if (!hostLatencies.isEmpty()) {
+            final ModelNode latencies = context.getResponseHeaders().get(DomainSlaveHandler.HOST_LATENCIES);
+            for (Map.Entry<String, Long> entry : new TreeMap<String, Long>(hostLatencies).entrySet()) {
+                latencies.get(entry.getKey()).set(entry.getValue().longValue());
+            }
+        }
+    }
+
     private boolean collectDomainFailure(OperationContext context, final boolean isDomain) {
         final ModelNode coordinator = domainOperationContext.getCoordinatorResult();
         ModelNode domainFailure = null;
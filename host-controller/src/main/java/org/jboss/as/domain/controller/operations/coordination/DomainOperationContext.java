@@ -49,6 +49,7 @@ public class DomainOperationContext {
     private final ModelNode coordinatorResult = new ModelNode();
     private final ConcurrentMap<String, ModelNode> hostControllerResults = new ConcurrentHashMap<String, ModelNode>();
     private final ConcurrentMap<ServerIdentity, ModelNode> serverResults = new ConcurrentHashMap<ServerIdentity, ModelNode>();
+    private final ConcurrentMap<String, Long> hostLatencies = new ConcurrentHashMap<String, Long>();
 
     private final Map<String, Boolean> serverGroupStatuses = new ConcurrentHashMap<String, Boolean>();
     private volatile boolean completeRollback = true;
@@ -74,6 +75,19 @@ public class DomainOperationContext {
         hostControllerResults.put(hostId, hostResult);
     }
 
+    /**
+     * Gets how long each remote host took to complete the first phase of the operation.
+     *
+     * @return the latencies in milliseconds, by host name
+     */
+    public Map<String, Long> getHostLatencies() {
+        return new HashMap<String, Long>(hostLatencies);
+    }
+
+    public void addHostLatency(String hostId, long latency) {
+        hostLatencies.put(hostId, Long.valueOf(latency));
+    }
+
     public Map<ServerIdentity, ModelNode> getServerResults() {
         return new HashMap<ServerIdentity, ModelNode>(serverResults);
     }
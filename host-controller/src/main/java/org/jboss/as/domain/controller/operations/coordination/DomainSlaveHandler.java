@@ -24,6 +24,7 @@ package org.jboss.as.domain.controller.operations.coordination;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import org.jboss.as.controller.remote.RemoteProxyController;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
@@ -33,37 +34,74 @@ import static org.jboss.as.domain.controller.DomainControllerLogger.HOST_CONTROL
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.ProxyController;
+import org.jboss.as.controller.client.MessageSeverity;
 import static org.jboss.as.domain.controller.DomainControllerMessages.MESSAGES;
 import org.jboss.dmr.ModelNode;
 import org.jboss.threads.AsyncFuture;
 
 /**
  * Executes the first phase of a two phase operation on one or more remote, slave host controllers.
+ * <p/>
+ * The operation is sent to at most {@code maxConcurrentHosts} hosts at once, and each host gets {@code hostTimeout}
+ * milliseconds to reach the prepared state before its part of the operation is cancelled and it is reported as failed.
+ * Both are unlimited by default and can be set per operation through the {@link #MAX_CONCURRENT_HOSTS} and
+ * {@link #HOST_TIMEOUT} operation headers. The outcome of each host is reported to the caller as soon as it is known,
+ * and the time each host took is returned in the {@link #HOST_LATENCIES} response header.
  *
  * @author Brian Stansberry (c) 2011 Red Hat Inc.
  */
 public class DomainSlaveHandler implements OperationStepHandler {
 
+    /** Operation header with the time in milliseconds each host gets to complete the first phase. */
+    public static final String HOST_TIMEOUT = "host-timeout";
+    /** Operation header with the maximum number of hosts executing the first phase at the same time. */
+    public static final String MAX_CONCURRENT_HOSTS = "max-concurrent-hosts";
+    /** Response header with the time in milliseconds each host took to complete the first phase. */
+    public static final String HOST_LATENCIES = "host-latencies";
+
     private final ExecutorService executorService;
     private final DomainOperationContext domainOperationContext;
     private final Map<String, ProxyController> hostProxies;
+    private final long hostTimeout;
+    private final int maxConcurrentHosts;
 
     public DomainSlaveHandler(final Map<String, ProxyController> hostProxies,
                               final DomainOperationContext domainOperationContext,
                               final ExecutorService executorService) {
+        this(hostProxies, domainOperationContext, executorService, 0, 0);
+    }
+
+    /**
+     * Creates the handler.
+     *
+     * @param hostProxies the proxies of the hosts to execute the operation on
+     * @param domainOperationContext the context of the domain operation
+     * @param executorService the executor service
+     * @param hostTimeout the time in milliseconds each host gets to complete the first phase, or {@code 0} to wait forever
+     * @param maxConcurrentHosts the maximum number of hosts executing the first phase at once, or {@code 0} for no limit
+     */
+    public DomainSlaveHandler(final Map<String, ProxyController> hostProxies,
+                              final DomainOperationContext domainOperationContext,
+                              final ExecutorService executorService,
+                              final long hostTimeout, final int maxConcurrentHosts) {
         this.hostProxies = hostProxies;
         this.domainOperationContext = domainOperationContext;
         this.executorService = executorService;
+        this.hostTimeout = hostTimeout > 0 ? hostTimeout : 0;
+        this.maxConcurrentHosts = maxConcurrentHosts > 0 ? maxConcurrentHosts : Integer.MAX_VALUE;
     }
 
     @Override
@@ -79,33 +117,69 @@ public class DomainSlaveHandler implements OperationStepHandler {
         final Set<String> outstanding = new HashSet<String>(hostProxies.keySet());
         final List<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>> results = new ArrayList<TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation>>();
         final Map<String, AsyncFuture<ModelNode>> finalResults = new HashMap<String, AsyncFuture<ModelNode>>();
+        // The hosts executing the first phase, with the time they were sent the operation, oldest first
+        final Map<String, Long> executing = new LinkedHashMap<String, Long>();
+        final Iterator<Map.Entry<String, ProxyController>> pending = hostProxies.entrySet().iterator();
         final HostControllerUpdateTask.ProxyOperationListener listener = new HostControllerUpdateTask.ProxyOperationListener();
-        for (Map.Entry<String, ProxyController> entry : hostProxies.entrySet()) {
-            // Create the proxy task
-            final String host = entry.getKey();
-            final TransactionalProtocolClient client = ((RemoteProxyController)entry.getValue()).getTransactionalProtocolClient();
-            final HostControllerUpdateTask task = new HostControllerUpdateTask(host, operation.clone(), context, client);
-            // Execute the operation on the remote host
-            final AsyncFuture<ModelNode> finalResult = task.execute(listener);
-            finalResults.put(host, finalResult);
-        }
+        sendToHosts(context, operation, pending, executing, finalResults, listener);
 
         // Wait for all hosts to reach the prepared state
         boolean interrupted = false;
         try {
             try {
                 while(outstanding.size() > 0) {
-                    final TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation> prepared = listener.retrievePreparedOperation();
+                    final TransactionalProtocolClient.PreparedOperation<HostControllerUpdateTask.ProxyOperation> prepared;
+                    if (hostTimeout == 0 || executing.isEmpty()) {
+                        prepared = listener.retrievePreparedOperation();
+                    } else {
+                        final long oldest = executing.values().iterator().next();
+                        final long wait = oldest + hostTimeout - System.currentTimeMillis();
+                        prepared = wait > 0 ? listener.retrievePreparedOperation(wait, TimeUnit.MILLISECONDS) : null;
+                    }
+                    if (prepared == null) {
+                        // Give up on the hosts which did not make it in time, so they don't hold up the others
+                        final long now = System.currentTimeMillis();
+                        final Iterator<Map.Entry<String, Long>> it = executing.entrySet().iterator();
+                        while (it.hasNext()) {
+                            final Map.Entry<String, Long> entry = it.next();
+                            final long latency = now - entry.getValue();
+                            if (latency < hostTimeout) {
+                                break;
+                            }
+                            final String hostName = entry.getKey();
+                            it.remove();
+                            outstanding.remove(hostName);
+                            // Roll back the operation if the host still manages to prepare it
+                            listener.abandon(hostName);
+                            finalResults.get(hostName).asyncCancel(false);
+                            final ModelNode result = new ModelNode();
+                            result.get(OUTCOME).set(FAILED);
+                            result.get(FAILURE_DESCRIPTION).set(MESSAGES.hostTimedOut(hostName, hostTimeout));
+                            domainOperationContext.addHostControllerResult(hostName, result);
+                            domainOperationContext.addHostLatency(hostName, latency);
+                            context.report(MessageSeverity.WARN, MESSAGES.hostTimedOut(hostName, hostTimeout));
+                        }
+                        sendToHosts(context, operation, pending, executing, finalResults, listener);
+                        continue;
+                    }
                     final String hostName = prepared.getOperation().getName();
                     if(! outstanding.remove(hostName)) {
+                        // Too late, we already reported this host as failed
                         continue;
                     }
+                    final long latency = System.currentTimeMillis() - executing.remove(hostName);
                     final ModelNode preparedResult = prepared.getPreparedResult();
                     if (HOST_CONTROLLER_LOGGER.isTraceEnabled()) {
                         HOST_CONTROLLER_LOGGER.tracef("Preliminary result for remote host %s is %s", hostName, preparedResult);
                     }
                     domainOperationContext.addHostControllerResult(hostName, preparedResult);
+                    domainOperationContext.addHostLatency(hostName, latency);
+                    context.report(MessageSeverity.INFO, MESSAGES.hostCompleted(hostName, preparedResult.get(OUTCOME).asString(), latency));
                     results.add(prepared);
+                    sendToHosts(context, operation, pending, executing, finalResults, listener);
+                }
+                if (HOST_CONTROLLER_LOGGER.isDebugEnabled()) {
+                    HOST_CONTROLLER_LOGGER.debugf("Remote hosts completed the first phase of %s in %s ms", operation.get(OP).asString(), domainOperationContext.getHostLatencies());
                 }
             } catch (InterruptedException ie) {
                 interrupted = true;
@@ -177,4 +251,24 @@ public class DomainSlaveHandler implements OperationStepHandler {
         }
     }
 
+    /**
+     * Sends the operation to the next hosts, as long as fewer than {@code maxConcurrentHosts} are executing it.
+     */
+    private void sendToHosts(final OperationContext context, final ModelNode operation,
+                             final Iterator<Map.Entry<String, ProxyController>> pending, final Map<String, Long> executing,
+                             final Map<String, AsyncFuture<ModelNode>> finalResults,
+                             final HostControllerUpdateTask.ProxyOperationListener listener) {
+        while (executing.size() < maxConcurrentHosts && pending.hasNext()) {
+            final Map.Entry<String, ProxyController> entry = pending.next();
+            // Create the proxy task
+            final String host = entry.getKey();
+            final TransactionalProtocolClient client = ((RemoteProxyController)entry.getValue()).getTransactionalProtocolClient();
+            final HostControllerUpdateTask task = new HostControllerUpdateTask(host, operation.clone(), context, client);
+            executing.put(host, System.currentTimeMillis());
+            // Execute the operation on the remote host
+            final AsyncFuture<ModelNode> finalResult = task.execute(listener);
+            finalResults.put(host, finalResult);
+        }
+    }
+
 }
@@ -36,7 +36,9 @@ import org.jboss.threads.AsyncFuture;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Future;
 
 /**
@@ -91,11 +93,44 @@ class HostControllerUpdateTask {
      */
     static class ProxyOperationListener extends BlockingQueueOperationListener<ProxyOperation> {
         final boolean trace = HOST_CONTROLLER_LOGGER.isTraceEnabled();
+        /** The hosts which were given up on; guarded by this listener. */
+        private final Set<String> abandoned = new HashSet<String>();
+
+        /**
+         * Gives up on a host, which was already reported as failed. Its operation is rolled back as soon as it is
+         * prepared, even once nobody retrieves the prepared operations anymore.
+         *
+         * @param hostName the name of the host
+         */
+        synchronized void abandon(final String hostName) {
+            abandoned.add(hostName);
+            final List<TransactionalProtocolClient.PreparedOperation<ProxyOperation>> queued = new ArrayList<TransactionalProtocolClient.PreparedOperation<ProxyOperation>>();
+            drainTo(queued);
+            for (final TransactionalProtocolClient.PreparedOperation<ProxyOperation> prepared : queued) {
+                if (! rollbackIfAbandoned(prepared)) {
+                    super.operationPrepared(prepared);
+                }
+            }
+        }
+
+        private boolean rollbackIfAbandoned(final TransactionalProtocolClient.PreparedOperation<ProxyOperation> prepared) {
+            if (! abandoned.contains(prepared.getOperation().getName())) {
+                return false;
+            }
+            if (! prepared.isDone()) {
+                prepared.rollback();
+            }
+            return true;
+        }
 
         @Override
         public void operationPrepared(final TransactionalProtocolClient.PreparedOperation<ProxyOperation> prepared) {
             try {
-                super.operationPrepared(prepared);
+                synchronized (this) {
+                    if (! rollbackIfAbandoned(prepared)) {
+                        super.operationPrepared(prepared);
+                    }
+                }
             } finally {
                 if (trace) {
                     final ModelNode result = prepared.getPreparedResult();
@@ -171,6 +171,9 @@ public class OperationCoordinatorStepHandler {
         // Get a copy of the rollout plan so it doesn't get disrupted by any handlers
         ModelNode rolloutPlan = operation.hasDefined(OPERATION_HEADERS) && operation.get(OPERATION_HEADERS).has(ROLLOUT_PLAN)
             ? operation.get(OPERATION_HEADERS).remove(ROLLOUT_PLAN) : new ModelNode();
+        // Same for how the operation is fanned out to the slaves
+        final long hostTimeout = removeNonNegativeHeader(operation, DomainSlaveHandler.HOST_TIMEOUT, Long.MAX_VALUE);
+        final int maxConcurrentHosts = (int) removeNonNegativeHeader(operation, DomainSlaveHandler.MAX_CONCURRENT_HOSTS, Integer.MAX_VALUE);
 
         // A stage that on the way out fixes up the result/failure description. On the way in it does nothing
         context.addStep(new DomainFinalResultHandler(overallContext), OperationContext.Stage.MODEL);
@@ -215,7 +218,7 @@ public class OperationCoordinatorStepHandler {
                     }
                 }
 
-                context.addStep(slaveOp.clone(), new DomainSlaveHandler(remoteProxies, overallContext, executorService), OperationContext.Stage.DOMAIN);
+                context.addStep(slaveOp.clone(), new DomainSlaveHandler(remoteProxies, overallContext, executorService, hostTimeout, maxConcurrentHosts), OperationContext.Stage.DOMAIN);
             }
         }
 
@@ -225,6 +228,32 @@ public class OperationCoordinatorStepHandler {
         context.completeStep();
     }
 
+    /**
+     * Removes a numeric header from the operation.
+     *
+     * @return the value of the header, or {@code 0} if it is not set
+     * @throws OperationFailedException if the header is not a number between {@code 0} and {@code max}
+     */
+    static long removeNonNegativeHeader(final ModelNode operation, final String header, final long max) throws OperationFailedException {
+        if (!operation.hasDefined(OPERATION_HEADERS) || !operation.get(OPERATION_HEADERS).has(header)) {
+            return 0;
+        }
+        final ModelNode value = operation.get(OPERATION_HEADERS).remove(header);
+        if (!value.isDefined()) {
+            return 0;
+        }
+        final long result;
+        try {
+            result = value.asLong();
+        } catch (IllegalArgumentException e) {
+            throw MESSAGES.invalidNonNegativeOperationHeader(header, value.asString());
+        }
+        if (result < 0 || result > max) {
+            throw MESSAGES.invalidNonNegativeOperationHeader(header, value.asString());
+        }
+        return result;
+    }
+
     private void storeDeploymentContent(ModelNode opNode, OperationContext context) throws OperationFailedException {
 
         try {
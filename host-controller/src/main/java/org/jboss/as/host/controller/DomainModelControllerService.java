@@ -139,6 +139,8 @@ public class DomainModelControllerService extends AbstractControllerService impl
     private final ControlledProcessState processState;
     private final IgnoredDomainResourceRegistry ignoredRegistry;
     private final PathManagerService pathManager;
+    /** Profile operations by profile name, reused by server starts until the domain model changes */
+    private final ProfileOperationsCache profileOperations = new ProfileOperationsCache();
 
     private volatile ServerInventory serverInventory;
 
@@ -263,6 +265,13 @@ public class DomainModelControllerService extends AbstractControllerService impl
 
     @Override
     public ModelNode getProfileOperations(String profileName) {
+        // Read the version before describing the profile, so a concurrent change can only make the entry stale
+        final long version = hostControllerConfigurationPersister.getDomainModelVersion();
+        final ModelNode cached = profileOperations.get(profileName, version);
+        if (cached != null) {
+            return cached;
+        }
+
         ModelNode operation = new ModelNode();
 
         operation.get(OP).set(DESCRIBE);
@@ -274,7 +283,9 @@ public class DomainModelControllerService extends AbstractControllerService impl
             String msg = msgNode.isDefined() ? msgNode.toString() : MESSAGES.failedProfileOperationsRetrieval();
             throw new RuntimeException(msg);
         }
-        return rsp.require(RESULT);
+        final ModelNode operations = rsp.require(RESULT);
+        profileOperations.put(profileName, version, operations);
+        return operations;
     }
 
     @Override
@@ -537,6 +548,14 @@ public class DomainModelControllerService extends AbstractControllerService impl
             return serverInventory.determineServerStatus(serverName);
         }
 
+        public long getServerLaunchTime(String serverName) {
+            return serverInventory.getServerLaunchTime(serverName);
+        }
+
+        public long getServerBootTime(String serverName) {
+            return serverInventory.getServerBootTime(serverName);
+        }
+
         public ServerStatus startServer(String serverName, ModelNode domainModel) {
             return serverInventory.startServer(serverName, domainModel);
         }
@@ -55,6 +55,7 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
     private final ExecutorService executorService;
     private final ExtensionRegistry extensionRegistry;
     private Boolean slave;
+    private volatile long domainModelVersion;
 
     public HostControllerConfigurationPersister(final HostControllerEnvironment environment, final LocalHostControllerInfo localHostControllerInfo,
                                                 final ExecutorService executorService, final ExtensionRegistry extensionRegistry) {
@@ -108,6 +109,15 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
         return hostPersister;
     }
 
+    /**
+     * Gets the version of the domain model, which changes whenever a change to the domain configuration is committed.
+     *
+     * @return the domain model version
+     */
+    public long getDomainModelVersion() {
+        return domainModelVersion;
+    }
+
     @Override
     public PersistenceResource store(ModelNode model, Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
         final PersistenceResource[] delegates = new PersistenceResource[2];
@@ -133,6 +143,7 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
                 }
                 if (delegates[1] != null) {
                     delegates[1].commit();
+                    domainModelVersion++;
                 }
             }
 
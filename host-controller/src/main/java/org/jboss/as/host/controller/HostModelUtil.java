@@ -106,6 +106,7 @@ import org.jboss.as.host.controller.operations.RemoteDomainControllerAddHandler;
 import org.jboss.as.host.controller.operations.RemoteDomainControllerRemoveHandler;
 import org.jboss.as.host.controller.operations.ResolveExpressionOnHostHandler;
 import org.jboss.as.host.controller.operations.ServerAddHandler;
+import org.jboss.as.host.controller.operations.ServerLaunchMetricsHandler;
 import org.jboss.as.host.controller.operations.ServerRemoveHandler;
 import org.jboss.as.host.controller.operations.ServerRestartHandler;
 import org.jboss.as.host.controller.operations.ServerRestartRequiredServerConfigWriteAttributeHandler;
@@ -193,6 +194,9 @@ public class HostModelUtil {
         hostRegistration.registerOperationHandler(XmlMarshallingHandler.OPERATION_NAME, xmh, xmh, false, OperationEntry.EntryType.PUBLIC, flags);
 
         hostRegistration.registerReadWriteAttribute(HostRootDescription.DIRECTORY_GROUPING, null, new ReloadRequiredWriteAttributeHandler(HostRootDescription.DIRECTORY_GROUPING));
+        // Applied by the server inventory whenever a server gets started
+        hostRegistration.registerReadWriteAttribute(HostRootDescription.MAX_CONCURRENT_SERVER_LAUNCHES, null,
+                new WriteAttributeHandlers.AttributeDefinitionValidatingHandler(HostRootDescription.MAX_CONCURRENT_SERVER_LAUNCHES));
 
         hostRegistration.registerOperationHandler(NamespaceAddHandler.OPERATION_NAME, NamespaceAddHandler.INSTANCE, NamespaceAddHandler.INSTANCE, false);
         hostRegistration.registerOperationHandler(NamespaceRemoveHandler.OPERATION_NAME, NamespaceRemoveHandler.INSTANCE, NamespaceRemoveHandler.INSTANCE, false);
@@ -309,6 +313,9 @@ public class HostModelUtil {
 
         // Register server runtime operation handlers
         servers.registerMetric(ServerStatusHandler.ATTRIBUTE_NAME, new ServerStatusHandler(serverInventory));
+        final ServerLaunchMetricsHandler launchMetricsHandler = new ServerLaunchMetricsHandler(serverInventory);
+        servers.registerMetric(ServerLaunchMetricsHandler.LAUNCH_TIME, launchMetricsHandler);
+        servers.registerMetric(ServerLaunchMetricsHandler.BOOT_TIME, launchMetricsHandler);
         ServerStartHandler startHandler = new ServerStartHandler(serverInventory);
         servers.registerOperationHandler(ServerStartHandler.OPERATION_NAME, startHandler, startHandler, EnumSet.of(OperationEntry.Flag.HOST_CONTROLLER_ONLY));
         ServerRestartHandler restartHandler = new ServerRestartHandler(serverInventory);
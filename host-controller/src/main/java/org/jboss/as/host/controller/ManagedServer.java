@@ -66,7 +66,7 @@ import org.jboss.msc.service.ServiceActivator;
  * @author Brian Stansberry
  * @author Emanuel Muckenhuber
  */
-class ManagedServer {
+class ManagedServer implements ServerLaunchAdmission.Launchable {
 
     private static final MarshallerFactory MARSHALLER_FACTORY;
     private static final MarshallingConfiguration CONFIG;
@@ -110,14 +110,21 @@ class ManagedServer {
     private final InetSocketAddress managementSocket;
     private final ProcessControllerClient processControllerClient;
     private final ManagedServer.ManagedServerBootConfiguration bootConfiguration;
+    private final ServerLaunchAdmission admission;
 
     private volatile RemoteProxyController proxyController;
 
+    private volatile long startRequested;
+    private volatile long processStartedAt;
+    private volatile long launchTime = -1;
+    private volatile long bootTime = -1;
+
     private volatile InternalState requiredState = InternalState.STOPPED;
     private volatile InternalState internalState = InternalState.STOPPED;
 
     ManagedServer(final String hostControllerName, final String serverName, final ProcessControllerClient processControllerClient,
-            final InetSocketAddress managementSocket, final ManagedServer.ManagedServerBootConfiguration bootConfiguration) {
+            final InetSocketAddress managementSocket, final ManagedServer.ManagedServerBootConfiguration bootConfiguration,
+            final ServerLaunchAdmission admission) {
 
         assert hostControllerName  != null : "hostControllerName is null";
         assert serverName  != null : "serverName is null";
@@ -130,6 +137,7 @@ class ManagedServer {
         this.processControllerClient = processControllerClient;
         this.managementSocket = managementSocket;
         this.bootConfiguration = bootConfiguration;
+        this.admission = admission;
 
         final byte[] authKey = new byte[16];
         new Random(new SecureRandom().nextLong()).nextBytes(authKey);
@@ -149,6 +157,25 @@ class ManagedServer {
         return proxyController;
     }
 
+    /**
+     * Get how long the last start of the server took until its process was running, including the time it waited
+     * for other servers to complete their boot.
+     *
+     * @return the launch time in milliseconds, or {@code -1} if the process was not started yet
+     */
+    public long getLaunchTime() {
+        return launchTime;
+    }
+
+    /**
+     * Get how long the server took to boot after its process was started.
+     *
+     * @return the boot time in milliseconds, or {@code -1} if the server did not complete its boot yet
+     */
+    public long getBootTime() {
+        return bootTime;
+    }
+
     /**
      * Determine the current state the server is in.
      *
@@ -178,47 +205,76 @@ class ManagedServer {
     /**
      * Start a managed server.
      */
-    protected synchronized void start() {
-        final InternalState required = this.requiredState;
-        // Ignore if the server is already started
-        if(required == InternalState.SERVER_STARTED) {
-            return;
-        }
-        // In case the server failed to start, try to start it again
-        if(required != InternalState.FAILED) {
-            final InternalState current = this.internalState;
-            if(current != required) {
-                // TODO this perhaps should wait?
-                throw new IllegalStateException();
+    protected void start() {
+        synchronized (this) {
+            final InternalState required = this.requiredState;
+            // Ignore if the server is already started
+            if(required == InternalState.SERVER_STARTED) {
+                return;
             }
+            // In case the server failed to start, try to start it again
+            if(required != InternalState.FAILED) {
+                final InternalState current = this.internalState;
+                if(current != required) {
+                    // TODO this perhaps should wait?
+                    throw new IllegalStateException();
+                }
+            }
+            this.requiredState = InternalState.SERVER_STARTED;
+            this.startRequested = System.currentTimeMillis();
+            this.launchTime = -1;
+            this.bootTime = -1;
+            ROOT_LOGGER.startingServer(serverName);
+            transition();
         }
-        this.requiredState = InternalState.SERVER_STARTED;
-        ROOT_LOGGER.startingServer(serverName);
-        transition();
+        notifyAdmitted();
     }
 
     /**
      * Stop a managed server.
      */
-    protected synchronized void stop() {
-        final InternalState required = this.requiredState;
-        if(required != InternalState.STOPPED) {
-            this.requiredState = InternalState.STOPPED;
-            ROOT_LOGGER.stoppingServer(serverName);
-            // Transition, but don't wait for async notifications to complete
-            transition(false);
+    protected void stop() {
+        synchronized (this) {
+            final InternalState required = this.requiredState;
+            if(required != InternalState.STOPPED) {
+                this.requiredState = InternalState.STOPPED;
+                ROOT_LOGGER.stoppingServer(serverName);
+                admission.release(this);
+                // Transition, but don't wait for async notifications to complete
+                transition(false);
+            }
         }
+        notifyAdmitted();
+    }
+
+    /**
+     * Notification that the server may launch its process, after waiting for other servers to complete their boot.
+     */
+    @Override
+    public void admitted() {
+        synchronized (this) {
+            if(requiredState == InternalState.SERVER_STARTED) {
+                transition();
+            } else {
+                // Stopped while waiting, let the next one go
+                admission.release(this);
+            }
+        }
+        notifyAdmitted();
     }
 
     /**
      * Try to reconnect to a started server.
      */
-    protected synchronized void reconnectServerProcess() {
-        if(this.requiredState != InternalState.SERVER_STARTED) {
-            ROOT_LOGGER.reconnectingServer(serverName);
-            this.requiredState = InternalState.SERVER_STARTED;
-            internalSetState(new ReconnectTask(), InternalState.STOPPED, InternalState.SERVER_STARTING);
+    protected void reconnectServerProcess() {
+        synchronized (this) {
+            if(this.requiredState != InternalState.SERVER_STARTED) {
+                ROOT_LOGGER.reconnectingServer(serverName);
+                this.requiredState = InternalState.SERVER_STARTED;
+                internalSetState(new ReconnectTask(), InternalState.STOPPED, InternalState.SERVER_STARTING);
+            }
         }
+        notifyAdmitted();
     }
 
     /**
@@ -258,13 +314,18 @@ class ManagedServer {
      */
     protected void processAdded() {
         finishTransition(InternalState.PROCESS_ADDING, InternalState.PROCESS_ADDED);
+        notifyAdmitted();
     }
 
     /**
      * Notification that the process was started.
      */
     protected void processStarted() {
+        final long now = System.currentTimeMillis();
+        processStartedAt = now;
+        launchTime = now - startRequested;
         finishTransition(InternalState.PROCESS_STARTING, InternalState.PROCESS_STARTED);
+        notifyAdmitted();
     }
 
     /**
@@ -272,25 +333,42 @@ class ManagedServer {
      * @param channelAssociation
      * @return
      */
-    protected synchronized RemoteProxyController channelRegistered(final ManagementChannelHandler channelAssociation) {
-        internalSetState(new TransitionTask() {
-            @Override
-            public void execute(final ManagedServer server) throws Exception {
-                server.proxyController = RemoteProxyController.create(channelAssociation,
-                        PathAddress.pathAddress(PathElement.pathElement(HOST, hostControllerName), serverPath),
-                        ProxyOperationAddressTranslator.SERVER);
-            }
-        // TODO we just check that we are in the correct state, perhaps introduce a new state
-        }, InternalState.SERVER_STARTING, InternalState.SERVER_STARTING);
+    protected RemoteProxyController channelRegistered(final ManagementChannelHandler channelAssociation) {
+        final RemoteProxyController proxyController;
+        synchronized (this) {
+            internalSetState(new TransitionTask() {
+                @Override
+                public void execute(final ManagedServer server) throws Exception {
+                    server.proxyController = RemoteProxyController.create(channelAssociation,
+                            PathAddress.pathAddress(PathElement.pathElement(HOST, hostControllerName), serverPath),
+                            ProxyOperationAddressTranslator.SERVER);
+                }
+            // TODO we just check that we are in the correct state, perhaps introduce a new state
+            }, InternalState.SERVER_STARTING, InternalState.SERVER_STARTING);
+            proxyController = this.proxyController;
+        }
+        notifyAdmitted();
         return proxyController;
     }
 
-    protected synchronized void serverStarted(final TransitionTask task) {
-        internalSetState(task, InternalState.SERVER_STARTING, InternalState.SERVER_STARTED);
+    protected void serverStarted(final TransitionTask task) {
+        synchronized (this) {
+            internalSetState(task, InternalState.SERVER_STARTING, InternalState.SERVER_STARTED);
+            if(internalState == InternalState.SERVER_STARTED) {
+                bootTime = System.currentTimeMillis() - processStartedAt;
+                ROOT_LOGGER.debugf("Server %s was launched in %d ms and booted in %d ms", serverName, launchTime, bootTime);
+            }
+            admission.release(this);
+        }
+        notifyAdmitted();
     }
 
-    protected synchronized void serverStartFailed() {
-        internalSetState(null, InternalState.SERVER_STARTING, InternalState.FAILED);
+    protected void serverStartFailed() {
+        synchronized (this) {
+            internalSetState(null, InternalState.SERVER_STARTING, InternalState.FAILED);
+            admission.release(this);
+        }
+        notifyAdmitted();
     }
 
     /**
@@ -303,16 +381,20 @@ class ManagedServer {
     /**
      * Notification that the server process finished.
      */
-    protected synchronized void processFinished() {
-        final InternalState required = this.requiredState;
-        final InternalState state = this.internalState;
-        // If the server was not stopped
-        if(required == InternalState.STOPPED && state == InternalState.PROCESS_STOPPING) {
-            finishTransition(InternalState.PROCESS_STOPPING, InternalState.PROCESS_STOPPED);
-        } else {
-            this.requiredState = InternalState.FAILED;
-            internalSetState(null, state, InternalState.PROCESS_STOPPED);
+    protected void processFinished() {
+        synchronized (this) {
+            final InternalState required = this.requiredState;
+            final InternalState state = this.internalState;
+            // If the server was not stopped
+            admission.release(this);
+            if(required == InternalState.STOPPED && state == InternalState.PROCESS_STOPPING) {
+                finishTransition(InternalState.PROCESS_STOPPING, InternalState.PROCESS_STOPPED);
+            } else {
+                this.requiredState = InternalState.FAILED;
+                internalSetState(null, state, InternalState.PROCESS_STOPPED);
+            }
         }
+        notifyAdmitted();
     }
 
     /**
@@ -320,12 +402,22 @@ class ManagedServer {
      */
     protected void processRemoved() {
         finishTransition(InternalState.PROCESS_REMOVING, InternalState.STOPPED);
+        notifyAdmitted();
     }
 
     private void transition() {
         transition(true);
     }
 
+    /**
+     * Tells the servers which got admitted by this one making room that they may launch. Must not be called under
+     * the lock, as they need to take theirs.
+     */
+    private void notifyAdmitted() {
+        assert !Thread.holdsLock(this);
+        admission.notifyAdmitted();
+    }
+
     private synchronized void transition(boolean checkAsync) {
         final InternalState required = this.requiredState;
         final InternalState current = this.internalState;
@@ -334,6 +426,10 @@ class ManagedServer {
             return;
         }
         final InternalState next = nextState(current, required);
+        if(next == InternalState.PROCESS_STARTING && ! admission.admit(this)) {
+            // Wait until other servers completed their boot, see admitted()
+            return;
+        }
         if(next != null) {
             final TransitionTask task = getTransitionTask(next);
             internalSetState(task, current, next);
@@ -345,7 +441,15 @@ class ManagedServer {
      *
      * @param state the failed transition
      */
-    synchronized void transitionFailed(final InternalState state) {
+    void transitionFailed(final InternalState state) {
+        synchronized (this) {
+            failTransition(state);
+        }
+        notifyAdmitted();
+    }
+
+    private void failTransition(final InternalState state) {
+        assert Thread.holdsLock(this); // Call under lock
         final InternalState current = this.internalState;
         if(state == current) {
             // Revert transition and mark as failed
@@ -364,6 +468,7 @@ class ManagedServer {
                     break;
             }
             this.requiredState = InternalState.FAILED;
+            admission.release(this);
             notifyAll();
         }
     }
@@ -390,7 +495,7 @@ class ManagedServer {
                 this.internalState = next;
             } catch (final Exception e) {
                 ROOT_LOGGER.debugf(e, "transition (%s > %s) failed for server \"%s\"", current, next, serverName);
-                transitionFailed(current);
+                failTransition(current);
             } finally {
                 notifyAll();
             }
@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * The described operations of the profiles used by the managed servers, stamped with the version of the domain model
+ * they were described from.
+ * <p/>
+ * An entry is only returned for the version it was described from. Once a newer version is seen, all entries of older
+ * versions are evicted, so the operations of profiles which got changed or removed do not linger.
+ */
+final class ProfileOperationsCache {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    private final AtomicLong latestVersion = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Gets the operations of a profile.
+     *
+     * @param profileName the name of the profile
+     * @param version the current version of the domain model
+     * @return the operations, or {@code null} if they were not described from the given version
+     */
+    ModelNode get(final String profileName, final long version) {
+        evictOlderThan(version);
+        final Entry entry = entries.get(profileName);
+        return entry != null && entry.version == version ? entry.operations : null;
+    }
+
+    /**
+     * Stores the operations of a profile. The operations are {@link ModelNode#protect() protected}, as they are shared
+     * by every server using the profile.
+     *
+     * @param profileName the name of the profile
+     * @param version the version of the domain model read before the profile was described
+     * @param operations the operations
+     */
+    void put(final String profileName, final long version, final ModelNode operations) {
+        operations.protect();
+        entries.put(profileName, new Entry(version, operations));
+        // A concurrent change may have been seen in the meantime
+        evictOlderThan(latestVersion.get());
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictOlderThan(final long version) {
+        long latest;
+        while ((latest = latestVersion.get()) < version && !latestVersion.compareAndSet(latest, version)) {
+            //
+        }
+        latest = latestVersion.get();
+        final Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getValue().version < latest) {
+                it.remove();
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final ModelNode operations;
+
+        private Entry(final long version, final ModelNode operations) {
+            this.version = version;
+            this.operations = operations;
+        }
+    }
+}
@@ -24,6 +24,7 @@ package org.jboss.as.host.controller;
 
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelHandler;
 import org.jboss.as.domain.management.CallbackHandlerFactory;
 import org.jboss.as.domain.management.SecurityRealm;
 import org.jboss.as.host.controller.mgmt.DomainControllerProtocol;
@@ -38,6 +39,7 @@ import org.jboss.as.protocol.mgmt.ManagementClientChannelStrategy;
 import org.jboss.as.protocol.mgmt.ManagementRequestContext;
 import org.jboss.as.remoting.management.ManagementRemotingServices;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 import org.jboss.remoting3.Channel;
 import org.jboss.remoting3.CloseHandler;
 import org.jboss.remoting3.Connection;
@@ -45,7 +47,9 @@ import org.xnio.OptionMap;
 
 import javax.net.ssl.SSLContext;
 import javax.security.auth.callback.CallbackHandler;
+import java.io.ByteArrayInputStream;
 import java.io.DataInput;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Collections;
@@ -297,13 +301,28 @@ class RemoteDomainConnection extends ManagementClientChannelStrategy {
      *
      * @param result the domain model result
      * @return whether it was applied successfully or not
+     * @throws IOException if the serialized domain model cannot be read
      */
-    boolean applyDomainModel(ModelNode result) {
+    boolean applyDomainModel(ModelNode result) throws IOException {
         if(! result.hasDefined(ModelDescriptionConstants.RESULT)) {
             return false;
         }
-        final List<ModelNode> bootOperations= result.get(ModelDescriptionConstants.RESULT).asList();
-        return callback.applyDomainModel(bootOperations);
+        final ModelNode domainModel = result.get(ModelDescriptionConstants.RESULT);
+        if (domainModel.getType() == ModelType.LIST) {
+            // An older master sends the complete model only
+            return callback.applyDomainModel(domainModel.asList(), false);
+        }
+        final ModelNode resources = domainModel.get(ModelDescriptionConstants.DOMAIN_MODEL);
+        // The master sends the resources serialized, so it does not have to copy them for every slave
+        final List<ModelNode> bootOperations;
+        if (resources.getType() == ModelType.BYTES) {
+            final ModelNode serialized = new ModelNode();
+            serialized.readExternal(new DataInputStream(new ByteArrayInputStream(resources.asBytes())));
+            bootOperations = serialized.asList();
+        } else {
+            bootOperations = resources.asList();
+        }
+        return callback.applyDomainModel(bootOperations, domainModel.get(ReadMasterDomainModelHandler.DOMAIN_MODEL_DELTA).asBoolean(false));
     }
 
     void registered() {
@@ -344,13 +363,21 @@ class RemoteDomainConnection extends ManagementClientChannelStrategy {
 
     static interface HostRegistrationCallback {
 
+        /**
+         * Get the digest of the domain model this host-controller already has.
+         *
+         * @return the digest, or {@code null} if no domain model was applied yet
+         */
+        String getDomainModelDigest();
+
         /**
          * Apply the remote domain model.
          *
          * @param result the read-domain-model operation result
+         * @param delta {@code true} if the result only contains the changes since our version of the domain model
          * @return {@code true} if the model was applied successfully, {@code false} otherwise
          */
-        boolean applyDomainModel(List<ModelNode> result);
+        boolean applyDomainModel(List<ModelNode> result, boolean delta);
 
         /**
          * Event that the registration was completed.
@@ -375,7 +402,14 @@ class RemoteDomainConnection extends ManagementClientChannelStrategy {
         protected void sendRequest(final ActiveOperation.ResultHandler<RegistrationResult> resultHandler, final ManagementRequestContext<Void> context, final FlushableDataOutput output) throws IOException {
             output.write(DomainControllerProtocol.PARAM_HOST_ID);
             output.writeUTF(localHostName);
-            localHostInfo.writeExternal(output);
+            final ModelNode hostInfo = localHostInfo.clone();
+            final String digest = callback.getDomainModelDigest();
+            if (digest != null) {
+                hostInfo.get(ReadMasterDomainModelHandler.DOMAIN_MODEL_DIGEST).set(digest);
+            } else {
+                hostInfo.get(ReadMasterDomainModelHandler.DOMAIN_MODEL_DIGEST);
+            }
+            hostInfo.writeExternal(output);
         }
 
         @Override
@@ -34,6 +34,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PRO
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PRODUCT_VERSION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RELEASE_CODENAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RELEASE_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.jboss.as.host.controller.HostControllerLogger.ROOT_LOGGER;
 import static org.jboss.as.host.controller.HostControllerMessages.MESSAGES;
@@ -63,6 +64,8 @@ import org.jboss.as.controller.remote.TransactionalProtocolOperationHandler;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
 import org.jboss.as.domain.controller.operations.ApplyRemoteMasterDomainModelHandler;
+import org.jboss.as.domain.controller.operations.ReadDomainModelDigestHandler;
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelHandler;
 import org.jboss.as.domain.management.SecurityRealm;
 import org.jboss.as.domain.management.security.SecurityRealmService;
 import org.jboss.as.host.controller.mgmt.DomainControllerProtocol;
@@ -113,6 +116,13 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         APPLY_DOMAIN_MODEL.protect();
     }
 
+    private static final ModelNode READ_DOMAIN_MODEL_DIGEST = new ModelNode();
+    static {
+        READ_DOMAIN_MODEL_DIGEST.get(OP).set(ReadDomainModelDigestHandler.OPERATION_NAME);
+        READ_DOMAIN_MODEL_DIGEST.get(OP_ADDR).setEmptyList();
+        READ_DOMAIN_MODEL_DIGEST.protect();
+    }
+
     private final ModelController controller;
     private final ProductConfig productConfig;
     private final LocalHostControllerInfo localHostInfo;
@@ -130,6 +140,8 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
 
     private RemoteDomainConnection connection;
     private ManagementChannelHandler handler;
+    /** Whether a domain model from the master has been applied, so a reconnect only needs the changes since */
+    private volatile boolean domainModelApplied;
 
     private RemoteDomainConnectionService(final ModelController controller, final LocalHostControllerInfo localHostControllerInfo, final ProductConfig productConfig, final RemoteFileRepository remoteFileRepository){
         this.controller = controller;
@@ -274,9 +286,14 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                     localHostInfo.getRemoteDomainControllerUsername(), executor,
                     new RemoteDomainConnection.HostRegistrationCallback() {
                 @Override
-                public boolean applyDomainModel(final List<ModelNode> bootOperations) {
+                public String getDomainModelDigest() {
+                    return readDomainModelDigest();
+                }
+
+                @Override
+                public boolean applyDomainModel(final List<ModelNode> bootOperations, final boolean delta) {
                     // Apply the model..
-                    return applyRemoteDomainModel(bootOperations);
+                    return applyRemoteDomainModel(bootOperations, delta);
                 }
 
                 @Override
@@ -295,25 +312,50 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         this.handler = handler;
     }
 
+    /**
+     * Read the digest of the local copy of the domain model, which the master uses to only send the changes since.
+     *
+     * @return the digest, or {@code null} if there is no domain model from the master yet
+     */
+    private String readDomainModelDigest() {
+        if (!domainModelApplied) {
+            return null;
+        }
+        final ModelNode result;
+        try {
+            result = controller.execute(READ_DOMAIN_MODEL_DIGEST, OperationMessageHandler.logging, ModelController.OperationTransactionControl.COMMIT, OperationAttachments.EMPTY);
+        } catch (Exception e) {
+            return null;
+        }
+        // Without a digest the master just sends the complete model
+        return SUCCESS.equals(result.get(OUTCOME).asString()) ? result.get(RESULT).asString() : null;
+    }
+
     /**
      * Apply the remote domain model to the local host controller.
      *
      * @param bootOperations the result of the remote read-domain-model op
+     * @param delta {@code true} if the result only contains the changes since our version of the domain model
      * @return {@code true} if the model was applied successfully, {@code false} otherwise
      */
-    private boolean applyRemoteDomainModel(final List<ModelNode> bootOperations) {
+    private boolean applyRemoteDomainModel(final List<ModelNode> bootOperations, final boolean delta) {
         final ModelNode result;
         try {
             // Create the apply-domain-model operation
             final ModelNode operation = APPLY_DOMAIN_MODEL.clone();
             operation.get(DOMAIN_MODEL).set(bootOperations);
+            operation.get(ReadMasterDomainModelHandler.DOMAIN_MODEL_DELTA).set(delta);
             // Execute the operation
             result = controller.execute(operation, OperationMessageHandler.logging, ModelController.OperationTransactionControl.COMMIT, OperationAttachments.EMPTY);
         } catch (Exception e) {
             return false;
         }
         // If it did not success, don't register it at the DC
-        return SUCCESS.equals(result.get(OUTCOME).asString());
+        if (SUCCESS.equals(result.get(OUTCOME).asString())) {
+            domainModelApplied = true;
+            return true;
+        }
+        return false;
     }
 
     /** {@inheritDoc} */
@@ -80,6 +80,25 @@ public interface ServerInventory {
      */
     ServerStatus determineServerStatus(final String serverName);
 
+    /**
+     * Get how long the last start of the server with the given name took until its process was running, including
+     * the time it waited for other servers to complete their boot.
+     *
+     * @param serverName  the server name. Cannot be {@code null}
+     *
+     * @return the launch time in milliseconds, or {@code -1} if the server's process was not started
+     */
+    long getServerLaunchTime(String serverName);
+
+    /**
+     * Get how long the server with the given name took to boot once its process was running.
+     *
+     * @param serverName  the server name. Cannot be {@code null}
+     *
+     * @return the boot time in milliseconds, or {@code -1} if the server did not complete its boot
+     */
+    long getServerBootTime(String serverName);
+
     /**
      * Start the server with the given name. Note that returning from this method does not mean the server
      * is completely started; it usually will only be in the process of starting, having received all startup instructions.
@@ -24,6 +24,7 @@ package org.jboss.as.host.controller;
 
 import org.jboss.as.controller.ProxyController;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_SERVER_LAUNCHES;
 import static org.jboss.as.host.controller.HostControllerLogger.ROOT_LOGGER;
 import static org.jboss.as.host.controller.HostControllerMessages.MESSAGES;
 
@@ -76,6 +77,7 @@ public class ServerInventoryImpl implements ServerInventory {
     private final ProcessControllerClient processControllerClient;
     private final InetSocketAddress managementAddress;
     private final DomainController domainController;
+    private final ServerLaunchAdmission launchAdmission = new ServerLaunchAdmission();
 
     private volatile boolean shutdown;
     private volatile boolean connectionFinished;
@@ -145,6 +147,18 @@ public class ServerInventoryImpl implements ServerInventory {
         return server.getState();
     }
 
+    @Override
+    public long getServerLaunchTime(final String serverName) {
+        final ManagedServer server = servers.get(serverName);
+        return server == null ? -1 : server.getLaunchTime();
+    }
+
+    @Override
+    public long getServerBootTime(final String serverName) {
+        final ManagedServer server = servers.get(serverName);
+        return server == null ? -1 : server.getBootTime();
+    }
+
     @Override
     public ServerStatus startServer(final String serverName, final ModelNode domainModel) {
         return startServer(serverName, domainModel, false);
@@ -163,6 +177,7 @@ public class ServerInventoryImpl implements ServerInventory {
                 server = newServer;
             }
         }
+        updateLaunchAdmission(domainModel);
         server.start();
         synchronized (shutdownCondition) {
             shutdownCondition.notifyAll();
@@ -468,12 +483,23 @@ public class ServerInventoryImpl implements ServerInventory {
         }
     }
 
+    /**
+     * Applies the host's current max-concurrent-server-launches to the servers started from now on.
+     */
+    private void updateLaunchAdmission(final ModelNode domainModel) {
+        final String hostControllerName = domainController.getLocalHostInfo().getLocalHostName();
+        final ModelNode hostModel = domainModel.require(HOST).require(hostControllerName);
+        launchAdmission.setMaxConcurrentLaunches(hostModel.hasDefined(MAX_CONCURRENT_SERVER_LAUNCHES)
+                ? hostModel.get(MAX_CONCURRENT_SERVER_LAUNCHES).asInt() : ServerLaunchAdmission.getDefaultMaxConcurrentLaunches());
+        launchAdmission.notifyAdmitted();
+    }
+
     private ManagedServer createManagedServer(final String serverName, final ModelNode domainModel) {
         final String hostControllerName = domainController.getLocalHostInfo().getLocalHostName();
         final ModelNode hostModel = domainModel.require(HOST).require(hostControllerName);
         final ModelCombiner combiner = new ModelCombiner(serverName, domainModel, hostModel, domainController, environment);
         final ManagedServer.ManagedServerBootConfiguration configuration = combiner.createConfiguration();
-        return new ManagedServer(hostControllerName, serverName, processControllerClient, managementAddress, configuration);
+        return new ManagedServer(hostControllerName, serverName, processControllerClient, managementAddress, configuration, launchAdmission);
     }
 
     @Override
@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller;
+
+import static org.jboss.as.host.controller.HostControllerLogger.ROOT_LOGGER;
+
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Set;
+
+/**
+ * Limits how many managed servers launch and boot at the same time, so starting all the servers of a host at once
+ * does not overload its CPUs and disks.
+ * <p/>
+ * A server needs to be admitted before its process gets started, and it makes room for the next one as soon as it
+ * completed its boot, failed or got stopped. Servers waiting for admission are admitted in the order they were
+ * started. The limit is the host's {@code max-concurrent-server-launches} attribute, where {@code 0} means no limit;
+ * by default as many servers as the host has processors may boot at once.
+ * <p/>
+ * {@link #release(Launchable)} is called while holding the monitor of the releasing server, so it only hands the
+ * room over to the next server. The next server is told about it by {@link #notifyAdmitted()}, which must be called
+ * without holding the monitor of any server.
+ */
+final class ServerLaunchAdmission {
+
+    /**
+     * A server which needs to be admitted before it launches.
+     */
+    interface Launchable {
+
+        String getServerName();
+
+        /**
+         * Notification that the server may launch, after waiting for other servers to complete their boot.
+         */
+        void admitted();
+    }
+
+    private int maxConcurrentLaunches;
+    private final Set<Launchable> launching = new HashSet<Launchable>();
+    private final LinkedList<Launchable> waiting = new LinkedList<Launchable>();
+    /** Servers which got admitted while waiting, but were not yet told about it. */
+    private final LinkedList<Launchable> admitted = new LinkedList<Launchable>();
+
+    ServerLaunchAdmission() {
+        this(getDefaultMaxConcurrentLaunches());
+    }
+
+    ServerLaunchAdmission(final int maxConcurrentLaunches) {
+        this.maxConcurrentLaunches = toLimit(maxConcurrentLaunches);
+    }
+
+    static int getDefaultMaxConcurrentLaunches() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    private static int toLimit(final int maxConcurrentLaunches) {
+        return maxConcurrentLaunches > 0 ? maxConcurrentLaunches : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Changes the limit. Servers which fit into a raised limit are admitted, a lowered limit applies once enough
+     * servers completed their boot. Call {@link #notifyAdmitted()} afterwards.
+     *
+     * @param maxConcurrentLaunches the maximum number of servers launching at once, or {@code 0} for no limit
+     */
+    synchronized void setMaxConcurrentLaunches(final int maxConcurrentLaunches) {
+        this.maxConcurrentLaunches = toLimit(maxConcurrentLaunches);
+        admitWaiting();
+    }
+
+    /**
+     * Admits a server if there is room for it, otherwise queues it until {@link Launchable#admitted()} is called.
+     *
+     * @param server the server about to launch its process
+     * @return {@code true} if the server can launch right away
+     */
+    synchronized boolean admit(final Launchable server) {
+        if (launching.contains(server)) {
+            return true;
+        }
+        if (launching.size() < maxConcurrentLaunches) {
+            launching.add(server);
+            return true;
+        }
+        if (!waiting.contains(server)) {
+            waiting.add(server);
+            ROOT_LOGGER.debugf("Server %s is waiting for %d other servers to complete their boot", server.getServerName(), launching.size());
+        }
+        return false;
+    }
+
+    /**
+     * Releases the room taken by a server, or removes it from the queue. The room is handed over to the next waiting
+     * server, which is told about it by the next call to {@link #notifyAdmitted()}.
+     *
+     * @param server the server which booted, failed or got stopped
+     */
+    synchronized void release(final Launchable server) {
+        waiting.remove(server);
+        if (launching.remove(server)) {
+            admitWaiting();
+        }
+    }
+
+    private void admitWaiting() {
+        assert Thread.holdsLock(this);
+        while (launching.size() < maxConcurrentLaunches && !waiting.isEmpty()) {
+            final Launchable next = waiting.removeFirst();
+            launching.add(next);
+            admitted.add(next);
+        }
+    }
+
+    /**
+     * Tells the servers admitted by {@link #release(Launchable)} or {@link #setMaxConcurrentLaunches(int)} that
+     * they may launch.
+     */
+    void notifyAdmitted() {
+        for (;;) {
+            final Launchable next;
+            synchronized (this) {
+                if (admitted.isEmpty()) {
+                    return;
+                }
+                next = admitted.removeFirst();
+            }
+            next.admitted();
+        }
+    }
+}
@@ -79,6 +79,7 @@ import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.descriptions.StandardResourceDescriptionResolver;
 import org.jboss.as.controller.descriptions.common.CommonDescriptions;
 import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
 import org.jboss.as.host.controller.DirectoryGrouping;
 import org.jboss.as.host.controller.operations.HostShutdownHandler;
@@ -101,6 +102,10 @@ public class HostRootDescription {
             setValidator(EnumValidator.create(DirectoryGrouping.class, true, false)).
             build();
 
+    public static final SimpleAttributeDefinition MAX_CONCURRENT_SERVER_LAUNCHES = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.MAX_CONCURRENT_SERVER_LAUNCHES, ModelType.INT, true).
+            setValidator(new IntRangeValidator(0, Integer.MAX_VALUE, true, false)).
+            build();
+
     private static final String RESOURCE_NAME = HostRootDescription.class.getPackage().getName() + ".LocalDescriptions";
 
     public static ResourceDescriptionResolver getResourceDescriptionResolver(final String keyPrefix) {
@@ -188,6 +193,7 @@ public class HostRootDescription {
         root.get(ATTRIBUTES, MASTER, TYPE).set(ModelType.BOOLEAN);
 
         DIRECTORY_GROUPING.addResourceAttributeDescription(bundle, "host", root);
+        MAX_CONCURRENT_SERVER_LAUNCHES.addResourceAttributeDescription(bundle, "host", root);
 
         root.get(OPERATIONS).setEmptyObject();
 
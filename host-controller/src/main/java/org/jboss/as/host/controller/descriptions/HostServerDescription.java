@@ -52,6 +52,7 @@ import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.jboss.as.controller.descriptions.common.CommonDescriptions;
+import org.jboss.as.host.controller.operations.ServerLaunchMetricsHandler;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -104,6 +105,14 @@ public class HostServerDescription {
         root.get(ATTRIBUTES, SOCKET_BINDING_PORT_OFFSET, TYPE).set(ModelType.INT);
         root.get(ATTRIBUTES, SOCKET_BINDING_PORT_OFFSET, REQUIRED).set(false);
 
+        root.get(ATTRIBUTES, ServerLaunchMetricsHandler.LAUNCH_TIME, DESCRIPTION).set(bundle.getString("server.launch-time"));
+        root.get(ATTRIBUTES, ServerLaunchMetricsHandler.LAUNCH_TIME, TYPE).set(ModelType.LONG);
+        root.get(ATTRIBUTES, ServerLaunchMetricsHandler.LAUNCH_TIME, REQUIRED).set(false);
+
+        root.get(ATTRIBUTES, ServerLaunchMetricsHandler.BOOT_TIME, DESCRIPTION).set(bundle.getString("server.boot-time"));
+        root.get(ATTRIBUTES, ServerLaunchMetricsHandler.BOOT_TIME, TYPE).set(ModelType.LONG);
+        root.get(ATTRIBUTES, ServerLaunchMetricsHandler.BOOT_TIME, REQUIRED).set(false);
+
         root.get(OPERATIONS).setEmptyObject();
 
         root.get(CHILDREN, PATH, DESCRIPTION).set(bundle.getString("server.path"));
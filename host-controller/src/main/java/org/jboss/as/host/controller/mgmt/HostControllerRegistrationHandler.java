@@ -103,6 +103,19 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
         return handlers.resolveNext();
     }
 
+    /**
+     * Host-controllers which know about versioned domain models send the digest of the domain model they already
+     * have, which may be undefined, so they only get sent the changes since.
+     */
+    private static ModelNode getReadDomainModelOperation(final ModelNode hostInfo) {
+        if (!hostInfo.has(ReadMasterDomainModelHandler.DOMAIN_MODEL_DIGEST)) {
+            return READ_DOMAIN_MODEL;
+        }
+        final ModelNode operation = READ_DOMAIN_MODEL.clone();
+        operation.get(ReadMasterDomainModelHandler.DOMAIN_MODEL_DIGEST).set(hostInfo.get(ReadMasterDomainModelHandler.DOMAIN_MODEL_DIGEST));
+        return operation;
+    }
+
     /**
      * The handler for the request request. This will read the domain model and send it back to the host-controller.
      */
@@ -128,7 +141,7 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
                     final ModelNode result;
                     try {
                         // The domain model is going to be sent as part of the prepared notification
-                        result = controller.execute(READ_DOMAIN_MODEL, OperationMessageHandler.logging, registration, OperationAttachments.EMPTY);
+                        result = controller.execute(getReadDomainModelOperation(hostInfo), OperationMessageHandler.logging, registration, OperationAttachments.EMPTY);
                     } catch (Exception e) {
                         registration.failed(SlaveRegistrationException.ErrorCode.UNKNOWN, e.getClass().getName() + ":" + e.getMessage());
                         return;
@@ -209,7 +222,7 @@ public class HostControllerRegistrationHandler implements ManagementRequestHandl
          */
         void registerHost(final ModelController.OperationTransaction transaction, final ModelNode result) {
             synchronized (this) {
-                // Check again with the controller lock held
+                // Check again now that the domain model was read
                 if(domainController.isHostRegistered(hostName)) {
                     failed(SlaveRegistrationException.ErrorCode.HOST_ALREADY_EXISTS, DomainControllerMessages.MESSAGES.slaveAlreadyRegistered(hostName));
                     return;
@@ -110,6 +110,8 @@ public class HttpManagementAddHandler extends AbstractAddStepHandler {
         hostControllerInfo.setHttpManagementSecurePort(securePortNode.isDefined() ? securePortNode.asInt() : -1);
         final ModelNode realmNode = HttpManagementResourceDefinition.SECURITY_REALM.resolveModelAttribute(context, model);
         hostControllerInfo.setHttpManagementSecurityRealm(realmNode.isDefined() ? realmNode.asString() : null);
+        hostControllerInfo.setHttpManagementMaxThreads(HttpManagementResourceDefinition.MAX_THREADS.resolveModelAttribute(context, model).asInt());
+        hostControllerInfo.setHttpManagementReadOnlyThreads(HttpManagementResourceDefinition.READ_ONLY_THREADS.resolveModelAttribute(context, model).asInt());
     }
 
     public static void installHttpManagementServices(final RunningMode runningMode, final ServiceTarget serviceTarget, final LocalHostControllerInfo hostControllerInfo,
@@ -133,7 +135,8 @@ public class HttpManagementAddHandler extends AbstractAddStepHandler {
             consoleMode = ConsoleMode.SLAVE_HC;
         }
 
-        final HttpManagementService service = new HttpManagementService(consoleMode, environment.getProductConfig().getConsoleSlot());
+        final HttpManagementService service = new HttpManagementService(consoleMode, environment.getProductConfig().getConsoleSlot(),
+                hostControllerInfo.getHttpManagementMaxThreads(), hostControllerInfo.getHttpManagementReadOnlyThreads());
         ServiceBuilder<?> builder = serviceTarget.addService(HttpManagementService.SERVICE_NAME, service)
                 .addDependency(
                         NetworkInterfaceService.JBOSS_NETWORK_INTERFACE.append(interfaceName),
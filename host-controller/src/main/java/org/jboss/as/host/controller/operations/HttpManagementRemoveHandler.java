@@ -65,6 +65,8 @@ public class HttpManagementRemoveHandler extends AbstractRemoveStepHandler {
         hostControllerInfo.setHttpManagementPort(0);
         hostControllerInfo.setHttpManagementSecurePort(0);
         hostControllerInfo.setHttpManagementSecurityRealm(null);
+        hostControllerInfo.setHttpManagementMaxThreads(0);
+        hostControllerInfo.setHttpManagementReadOnlyThreads(0);
     }
 
     static void removeHttpManagementService(final OperationContext context) {
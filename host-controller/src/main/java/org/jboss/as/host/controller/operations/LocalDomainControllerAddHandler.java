@@ -36,6 +36,7 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.services.path.PathManagerService;
 import org.jboss.as.domain.controller.DomainController;
 import org.jboss.as.domain.controller.DomainModelUtil;
+import org.jboss.as.domain.controller.operations.DomainModelSnapshots;
 import org.jboss.as.host.controller.HostControllerConfigurationPersister;
 import org.jboss.as.host.controller.descriptions.HostRootDescription;
 import org.jboss.as.repository.ContentRepository;
@@ -112,7 +113,8 @@ public class LocalDomainControllerAddHandler implements OperationStepHandler, De
         overallConfigPersister.initializeDomainConfigurationPersister(false);
 
         DomainModelUtil.initializeMasterDomainRegistry(rootRegistration, overallConfigPersister.getDomainPersister(),
-                contentRepository, fileRepository, domainController, extensionRegistry, pathManager);
+                contentRepository, fileRepository, domainController, extensionRegistry, pathManager,
+                new DomainModelSnapshots(overallConfigPersister));
     }
 
 
@@ -50,6 +50,8 @@ public class LocalHostControllerInfoImpl implements LocalHostControllerInfo {
     private int httpManagementSecurePort;
     private String nativeManagementSecurityRealm;
     private String httpManagementSecurityRealm;
+    private int httpManagementMaxThreads;
+    private int httpManagementReadOnlyThreads;
 
     /** Constructor solely for test cases */
     public LocalHostControllerInfoImpl(final ControlledProcessState processState, final String localHostName) {
@@ -112,6 +114,16 @@ public class LocalHostControllerInfoImpl implements LocalHostControllerInfo {
         return httpManagementSecurityRealm;
     }
 
+    @Override
+    public int getHttpManagementMaxThreads() {
+        return httpManagementMaxThreads;
+    }
+
+    @Override
+    public int getHttpManagementReadOnlyThreads() {
+        return httpManagementReadOnlyThreads;
+    }
+
     public String getRemoteDomainControllerHost() {
         return remoteDcHost;
     }
@@ -160,6 +172,14 @@ public class LocalHostControllerInfoImpl implements LocalHostControllerInfo {
         this.httpManagementSecurityRealm = httpManagementSecurityRealm;
     }
 
+    void setHttpManagementMaxThreads(int httpManagementMaxThreads) {
+        this.httpManagementMaxThreads = httpManagementMaxThreads;
+    }
+
+    void setHttpManagementReadOnlyThreads(int httpManagementReadOnlyThreads) {
+        this.httpManagementReadOnlyThreads = httpManagementReadOnlyThreads;
+    }
+
     void setRemoteDomainControllerHost(String host) {
         remoteDcHost = host;
     }
@@ -39,6 +39,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.JVM
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LOCAL;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_INTERFACE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_CONCURRENT_SERVER_LAUNCHES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAMES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NATIVE_INTERFACE;
@@ -203,6 +204,7 @@ public class HostXml extends CommonXml implements ManagementXml.Delegate {
             writer.writeStartElement(Element.SERVERS.getLocalName());
             // Write the directory grouping
             HostRootDescription.DIRECTORY_GROUPING.marshallAsAttribute(modelNode, writer);
+            HostRootDescription.MAX_CONCURRENT_SERVER_LAUNCHES.marshallAsAttribute(modelNode, writer);
             writeServers(writer, modelNode.get(SERVER_CONFIG));
             writeNewLine(writer);
             writer.writeEndElement();
@@ -569,6 +571,20 @@ public class HostXml extends CommonXml implements ManagementXml.Delegate {
         list.add(mgmtSocket);
     }
 
+    /**
+     * The request limits of the HTTP management interface are only allowed from the 1.3 schema onwards.
+     */
+    private static boolean isRequestLimitSupported(final Namespace namespace) {
+        switch (namespace) {
+            case DOMAIN_1_0:
+            case DOMAIN_1_1:
+            case DOMAIN_1_2:
+                return false;
+            default:
+                return true;
+        }
+    }
+
     private void parseManagementInterface1_1(XMLExtendedStreamReader reader, ModelNode address, boolean http, Namespace expectedNs, List<ModelNode> list)  throws XMLStreamException {
 
         final ModelNode operationAddress = address.clone();
@@ -601,6 +617,20 @@ public class HostXml extends CommonXml implements ManagementXml.Delegate {
                         }
                         break;
                     }
+                    case MAX_THREADS: {
+                        if (!http || !isRequestLimitSupported(expectedNs)) {
+                            throw unexpectedAttribute(reader, i);
+                        }
+                        HttpManagementResourceDefinition.MAX_THREADS.parseAndSetParameter(value, addOp, reader);
+                        break;
+                    }
+                    case READ_ONLY_THREADS: {
+                        if (!http || !isRequestLimitSupported(expectedNs)) {
+                            throw unexpectedAttribute(reader, i);
+                        }
+                        HttpManagementResourceDefinition.READ_ONLY_THREADS.parseAndSetParameter(value, addOp, reader);
+                        break;
+                    }
                     default:
                         throw unexpectedAttribute(reader, i);
                 }
@@ -1019,7 +1049,8 @@ public class HostXml extends CommonXml implements ManagementXml.Delegate {
         }
     }
 
-    private void parseServersAttributes(final XMLExtendedStreamReader reader, final ModelNode parentAddress, final List<ModelNode> list) throws XMLStreamException {
+    private void parseServersAttributes(final XMLExtendedStreamReader reader, final ModelNode parentAddress, final Namespace expectedNs,
+            final List<ModelNode> list) throws XMLStreamException {
         // Handle attributes
         final int count = reader.getAttributeCount();
         for (int i = 0; i < count; i++) {
@@ -1034,6 +1065,15 @@ public class HostXml extends CommonXml implements ManagementXml.Delegate {
                         list.add(Util.getWriteAttributeOperation(address, DIRECTORY_GROUPING, value));
                         break;
                     }
+                    case MAX_CONCURRENT_SERVER_LAUNCHES: {
+                        if (expectedNs == Namespace.DOMAIN_1_2) {
+                            throw unexpectedAttribute(reader, i);
+                        }
+                        final ModelNode address = parentAddress.clone();
+                        list.add(Util.getWriteAttributeOperation(address, MAX_CONCURRENT_SERVER_LAUNCHES,
+                                HostRootDescription.MAX_CONCURRENT_SERVER_LAUNCHES.parse(value, reader)));
+                        break;
+                    }
                     default:
                         throw unexpectedAttribute(reader, i);
                 }
@@ -1060,7 +1100,7 @@ public class HostXml extends CommonXml implements ManagementXml.Delegate {
 
     private void parseServers_1_2(final XMLExtendedStreamReader reader, final ModelNode address, final Namespace expectedNs,
             final List<ModelNode> list) throws XMLStreamException {
-        parseServersAttributes(reader, address, list);
+        parseServersAttributes(reader, address, expectedNs, list);
         // Handle elements
         final Set<String> names = new HashSet<String>();
         while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
@@ -1320,6 +1360,8 @@ public class HostXml extends CommonXml implements ManagementXml.Delegate {
         writer.writeStartElement(Element.HTTP_INTERFACE.getLocalName());
         HttpManagementResourceDefinition.SECURITY_REALM.marshallAsAttribute(protocol, writer);
         HttpManagementResourceDefinition.CONSOLE_ENABLED.marshallAsAttribute(protocol, writer);
+        HttpManagementResourceDefinition.MAX_THREADS.marshallAsAttribute(protocol, false, writer);
+        HttpManagementResourceDefinition.READ_ONLY_THREADS.marshallAsAttribute(protocol, false, writer);
 
         writer.writeEmptyElement(Element.SOCKET.getLocalName());
         HttpManagementResourceDefinition.INTERFACE.marshallAsAttribute(protocol, writer);
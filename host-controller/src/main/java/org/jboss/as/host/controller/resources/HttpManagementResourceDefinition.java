@@ -37,12 +37,14 @@ import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.parsing.Attribute;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.domain.http.server.RequestLimiter;
 import org.jboss.as.host.controller.HostControllerEnvironment;
 import org.jboss.as.host.controller.descriptions.HostRootDescription;
 import org.jboss.as.host.controller.operations.HttpManagementAddHandler;
 import org.jboss.as.host.controller.operations.HttpManagementRemoveHandler;
 import org.jboss.as.host.controller.operations.HttpManagementWriteAttributeHandler;
 import org.jboss.as.host.controller.operations.LocalHostControllerInfoImpl;
+import org.jboss.as.server.operations.HttpManagementMetricsHandler;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -79,7 +81,19 @@ public class HttpManagementResourceDefinition extends SimpleResourceDefinition {
                 .setDefaultValue(new ModelNode(true))
                 .build();
 
-    public static final AttributeDefinition[] ATTRIBUTE_DEFINITIONS = new AttributeDefinition[] {INTERFACE, HTTP_PORT, HTTPS_PORT, SECURITY_REALM,CONSOLE_ENABLED};
+    public static final SimpleAttributeDefinition MAX_THREADS = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.MAX_THREADS, ModelType.INT, true)
+            .setXmlName(Attribute.MAX_THREADS.getLocalName())
+            .setAllowExpression(true).setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, true, true))
+            .setDefaultValue(new ModelNode(RequestLimiter.DEFAULT_MAX_THREADS))
+            .build();
+
+    public static final SimpleAttributeDefinition READ_ONLY_THREADS = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.READ_ONLY_THREADS, ModelType.INT, true)
+            .setXmlName(Attribute.READ_ONLY_THREADS.getLocalName())
+            .setAllowExpression(true).setValidator(new IntRangeValidator(0, Integer.MAX_VALUE, true, true))
+            .setDefaultValue(new ModelNode(RequestLimiter.DEFAULT_READ_ONLY_THREADS))
+            .build();
+
+    public static final AttributeDefinition[] ATTRIBUTE_DEFINITIONS = new AttributeDefinition[] {INTERFACE, HTTP_PORT, HTTPS_PORT, SECURITY_REALM,CONSOLE_ENABLED, MAX_THREADS, READ_ONLY_THREADS};
 
     public HttpManagementResourceDefinition(final LocalHostControllerInfoImpl hostControllerInfo,
                                              final HostControllerEnvironment environment) {
@@ -98,5 +112,8 @@ public class HttpManagementResourceDefinition extends SimpleResourceDefinition {
         for (AttributeDefinition attr : ATTRIBUTE_DEFINITIONS) {
             resourceRegistration.registerReadWriteAttribute(attr, null, writeAttributeHandler);
         }
+        for (AttributeDefinition metric : HttpManagementMetricsHandler.METRICS) {
+            resourceRegistration.registerMetric(metric, HttpManagementMetricsHandler.INSTANCE);
+        }
     }
 }
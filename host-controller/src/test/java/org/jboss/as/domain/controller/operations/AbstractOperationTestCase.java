@@ -119,6 +119,14 @@ public abstract class AbstractOperationTestCase {
             return null;
         }
 
+        public int getHttpManagementMaxThreads() {
+            return 0;
+        }
+
+        public int getHttpManagementReadOnlyThreads() {
+            return 0;
+        }
+
         public String getRemoteDomainControllerHost() {
             return null;
         }
@@ -165,6 +173,7 @@ public abstract class AbstractOperationTestCase {
         private final PathAddress operationAddress;
         private Set<PathAddress> expectedSteps = new HashSet<PathAddress>();
         private final Map<AttachmentKey<?>, Object> valueAttachments = new HashMap<AttachmentKey<?>, Object>();
+        private final ModelNode responseHeaders = new ModelNode();
 
 
         private MockOperationContext(final Resource root, final boolean booting, final PathAddress operationAddress) {
@@ -231,6 +240,11 @@ public abstract class AbstractOperationTestCase {
             return null;
         }
 
+        @Override
+        public ModelNode getResponseHeaders() {
+            return responseHeaders;
+        }
+
         public OperationContext.ResultAction completeStep() {
             return null;
         }
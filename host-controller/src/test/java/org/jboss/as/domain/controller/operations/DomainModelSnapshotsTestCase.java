@@ -0,0 +1,146 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PATH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SYSTEM_PROPERTY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests of the versions of the domain model sent to registering slave host-controllers.
+ */
+public class DomainModelSnapshotsTestCase {
+
+    @Test
+    public void testDigestIgnoresResourceOrder() {
+        final Resource one = Resource.Factory.create();
+        addProperty(one, "a", "1");
+        addProperty(one, "b", "2");
+        final Resource two = Resource.Factory.create();
+        addProperty(two, "b", "2");
+        addProperty(two, "a", "1");
+        assertEquals(digest(one), digest(two));
+
+        addProperty(two, "c", "3");
+        assertTrue(!digest(one).equals(digest(two)));
+    }
+
+    @Test
+    public void testChangesSinceKnownVersion() {
+        final DomainModelSnapshots snapshots = new DomainModelSnapshots();
+        final Resource root = Resource.Factory.create();
+        addProperty(root, "a", "1");
+        addProperty(root, "b", "2");
+        root.registerChild(PathElement.pathElement(PATH, "some-path"), Resource.Factory.create());
+        final DomainModelSnapshots.Snapshot first = snapshots.getCurrent(root, false);
+
+        root.removeChild(PathElement.pathElement(PATH, "some-path"));
+        root.getChild(PathElement.pathElement(SYSTEM_PROPERTY, "a")).getModel().get(VALUE).set("changed");
+        addProperty(root, "c", "3");
+        final DomainModelSnapshots.Snapshot second = snapshots.getCurrent(root, false);
+        assertNotSame(first, second);
+
+        final List<ModelNode> changes = snapshots.getChanges(second, first.getDigest());
+        assertEquals(3, changes.size());
+        final ModelNode removed = changes.get(0);
+        assertEquals(PathAddress.pathAddress(PathElement.pathElement(PATH, "some-path")), PathAddress.pathAddress(removed.get(ReadMasterDomainModelHandler.DOMAIN_RESOURCE_ADDRESS)));
+        assertTrue(removed.get(ReadMasterDomainModelHandler.DOMAIN_RESOURCE_REMOVED).asBoolean());
+        final Map<PathAddress, ModelNode> changed = new HashMap<PathAddress, ModelNode>();
+        for (ModelNode change : changes.subList(1, changes.size())) {
+            changed.put(PathAddress.pathAddress(change.get(ReadMasterDomainModelHandler.DOMAIN_RESOURCE_ADDRESS)), change.get(ReadMasterDomainModelHandler.DOMAIN_RESOURCE_MODEL));
+        }
+        assertEquals("changed", changed.get(PathAddress.pathAddress(PathElement.pathElement(SYSTEM_PROPERTY, "a"))).get(VALUE).asString());
+        assertEquals("3", changed.get(PathAddress.pathAddress(PathElement.pathElement(SYSTEM_PROPERTY, "c"))).get(VALUE).asString());
+
+        // The changes are computed once and shared by all slaves with the same version
+        assertSame(changes, snapshots.getChanges(second, first.getDigest()));
+        assertTrue(snapshots.getChanges(second, second.getDigest()).isEmpty());
+        assertNull(snapshots.getChanges(second, "unknown"));
+    }
+
+    @Test
+    public void testSerializedFormsAreShared() throws Exception {
+        final DomainModelSnapshots snapshots = new DomainModelSnapshots();
+        final Resource root = Resource.Factory.create();
+        addProperty(root, "a", "1");
+        final DomainModelSnapshots.Snapshot first = snapshots.getCurrent(root, false);
+        addProperty(root, "b", "2");
+        final DomainModelSnapshots.Snapshot second = snapshots.getCurrent(root, false);
+
+        final byte[] resources = snapshots.getSerializedResources(second);
+        assertSame(resources, snapshots.getSerializedResources(second));
+        assertEquals(second.getResources(), deserialize(resources));
+
+        final byte[] changes = snapshots.getSerializedChanges(second, first.getDigest());
+        assertSame(changes, snapshots.getSerializedChanges(second, first.getDigest()));
+        assertEquals(snapshots.getChanges(second, first.getDigest()), deserialize(changes));
+        assertNull(snapshots.getSerializedChanges(second, "unknown"));
+    }
+
+    @Test
+    public void testOldVersionsAreForgotten() {
+        final DomainModelSnapshots snapshots = new DomainModelSnapshots();
+        final Resource root = Resource.Factory.create();
+        final DomainModelSnapshots.Snapshot first = snapshots.getCurrent(root, false);
+        DomainModelSnapshots.Snapshot current = first;
+        for (int i = 0; i < DomainModelSnapshots.MAX_SNAPSHOTS; i++) {
+            addProperty(root, "prop" + i, "value");
+            current = snapshots.getCurrent(root, false);
+        }
+        assertNull(snapshots.getChanges(current, first.getDigest()));
+    }
+
+    private static void addProperty(final Resource root, final String name, final String value) {
+        final Resource property = Resource.Factory.create();
+        property.getModel().get(VALUE).set(value);
+        root.registerChild(PathElement.pathElement(SYSTEM_PROPERTY, name), property);
+    }
+
+    private static List<ModelNode> deserialize(final byte[] bytes) throws IOException {
+        final ModelNode list = new ModelNode();
+        list.readExternal(new DataInputStream(new ByteArrayInputStream(bytes)));
+        return list.asList();
+    }
+
+    private static String digest(final Resource root) {
+        return DomainModelSnapshots.digest(ReadMasterDomainModelHandler.describeAsNodeList(root));
+    }
+}
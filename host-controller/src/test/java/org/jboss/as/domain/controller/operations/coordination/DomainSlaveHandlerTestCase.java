@@ -0,0 +1,350 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations.coordination;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProxyController;
+import org.jboss.as.controller.ProxyOperationAddressTranslator;
+import org.jboss.as.controller.client.OperationAttachments;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.remote.RemoteProxyController;
+import org.jboss.as.controller.remote.TransactionalProtocolClient;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.jboss.threads.AsyncFutureTask;
+import org.jboss.threads.JBossExecutors;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests how {@link DomainSlaveHandler} fans an operation out to the slave hosts, times them out and finishes the
+ * transaction on them.
+ */
+public class DomainSlaveHandlerTestCase {
+
+    private static final long NEVER = TimeUnit.HOURS.toMillis(1);
+
+    private final ScheduledExecutorService timer = Executors.newScheduledThreadPool(4);
+    private final AtomicInteger executing = new AtomicInteger();
+    private final AtomicInteger maxExecuting = new AtomicInteger();
+    private final Map<String, StubHost> hosts = new LinkedHashMap<String, StubHost>();
+    private final DomainOperationContext domainContext = new DomainOperationContext(null);
+
+    @After
+    public void cleanup() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    public void testAllHostsCommitted() throws Exception {
+        addHost("a", 10, false, false);
+        addHost("b", 20, false, false);
+        domainContext.setCompleteRollback(false);
+
+        execute(0, 0);
+
+        for (Map.Entry<String, StubHost> entry : hosts.entrySet()) {
+            assertEquals(SUCCESS, domainContext.getHostControllerResults().get(entry.getKey()).get(OUTCOME).asString());
+            assertTrue(entry.getValue().committed.get());
+            assertFalse(entry.getValue().rolledBack.get());
+        }
+        assertEquals(hosts.keySet(), domainContext.getHostLatencies().keySet());
+    }
+
+    @Test
+    public void testFailedHostRolledBack() throws Exception {
+        addHost("a", 10, false, false);
+        addHost("b", 10, true, false);
+
+        execute(0, 0);
+
+        final Map<String, ModelNode> results = domainContext.getHostControllerResults();
+        assertEquals(FAILED, results.get("b").get(OUTCOME).asString());
+        for (StubHost host : hosts.values()) {
+            assertTrue(host.rolledBack.get());
+            assertFalse(host.committed.get());
+        }
+    }
+
+    @Test
+    public void testTimedOutHostCancelled() throws Exception {
+        addHost("fast", 10, false, false);
+        addHost("hung", NEVER, false, false);
+        domainContext.setCompleteRollback(false);
+
+        final long start = System.currentTimeMillis();
+        execute(200, 0);
+        assertTrue(System.currentTimeMillis() - start < NEVER);
+
+        final Map<String, ModelNode> results = domainContext.getHostControllerResults();
+        assertEquals(SUCCESS, results.get("fast").get(OUTCOME).asString());
+        assertEquals(FAILED, results.get("hung").get(OUTCOME).asString());
+        assertTrue(results.get("hung").hasDefined(FAILURE_DESCRIPTION));
+        assertTrue(hosts.get("hung").cancelled.get());
+        assertTrue(hosts.get("fast").committed.get());
+    }
+
+    @Test
+    public void testLatePreparedHostRolledBack() throws Exception {
+        // "late" times out at 500ms but prepares at 1000ms, while "third", sent at ~900ms, is still executing
+        addHost("late", 1000, false, true);
+        addHost("second", 400, false, false);
+        addHost("third", 400, false, false);
+        domainContext.setCompleteRollback(false);
+
+        execute(500, 1);
+
+        final Map<String, ModelNode> results = domainContext.getHostControllerResults();
+        assertEquals(FAILED, results.get("late").get(OUTCOME).asString());
+        assertTrue(hosts.get("late").rolledBack.get());
+        assertFalse(hosts.get("late").committed.get());
+        assertTrue(hosts.get("second").committed.get());
+        assertTrue(hosts.get("third").committed.get());
+    }
+
+    @Test
+    public void testPreparedAfterCompletionRolledBack() throws Exception {
+        // "late" times out at 200ms and prepares at 1000ms, after the handler has returned
+        addHost("fast", 10, false, false);
+        addHost("late", 1000, false, true);
+        domainContext.setCompleteRollback(false);
+
+        execute(200, 0);
+        assertFalse(hosts.get("late").rolledBack.get());
+
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (!hosts.get("late").rolledBack.get() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(hosts.get("late").rolledBack.get());
+        assertFalse(hosts.get("late").committed.get());
+        assertTrue(hosts.get("fast").committed.get());
+    }
+
+    @Test
+    public void testMaxConcurrentHosts() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            addHost("host" + i, 50, false, false);
+        }
+        domainContext.setCompleteRollback(false);
+
+        execute(0, 2);
+
+        assertEquals(2, maxExecuting.get());
+        for (Map.Entry<String, StubHost> entry : hosts.entrySet()) {
+            assertEquals(SUCCESS, domainContext.getHostControllerResults().get(entry.getKey()).get(OUTCOME).asString());
+            assertTrue(entry.getValue().committed.get());
+        }
+    }
+
+    @Test
+    public void testInterruptedCancelsAllHosts() throws Exception {
+        addHost("a", NEVER, false, false);
+        addHost("b", NEVER, false, false);
+
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        final Thread caller = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    execute(0, 0);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+                interrupted.set(Thread.currentThread().isInterrupted());
+            }
+        });
+        caller.start();
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (executing.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        caller.interrupt();
+        caller.join(10000);
+
+        assertFalse(caller.isAlive());
+        assertTrue(interrupted.get());
+        assertTrue(domainContext.isFailureReported());
+        for (Map.Entry<String, StubHost> entry : hosts.entrySet()) {
+            assertTrue(entry.getValue().cancelled.get());
+            assertEquals(FAILED, domainContext.getHostControllerResults().get(entry.getKey()).get(OUTCOME).asString());
+        }
+    }
+
+    private void addHost(final String name, final long delay, final boolean fail, final boolean ignoreCancel) {
+        hosts.put(name, new StubHost(delay, fail, ignoreCancel));
+    }
+
+    private void execute(final long hostTimeout, final int maxConcurrentHosts) throws Exception {
+        final Map<String, ProxyController> proxies = new LinkedHashMap<String, ProxyController>();
+        for (Map.Entry<String, StubHost> entry : hosts.entrySet()) {
+            final PathAddress address = PathAddress.pathAddress(PathElement.pathElement(HOST, entry.getKey()));
+            proxies.put(entry.getKey(), RemoteProxyController.create(entry.getValue(), address, ProxyOperationAddressTranslator.HOST));
+        }
+        final ModelNode operation = new ModelNode();
+        operation.get(OP).set("test");
+        new DomainSlaveHandler(proxies, domainContext, null, hostTimeout, maxConcurrentHosts)
+                .execute(mock(OperationContext.class), operation);
+    }
+
+    /**
+     * A slave host which prepares its part of the operation after a delay.
+     */
+    private class StubHost implements TransactionalProtocolClient {
+
+        private final long delay;
+        private final boolean fail;
+        private final boolean ignoreCancel;
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final AtomicBoolean committed = new AtomicBoolean();
+        final AtomicBoolean rolledBack = new AtomicBoolean();
+
+        StubHost(final long delay, final boolean fail, final boolean ignoreCancel) {
+            this.delay = delay;
+            this.fail = fail;
+            this.ignoreCancel = ignoreCancel;
+        }
+
+        @Override
+        public AsyncFuture<ModelNode> execute(final TransactionalOperationListener<Operation> listener, final ModelNode operation,
+                                              final OperationMessageHandler messageHandler, final OperationAttachments attachments) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T extends Operation> AsyncFuture<ModelNode> execute(final TransactionalOperationListener<T> listener, final T operation) throws IOException {
+            final int current = executing.incrementAndGet();
+            int max;
+            while ((max = maxExecuting.get()) < current && !maxExecuting.compareAndSet(max, current)) {
+                //
+            }
+            final FinalResult finalResult = new FinalResult();
+            timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    executing.decrementAndGet();
+                    if (!cancelled.get() || ignoreCancel) {
+                        listener.operationPrepared(new Prepared<T>(operation, finalResult));
+                    }
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+            return finalResult;
+        }
+
+        private class FinalResult extends AsyncFutureTask<ModelNode> {
+
+            FinalResult() {
+                super(JBossExecutors.directExecutor());
+            }
+
+            @Override
+            public void asyncCancel(final boolean interruptionDesired) {
+                cancelled.set(true);
+                setCancelled();
+            }
+
+            void complete(final ModelNode result) {
+                setResult(result);
+            }
+        }
+
+        private class Prepared<T extends Operation> implements PreparedOperation<T> {
+
+            private final T operation;
+            private final FinalResult finalResult;
+            private final ModelNode result = new ModelNode();
+
+            Prepared(final T operation, final FinalResult finalResult) {
+                this.operation = operation;
+                this.finalResult = finalResult;
+                if (fail) {
+                    result.get(OUTCOME).set(FAILED);
+                    result.get(FAILURE_DESCRIPTION).set("failed");
+                } else {
+                    result.get(OUTCOME).set(SUCCESS);
+                    result.get(RESULT);
+                }
+            }
+
+            @Override
+            public T getOperation() {
+                return operation;
+            }
+
+            @Override
+            public ModelNode getPreparedResult() {
+                return result;
+            }
+
+            @Override
+            public boolean isFailed() {
+                return fail;
+            }
+
+            @Override
+            public boolean isDone() {
+                return false;
+            }
+
+            @Override
+            public AsyncFuture<ModelNode> getFinalResult() {
+                return finalResult;
+            }
+
+            @Override
+            public void commit() {
+                committed.set(true);
+                finalResult.complete(result);
+            }
+
+            @Override
+            public void rollback() {
+                rolledBack.set(true);
+                finalResult.complete(result);
+            }
+        }
+    }
+}
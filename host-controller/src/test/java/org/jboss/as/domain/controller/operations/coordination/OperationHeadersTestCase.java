@@ -0,0 +1,87 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations.coordination;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests the validation of the operation headers that control how an operation is fanned out to the slave hosts.
+ */
+public class OperationHeadersTestCase {
+
+    @Test
+    public void testMissingHeader() throws Exception {
+        final ModelNode operation = new ModelNode();
+        assertEquals(0, OperationCoordinatorStepHandler.removeNonNegativeHeader(operation, DomainSlaveHandler.HOST_TIMEOUT, Long.MAX_VALUE));
+        operation.get(OPERATION_HEADERS, DomainSlaveHandler.HOST_TIMEOUT);
+        assertEquals(0, OperationCoordinatorStepHandler.removeNonNegativeHeader(operation, DomainSlaveHandler.HOST_TIMEOUT, Long.MAX_VALUE));
+        assertFalse(operation.get(OPERATION_HEADERS).has(DomainSlaveHandler.HOST_TIMEOUT));
+    }
+
+    @Test
+    public void testValidHeaders() throws Exception {
+        final ModelNode operation = new ModelNode();
+        operation.get(OPERATION_HEADERS, DomainSlaveHandler.HOST_TIMEOUT).set(5000L);
+        operation.get(OPERATION_HEADERS, DomainSlaveHandler.MAX_CONCURRENT_HOSTS).set("3");
+        assertEquals(5000L, OperationCoordinatorStepHandler.removeNonNegativeHeader(operation, DomainSlaveHandler.HOST_TIMEOUT, Long.MAX_VALUE));
+        assertEquals(3L, OperationCoordinatorStepHandler.removeNonNegativeHeader(operation, DomainSlaveHandler.MAX_CONCURRENT_HOSTS, Integer.MAX_VALUE));
+        assertFalse(operation.get(OPERATION_HEADERS).has(DomainSlaveHandler.HOST_TIMEOUT));
+        assertFalse(operation.get(OPERATION_HEADERS).has(DomainSlaveHandler.MAX_CONCURRENT_HOSTS));
+    }
+
+    @Test
+    public void testNonNumericHeaderRejected() {
+        assertRejected(DomainSlaveHandler.HOST_TIMEOUT, new ModelNode("soon"), Long.MAX_VALUE);
+        assertRejected(DomainSlaveHandler.MAX_CONCURRENT_HOSTS, new ModelNode().add(1), Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testNegativeHeaderRejected() {
+        assertRejected(DomainSlaveHandler.HOST_TIMEOUT, new ModelNode(-1L), Long.MAX_VALUE);
+        assertRejected(DomainSlaveHandler.MAX_CONCURRENT_HOSTS, new ModelNode("-2"), Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testTooLargeHeaderRejected() {
+        assertRejected(DomainSlaveHandler.MAX_CONCURRENT_HOSTS, new ModelNode(Integer.MAX_VALUE + 1L), Integer.MAX_VALUE);
+    }
+
+    private static void assertRejected(final String header, final ModelNode value, final long max) {
+        final ModelNode operation = new ModelNode();
+        operation.get(OPERATION_HEADERS, header).set(value);
+        try {
+            OperationCoordinatorStepHandler.removeNonNegativeHeader(operation, header, max);
+            fail(header + " " + value + " was accepted");
+        } catch (OperationFailedException e) {
+            assertTrue(e.getFailureDescription().asString().contains(header));
+        }
+    }
+}
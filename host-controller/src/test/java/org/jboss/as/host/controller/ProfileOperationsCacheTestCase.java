@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests the invalidation of the profile operations reused by the host controller across server starts.
+ */
+public class ProfileOperationsCacheTestCase {
+
+    @Test
+    public void testReusedForSameVersion() {
+        final ProfileOperationsCache cache = new ProfileOperationsCache();
+        final ModelNode operations = operations("default");
+        assertNull(cache.get("default", 0));
+        cache.put("default", 0, operations);
+        assertSame(operations, cache.get("default", 0));
+        assertSame(operations, cache.get("default", 0));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSharedOperationsProtected() {
+        final ProfileOperationsCache cache = new ProfileOperationsCache();
+        cache.put("default", 0, operations("default"));
+        cache.get("default", 0).add("more");
+    }
+
+    @Test
+    public void testInvalidatedByVersionChange() {
+        final ProfileOperationsCache cache = new ProfileOperationsCache();
+        cache.put("default", 0, operations("default"));
+        cache.put("ha", 0, operations("ha"));
+
+        assertNull(cache.get("default", 1));
+        // the stale entries of all profiles are gone, including profiles which might have been removed
+        assertEquals(0, cache.size());
+
+        final ModelNode described = operations("default");
+        cache.put("default", 1, described);
+        assertSame(described, cache.get("default", 1));
+        assertNull(cache.get("ha", 1));
+    }
+
+    @Test
+    public void testStaleDescriptionNotKept() {
+        final ProfileOperationsCache cache = new ProfileOperationsCache();
+        // "default" is described from version 0 while a change to version 1 gets committed and seen
+        assertNull(cache.get("default", 0));
+        assertNull(cache.get("ha", 1));
+        cache.put("default", 0, operations("default"));
+        assertEquals(0, cache.size());
+        assertNull(cache.get("default", 1));
+    }
+
+    private static ModelNode operations(final String profile) {
+        final ModelNode operations = new ModelNode();
+        operations.add().get("profile").set(profile);
+        return operations;
+    }
+}
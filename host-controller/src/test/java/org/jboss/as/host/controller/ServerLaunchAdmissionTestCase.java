@@ -0,0 +1,176 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests the admission of servers by {@link ServerLaunchAdmission}.
+ */
+public class ServerLaunchAdmissionTestCase {
+
+    private final List<String> admitted = new ArrayList<String>();
+
+    @Test
+    public void testQueuedInOrder() {
+        final ServerLaunchAdmission admission = new ServerLaunchAdmission(2);
+        final Server a = new Server("a", admission);
+        final Server b = new Server("b", admission);
+        final Server c = new Server("c", admission);
+        final Server d = new Server("d", admission);
+
+        assertTrue(admission.admit(a));
+        assertTrue(admission.admit(b));
+        assertFalse(admission.admit(c));
+        assertFalse(admission.admit(d));
+        // admitting again neither takes more room nor queues twice
+        assertTrue(admission.admit(a));
+        assertFalse(admission.admit(c));
+
+        admission.release(a);
+        admission.notifyAdmitted();
+        assertEquals(list("c"), admitted);
+        assertTrue(admission.admit(c));
+
+        admission.release(b);
+        admission.release(c);
+        admission.notifyAdmitted();
+        assertEquals(list("c", "d"), admitted);
+    }
+
+    @Test
+    public void testReleaseWhileWaiting() {
+        final ServerLaunchAdmission admission = new ServerLaunchAdmission(1);
+        final Server a = new Server("a", admission);
+        final Server b = new Server("b", admission);
+        final Server c = new Server("c", admission);
+
+        assertTrue(admission.admit(a));
+        assertFalse(admission.admit(b));
+        assertFalse(admission.admit(c));
+        // b got stopped while waiting
+        admission.release(b);
+        admission.notifyAdmitted();
+        assertTrue(admitted.isEmpty());
+
+        admission.release(a);
+        admission.notifyAdmitted();
+        assertEquals(list("c"), admitted);
+    }
+
+    @Test
+    public void testNotifiedOutsideReleasingServerLock() {
+        final ServerLaunchAdmission admission = new ServerLaunchAdmission(1);
+        final Server a = new Server("a", admission);
+        final Server b = new Server("b", admission) {
+            @Override
+            public void admitted() {
+                assertFalse("notified while holding the lock of the releasing server", Thread.holdsLock(a));
+                super.admitted();
+            }
+        };
+
+        assertTrue(admission.admit(a));
+        assertFalse(admission.admit(b));
+        synchronized (a) {
+            admission.release(a);
+            assertTrue("notified by release()", admitted.isEmpty());
+        }
+        admission.notifyAdmitted();
+        assertEquals(list("b"), admitted);
+        // nothing left to notify
+        admission.notifyAdmitted();
+        assertEquals(list("b"), admitted);
+    }
+
+    @Test
+    public void testChangeLimit() {
+        final ServerLaunchAdmission admission = new ServerLaunchAdmission(1);
+        final Server a = new Server("a", admission);
+        final Server b = new Server("b", admission);
+        final Server c = new Server("c", admission);
+
+        assertTrue(admission.admit(a));
+        assertFalse(admission.admit(b));
+        assertFalse(admission.admit(c));
+
+        admission.setMaxConcurrentLaunches(2);
+        admission.notifyAdmitted();
+        assertEquals(list("b"), admitted);
+
+        // a lower limit does not affect servers already launching
+        admission.setMaxConcurrentLaunches(1);
+        admission.release(a);
+        admission.notifyAdmitted();
+        assertEquals(list("b"), admitted);
+        admission.release(b);
+        admission.notifyAdmitted();
+        assertEquals(list("b", "c"), admitted);
+    }
+
+    @Test
+    public void testNoLimit() {
+        final ServerLaunchAdmission admission = new ServerLaunchAdmission(0);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(admission.admit(new Server("server" + i, admission)));
+        }
+    }
+
+    private static List<String> list(final String... names) {
+        final List<String> list = new ArrayList<String>();
+        for (String name : names) {
+            list.add(name);
+        }
+        return list;
+    }
+
+    private class Server implements ServerLaunchAdmission.Launchable {
+
+        private final String name;
+        private final ServerLaunchAdmission admission;
+
+        Server(final String name, final ServerLaunchAdmission admission) {
+            this.name = name;
+            this.admission = admission;
+        }
+
+        @Override
+        public String getServerName() {
+            return name;
+        }
+
+        @Override
+        public void admitted() {
+            admitted.add(name);
+            // a server admitted while waiting takes the room handed over to it
+            assertTrue(admission.admit(this));
+        }
+    }
+}
@@ -166,6 +166,17 @@ public abstract class ContainerAnalysis  extends ClassAnalysis {
      */
     protected OperationAnalysis[] operations;
 
+    /**
+     * Drops the cached interface, value and exception analyses of all
+     * classes defined by the given class loader, e.g. when the deployment
+     * owning it is undeployed.
+     *
+     * @param loader the class loader
+     */
+    public static void clearCache(ClassLoader loader) {
+        WorkCacheManager.clearAll(loader);
+    }
+
     protected ContainerAnalysis(Class cls) {
         super(cls);
 
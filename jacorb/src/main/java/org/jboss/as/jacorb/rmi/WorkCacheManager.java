@@ -21,16 +21,20 @@
  */
 package org.jboss.as.jacorb.rmi;
 
-
 import java.lang.ref.SoftReference;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 
-import java.util.Map;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.jboss.as.jacorb.JacORBMessages;
 
@@ -50,13 +54,40 @@ import org.jboss.as.jacorb.JacORBMessages;
  * When a thread re-enters the <code>getAnalysis()</code> method, an
  * unfinished analysis will be returned if the same thread is already
  * working on this analysis.
- *
- * TODO: this looks like a big class loader leak waiting to happen
+ * <p/>
+ * Finished analyses are kept per class loader, in a weak map that only
+ * holds soft references to them, so unrelated classes are analysed in
+ * parallel and a class loader's entries can be dropped at once with
+ * {@link #clear(ClassLoader)} when its deployment goes away. Work in
+ * progress is only visible to the thread doing it, so it needs no locking.
+ * <p/>
+ * An analysis finished while the same thread is still working on an
+ * enclosing one may refer to that unfinished analysis. It is therefore
+ * only published to other threads once the outermost analysis of the
+ * thread, of any analysis type, is done, so that other threads never see
+ * an analysis that refers to unfinished work.
  *
  * @author <a href="mailto:osh@sparre.dk">Ole Husgaard</a>
  */
 class WorkCacheManager {
 
+    /**
+     * All work cache managers, so that a class loader can be cleared
+     * from every analysis type.
+     */
+    private static final List<WorkCacheManager> managers = new CopyOnWriteArrayList<WorkCacheManager>();
+
+    /**
+     * The analyses the current thread finished, of all analysis types, that
+     * wait for its outermost analysis to be done before they are published.
+     */
+    private static final ThreadLocal<Work> currentWork = new ThreadLocal<Work>() {
+        @Override
+        protected Work initialValue() {
+            return new Work();
+        }
+    };
+
     /**
      * Create a new work cache manager.
      *
@@ -71,8 +102,17 @@ class WorkCacheManager {
             throw JacORBMessages.MESSAGES.unexpectedException(ex);
         }
 
-        workDone = new WeakHashMap();
-        workInProgress = new HashMap();
+        managers.add(this);
+    }
+
+    /**
+     * Drops the analyses of all classes defined by the given class loader,
+     * from every analysis type.
+     */
+    static void clearAll(final ClassLoader loader) {
+        for (WorkCacheManager manager : managers) {
+            manager.clear(loader);
+        }
     }
 
     /**
@@ -81,37 +121,45 @@ class WorkCacheManager {
      * class, an unfinished analysis is returned.
      */
     ContainerAnalysis getAnalysis(final Class cls) throws RMIIIOPViolationException {
-        ContainerAnalysis ret;
-
-        synchronized (this) {
-            ret = lookupDone(cls);
-            if (ret != null)
-                return ret;
+        final ConcurrentMap<String, SoftReference<ContainerAnalysis>> done = getWorkDone(cls.getClassLoader());
+        ContainerAnalysis ret = lookupDone(done, cls);
+        if (ret != null)
+            return ret;
 
-            // is it work-in-progress?
-            final InProgress inProgress = (InProgress) workInProgress.get(cls);
-            if (inProgress != null) {
-                if (inProgress.thread == Thread.currentThread())
-                    return inProgress.analysis; // return unfinished
+        // is it work-in-progress of this thread, or finished but not yet published?
+        final Map<Class, ContainerAnalysis> inProgress = workInProgress.get();
+        ret = inProgress.get(cls);
+        if (ret != null)
+            return ret; // return unfinished
 
-                // Do not wait for the other thread: We may deadlock
-                // Double work is better that deadlock...
-            }
-
-            ret = createWorkInProgress(cls);
+        // Another thread may be analysing the same class: we do not wait
+        // for it, as we may deadlock. Double work is better that deadlock...
+        ret = createWorkInProgress(cls);
+        inProgress.put(cls, ret);
+        final Work work = currentWork.get();
+        ++work.depth;
+        boolean finished = false;
+        try {
+            // Do the work
+            doTheWork(ret);
+            work.finished.add(new Finished(this, done, cls, ret));
+            finished = true;
+        } finally {
+            if (!finished)
+                inProgress.remove(cls);
+            if (--work.depth == 0)
+                work.publish(finished);
         }
+        return ret;
+    }
 
-        // Do the work
-        doTheWork(cls, ret);
-
-        // We did it
-        synchronized (this) {
-            workInProgress.remove(cls);
-            workDone.put(cls, new SoftReference(ret));
-            notifyAll();
+    /**
+     * Drops the analyses of all classes defined by the given class loader.
+     */
+    void clear(final ClassLoader loader) {
+        synchronized (workDone) {
+            workDone.remove(loader);
         }
-
-        return ret;
     }
 
     /**
@@ -127,27 +175,47 @@ class WorkCacheManager {
     private final Method initializer;
 
     /**
-     * This maps the classes of completely done analyses to soft
-     * references of their analysis.
+     * This maps class loaders to the names of their classes with completely
+     * done analyses, to soft references of their analysis.
+     */
+    private final Map<ClassLoader, ConcurrentMap<String, SoftReference<ContainerAnalysis>>> workDone =
+            new WeakHashMap<ClassLoader, ConcurrentMap<String, SoftReference<ContainerAnalysis>>>();
+
+    /**
+     * This maps the classes of analyses the current thread is working on, or
+     * has finished but not yet published, to their analysis.
      */
-    private final Map workDone;
+    private final ThreadLocal<Map<Class, ContainerAnalysis>> workInProgress = new ThreadLocal<Map<Class, ContainerAnalysis>>() {
+        @Override
+        protected Map<Class, ContainerAnalysis> initialValue() {
+            return new HashMap<Class, ContainerAnalysis>();
+        }
+    };
 
     /**
-     * This maps the classes of analyses in progress to their
-     * analysis.
+     * Get the map of done analyses of a class loader.
      */
-    private final Map workInProgress;
+    private ConcurrentMap<String, SoftReference<ContainerAnalysis>> getWorkDone(final ClassLoader loader) {
+        synchronized (workDone) {
+            ConcurrentMap<String, SoftReference<ContainerAnalysis>> done = workDone.get(loader);
+            if (done == null) {
+                done = new ConcurrentHashMap<String, SoftReference<ContainerAnalysis>>();
+                workDone.put(loader, done);
+            }
+            return done;
+        }
+    }
 
     /**
      * Lookup an analysis in the fully done map.
      */
-    private ContainerAnalysis lookupDone(Class cls) {
-        SoftReference ref = (SoftReference) workDone.get(cls);
+    private ContainerAnalysis lookupDone(final ConcurrentMap<String, SoftReference<ContainerAnalysis>> done, final Class cls) {
+        final SoftReference<ContainerAnalysis> ref = done.get(cls.getName());
         if (ref == null)
             return null;
-        ContainerAnalysis ret = (ContainerAnalysis) ref.get();
+        final ContainerAnalysis ret = ref.get();
         if (ret == null)
-            workDone.remove(cls); // clear map entry if soft ref. was cleared.
+            done.remove(cls.getName(), ref); // clear map entry if soft ref. was cleared.
         return ret;
     }
 
@@ -155,9 +223,8 @@ class WorkCacheManager {
      * Create new work-in-progress.
      */
     private ContainerAnalysis createWorkInProgress(final Class cls) {
-        final ContainerAnalysis analysis;
         try {
-            analysis = (ContainerAnalysis) constructor.newInstance(cls);
+            return (ContainerAnalysis) constructor.newInstance(cls);
         } catch (InstantiationException ex) {
             throw new RuntimeException(ex.toString());
         } catch (IllegalAccessException ex) {
@@ -165,20 +232,59 @@ class WorkCacheManager {
         } catch (InvocationTargetException ex) {
             throw new RuntimeException(ex.toString());
         }
+    }
+
+    /**
+     * The analyses of a thread.
+     */
+    private static final class Work {
+        /**
+         * The number of analyses the thread is working on.
+         */
+        int depth;
+
+        /**
+         * The analyses the thread finished since it started its outermost one.
+         */
+        final List<Finished> finished = new ArrayList<Finished>();
+
+        /**
+         * Publish the finished analyses, once the outermost analysis is done.
+         * If it failed, the analyses it depends on are dropped instead.
+         */
+        void publish(final boolean succeeded) {
+            for (Finished f : finished) {
+                f.manager.workInProgress.get().remove(f.cls);
+                if (succeeded)
+                    f.done.put(f.cls.getName(), new SoftReference<ContainerAnalysis>(f.analysis));
+            }
+            finished.clear();
+        }
+    }
 
-        workInProgress.put(cls, new InProgress(analysis, Thread.currentThread()));
+    /**
+     * An analysis waiting to be published.
+     */
+    private static final class Finished {
+        final WorkCacheManager manager;
+        final ConcurrentMap<String, SoftReference<ContainerAnalysis>> done;
+        final Class cls;
+        final ContainerAnalysis analysis;
 
-        return analysis;
+        Finished(final WorkCacheManager manager, final ConcurrentMap<String, SoftReference<ContainerAnalysis>> done,
+                 final Class cls, final ContainerAnalysis analysis) {
+            this.manager = manager;
+            this.done = done;
+            this.cls = cls;
+            this.analysis = analysis;
+        }
     }
 
-    private void doTheWork(final Class cls, final ContainerAnalysis ret)
+    private void doTheWork(final ContainerAnalysis ret)
             throws RMIIIOPViolationException {
         try {
             initializer.invoke(ret);
         } catch (Throwable t) {
-            synchronized (this) {
-                workInProgress.remove(cls);
-            }
             if (t instanceof InvocationTargetException) // unwrap
                 t = ((InvocationTargetException) t).getTargetException();
 
@@ -191,18 +297,4 @@ class WorkCacheManager {
             throw new RuntimeException(t.toString());
         }
     }
-
-    /**
-     * A simple aggregate of work-in-progress, and the thread doing the work.
-     */
-    private static class InProgress {
-        ContainerAnalysis analysis;
-        Thread thread;
-
-        InProgress(final ContainerAnalysis analysis, final Thread thread) {
-            this.analysis = analysis;
-            this.thread = thread;
-        }
-    }
 }
-
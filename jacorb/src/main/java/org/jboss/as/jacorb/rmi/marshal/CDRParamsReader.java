@@ -0,0 +1,43 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.jacorb.rmi.marshal;
+
+import org.omg.CORBA_2_3.portable.InputStream;
+
+/**
+ * Interface of an object that knows how to unmarshal the whole sequence of
+ * parameters of a given method from a CDR input stream. Implementations are
+ * usually generated for the method's signature, so that each parameter is
+ * read directly rather than through a <code>CDRStreamReader</code>.
+ *
+ * @see org.jboss.as.jacorb.rmi.marshal.strategy.SkeletonStrategy
+ */
+public interface CDRParamsReader {
+    /**
+     * Unmarshals the method parameters from a CDR input stream.
+     *
+     * @param in the input stream
+     * @return an object array with the parameters, basic data types
+     *         within suitable wrapper instances
+     */
+    Object[] read(InputStream in);
+}
@@ -348,6 +348,22 @@ public class CDRStream {
         }
     }
 
+    /**
+     * Unmarshals a <code>String</code> from a CDR input stream. Used by
+     * generated <code>CDRParamsReader</code>s.
+     */
+    public static String readString(InputStream in) {
+        return (String) in.read_value(String.class);
+    }
+
+    /**
+     * Marshals a <code>String</code> into a CDR output stream. Used by
+     * generated <code>CDRParamsWriter</code>s.
+     */
+    public static void writeString(OutputStream out, Object obj) {
+        out.write_value((String) obj, String.class);
+    }
+
     // Private -----------------------------------------------------------------
 
     // Static inner classes (all of them private) ------------------------------
@@ -36,6 +36,7 @@ import org.omg.CORBA_2_3.portable.OutputStream;
 import org.jboss.as.jacorb.rmi.ExceptionAnalysis;
 import org.jboss.as.jacorb.rmi.RMIIIOPViolationException;
 
+import org.jboss.as.jacorb.rmi.marshal.CDRParamsReader;
 import org.jboss.as.jacorb.rmi.marshal.CDRStream;
 import org.jboss.as.jacorb.rmi.marshal.CDRStreamReader;
 import org.jboss.as.jacorb.rmi.marshal.CDRStreamWriter;
@@ -56,6 +57,12 @@ public class SkeletonStrategy {
      */
     private final CDRStreamReader[] paramReaders;
 
+    /**
+     * A <code>CDRParamsReader</code> generated for the method signature, or
+     * null if the parameters are unmarshalled by the <code>paramReaders</code>.
+     */
+    private final CDRParamsReader paramsReader;
+
     /**
      * A <code>Method</code> instance.
      */
@@ -81,8 +88,18 @@ public class SkeletonStrategy {
     * Constructs a <code>SkeletonStrategy</code> for a given method.
     */
     public SkeletonStrategy(final Method m) {
+        this(m, null);
+    }
+
+    /*
+    * Constructs a <code>SkeletonStrategy</code> for a given method, which
+    * unmarshals the method parameters with the given
+    * <code>CDRParamsReader</code>, if it is not null.
+    */
+    public SkeletonStrategy(final Method m, final CDRParamsReader paramsReader) {
         // Keep the method
         this.m = m;
+        this.paramsReader = paramsReader;
 
         // Initialize paramReaders
         Class[] paramTypes = m.getParameterTypes();
@@ -121,6 +138,9 @@ public class SkeletonStrategy {
      * @return an object array with the parameters.
      */
     public Object[] readParams(InputStream in) {
+        if (paramsReader != null) {
+            return paramsReader.read(in);
+        }
         int len = paramReaders.length;
         Object[] params = new Object[len];
         for (int i = 0; i < len; i++) {
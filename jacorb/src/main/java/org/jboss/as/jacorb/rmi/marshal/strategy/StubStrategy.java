@@ -39,6 +39,7 @@ import org.omg.CORBA.portable.IDLEntity;
 import org.omg.CORBA_2_3.portable.InputStream;
 import org.omg.CORBA_2_3.portable.OutputStream;
 
+import org.jboss.as.jacorb.rmi.marshal.CDRParamsWriter;
 import org.jboss.as.jacorb.rmi.marshal.CDRStream;
 import org.jboss.as.jacorb.rmi.marshal.CDRStreamReader;
 import org.jboss.as.jacorb.rmi.marshal.CDRStreamWriter;
@@ -60,6 +61,12 @@ public class StubStrategy {
      */
     private CDRStreamWriter[] paramWriters;
 
+    /**
+     * A <code>CDRParamsWriter</code> generated for the method signature, or
+     * null if the parameters are marshalled by the <code>paramWriters</code>.
+     */
+    private CDRParamsWriter paramsWriter;
+
     /**
      * List of exception classes.
      */
@@ -114,7 +121,39 @@ public class StubStrategy {
         // org.jboss.proxy.ProxyAssembler.
 
         return new StubStrategy(paramTypes, excepIds,
-                excepTypes, retvalType, cl);
+                excepTypes, retvalType, cl, null);
+    }
+
+    /**
+     * Returns an <code>StubStrategy</code> for a method, given descriptions
+     * of the method parameters, exceptions, and return value, that marshals
+     * the method parameters with the given <code>CDRParamsWriter</code>.
+     *
+     * @param paramTypes   a string array with marshaller abbreviated names for
+     *                     the method parameters
+     * @param excepIds     a string array with the CORBA repository ids of the
+     *                     exceptions thrown by the method
+     * @param excepTypes   a string array with the Java class names of the
+     *                     exceptions thrown by the method
+     * @param retvalType   marshaller abbreaviated name for the return value of
+     *                     the method
+     * @param cl           a <code>ClassLoader</code> to load value classes
+     *                     (if null, the current thread's context class loader
+     *                     will be used)
+     * @param paramsWriter a <code>CDRParamsWriter</code> for the method
+     *                     parameters, or null to use a
+     *                     <code>CDRStreamWriter</code> per parameter
+     * @return an <code>StubStrategy</code> for the operation with the
+     *         parameters, exceptions, and return value specified.
+     */
+    public static StubStrategy forMethod(String[] paramTypes,
+                                         String[] excepIds,
+                                         String[] excepTypes,
+                                         String retvalType,
+                                         ClassLoader cl,
+                                         CDRParamsWriter paramsWriter) {
+        return new StubStrategy(paramTypes, excepIds,
+                excepTypes, retvalType, cl, paramsWriter);
     }
 
 
@@ -135,14 +174,17 @@ public class StubStrategy {
      * @param cl         a <code>ClassLoader</code> to load value classes
      *                   (if null, the current thread's context class loader
      *                   will be used)
+     * @param paramsWriter a <code>CDRParamsWriter</code> for the method
+     *                   parameters, or null
      * @see org.jboss.as.jacorb.rmi.marshal.CDRStream#abbrevFor(Class clz)
      */
     private StubStrategy(String[] paramTypes, String[] excepIds,
                          String[] excepTypes, String retvalType,
-                         ClassLoader cl) {
+                         ClassLoader cl, CDRParamsWriter paramsWriter) {
         if (cl == null) {
             cl = Thread.currentThread().getContextClassLoader();
         }
+        this.paramsWriter = paramsWriter;
 
         // Initialize paramWriters
         int len = paramTypes.length;
@@ -192,17 +234,32 @@ public class StubStrategy {
         if (len != paramWriters.length) {
             throw JacORBMessages.MESSAGES.errorMashalingParams();
         }
+        if (paramsWriter != null) {
+            paramsWriter.write(out, params);
+            return;
+        }
         for (int i = 0; i < len; i++) {
-            Object param = params[i];
-            if (param instanceof PortableRemoteObject) {
-                try {
-                    param = PortableRemoteObject.toStub((Remote) param);
-                } catch (NoSuchObjectException e) {
-                    throw new RuntimeException(e);
-                }
+            writeParam(paramWriters[i], out, params[i]);
+        }
+    }
+
+    /**
+     * Marshals a method parameter of object type into an output stream,
+     * replacing remote objects by their stubs.
+     *
+     * @param writer the <code>CDRStreamWriter</code> for the parameter type
+     * @param out    a CDR output stream
+     * @param param  the parameter
+     */
+    public static void writeParam(CDRStreamWriter writer, OutputStream out, Object param) {
+        if (param instanceof PortableRemoteObject) {
+            try {
+                param = PortableRemoteObject.toStub((Remote) param);
+            } catch (NoSuchObjectException e) {
+                throw new RuntimeException(e);
             }
-            paramWriters[i].write(out, RemoteObjectSubstitutionManager.writeReplaceRemote(param));
         }
+        writer.write(out, RemoteObjectSubstitutionManager.writeReplaceRemote(param));
     }
 
     /**
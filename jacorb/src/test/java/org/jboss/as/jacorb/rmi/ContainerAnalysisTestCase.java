@@ -0,0 +1,188 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jacorb.rmi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the caching of the RMI/IDL analyses by {@link WorkCacheManager}.
+ */
+public class ContainerAnalysisTestCase {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 50;
+
+    private final ClassLoader loader = AnalysisTestRemote.class.getClassLoader();
+
+    @After
+    public void clearCache() {
+        ContainerAnalysis.clearCache(loader);
+    }
+
+    @Test
+    public void testAnalysesAreCached() throws Exception {
+        InterfaceAnalysis remote = InterfaceAnalysis.getInterfaceAnalysis(AnalysisTestRemote.class);
+        assertSame(remote, InterfaceAnalysis.getInterfaceAnalysis(AnalysisTestRemote.class));
+        ValueAnalysis value = ValueAnalysis.getValueAnalysis(AnalysisTestValue.class);
+        assertSame(value, ValueAnalysis.getValueAnalysis(AnalysisTestValue.class));
+        ExceptionAnalysis exception = ExceptionAnalysis.getExceptionAnalysis(AnalysisTestException.class);
+        assertSame(exception, ExceptionAnalysis.getExceptionAnalysis(AnalysisTestException.class));
+    }
+
+    @Test
+    public void testClearCacheDropsAnalyses() throws Exception {
+        InterfaceAnalysis remote = InterfaceAnalysis.getInterfaceAnalysis(AnalysisTestRemote.class);
+        ValueAnalysis value = ValueAnalysis.getValueAnalysis(AnalysisTestValue.class);
+        ExceptionAnalysis exception = ExceptionAnalysis.getExceptionAnalysis(AnalysisTestException.class);
+        ValueAnalysis jdkValue = ValueAnalysis.getValueAnalysis(Exception.class);
+
+        ContainerAnalysis.clearCache(loader);
+
+        InterfaceAnalysis newRemote = InterfaceAnalysis.getInterfaceAnalysis(AnalysisTestRemote.class);
+        assertNotSame(remote, newRemote);
+        assertNotSame(value, ValueAnalysis.getValueAnalysis(AnalysisTestValue.class));
+        assertNotSame(exception, ExceptionAnalysis.getExceptionAnalysis(AnalysisTestException.class));
+        assertEquals(remote.getRepositoryId(), newRemote.getRepositoryId());
+        // the analyses of other class loaders are kept
+        assertSame(jdkValue, ValueAnalysis.getValueAnalysis(Exception.class));
+    }
+
+    @Test
+    public void testFailedAnalysisIsNotCached() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            try {
+                ExceptionAnalysis.getExceptionAnalysis(AnalysisTestValue.class);
+                fail("A value type is not an exception");
+            } catch (RMIIIOPViolationException expected) {
+                // expected
+            }
+        }
+        assertComplete(ValueAnalysis.getValueAnalysis(AnalysisTestValue.class));
+    }
+
+    @Test
+    public void testConcurrentAnalysisOfRecursiveTypes() throws Exception {
+        final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                ContainerAnalysis.clearCache(loader);
+                final List<Future<List<ContainerAnalysis>>> results = new ArrayList<Future<List<ContainerAnalysis>>>();
+                for (int i = 0; i < THREADS; i++) {
+                    final int start = i % 3;
+                    results.add(executor.submit(new Callable<List<ContainerAnalysis>>() {
+                        @Override
+                        public List<ContainerAnalysis> call() throws Exception {
+                            barrier.await(10, TimeUnit.SECONDS);
+                            // enter the cycle of analyses at a different type in each thread
+                            final List<ContainerAnalysis> analyses = new ArrayList<ContainerAnalysis>();
+                            for (int j = 0; j < 3; j++) {
+                                switch ((start + j) % 3) {
+                                    case 0:
+                                        analyses.add(InterfaceAnalysis.getInterfaceAnalysis(AnalysisTestRemote.class));
+                                        break;
+                                    case 1:
+                                        analyses.add(ValueAnalysis.getValueAnalysis(AnalysisTestValue.class));
+                                        break;
+                                    default:
+                                        analyses.add(ExceptionAnalysis.getExceptionAnalysis(AnalysisTestException.class));
+                                }
+                            }
+                            return analyses;
+                        }
+                    }));
+                }
+                for (Future<List<ContainerAnalysis>> result : results) {
+                    final List<ContainerAnalysis> analyses = result.get(30, TimeUnit.SECONDS);
+                    assertEquals(3, analyses.size());
+                    for (ContainerAnalysis analysis : analyses) {
+                        assertComplete(analysis);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Asserts that an analysis, and every analysis it refers to, is finished.
+     */
+    private static void assertComplete(final ContainerAnalysis analysis) {
+        assertComplete(analysis, new IdentityHashMap<ContainerAnalysis, Boolean>());
+    }
+
+    private static void assertComplete(final ContainerAnalysis analysis, final Map<ContainerAnalysis, Boolean> checked) {
+        if (analysis == null || checked.put(analysis, Boolean.TRUE) != null) {
+            return;
+        }
+        final String name = analysis.getCls().getName();
+        assertNotNull(name, analysis.getRepositoryId());
+        assertNotNull(name, analysis.interfaces);
+        assertNotNull(name, analysis.abstractBaseValuetypes);
+        assertNotNull(name, analysis.attributes);
+        assertNotNull(name, analysis.constants);
+        assertNotNull(name, analysis.operations);
+        for (InterfaceAnalysis intf : analysis.getInterfaces()) {
+            assertComplete(intf, checked);
+        }
+        for (ValueAnalysis base : analysis.getAbstractBaseValuetypes()) {
+            assertComplete(base, checked);
+        }
+        for (OperationAnalysis operation : analysis.getOperations()) {
+            for (ExceptionAnalysis exception : operation.getMappedExceptions()) {
+                assertComplete(exception, checked);
+            }
+        }
+        if (analysis instanceof InterfaceAnalysis) {
+            assertNotNull(name, ((InterfaceAnalysis) analysis).operationAnalysisMap);
+            assertTrue(name, ((InterfaceAnalysis) analysis).getAllTypeIds().length > 0);
+        }
+        if (analysis instanceof ValueAnalysis) {
+            assertNotNull(name, ((ValueAnalysis) analysis).getMembers());
+            assertComplete(((ValueAnalysis) analysis).getSuperAnalysis(), checked);
+        }
+        if (analysis instanceof ExceptionAnalysis) {
+            assertNotNull(name, ((ExceptionAnalysis) analysis).getExceptionRepositoryId());
+        }
+    }
+}
@@ -24,10 +24,13 @@ package org.jboss.as.jmx.model;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REPLY_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUEST_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
@@ -35,10 +38,13 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VAL
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
 import static org.jboss.as.jmx.JmxMessages.MESSAGES;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.management.Attribute;
 import javax.management.AttributeList;
@@ -57,8 +63,10 @@ import org.jboss.as.controller.ModelController.OperationTransactionControl;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.jmx.model.ChildAddOperationFinder.ChildAddOperationEntry;
 import org.jboss.as.jmx.model.RootResourceIterator.ResourceAction;
 import org.jboss.as.server.operations.RootResourceHack;
@@ -76,6 +84,14 @@ class ModelControllerMBeanHelper {
     private final ModelController controller;
     private final PathAddress CORE_SERVICE_PLATFORM_MBEAN = PathAddress.pathAddress(PathElement.pathElement("core-service", "platform-mbean"));
 
+    /**
+     * The names of the resources seen by the last queries. Addresses that are gone are dropped whenever the whole
+     * model is queried, so only the names of new resources have to be built.
+     */
+    private final ConcurrentMap<PathAddress, ObjectName> objectNames = new ConcurrentHashMap<PathAddress, ObjectName>();
+    /** The MBeanInfo of the resources, valid as long as their registration does not change */
+    private final ConcurrentMap<PathAddress, RegisteredMBeanInfo> mbeanInfos = new ConcurrentHashMap<PathAddress, RegisteredMBeanInfo>();
+
     ModelControllerMBeanHelper(ModelController controller) {
         this.controller = controller;
 
@@ -109,41 +125,38 @@ class ModelControllerMBeanHelper {
     }
 
     Set<ObjectInstance> queryMBeans(final ObjectName name, final QueryExp query) {
-        return new RootResourceIterator<Set<ObjectInstance>>(getRootResourceAndRegistration().getResource(), new ResourceAction<Set<ObjectInstance>>() {
-            Set<ObjectInstance> set = new HashSet<ObjectInstance>();
-
-            @Override
-            public boolean onResource(PathAddress address) {
-                if (isExcludeAddress(address)) {
-                    return false;
-                }
-                ObjectName resourceName = ObjectNameAddressUtil.createObjectName(address);
-                if (name == null || name.apply(resourceName)) {
-                    //TODO check query
-                    set.add(new ObjectInstance(resourceName, CLASS_NAME));
-                }
-                return true;
-            }
-
-            @Override
-            public Set<ObjectInstance> getResult() {
-                return set;
-            }
-        }).iterate();
+        final Set<ObjectInstance> set = new HashSet<ObjectInstance>();
+        for (ObjectName resourceName : queryNames(name, query)) {
+            set.add(new ObjectInstance(resourceName, CLASS_NAME));
+        }
+        return set;
     }
 
     Set<ObjectName> queryNames(final ObjectName name, final QueryExp query) {
-        return new RootResourceIterator<Set<ObjectName>>(getRootResourceAndRegistration().getResource(), new ResourceAction<Set<ObjectName>>() {
+        final Resource root = getRootResourceAndRegistration().getResource();
+        //TODO check query
+        if (name != null && !name.isPattern()) {
+            // no need to look at the whole model to find a single resource
+            final PathAddress address = ObjectNameAddressUtil.resolvePathAddress(root, name);
+            if (address == null || isBelowExcludeAddress(address)) {
+                return Collections.emptySet();
+            }
+            final Set<ObjectName> set = new HashSet<ObjectName>();
+            set.add(getObjectName(address));
+            return set;
+        }
+        return new RootResourceIterator<Set<ObjectName>>(root, new ResourceAction<Set<ObjectName>>() {
             Set<ObjectName> set = new HashSet<ObjectName>();
+            Set<PathAddress> addresses = new HashSet<PathAddress>();
 
             @Override
             public boolean onResource(PathAddress address) {
                 if (isExcludeAddress(address)) {
                     return false;
                 }
-                ObjectName resourceName = ObjectNameAddressUtil.createObjectName(address);
+                addresses.add(address);
+                ObjectName resourceName = getObjectName(address);
                 if (name == null || name.apply(resourceName)) {
-                    //TODO check query
                     set.add(resourceName);
                 }
                 return true;
@@ -151,12 +164,14 @@ class ModelControllerMBeanHelper {
 
             @Override
             public Set<ObjectName> getResult() {
+                // forget the resources that have been removed
+                objectNames.keySet().retainAll(addresses);
+                mbeanInfos.keySet().retainAll(addresses);
                 return set;
             }
         }).iterate();
     }
 
-
     PathAddress resolvePathAddress(final ObjectName name) {
         return ObjectNameAddressUtil.resolvePathAddress(getRootResourceAndRegistration().getResource(), name);
     }
@@ -169,7 +184,14 @@ class ModelControllerMBeanHelper {
             throw createInstanceNotFoundException(name);
         }
 
-        return MBeanInfoFactory.createMBeanInfo(standalone, address, getMBeanRegistration(address, reg));
+        final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
+        final RegisteredMBeanInfo cached = mbeanInfos.get(address);
+        if (cached != null && cached.isCurrent(registration)) {
+            return cached.info;
+        }
+        final MBeanInfo info = MBeanInfoFactory.createMBeanInfo(standalone, address, registration);
+        mbeanInfos.put(address, new RegisteredMBeanInfo(registration, info));
+        return info;
     }
 
     Object getAttribute(final ObjectName name, final String attribute)  throws AttributeNotFoundException, InstanceNotFoundException, ReflectionException {
@@ -187,17 +209,50 @@ class ModelControllerMBeanHelper {
         if (address == null) {
             throw createInstanceNotFoundException(name);
         }
+        final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
+        final DescriptionProvider provider = registration.getModelDescription(PathAddress.EMPTY_ADDRESS);
+        if (provider == null) {
+            throw MESSAGES.descriptionProviderNotFound(address);
+        }
+        final ModelNode description = provider.getModelDescription(null);
+
+        // the configuration attributes are read together with one read-resource rather than one read-attribute each,
+        // runtime attributes can be expensive to read so only the requested ones are read, one by one
         AttributeList list = new AttributeList();
-        for (String attribute : attributes) {
-            try {
-                list.add(new Attribute(attribute, getAttribute(reg, address, name, attribute)));
-            } catch (AttributeNotFoundException e) {
-                throw new ReflectionException(e);
+        ModelNode configuration = null;
+        try {
+            for (String attribute : attributes) {
+                final String attributeName = findAttributeName(description.get(ATTRIBUTES), attribute);
+                final AttributeAccess access = registration.getAttributeAccess(PathAddress.EMPTY_ADDRESS, attributeName);
+                if (attributes.length > 1 && access != null && access.getStorageType() == AttributeAccess.Storage.CONFIGURATION) {
+                    if (configuration == null) {
+                        configuration = readConfiguration(address);
+                    }
+                    list.add(new Attribute(attribute, TypeConverter.fromModelNode(description.require(ATTRIBUTES).require(attributeName), configuration.get(attributeName))));
+                } else {
+                    list.add(new Attribute(attribute, getAttribute(reg, address, name, attribute)));
+                }
             }
+        } catch (AttributeNotFoundException e) {
+            throw new ReflectionException(e);
         }
         return list;
     }
 
+    private ModelNode readConfiguration(final PathAddress address) throws AttributeNotFoundException {
+        ModelNode op = new ModelNode();
+        op.get(OP).set(READ_RESOURCE_OPERATION);
+        op.get(OP_ADDR).set(address.toModelNode());
+        op.get(RECURSIVE).set(false);
+        op.get(INCLUDE_RUNTIME).set(false);
+        ModelNode result = execute(op);
+        String error = getFailureDescription(result);
+        if (error != null) {
+            throw new AttributeNotFoundException(error);
+        }
+        return result.get(RESULT);
+    }
+
     private Object getAttribute(final ResourceAndRegistration reg, final PathAddress address, final ObjectName name, final String attribute)  throws ReflectionException, AttributeNotFoundException, InstanceNotFoundException {
         final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
         final DescriptionProvider provider = registration.getModelDescription(PathAddress.EMPTY_ADDRESS);
@@ -421,4 +476,50 @@ class ModelControllerMBeanHelper {
     private boolean isExcludeAddress(PathAddress pathAddress) {
         return pathAddress.equals(CORE_SERVICE_PLATFORM_MBEAN);
     }
+
+    /**
+     * Walking the model does not descend below excluded addresses, so their children are not exposed either
+     */
+    private boolean isBelowExcludeAddress(PathAddress pathAddress) {
+        for (int i = 1; i <= pathAddress.size(); i++) {
+            if (isExcludeAddress(pathAddress.subAddress(0, i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ObjectName getObjectName(PathAddress address) {
+        ObjectName name = objectNames.get(address);
+        if (name == null) {
+            name = ObjectNameAddressUtil.createObjectName(address);
+            objectNames.put(address, name);
+        }
+        return name;
+    }
+
+    private static final class RegisteredMBeanInfo {
+        private final Set<String> attributes;
+        private final Set<String> operations;
+        private final Set<PathElement> children;
+        private final MBeanInfo info;
+
+        RegisteredMBeanInfo(final ImmutableManagementResourceRegistration registration, final MBeanInfo info) {
+            // copies, the registration may hand out live views
+            this.attributes = new HashSet<String>(registration.getAttributeNames(PathAddress.EMPTY_ADDRESS));
+            this.operations = new HashSet<String>(registration.getOperationDescriptions(PathAddress.EMPTY_ADDRESS, false).keySet());
+            this.children = new HashSet<PathElement>(registration.getChildAddresses(PathAddress.EMPTY_ADDRESS));
+            this.info = info;
+        }
+
+        /**
+         * Attributes, operations and child types can be registered after the resource itself, e.g. when a subsystem
+         * is added, so the MBeanInfo is only still valid if none were.
+         */
+        boolean isCurrent(final ImmutableManagementResourceRegistration registration) {
+            return attributes.equals(registration.getAttributeNames(PathAddress.EMPTY_ADDRESS))
+                    && operations.equals(registration.getOperationDescriptions(PathAddress.EMPTY_ADDRESS, false).keySet())
+                    && children.equals(registration.getChildAddresses(PathAddress.EMPTY_ADDRESS));
+        }
+    }
 }
@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.management.Attribute;
 import javax.management.AttributeList;
@@ -760,6 +761,90 @@ public class ModelControllerMBeanTestCase extends AbstractSubsystemTest {
         Assert.assertTrue(names.contains(testObjectName));
     }
 
+    @Test
+    public void testQueryNamesSingleName() throws Exception {
+        final ObjectName childObjectName = createObjectName(Constants.DOMAIN + ":subsystem=test,siblings=test1");
+        MBeanServerConnection connection = setupAndGetConnection(new MBeanInfoAdditionalInitialization(TYPE_STANDALONE, new SubystemWithSiblingChildrenChildExtension()));
+
+        Assert.assertEquals(Collections.singleton(SERVER_SOCKET_BINDING_NAME), connection.queryNames(SERVER_SOCKET_BINDING_NAME, null));
+        Assert.assertEquals(Collections.singleton(SERVER_SOCKET_BINDING_NAME), connection.queryNames(SERVER_SOCKET_BINDING_NAME_2, null));
+        Assert.assertEquals(1, connection.queryMBeans(SERVER_SOCKET_BINDING_NAME, null).size());
+        Assert.assertTrue(connection.queryNames(BAD_NAME, null).isEmpty());
+        Assert.assertTrue(connection.queryMBeans(BAD_NAME, null).isEmpty());
+
+        Assert.assertTrue(connection.queryNames(childObjectName, null).isEmpty());
+        connection.invoke(createObjectName(Constants.DOMAIN + ":subsystem=test"), "addSiblings", new Object[] {"test1", Integer.valueOf(123)}, new String[] {String.class.getName(), String.class.getName()});
+        Assert.assertEquals(Collections.singleton(childObjectName), connection.queryNames(childObjectName, null));
+
+        connection.invoke(childObjectName, REMOVE, new Object[] {}, new String[] {});
+        Assert.assertTrue(connection.queryNames(childObjectName, null).isEmpty());
+    }
+
+    @Test
+    public void testGetAttributesConfigurationAndRuntime() throws Exception {
+        MBeanServerConnection connection = setupAndGetConnection(new MBeanInfoAdditionalInitialization(TYPE_STANDALONE, new DynamicRegistrationExtension()));
+        ObjectName name = createObjectName(Constants.DOMAIN + ":subsystem=test");
+        DynamicRegistrationExtension.RuntimeIntHandler.INSTANCE.reads.set(0);
+
+        String[] attrNames = new String[] {"configString", "runtimeInt", "configInt"};
+        AttributeList list = connection.getAttributes(name, attrNames);
+        Assert.assertEquals(attrNames.length, list.size());
+        for (int i = 0; i < attrNames.length; i++) {
+            Assert.assertEquals(attrNames[i], ((Attribute) list.get(i)).getName());
+        }
+        Assert.assertEquals("a", assertGetFromList(String.class, list, "configString"));
+        Assert.assertEquals(42, assertGetFromList(Integer.class, list, "runtimeInt").intValue());
+        Assert.assertEquals(1, assertGetFromList(Integer.class, list, "configInt").intValue());
+        Assert.assertEquals(1, DynamicRegistrationExtension.RuntimeIntHandler.INSTANCE.reads.get());
+
+        // runtime attributes are only read when requested
+        list = connection.getAttributes(name, new String[] {"configInt", "configString"});
+        Assert.assertEquals(2, list.size());
+        Assert.assertEquals(1, assertGetFromList(Integer.class, list, "configInt").intValue());
+        Assert.assertEquals("a", assertGetFromList(String.class, list, "configString"));
+        Assert.assertEquals(1, DynamicRegistrationExtension.RuntimeIntHandler.INSTANCE.reads.get());
+
+        list = connection.getAttributes(name, new String[] {"runtimeInt"});
+        Assert.assertEquals(42, assertGetFromList(Integer.class, list, "runtimeInt").intValue());
+        Assert.assertEquals(2, DynamicRegistrationExtension.RuntimeIntHandler.INSTANCE.reads.get());
+    }
+
+    @Test
+    public void testGetMBeanInfoAfterRegistrationChanges() throws Exception {
+        DynamicRegistrationExtension extension = new DynamicRegistrationExtension();
+        MBeanServerConnection connection = setupAndGetConnection(new MBeanInfoAdditionalInitialization(TYPE_STANDALONE, extension));
+        ObjectName name = createObjectName(Constants.DOMAIN + ":subsystem=test");
+
+        MBeanInfo info = connection.getMBeanInfo(name);
+        Assert.assertEquals(3, info.getAttributes().length);
+        Assert.assertEquals(0, info.getOperations().length);
+        // unchanged
+        info = connection.getMBeanInfo(name);
+        Assert.assertEquals(3, info.getAttributes().length);
+
+        extension.registration.registerReadWriteAttribute("added-int", null, new WriteAttributeHandlers.ModelTypeValidatingHandler(
+                ModelType.INT), Storage.CONFIGURATION);
+        info = connection.getMBeanInfo(name);
+        Assert.assertEquals(4, info.getAttributes().length);
+        Assert.assertEquals(Integer.class.getName(), findAttribute(info.getAttributes(), "addedInt").getType());
+        Assert.assertEquals(0, info.getOperations().length);
+
+        extension.registration.registerSubModel(PathElement.pathElement("added"), new DescriptionProvider() {
+            @Override
+            public ModelNode getModelDescription(Locale locale) {
+                ModelNode node = new ModelNode();
+                node.get(DESCRIPTION).set("An added child");
+                node.get(ATTRIBUTES, "attr", TYPE).set(ModelType.INT);
+                node.get(ATTRIBUTES, "attr", DESCRIPTION).set("Added child int");
+                return node;
+            }
+        }).registerOperationHandler(ADD, SubsystemWithChildrenExtension.TestChildAdd.INSTANCE, SubsystemWithChildrenExtension.TestChildAdd.INSTANCE);
+        info = connection.getMBeanInfo(name);
+        Assert.assertEquals(4, info.getAttributes().length);
+        Assert.assertEquals(1, info.getOperations().length);
+        Assert.assertEquals("Adds a child", findOperation(info.getOperations(), "addAdded").getDescription());
+    }
+
     private OpenMBeanOperationInfo findOperation(MBeanOperationInfo[] ops, String name) {
         for (MBeanOperationInfo op : ops) {
             Assert.assertNotNull(op.getName());
@@ -1343,4 +1428,73 @@ public class ModelControllerMBeanTestCase extends AbstractSubsystemTest {
         }
     }
 
+    /**
+     * Describes the attributes and children registered at the time, so they can be registered after the subsystem.
+     */
+    static class DynamicRegistrationExtension implements Extension {
+
+        volatile ManagementResourceRegistration registration;
+
+        @Override
+        public void initialize(ExtensionContext context) {
+            final SubsystemRegistration subsystem = context.registerSubsystem("test", 1, 0);
+            registration = subsystem.registerSubsystemModel(new DescriptionProvider() {
+
+                @Override
+                public ModelNode getModelDescription(Locale locale) {
+                    ModelNode node = new ModelNode();
+                    node.get(DESCRIPTION).set("A test subsystem");
+                    for (String attributeName : registration.getAttributeNames(PathAddress.EMPTY_ADDRESS)) {
+                        node.get(ATTRIBUTES, attributeName, TYPE).set(attributeName.endsWith("string") ? ModelType.STRING : ModelType.INT);
+                        node.get(ATTRIBUTES, attributeName, DESCRIPTION).set("An attribute");
+                    }
+                    for (PathElement child : registration.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
+                        node.get(CHILDREN, child.getKey(), DESCRIPTION).set("A child");
+                    }
+                    return node;
+                }
+            });
+            registration.registerOperationHandler(ADD, TestSubystemAdd.INSTANCE, TestSubystemAdd.INSTANCE, false);
+            registration.registerReadWriteAttribute("config-int", null, new WriteAttributeHandlers.ModelTypeValidatingHandler(
+                    ModelType.INT), Storage.CONFIGURATION);
+            registration.registerReadWriteAttribute("config-string", null, new WriteAttributeHandlers.ModelTypeValidatingHandler(
+                    ModelType.STRING), Storage.CONFIGURATION);
+            registration.registerMetric("runtime-int", RuntimeIntHandler.INSTANCE);
+        }
+
+        @Override
+        public void initializeParsers(ExtensionParsingContext context) {
+            context.setSubsystemXmlMapping("test", SubsystemWithChildrenExtension.NAMESPACE, new SubsystemWithChildrenExtension.TestExtensionParser());
+        }
+
+        static class TestSubystemAdd extends AbstractAddStepHandler implements DescriptionProvider {
+            static final TestSubystemAdd INSTANCE = new TestSubystemAdd();
+
+            @Override
+            protected void populateModel(ModelNode operation, ModelNode model) throws OperationFailedException {
+                model.get("config-int").set(1);
+                model.get("config-string").set("a");
+            }
+
+            @Override
+            public ModelNode getModelDescription(Locale locale) {
+                ModelNode node = new ModelNode();
+                node.get(NAME).set(ADD);
+                node.get(DESCRIPTION).set("Add the test subsystem");
+                return node;
+            }
+        }
+
+        static class RuntimeIntHandler implements OperationStepHandler {
+            static final RuntimeIntHandler INSTANCE = new RuntimeIntHandler();
+            final AtomicInteger reads = new AtomicInteger();
+
+            @Override
+            public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                reads.incrementAndGet();
+                context.getResult().set(42);
+                context.completeStep();
+            }
+        }
+    }
 }
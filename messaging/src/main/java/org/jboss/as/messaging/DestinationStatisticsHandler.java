@@ -0,0 +1,186 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.messaging;
+
+import static org.jboss.as.messaging.CommonAttributes.CONSUMER_COUNT;
+import static org.jboss.as.messaging.CommonAttributes.DELIVERING_COUNT;
+import static org.jboss.as.messaging.CommonAttributes.DURABLE_MESSAGE_COUNT;
+import static org.jboss.as.messaging.CommonAttributes.DURABLE_SUBSCRIPTION_COUNT;
+import static org.jboss.as.messaging.CommonAttributes.JMS_QUEUE;
+import static org.jboss.as.messaging.CommonAttributes.JMS_TOPIC;
+import static org.jboss.as.messaging.CommonAttributes.MESSAGES_ADDED;
+import static org.jboss.as.messaging.CommonAttributes.MESSAGE_COUNT;
+import static org.jboss.as.messaging.CommonAttributes.NON_DURABLE_MESSAGE_COUNT;
+import static org.jboss.as.messaging.CommonAttributes.NON_DURABLE_SUBSCRIPTION_COUNT;
+import static org.jboss.as.messaging.CommonAttributes.QUEUE;
+import static org.jboss.as.messaging.CommonAttributes.SCHEDULED_COUNT;
+import static org.jboss.as.messaging.CommonAttributes.SUBSCRIPTION_COUNT;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.hornetq.api.core.management.QueueControl;
+import org.hornetq.api.jms.management.JMSQueueControl;
+import org.hornetq.api.jms.management.TopicControl;
+import org.hornetq.core.server.HornetQServer;
+import org.hornetq.core.server.management.ManagementService;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.as.controller.operations.validation.ParametersValidator;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Implements the {@code read-destination-statistics} operation, which reports the counters of all the core queues,
+ * JMS queues and JMS topics of a HornetQ server in a single call.
+ * <p/>
+ * Collecting the counters walks every destination of the server, so the result is cached per server and shared by
+ * all callers until it is older than the {@code max-age} requested by the caller.
+ */
+public class DestinationStatisticsHandler extends AbstractRuntimeOnlyHandler {
+
+    public static final DestinationStatisticsHandler INSTANCE = new DestinationStatisticsHandler();
+
+    public static final String READ_DESTINATION_STATISTICS = "read-destination-statistics";
+    public static final String MAX_AGE = "max-age";
+    public static final String TIMESTAMP = "timestamp";
+    public static final long DEFAULT_MAX_AGE = 5000L;
+
+    private final ParametersValidator validator = new ParametersValidator();
+    private final Map<HornetQServer, Snapshot> snapshots = Collections.synchronizedMap(new WeakHashMap<HornetQServer, Snapshot>());
+
+    private DestinationStatisticsHandler() {
+        validator.registerValidator(MAX_AGE, new LongRangeValidator(0L, Long.MAX_VALUE, true, false));
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        validator.validate(operation);
+        final long maxAge = operation.hasDefined(MAX_AGE) ? operation.get(MAX_AGE).asLong() : DEFAULT_MAX_AGE;
+
+        final ServiceName hqServiceName = MessagingServices.getHornetQServiceName(PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR)));
+        ServiceController<?> hqService = context.getServiceRegistry(false).getService(hqServiceName);
+        HornetQServer hqServer = HornetQServer.class.cast(hqService.getValue());
+
+        Snapshot snapshot;
+        synchronized (snapshots) {
+            snapshot = snapshots.get(hqServer);
+            if (snapshot == null) {
+                snapshot = new Snapshot();
+                snapshots.put(hqServer, snapshot);
+            }
+        }
+        context.getResult().set(snapshot.get(hqServer.getManagementService(), maxAge));
+        context.completeStep();
+    }
+
+    public void registerOperations(final ManagementResourceRegistration registry) {
+        registry.registerOperationHandler(READ_DESTINATION_STATISTICS, this, new DescriptionProvider() {
+            @Override
+            public ModelNode getModelDescription(Locale locale) {
+                return MessagingDescriptions.getReadDestinationStatistics(locale);
+            }
+        }, EnumSet.of(OperationEntry.Flag.READ_ONLY, OperationEntry.Flag.RUNTIME_ONLY));
+    }
+
+    private static ModelNode collect(final ManagementService managementService) {
+        final ModelNode result = new ModelNode();
+        result.get(TIMESTAMP).set(System.currentTimeMillis());
+
+        final ModelNode queues = result.get(QUEUE).setEmptyObject();
+        for (Object resource : managementService.getResources(QueueControl.class)) {
+            final QueueControl control = QueueControl.class.cast(resource);
+            final ModelNode queue = queues.get(control.getName());
+            queue.get(MESSAGE_COUNT).set(control.getMessageCount());
+            queue.get(SCHEDULED_COUNT).set(control.getScheduledCount());
+            queue.get(CONSUMER_COUNT).set(control.getConsumerCount());
+            queue.get(DELIVERING_COUNT).set(control.getDeliveringCount());
+            queue.get(MESSAGES_ADDED).set(control.getMessagesAdded());
+        }
+
+        final ModelNode jmsQueues = result.get(JMS_QUEUE).setEmptyObject();
+        for (Object resource : managementService.getResources(JMSQueueControl.class)) {
+            final JMSQueueControl control = JMSQueueControl.class.cast(resource);
+            final ModelNode queue = jmsQueues.get(control.getName());
+            try {
+                queue.get(MESSAGE_COUNT).set(control.getMessageCount());
+            } catch (Exception e) {
+                // leave the counter undefined rather than failing the whole snapshot
+            }
+            queue.get(SCHEDULED_COUNT).set(control.getScheduledCount());
+            queue.get(CONSUMER_COUNT).set(control.getConsumerCount());
+            queue.get(DELIVERING_COUNT).set(control.getDeliveringCount());
+            queue.get(MESSAGES_ADDED).set(control.getMessagesAdded());
+        }
+
+        final ModelNode jmsTopics = result.get(JMS_TOPIC).setEmptyObject();
+        for (Object resource : managementService.getResources(TopicControl.class)) {
+            final TopicControl control = TopicControl.class.cast(resource);
+            final ModelNode topic = jmsTopics.get(control.getName());
+            try {
+                topic.get(MESSAGE_COUNT).set(control.getMessageCount());
+            } catch (Exception e) {
+                // leave the counter undefined rather than failing the whole snapshot
+            }
+            topic.get(DELIVERING_COUNT).set(control.getDeliveringCount());
+            topic.get(MESSAGES_ADDED).set(control.getMessagesAdded());
+            topic.get(DURABLE_MESSAGE_COUNT).set(control.getDurableMessageCount());
+            topic.get(NON_DURABLE_MESSAGE_COUNT).set(control.getNonDurableMessageCount());
+            topic.get(SUBSCRIPTION_COUNT).set(control.getSubscriptionCount());
+            topic.get(DURABLE_SUBSCRIPTION_COUNT).set(control.getDurableSubscriptionCount());
+            topic.get(NON_DURABLE_SUBSCRIPTION_COUNT).set(control.getNonDurableSubscriptionCount());
+        }
+
+        result.protect();
+        return result;
+    }
+
+    /**
+     * The last statistics collected for a server. Concurrent callers that find it stale wait for a single refresh
+     * instead of each walking the destinations.
+     */
+    private static final class Snapshot {
+        private ModelNode statistics;
+        private long collected;
+
+        synchronized ModelNode get(final ManagementService managementService, final long maxAge) {
+            final long now = System.currentTimeMillis();
+            if (statistics == null || now - collected > maxAge || now < collected) {
+                statistics = collect(managementService);
+                collected = now;
+            }
+            return statistics;
+        }
+    }
+}
@@ -61,6 +61,7 @@ public class HornetQServerResourceDefinition extends SimpleResourceDefinition {
         if (registerRuntimeOnly) {
             HornetQServerControlHandler.INSTANCE.registerOperations(resourceRegistration);
             JMSServerControlHandler.INSTANCE.registerOperations(resourceRegistration);
+            DestinationStatisticsHandler.INSTANCE.registerOperations(resourceRegistration);
         }
 
         // unsupported runtime operations exposed by HornetQServerControl
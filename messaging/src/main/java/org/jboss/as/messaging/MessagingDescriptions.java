@@ -27,6 +27,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ALLOWED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILDREN;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEFAULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MIN;
@@ -72,6 +73,7 @@ import static org.jboss.as.messaging.CommonAttributes.GROUPING_HANDLER;
 import static org.jboss.as.messaging.CommonAttributes.HA;
 import static org.jboss.as.messaging.CommonAttributes.INITIAL_MESSAGE_PACKET_SIZE;
 import static org.jboss.as.messaging.CommonAttributes.JMS_QUEUE;
+import static org.jboss.as.messaging.CommonAttributes.JMS_TOPIC;
 import static org.jboss.as.messaging.CommonAttributes.MESSAGES_ADDED;
 import static org.jboss.as.messaging.CommonAttributes.MESSAGE_COUNT;
 import static org.jboss.as.messaging.CommonAttributes.NODE_ID;
@@ -1586,6 +1588,28 @@ public class MessagingDescriptions {
         return attr;
     }
 
+    public static ModelNode getReadDestinationStatistics(Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+        final String prefix = "hornetq-server." + DestinationStatisticsHandler.READ_DESTINATION_STATISTICS;
+        final ModelNode result = CommonDescriptions.getSingleParamSimpleReplyOperation(bundle,
+                DestinationStatisticsHandler.READ_DESTINATION_STATISTICS, HornetQServerControlHandler.HQ_SERVER,
+                DestinationStatisticsHandler.MAX_AGE, ModelType.LONG, true, ModelType.OBJECT, true);
+        result.get(REQUEST_PROPERTIES, DestinationStatisticsHandler.MAX_AGE, DEFAULT).set(DestinationStatisticsHandler.DEFAULT_MAX_AGE);
+        result.get(REQUEST_PROPERTIES, DestinationStatisticsHandler.MAX_AGE, UNIT).set(MeasurementUnit.MILLISECONDS.getName());
+
+        final ModelNode valueType = result.get(REPLY_PROPERTIES, VALUE_TYPE);
+        final ModelNode timestamp = valueType.get(DestinationStatisticsHandler.TIMESTAMP);
+        timestamp.get(DESCRIPTION).set(bundle.getString(prefix + ".timestamp"));
+        timestamp.get(TYPE).set(ModelType.LONG);
+        for (String child : new String[] {QUEUE, JMS_QUEUE, JMS_TOPIC}) {
+            final ModelNode node = valueType.get(child);
+            node.get(DESCRIPTION).set(bundle.getString(prefix + "." + child));
+            node.get(TYPE).set(ModelType.OBJECT);
+            node.get(VALUE_TYPE).set(ModelType.OBJECT);
+        }
+        return result;
+    }
+
     private static ResourceBundle getResourceBundle(Locale locale) {
         if (locale == null) {
             locale = Locale.getDefault();
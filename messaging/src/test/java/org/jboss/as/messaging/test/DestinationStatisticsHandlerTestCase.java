@@ -0,0 +1,189 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.messaging.test;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.messaging.CommonAttributes.CONSUMER_COUNT;
+import static org.jboss.as.messaging.CommonAttributes.DURABLE_SUBSCRIPTION_COUNT;
+import static org.jboss.as.messaging.CommonAttributes.HORNETQ_SERVER;
+import static org.jboss.as.messaging.CommonAttributes.JMS_QUEUE;
+import static org.jboss.as.messaging.CommonAttributes.JMS_TOPIC;
+import static org.jboss.as.messaging.CommonAttributes.MESSAGES_ADDED;
+import static org.jboss.as.messaging.CommonAttributes.MESSAGE_COUNT;
+import static org.jboss.as.messaging.CommonAttributes.QUEUE;
+import static org.jboss.as.messaging.CommonAttributes.SCHEDULED_COUNT;
+import static org.jboss.as.messaging.DestinationStatisticsHandler.MAX_AGE;
+import static org.jboss.as.messaging.DestinationStatisticsHandler.READ_DESTINATION_STATISTICS;
+import static org.jboss.as.messaging.DestinationStatisticsHandler.TIMESTAMP;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hornetq.api.core.management.QueueControl;
+import org.hornetq.api.jms.management.JMSQueueControl;
+import org.hornetq.api.jms.management.TopicControl;
+import org.hornetq.core.server.HornetQServer;
+import org.hornetq.core.server.management.ManagementService;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.messaging.DestinationStatisticsHandler;
+import org.jboss.as.messaging.MessagingExtension;
+import org.jboss.as.messaging.MessagingServices;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Tests of the {@code read-destination-statistics} operation of {@link DestinationStatisticsHandler}.
+ */
+public class DestinationStatisticsHandlerTestCase {
+
+    private static final String SERVER = "default";
+
+    private ManagementService managementService;
+    private HornetQServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        final QueueControl queue = mock(QueueControl.class);
+        when(queue.getName()).thenReturn("core.queue");
+        when(queue.getMessageCount()).thenReturn(3L);
+        when(queue.getScheduledCount()).thenReturn(1L);
+        when(queue.getConsumerCount()).thenReturn(2);
+        when(queue.getMessagesAdded()).thenReturn(10L);
+
+        final JMSQueueControl jmsQueue = mock(JMSQueueControl.class);
+        when(jmsQueue.getName()).thenReturn("jms.queue");
+        when(jmsQueue.getMessageCount()).thenReturn(5L);
+        when(jmsQueue.getMessagesAdded()).thenReturn(7L);
+
+        final JMSQueueControl brokenQueue = mock(JMSQueueControl.class);
+        when(brokenQueue.getName()).thenReturn("broken.queue");
+        when(brokenQueue.getMessageCount()).thenThrow(new IllegalStateException("paging store closed"));
+        when(brokenQueue.getMessagesAdded()).thenReturn(4L);
+
+        final TopicControl topic = mock(TopicControl.class);
+        when(topic.getName()).thenReturn("jms.topic");
+        when(topic.getMessageCount()).thenReturn(6L);
+        when(topic.getDurableSubscriptionCount()).thenReturn(2);
+
+        managementService = mock(ManagementService.class);
+        when(managementService.getResources(QueueControl.class)).thenReturn(new Object[] {queue});
+        when(managementService.getResources(JMSQueueControl.class)).thenReturn(new Object[] {jmsQueue, brokenQueue});
+        when(managementService.getResources(TopicControl.class)).thenReturn(new Object[] {topic});
+
+        server = mock(HornetQServer.class);
+        when(server.getManagementService()).thenReturn(managementService);
+    }
+
+    @Test
+    public void testCountersOfAllDestinationTypes() throws Exception {
+        final ModelNode result = execute(null);
+
+        assertTrue(result.hasDefined(TIMESTAMP));
+        final ModelNode queue = result.get(QUEUE, "core.queue");
+        assertEquals(3L, queue.get(MESSAGE_COUNT).asLong());
+        assertEquals(1L, queue.get(SCHEDULED_COUNT).asLong());
+        assertEquals(2, queue.get(CONSUMER_COUNT).asInt());
+        assertEquals(10L, queue.get(MESSAGES_ADDED).asLong());
+
+        final ModelNode jmsQueue = result.get(JMS_QUEUE, "jms.queue");
+        assertEquals(5L, jmsQueue.get(MESSAGE_COUNT).asLong());
+        assertEquals(7L, jmsQueue.get(MESSAGES_ADDED).asLong());
+
+        final ModelNode topic = result.get(JMS_TOPIC, "jms.topic");
+        assertEquals(6L, topic.get(MESSAGE_COUNT).asLong());
+        assertEquals(2, topic.get(DURABLE_SUBSCRIPTION_COUNT).asInt());
+    }
+
+    @Test
+    public void testFailingCounterLeftUndefined() throws Exception {
+        final ModelNode brokenQueue = execute(null).get(JMS_QUEUE, "broken.queue");
+
+        assertFalse(brokenQueue.hasDefined(MESSAGE_COUNT));
+        assertEquals(4L, brokenQueue.get(MESSAGES_ADDED).asLong());
+    }
+
+    @Test
+    public void testSnapshotSharedWithinMaxAge() throws Exception {
+        final ModelNode first = execute(60000L);
+        final ModelNode second = execute(60000L);
+
+        assertEquals(first, second);
+        verify(managementService, times(1)).getResources(QueueControl.class);
+        verify(managementService, times(1)).getResources(TopicControl.class);
+    }
+
+    @Test
+    public void testSnapshotRefreshedWhenOlderThanMaxAge() throws Exception {
+        execute(60000L);
+        Thread.sleep(20L);
+        execute(10L);
+
+        verify(managementService, times(2)).getResources(QueueControl.class);
+    }
+
+    @Test(expected = OperationFailedException.class)
+    public void testNegativeMaxAgeRejected() throws Exception {
+        execute(-1L);
+    }
+
+    private ModelNode execute(final Long maxAge) throws OperationFailedException {
+        final ModelNode operation = new ModelNode();
+        operation.get(OP).set(READ_DESTINATION_STATISTICS);
+        operation.get(OP_ADDR).set(PathAddress.pathAddress(
+                PathElement.pathElement("subsystem", MessagingExtension.SUBSYSTEM_NAME),
+                PathElement.pathElement(HORNETQ_SERVER, SERVER)).toModelNode());
+        if (maxAge != null) {
+            operation.get(MAX_AGE).set(maxAge);
+        }
+
+        final ServiceController<?> controller = mock(ServiceController.class);
+        doReturn(server).when(controller).getValue();
+        final ServiceRegistry registry = mock(ServiceRegistry.class);
+        doReturn(controller).when(registry).getService(MessagingServices.getHornetQServiceName(SERVER));
+        final OperationContext context = mock(OperationContext.class);
+        when(context.getServiceRegistry(false)).thenReturn(registry);
+        final ModelNode result = new ModelNode();
+        when(context.getResult()).thenReturn(result);
+
+        DestinationStatisticsHandler.INSTANCE.execute(context, operation);
+        final ArgumentCaptor<OperationStepHandler> step = ArgumentCaptor.forClass(OperationStepHandler.class);
+        verify(context).addStep(step.capture(), eq(OperationContext.Stage.RUNTIME));
+        step.getValue().execute(context, operation);
+        return result;
+    }
+}
@@ -36,7 +36,11 @@ public enum Attribute {
 
     AUDIT_MANAGER_CLASS_NAME("audit-manager-class-name"),
     AUTHENTICATION_MANAGER_CLASS_NAME("authentication-manager-class-name"),
+    AUTHORIZATION_CACHE_MAX_ENTRIES("authorization-cache-max-entries"),
     AUTHORIZATION_MANAGER_CLASS_NAME("authorization-manager-class-name"),
+    CACHE_MAX_AGE("cache-max-age"),
+    CACHE_MAX_ENTRIES("cache-max-entries"),
+    CACHE_MAX_IDLE("cache-max-idle"),
     CACHE_TYPE("cache-type"),
     CIPHER_SUITES("cipher-suites"),
     CLIENT_ALIAS("client-alias"),
@@ -45,6 +49,7 @@ public enum Attribute {
     DEEP_COPY_SUBJECT_MODE("deep-copy-subject-mode"),
     DEFAULT_CALLBACK_HANDLER_CLASS_NAME("default-callback-handler-class-name"),
     EXTENDS("extends"),
+    FAILED_AUTHENTICATION_CACHE_MAX_AGE("failed-authentication-cache-max-age"),
     FLAG("flag"),
     IDENTITY_TRUST_MANAGER_CLASS_NAME("identity-trust-manager-class-name"),
     KEY_MANAGER_FACTORY_ALGORITHM("key-manager-factory-algorithm"),
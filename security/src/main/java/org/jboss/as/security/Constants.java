@@ -42,7 +42,15 @@ public interface Constants {
     String AUTHENTICATION_JASPI = "authentication-jaspi";
     String AUTHENTICATION_MANAGER_CLASS_NAME = "authentication-manager-class-name";
     String AUTHORIZATION = "authorization";
+    String AUTHORIZATION_CACHE_MAX_ENTRIES = "authorization-cache-max-entries";
     String AUTHORIZATION_MANAGER_CLASS_NAME = "authorization-manager-class-name";
+    String AVERAGE_LOGIN_TIME = "average-login-time";
+    String CACHE_EVICTIONS = "cache-evictions";
+    String CACHE_HITS = "cache-hits";
+    String CACHE_MAX_AGE = "cache-max-age";
+    String CACHE_MAX_ENTRIES = "cache-max-entries";
+    String CACHE_MAX_IDLE = "cache-max-idle";
+    String CACHE_MISSES = "cache-misses";
     String CACHE_TYPE = "cache-type";
     String CIPHER_SUITES = "cipher-suites";
     String CLASSIC = "classic";
@@ -52,6 +60,8 @@ public interface Constants {
     String DEEP_COPY_SUBJECT_MODE = "deep-copy-subject-mode";
     String DEFAULT_CALLBACK_HANDLER_CLASS_NAME = "default-callback-handler-class-name";
     String EXTENDS = "extends";
+    String FAILED_AUTHENTICATION_CACHE_HITS = "failed-authentication-cache-hits";
+    String FAILED_AUTHENTICATION_CACHE_MAX_AGE = "failed-authentication-cache-max-age";
     String FLAG = "flag";
     String IDENTITY_TRUST = "identity-trust";
     String IDENTITY_TRUST_MANAGER_CLASS_NAME = "identity-trust-manager-class-name";
@@ -66,6 +76,7 @@ public interface Constants {
     String KEYSTORE_PROVIDER_ARGUMENT = "keystore-provider-argument";
     String KEYSTORE_TYPE = "keystore-type";
     String KEYSTORE_URL = "keystore-url";
+    String LOGIN_COUNT = "login-count";
     String LOGIN_MODULES = "login-modules";
     String LOGIN_MODULE = "login-module";
     String LOGIN_MODULE_STACK = "login-module-stack";
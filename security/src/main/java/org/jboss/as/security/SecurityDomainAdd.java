@@ -31,13 +31,18 @@ import static org.jboss.as.security.Constants.ADDITIONAL_PROPERTIES;
 import static org.jboss.as.security.Constants.ALGORITHM;
 import static org.jboss.as.security.Constants.AUDIT;
 import static org.jboss.as.security.Constants.AUTHORIZATION;
+import static org.jboss.as.security.Constants.AUTHORIZATION_CACHE_MAX_ENTRIES;
 import static org.jboss.as.security.Constants.AUTH_MODULES;
+import static org.jboss.as.security.Constants.CACHE_MAX_AGE;
+import static org.jboss.as.security.Constants.CACHE_MAX_ENTRIES;
+import static org.jboss.as.security.Constants.CACHE_MAX_IDLE;
 import static org.jboss.as.security.Constants.CACHE_TYPE;
 import static org.jboss.as.security.Constants.CIPHER_SUITES;
 import static org.jboss.as.security.Constants.CLASSIC;
 import static org.jboss.as.security.Constants.CLIENT_ALIAS;
 import static org.jboss.as.security.Constants.CLIENT_AUTH;
 import static org.jboss.as.security.Constants.CODE;
+import static org.jboss.as.security.Constants.FAILED_AUTHENTICATION_CACHE_MAX_AGE;
 import static org.jboss.as.security.Constants.FLAG;
 import static org.jboss.as.security.Constants.IDENTITY_TRUST;
 import static org.jboss.as.security.Constants.JASPI;
@@ -68,6 +73,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 import javax.security.auth.login.AppConfigurationEntry;
 import javax.security.auth.login.AppConfigurationEntry.LoginModuleControlFlag;
@@ -82,8 +88,10 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.ServiceVerificationHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.security.plugins.DefaultAuthenticationCacheFactory;
 import org.jboss.as.security.plugins.SecurityDomainContext;
 import org.jboss.as.security.service.JaasConfigurationService;
 import org.jboss.as.security.service.SecurityDomainService;
@@ -146,6 +154,9 @@ class SecurityDomainAdd extends AbstractAddStepHandler {
 
     protected void populateModel(ModelNode operation, ModelNode model) throws OperationFailedException {
         SecurityDomainResourceDefinition.CACHE_TYPE.validateAndSet(operation, model);
+        for (SimpleAttributeDefinition attribute : SecurityDomainResourceDefinition.CACHE_ATTRIBUTES) {
+            attribute.validateAndSet(operation, model);
+        }
     }
 
     protected void performRuntime(OperationContext context, ModelNode operation, final ModelNode model, final ServiceVerificationHandler verificationHandler, final List<ServiceController<?>> newControllers) {
@@ -172,8 +183,15 @@ class SecurityDomainAdd extends AbstractAddStepHandler {
         final JSSESecurityDomain jsseSecurityDomain = createJSSESecurityDomain(context, securityDomain, model);
         final String cacheType = getAuthenticationCacheType(model);
 
+        final int cacheMaxEntries = model.hasDefined(CACHE_MAX_ENTRIES) ? model.get(CACHE_MAX_ENTRIES).asInt()
+                : DefaultAuthenticationCacheFactory.DEFAULT_MAX_ENTRIES;
+        final int authorizationCacheMaxEntries = model.hasDefined(AUTHORIZATION_CACHE_MAX_ENTRIES)
+                ? model.get(AUTHORIZATION_CACHE_MAX_ENTRIES).asInt() : SecurityDomainContext.DEFAULT_AUTHORIZATION_CACHE_MAX_ENTRIES;
+
         final SecurityDomainService securityDomainService = new SecurityDomainService(securityDomain,
-                applicationPolicy, jsseSecurityDomain, cacheType);
+                applicationPolicy, jsseSecurityDomain, cacheType, cacheMaxEntries, getMillis(model, CACHE_MAX_AGE),
+                getMillis(model, CACHE_MAX_IDLE), getMillis(model, FAILED_AUTHENTICATION_CACHE_MAX_AGE),
+                authorizationCacheMaxEntries);
         final ServiceTarget target = context.getServiceTarget();
         // some login modules may require the TransactionManager
         final Injector<TransactionManager> transactionManagerInjector = new Injector<TransactionManager>() {
@@ -646,4 +664,11 @@ class SecurityDomainAdd extends AbstractAddStepHandler {
 
         return type;
     }
+
+    /**
+     * Reads an attribute configured in seconds, returning {@code 0} if it is undefined.
+     */
+    private static long getMillis(ModelNode node, String attribute) {
+        return node.hasDefined(attribute) ? TimeUnit.SECONDS.toMillis(node.get(attribute).asLong()) : 0;
+    }
 }
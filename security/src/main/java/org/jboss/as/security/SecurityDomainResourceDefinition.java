@@ -21,6 +21,7 @@
  */
 package org.jboss.as.security;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 
 import java.security.Principal;
@@ -35,9 +36,14 @@ import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry.Flag;
+import org.jboss.as.security.plugins.AuthenticationCacheStatistics;
+import org.jboss.as.security.plugins.FailedAuthenticationCache;
 import org.jboss.as.security.plugins.SecurityDomainContext;
 import org.jboss.as.security.service.SecurityDomainService;
 import org.jboss.dmr.ModelNode;
@@ -55,6 +61,60 @@ public class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
     public static final SimpleAttributeDefinition CACHE_TYPE =
             new SimpleAttributeDefinitionBuilder(Constants.CACHE_TYPE, ModelType.STRING, true).build();
 
+    public static final SimpleAttributeDefinition CACHE_MAX_ENTRIES =
+            new SimpleAttributeDefinitionBuilder(Constants.CACHE_MAX_ENTRIES, ModelType.INT, true)
+                    .setDefaultValue(new ModelNode(1000))
+                    .setValidator(new IntRangeValidator(1, true))
+                    .build();
+
+    public static final SimpleAttributeDefinition CACHE_MAX_AGE =
+            new SimpleAttributeDefinitionBuilder(Constants.CACHE_MAX_AGE, ModelType.LONG, true)
+                    .setValidator(new LongRangeValidator(0, true))
+                    .setMeasurementUnit(MeasurementUnit.SECONDS)
+                    .build();
+
+    public static final SimpleAttributeDefinition CACHE_MAX_IDLE =
+            new SimpleAttributeDefinitionBuilder(Constants.CACHE_MAX_IDLE, ModelType.LONG, true)
+                    .setValidator(new LongRangeValidator(0, true))
+                    .setMeasurementUnit(MeasurementUnit.SECONDS)
+                    .build();
+
+    public static final SimpleAttributeDefinition FAILED_AUTHENTICATION_CACHE_MAX_AGE =
+            new SimpleAttributeDefinitionBuilder(Constants.FAILED_AUTHENTICATION_CACHE_MAX_AGE, ModelType.LONG, true)
+                    .setValidator(new LongRangeValidator(0, true))
+                    .setMeasurementUnit(MeasurementUnit.SECONDS)
+                    .build();
+
+    public static final SimpleAttributeDefinition AUTHORIZATION_CACHE_MAX_ENTRIES =
+            new SimpleAttributeDefinitionBuilder(Constants.AUTHORIZATION_CACHE_MAX_ENTRIES, ModelType.INT, true)
+                    .setDefaultValue(new ModelNode(SecurityDomainContext.DEFAULT_AUTHORIZATION_CACHE_MAX_ENTRIES))
+                    .setValidator(new IntRangeValidator(0, true))
+                    .build();
+
+    static final SimpleAttributeDefinition CACHE_HITS =
+            new SimpleAttributeDefinitionBuilder(Constants.CACHE_HITS, ModelType.LONG, false).setStorageRuntime().build();
+
+    static final SimpleAttributeDefinition CACHE_MISSES =
+            new SimpleAttributeDefinitionBuilder(Constants.CACHE_MISSES, ModelType.LONG, false).setStorageRuntime().build();
+
+    static final SimpleAttributeDefinition CACHE_EVICTIONS =
+            new SimpleAttributeDefinitionBuilder(Constants.CACHE_EVICTIONS, ModelType.LONG, false).setStorageRuntime().build();
+
+    static final SimpleAttributeDefinition FAILED_AUTHENTICATION_CACHE_HITS =
+            new SimpleAttributeDefinitionBuilder(Constants.FAILED_AUTHENTICATION_CACHE_HITS, ModelType.LONG, false).setStorageRuntime().build();
+
+    static final SimpleAttributeDefinition LOGIN_COUNT =
+            new SimpleAttributeDefinitionBuilder(Constants.LOGIN_COUNT, ModelType.LONG, false).setStorageRuntime().build();
+
+    static final SimpleAttributeDefinition AVERAGE_LOGIN_TIME =
+            new SimpleAttributeDefinitionBuilder(Constants.AVERAGE_LOGIN_TIME, ModelType.LONG, false)
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setStorageRuntime()
+                    .build();
+
+    static final SimpleAttributeDefinition[] CACHE_ATTRIBUTES = { CACHE_MAX_ENTRIES, CACHE_MAX_AGE, CACHE_MAX_IDLE, FAILED_AUTHENTICATION_CACHE_MAX_AGE,
+            AUTHORIZATION_CACHE_MAX_ENTRIES };
+
     private final boolean registerRuntimeOnly;
 
     SecurityDomainResourceDefinition(boolean registerRuntimeOnly) {
@@ -65,6 +125,15 @@ public class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
 
     public void registerAttributes(final ManagementResourceRegistration resourceRegistration) {
         resourceRegistration.registerReadWriteAttribute(CACHE_TYPE, null, new SecurityDomainReloadWriteHandler(CACHE_TYPE));
+        for (SimpleAttributeDefinition attribute : CACHE_ATTRIBUTES) {
+            resourceRegistration.registerReadWriteAttribute(attribute, null, new SecurityDomainReloadWriteHandler(attribute));
+        }
+        if (registerRuntimeOnly) {
+            for (SimpleAttributeDefinition metric : new SimpleAttributeDefinition[] { CACHE_HITS, CACHE_MISSES, CACHE_EVICTIONS,
+                    FAILED_AUTHENTICATION_CACHE_HITS, LOGIN_COUNT, AVERAGE_LOGIN_TIME }) {
+                resourceRegistration.registerMetric(metric, CacheMetricsHandler.INSTANCE);
+            }
+        }
     }
 
     @Override
@@ -146,6 +215,9 @@ public class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
                     manager.flushCache(new SimplePrincipal(principal));
                 else
                     manager.flushCache();
+                FailedAuthenticationCache failedAuthenticationCache = sdc.getFailedAuthenticationCache();
+                if (failedAuthenticationCache != null)
+                    failedAuthenticationCache.flush();
             } else {
                 context.getFailureDescription().set("No authentication cache for security domain " + securityDomain + " available");
             }
@@ -153,5 +225,38 @@ public class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
         }
     }
 
+    static final class CacheMetricsHandler extends AbstractRuntimeOnlyHandler {
+        static final CacheMetricsHandler INSTANCE = new CacheMetricsHandler();
 
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            ModelNode opAddr = operation.require(OP_ADDR);
+            PathAddress address = PathAddress.pathAddress(opAddr);
+            final String securityDomain = address.getLastElement().getValue();
+            final String metric = operation.require(NAME).asString();
+
+            ServiceController<SecurityDomainContext> controller = getSecurityDomainService(context, securityDomain);
+            if (controller != null) {
+                waitFor(controller);
+                AuthenticationCacheStatistics statistics = controller.getValue().getAuthenticationCacheStatistics();
+                ModelNode result = context.getResult();
+                if (Constants.CACHE_HITS.equals(metric)) {
+                    result.set(statistics.getHits());
+                } else if (Constants.CACHE_MISSES.equals(metric)) {
+                    result.set(statistics.getMisses());
+                } else if (Constants.CACHE_EVICTIONS.equals(metric)) {
+                    result.set(statistics.getEvictions());
+                } else if (Constants.FAILED_AUTHENTICATION_CACHE_HITS.equals(metric)) {
+                    result.set(statistics.getFailedAuthenticationHits());
+                } else if (Constants.LOGIN_COUNT.equals(metric)) {
+                    result.set(statistics.getLogins());
+                } else if (Constants.AVERAGE_LOGIN_TIME.equals(metric)) {
+                    result.set(statistics.getAverageLoginTime());
+                }
+            } else {
+                context.getFailureDescription().set("No authentication cache for security domain " + securityDomain + " available");
+            }
+            context.completeStep();
+        }
+    }
 }
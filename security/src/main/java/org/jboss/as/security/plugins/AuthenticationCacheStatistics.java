@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.security.plugins;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of the authentications of a security domain and of its authentication cache.
+ * <p/>
+ * Callers that want the time spent in the login modules to be measured wrap their calls to the authentication manager
+ * with {@link #startAuthentication()} and {@link #endAuthentication(long)}. With the default cache, only the calls that
+ * missed the cache are timed, since the others do not run the login modules.
+ */
+public class AuthenticationCacheStatistics {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong failedAuthenticationHits = new AtomicLong();
+    private final AtomicLong logins = new AtomicLong();
+    private final AtomicLong loginTime = new AtomicLong();
+    private final ThreadLocal<boolean[]> missed = new ThreadLocal<boolean[]>() {
+        @Override
+        protected boolean[] initialValue() {
+            return new boolean[1];
+        }
+    };
+    private volatile boolean counting;
+
+    /**
+     * Called by a cache that counts its hits and misses, so that only the authentications that missed it are timed.
+     */
+    void countingCache() {
+        counting = true;
+    }
+
+    void hit() {
+        hits.incrementAndGet();
+    }
+
+    void miss() {
+        misses.incrementAndGet();
+        missed.get()[0] = true;
+    }
+
+    void evicted(int count) {
+        evictions.addAndGet(count);
+    }
+
+    /**
+     * Counts an authentication rejected because the same credentials failed recently.
+     */
+    public void failedAuthenticationHit() {
+        failedAuthenticationHits.incrementAndGet();
+    }
+
+    /**
+     * @return the time the authentication started, to be passed to {@link #endAuthentication(long)}
+     */
+    public long startAuthentication() {
+        missed.get()[0] = false;
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time an authentication took, if it ran the login modules.
+     *
+     * @param start the value returned by {@link #startAuthentication()}
+     */
+    public void endAuthentication(long start) {
+        final boolean[] missed = this.missed.get();
+        if (missed[0] || !counting) {
+            logins.incrementAndGet();
+            loginTime.addAndGet(System.nanoTime() - start);
+        }
+        missed[0] = false;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getFailedAuthenticationHits() {
+        return failedAuthenticationHits.get();
+    }
+
+    /**
+     * @return the number of timed authentications, i.e. the number of times the login modules ran
+     */
+    public long getLogins() {
+        return logins.get();
+    }
+
+    /**
+     * @return the average time of the timed authentications, in milliseconds
+     */
+    public long getAverageLoginTime() {
+        final long logins = this.logins.get();
+        return logins == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(loginTime.get() / logins);
+    }
+}
@@ -19,57 +19,184 @@
  * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
  * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
  */
-
 package org.jboss.as.security.plugins;
 
 import java.security.Principal;
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.infinispan.util.concurrent.BoundedConcurrentHashMap;
 import org.infinispan.util.concurrent.BoundedConcurrentHashMap.Eviction;
-import org.jboss.security.authentication.JBossCachedAuthenticationManager;
 import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
 
 /**
  * Factory that creates default {@code ConcurrentMap}s for authentication cache.
+ * <p/>
+ * The cache holds at most a given number of entries, evicted with LIRS, and optionally expires entries that are too
+ * old or have not been used for too long. Hits, misses and evictions are counted in the factory's
+ * {@link AuthenticationCacheStatistics}.
  *
  * @author <a href="mailto:mmoyses@redhat.com">Marcus Moyses</a>
  */
 public class DefaultAuthenticationCacheFactory {
 
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final int maxEntries;
+    private final long maxAge;
+    private final long maxIdle;
+    private final AuthenticationCacheStatistics statistics;
+
+    public DefaultAuthenticationCacheFactory() {
+        this(DEFAULT_MAX_ENTRIES, 0, 0, new AuthenticationCacheStatistics());
+    }
+
+    /**
+     * @param maxEntries the maximum number of cached principals
+     * @param maxAge how long a principal stays cached, in milliseconds, or {@code 0} to keep it until evicted
+     * @param maxIdle how long a principal that is not used stays cached, in milliseconds, or {@code 0} to keep it until evicted
+     * @param statistics the statistics to count hits, misses and evictions in
+     */
+    public DefaultAuthenticationCacheFactory(int maxEntries, long maxAge, long maxIdle, AuthenticationCacheStatistics statistics) {
+        this.maxEntries = maxEntries;
+        this.maxAge = maxAge;
+        this.maxIdle = maxIdle;
+        this.statistics = statistics;
+    }
+
+    public AuthenticationCacheStatistics getStatistics() {
+        return statistics;
+    }
+
     /**
      * Returns a default cache implementation
      *
      * @return cache implementation
      */
     public ConcurrentMap<Principal, DomainInfo> getCache() {
-        ConcurrentMap<Principal, DomainInfo> map = new BoundedConcurrentHashMap<Principal, JBossCachedAuthenticationManager.DomainInfo>(
-                1000, 16, Eviction.LIRS, new AuthenticationCacheEvictionListener()) {
-
-            private static final long serialVersionUID = 1459490003748298538L;
-
-            /** {@inheritDoc} */
+        statistics.countingCache();
+        final ConcurrentMap<Object, Timestamps> timestamps = new ConcurrentHashMap<Object, Timestamps>();
+        final AuthenticationCacheEvictionListener evictionListener = new AuthenticationCacheEvictionListener() {
             @Override
-            public DomainInfo remove(Object key) {
-                DomainInfo removed = super.remove(key);
-                if (removed != null) {
-                    removed.logout();
-                }
-                return removed;
+            public void onEntryEviction(Map<Principal, DomainInfo> evicted) {
+                super.onEntryEviction(evicted);
+                timestamps.keySet().removeAll(evicted.keySet());
+                statistics.evicted(evicted.size());
             }
+        };
+        return new AuthenticationCache(Math.max(maxEntries, 1), Math.min(16, Math.max(maxEntries, 1)), evictionListener,
+                timestamps, maxAge, maxIdle, statistics);
+    }
 
-            /** {@inheritDoc} */
-            @Override
-            public void clear() {
-                Collection<DomainInfo> values = values();
-                for (DomainInfo domainInfo : values) {
+    private static final class AuthenticationCache extends BoundedConcurrentHashMap<Principal, DomainInfo> {
+
+        private static final long serialVersionUID = 1459490003748298538L;
+
+        private final ConcurrentMap<Object, Timestamps> timestamps;
+        private final long maxAge;
+        private final long maxIdle;
+        private final AuthenticationCacheStatistics statistics;
+
+        AuthenticationCache(int capacity, int concurrencyLevel, AuthenticationCacheEvictionListener evictionListener,
+                ConcurrentMap<Object, Timestamps> timestamps, long maxAge, long maxIdle, AuthenticationCacheStatistics statistics) {
+            super(capacity, concurrencyLevel, Eviction.LIRS, evictionListener);
+            this.timestamps = timestamps;
+            this.maxAge = maxAge;
+            this.maxIdle = maxIdle;
+            this.statistics = statistics;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DomainInfo get(Object key) {
+            final DomainInfo domainInfo = super.get(key);
+            if (domainInfo == null) {
+                statistics.miss();
+                return null;
+            }
+            final long now = System.currentTimeMillis();
+            final Timestamps entryTimestamps = timestamps.get(key);
+            if (entryTimestamps == null) {
+                // added by a method that does not record the time
+                timestamps.putIfAbsent(key, new Timestamps(now));
+            } else if (entryTimestamps.isExpired(now, maxAge, maxIdle)) {
+                if (super.remove(key, domainInfo)) {
+                    timestamps.remove(key, entryTimestamps);
                     domainInfo.logout();
+                    statistics.evicted(1);
                 }
-                super.clear();
+                statistics.miss();
+                return null;
+            } else {
+                entryTimestamps.lastAccess = now;
             }
-        };
-        return map;
+            statistics.hit();
+            return domainInfo;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DomainInfo put(Principal key, DomainInfo value) {
+            timestamps.put(key, new Timestamps(System.currentTimeMillis()));
+            return super.put(key, value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DomainInfo putIfAbsent(Principal key, DomainInfo value) {
+            final DomainInfo existing = super.putIfAbsent(key, value);
+            if (existing == null) {
+                timestamps.put(key, new Timestamps(System.currentTimeMillis()));
+            }
+            return existing;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DomainInfo replace(Principal key, DomainInfo value) {
+            final DomainInfo replaced = super.replace(key, value);
+            if (replaced != null) {
+                timestamps.put(key, new Timestamps(System.currentTimeMillis()));
+            }
+            return replaced;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DomainInfo remove(Object key) {
+            DomainInfo removed = super.remove(key);
+            timestamps.remove(key);
+            if (removed != null) {
+                removed.logout();
+            }
+            return removed;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void clear() {
+            Collection<DomainInfo> values = values();
+            for (DomainInfo domainInfo : values) {
+                domainInfo.logout();
+            }
+            super.clear();
+            timestamps.clear();
+        }
     }
 
+    private static final class Timestamps {
+        private final long created;
+        private volatile long lastAccess;
+
+        Timestamps(long now) {
+            created = now;
+            lastAccess = now;
+        }
+
+        boolean isExpired(long now, long maxAge, long maxIdle) {
+            return (maxAge > 0 && now - created > maxAge) || (maxIdle > 0 && now - lastAccess > maxIdle);
+        }
+    }
 }
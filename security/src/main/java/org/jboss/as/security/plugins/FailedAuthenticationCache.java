@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.security.plugins;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.concurrent.ConcurrentMap;
+
+import org.infinispan.util.concurrent.BoundedConcurrentHashMap;
+import org.infinispan.util.concurrent.BoundedConcurrentHashMap.Eviction;
+
+/**
+ * Remembers, for a while, the credentials that failed to authenticate a principal, so that repeated attempts with the
+ * same wrong credentials are rejected without running the login modules again.
+ * <p/>
+ * Only password-like credentials ({@code String}, {@code char[]} and {@code byte[]}) are remembered, and only as a
+ * digest. The failures are kept in a bounded LRU map, each with the time it expires at, so the least recently failed
+ * attempts are forgotten first when there are too many of them.
+ */
+public class FailedAuthenticationCache {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final long maxAge;
+    private final ConcurrentMap<String, Long> failures;
+
+    /**
+     * @param maxAge how long a failure is remembered, in milliseconds
+     * @param maxEntries the maximum number of failures remembered
+     */
+    public FailedAuthenticationCache(long maxAge, int maxEntries) {
+        this.maxAge = maxAge;
+        final int capacity = Math.max(maxEntries, 1);
+        this.failures = new BoundedConcurrentHashMap<String, Long>(capacity, Math.min(16, capacity), Eviction.LRU);
+    }
+
+    /**
+     * @return {@code true} if the credential recently failed to authenticate the principal
+     */
+    public boolean isFailed(Principal principal, Object credential) {
+        final String key = getKey(principal, credential);
+        if (key == null) {
+            return false;
+        }
+        final Long expiry = failures.get(key);
+        if (expiry == null) {
+            return false;
+        }
+        if (expiry.longValue() < System.currentTimeMillis()) {
+            failures.remove(key, expiry);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Remembers that the credential failed to authenticate the principal.
+     */
+    public void failed(Principal principal, Object credential) {
+        final String key = getKey(principal, credential);
+        if (key == null) {
+            return;
+        }
+        failures.put(key, Long.valueOf(System.currentTimeMillis() + maxAge));
+    }
+
+    /**
+     * Forgets all the failures, e.g. when the authentication cache is flushed.
+     */
+    public void flush() {
+        failures.clear();
+    }
+
+    /**
+     * @return the number of failures remembered, including those that expired but were not looked up since
+     */
+    int size() {
+        return failures.size();
+    }
+
+    private static String getKey(Principal principal, Object credential) {
+        if (principal == null) {
+            return null;
+        }
+        final byte[] bytes;
+        try {
+            if (credential instanceof String) {
+                bytes = ((String) credential).getBytes("UTF-8");
+            } else if (credential instanceof char[]) {
+                bytes = new String((char[]) credential).getBytes("UTF-8");
+            } else if (credential instanceof byte[]) {
+                bytes = (byte[]) credential;
+            } else {
+                return null;
+            }
+            final byte[] digest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(bytes);
+            final StringBuilder key = new StringBuilder(principal.getName()).append(':');
+            for (byte b : digest) {
+                key.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        } catch (UnsupportedEncodingException e) {
+            return null;
+        }
+    }
+}
@@ -311,6 +311,9 @@ public class JNDIBasedSecurityManagement implements ISecurityManagement {
         }
 
         SecurityDomainContext securityDomainContext = new SecurityDomainContext(am);
+        if (cacheFactory instanceof DefaultAuthenticationCacheFactory) {
+            securityDomainContext.setAuthenticationCacheStatistics(((DefaultAuthenticationCacheFactory) cacheFactory).getStatistics());
+        }
         securityDomainContext.setAuthorizationManager(createAuthorizationManager(securityDomain));
         securityDomainContext.setAuditManager(createAuditManager(securityDomain));
         securityDomainContext.setIdentityTrustManager(createIdentityTrustManager(securityDomain));
@@ -44,6 +44,9 @@ import org.jboss.security.mapping.MappingManager;
  */
 public class SecurityDomainContext {
 
+    /** The number of authorization decisions a web application caches, unless configured otherwise */
+    public static final int DEFAULT_AUTHORIZATION_CACHE_MAX_ENTRIES = 1000;
+
     static final String ACTIVE_SUBJECT = "subject";
     static final String AUTHENTICATION_MGR = "authenticationMgr";
     static final String AUTHORIZATION_MGR = "authorizationMgr";
@@ -59,6 +62,9 @@ public class SecurityDomainContext {
     MappingManager mappingMgr;
     IdentityTrustManager identityTrustMgr;
     JSSESecurityDomain jsseSecurityDomain;
+    AuthenticationCacheStatistics authenticationCacheStatistics = new AuthenticationCacheStatistics();
+    FailedAuthenticationCache failedAuthenticationCache;
+    int authorizationCacheMaxEntries = DEFAULT_AUTHORIZATION_CACHE_MAX_ENTRIES;
 
     private static final String SUBJECT_CONTEXT_KEY = "javax.security.auth.Subject.container";
 
@@ -147,4 +153,34 @@ public class SecurityDomainContext {
     public void setJSSE(JSSESecurityDomain jsseSecurityDomain) {
         this.jsseSecurityDomain = jsseSecurityDomain;
     }
+
+    public AuthenticationCacheStatistics getAuthenticationCacheStatistics() {
+        return authenticationCacheStatistics;
+    }
+
+    public void setAuthenticationCacheStatistics(AuthenticationCacheStatistics authenticationCacheStatistics) {
+        this.authenticationCacheStatistics = authenticationCacheStatistics;
+    }
+
+    /**
+     * @return the cache of failed authentications, or {@code null} if failed authentications are not cached
+     */
+    public FailedAuthenticationCache getFailedAuthenticationCache() {
+        return failedAuthenticationCache;
+    }
+
+    public void setFailedAuthenticationCache(FailedAuthenticationCache failedAuthenticationCache) {
+        this.failedAuthenticationCache = failedAuthenticationCache;
+    }
+
+    /**
+     * @return the maximum number of authorization decisions a web application caches, {@code 0} if they are not cached
+     */
+    public int getAuthorizationCacheMaxEntries() {
+        return authorizationCacheMaxEntries;
+    }
+
+    public void setAuthorizationCacheMaxEntries(int authorizationCacheMaxEntries) {
+        this.authorizationCacheMaxEntries = authorizationCacheMaxEntries;
+    }
 }
@@ -23,6 +23,7 @@
 package org.jboss.as.security.service;
 
 import java.security.Policy;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.security.jacc.PolicyConfiguration;
 import javax.security.jacc.PolicyConfigurationFactory;
@@ -50,6 +51,9 @@ public abstract class JaccService<T> implements Service<PolicyConfiguration> {
 
     public static final ServiceName SERVICE_NAME = SecurityExtension.JBOSS_SECURITY.append("jacc");
 
+    /** Incremented whenever a policy configuration is committed or deleted */
+    private static final AtomicInteger policyGeneration = new AtomicInteger();
+
     private final String contextId;
 
     private final T metaData;
@@ -103,6 +107,7 @@ public abstract class JaccService<T> implements Service<PolicyConfiguration> {
                 }
                 // Allow the policy to incorporate the policy configs
                 Policy.getPolicy().refresh();
+                policyGeneration.incrementAndGet();
             }
         } catch (Exception e) {
             throw SecurityMessages.MESSAGES.unableToStartException("JaccService", e);
@@ -117,6 +122,7 @@ public abstract class JaccService<T> implements Service<PolicyConfiguration> {
             synchronized (pcf) { // synchronize on the factory
                 policyConfiguration = pcf.getPolicyConfiguration(contextId, false);
                 policyConfiguration.delete();
+                policyGeneration.incrementAndGet();
             }
         } catch (Exception e) {
             SecurityLogger.ROOT_LOGGER.errorDeletingJACCPolicy(e);
@@ -124,6 +130,16 @@ public abstract class JaccService<T> implements Service<PolicyConfiguration> {
         policyConfiguration = null;
     }
 
+    /**
+     * Returns a number that changes every time a JACC policy configuration is committed or deleted, so that
+     * callers caching authorization decisions can tell when to discard them.
+     *
+     * @return the current policy generation
+     */
+    public static int getPolicyGeneration() {
+        return policyGeneration.get();
+    }
+
     /**
      * Target {@code Injector}
      *
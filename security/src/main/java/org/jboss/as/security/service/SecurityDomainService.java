@@ -28,7 +28,9 @@ import org.infinispan.manager.EmbeddedCacheManager;
 import org.jboss.as.security.SecurityExtension;
 import org.jboss.as.security.SecurityLogger;
 import org.jboss.as.security.SecurityMessages;
+import org.jboss.as.security.plugins.AuthenticationCacheStatistics;
 import org.jboss.as.security.plugins.DefaultAuthenticationCacheFactory;
+import org.jboss.as.security.plugins.FailedAuthenticationCache;
 import org.jboss.as.security.plugins.JNDIBasedSecurityManagement;
 import org.jboss.as.security.plugins.SecurityDomainContext;
 import org.jboss.msc.inject.Injector;
@@ -70,12 +72,43 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
 
     private final String cacheType;
 
+    private final int cacheMaxEntries;
+
+    private final long cacheMaxAge;
+
+    private final long cacheMaxIdle;
+
+    private final long failedAuthenticationCacheMaxAge;
+
+    private final int authorizationCacheMaxEntries;
+
     public SecurityDomainService(String name, ApplicationPolicy applicationPolicy, JSSESecurityDomain jsseSecurityDomain,
             String cacheType) {
+        this(name, applicationPolicy, jsseSecurityDomain, cacheType, DefaultAuthenticationCacheFactory.DEFAULT_MAX_ENTRIES, 0, 0, 0,
+                SecurityDomainContext.DEFAULT_AUTHORIZATION_CACHE_MAX_ENTRIES);
+    }
+
+    /**
+     * @param cacheMaxEntries the maximum number of principals in the default cache
+     * @param cacheMaxAge how long a principal stays in the default cache, in milliseconds, or {@code 0} for no limit
+     * @param cacheMaxIdle how long an unused principal stays in the default cache, in milliseconds, or {@code 0} for no limit
+     * @param failedAuthenticationCacheMaxAge how long failed authentications are remembered, in milliseconds, or
+     *        {@code 0} not to remember them
+     * @param authorizationCacheMaxEntries the maximum number of authorization decisions web applications cache, or
+     *        {@code 0} not to cache them
+     */
+    public SecurityDomainService(String name, ApplicationPolicy applicationPolicy, JSSESecurityDomain jsseSecurityDomain,
+            String cacheType, int cacheMaxEntries, long cacheMaxAge, long cacheMaxIdle, long failedAuthenticationCacheMaxAge,
+            int authorizationCacheMaxEntries) {
         this.name = name;
         this.applicationPolicy = applicationPolicy;
         this.jsseSecurityDomain = jsseSecurityDomain;
         this.cacheType = cacheType;
+        this.cacheMaxEntries = cacheMaxEntries;
+        this.cacheMaxAge = cacheMaxAge;
+        this.cacheMaxIdle = cacheMaxIdle;
+        this.failedAuthenticationCacheMaxAge = failedAuthenticationCacheMaxAge;
+        this.authorizationCacheMaxEntries = authorizationCacheMaxEntries;
     }
 
     /** {@inheritDoc} */
@@ -92,13 +125,19 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
         if ("infinispan".equals(cacheType)) {
             cacheFactory = cacheManagerValue.getValue();
         } else if ("default".equals(cacheType)) {
-            cacheFactory = new DefaultAuthenticationCacheFactory();
+            cacheFactory = new DefaultAuthenticationCacheFactory(cacheMaxEntries, cacheMaxAge, cacheMaxIdle,
+                    new AuthenticationCacheStatistics());
         }
         try {
             securityDomainContext = securityManagement.createSecurityDomainContext(name, cacheFactory);
         } catch (Exception e) {
             throw SecurityMessages.MESSAGES.unableToStartException("SecurityDomainService", e);
         }
+        if (failedAuthenticationCacheMaxAge > 0) {
+            securityDomainContext.setFailedAuthenticationCache(new FailedAuthenticationCache(failedAuthenticationCacheMaxAge,
+                    cacheMaxEntries));
+        }
+        securityDomainContext.setAuthorizationCacheMaxEntries(authorizationCacheMaxEntries);
         if (jsseSecurityDomain != null) {
             try {
                 jsseSecurityDomain.reloadKeyAndTrustStore();
@@ -0,0 +1,133 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.plugins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.security.Principal;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.security.SimplePrincipal;
+import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
+import org.junit.Test;
+
+public class DefaultAuthenticationCacheFactoryTestCase {
+
+    private final Principal user = new SimplePrincipal("user");
+
+    @Test
+    public void testHitsAndMisses() {
+        DefaultAuthenticationCacheFactory factory = new DefaultAuthenticationCacheFactory(100, 0, 0, new AuthenticationCacheStatistics());
+        ConcurrentMap<Principal, DomainInfo> cache = factory.getCache();
+        DomainInfo domainInfo = mock(DomainInfo.class);
+
+        assertNull(cache.get(user));
+        cache.put(user, domainInfo);
+        assertSame(domainInfo, cache.get(user));
+        assertSame(domainInfo, cache.get(user));
+
+        AuthenticationCacheStatistics statistics = factory.getStatistics();
+        assertEquals(2L, statistics.getHits());
+        assertEquals(1L, statistics.getMisses());
+        assertEquals(0L, statistics.getEvictions());
+    }
+
+    @Test
+    public void testNoExpiry() throws Exception {
+        DefaultAuthenticationCacheFactory factory = new DefaultAuthenticationCacheFactory(100, 0, 0, new AuthenticationCacheStatistics());
+        ConcurrentMap<Principal, DomainInfo> cache = factory.getCache();
+        DomainInfo domainInfo = mock(DomainInfo.class);
+        cache.put(user, domainInfo);
+        Thread.sleep(200L);
+        assertSame(domainInfo, cache.get(user));
+        verify(domainInfo, never()).logout();
+    }
+
+    @Test
+    public void testMaxAge() throws Exception {
+        DefaultAuthenticationCacheFactory factory = new DefaultAuthenticationCacheFactory(100, 500L, 0, new AuthenticationCacheStatistics());
+        ConcurrentMap<Principal, DomainInfo> cache = factory.getCache();
+        DomainInfo domainInfo = mock(DomainInfo.class);
+        cache.put(user, domainInfo);
+        assertSame(domainInfo, cache.get(user));
+
+        // using the entry does not keep it from expiring
+        Thread.sleep(300L);
+        assertSame(domainInfo, cache.get(user));
+        Thread.sleep(700L);
+        assertNull(cache.get(user));
+        assertNull(cache.get(user));
+        verify(domainInfo).logout();
+
+        AuthenticationCacheStatistics statistics = factory.getStatistics();
+        assertEquals(1L, statistics.getEvictions());
+        assertEquals(2L, statistics.getMisses());
+    }
+
+    @Test
+    public void testMaxIdle() throws Exception {
+        DefaultAuthenticationCacheFactory factory = new DefaultAuthenticationCacheFactory(100, 0, 1000L, new AuthenticationCacheStatistics());
+        ConcurrentMap<Principal, DomainInfo> cache = factory.getCache();
+        DomainInfo domainInfo = mock(DomainInfo.class);
+        cache.put(user, domainInfo);
+
+        // an entry that is used stays cached for longer than the idle time
+        for (int i = 0; i < 5; i++) {
+            Thread.sleep(300L);
+            assertNotNull(cache.get(user));
+        }
+        Thread.sleep(1500L);
+        assertNull(cache.get(user));
+        verify(domainInfo).logout();
+        assertEquals(1L, factory.getStatistics().getEvictions());
+    }
+
+    @Test
+    public void testReplaceResetsAge() throws Exception {
+        DefaultAuthenticationCacheFactory factory = new DefaultAuthenticationCacheFactory(100, 500L, 0, new AuthenticationCacheStatistics());
+        ConcurrentMap<Principal, DomainInfo> cache = factory.getCache();
+        cache.put(user, mock(DomainInfo.class));
+        Thread.sleep(300L);
+        DomainInfo replacement = mock(DomainInfo.class);
+        cache.replace(user, replacement);
+        Thread.sleep(300L);
+        assertSame(replacement, cache.get(user));
+    }
+
+    @Test
+    public void testClearLogsOut() {
+        DefaultAuthenticationCacheFactory factory = new DefaultAuthenticationCacheFactory(100, 0, 0, new AuthenticationCacheStatistics());
+        ConcurrentMap<Principal, DomainInfo> cache = factory.getCache();
+        DomainInfo domainInfo = mock(DomainInfo.class);
+        cache.put(user, domainInfo);
+        cache.clear();
+        assertNull(cache.get(user));
+        verify(domainInfo).logout();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.plugins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.security.Principal;
+
+import org.jboss.security.SimplePrincipal;
+import org.junit.Test;
+
+public class FailedAuthenticationCacheTestCase {
+
+    private final Principal user = new SimplePrincipal("user");
+
+    @Test
+    public void testRemembersFailure() {
+        FailedAuthenticationCache cache = new FailedAuthenticationCache(60000L, 100);
+        assertFalse(cache.isFailed(user, "wrong"));
+        cache.failed(user, "wrong");
+        assertTrue(cache.isFailed(user, "wrong"));
+        assertTrue(cache.isFailed(user, "wrong".toCharArray()));
+        assertTrue(cache.isFailed(user, "wrong".getBytes()));
+        assertFalse(cache.isFailed(user, "right"));
+        assertFalse(cache.isFailed(new SimplePrincipal("other"), "wrong"));
+    }
+
+    @Test
+    public void testIgnoresUnsupportedCredentials() {
+        FailedAuthenticationCache cache = new FailedAuthenticationCache(60000L, 100);
+        Object credential = new Object();
+        cache.failed(user, credential);
+        cache.failed(null, "wrong");
+        assertFalse(cache.isFailed(user, credential));
+        assertFalse(cache.isFailed(null, "wrong"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testExpiry() throws Exception {
+        FailedAuthenticationCache cache = new FailedAuthenticationCache(500L, 100);
+        cache.failed(user, "wrong");
+        assertTrue(cache.isFailed(user, "wrong"));
+        Thread.sleep(1000L);
+        assertFalse(cache.isFailed(user, "wrong"));
+        // the expired failure is dropped when it is looked up
+        assertEquals(0, cache.size());
+
+        cache.failed(user, "wrong");
+        assertTrue(cache.isFailed(user, "wrong"));
+    }
+
+    @Test
+    public void testBounded() {
+        final int maxEntries = 16;
+        FailedAuthenticationCache cache = new FailedAuthenticationCache(60000L, maxEntries);
+        for (int i = 0; i < 10 * maxEntries; i++) {
+            cache.failed(user, "wrong" + i);
+            assertTrue(cache.size() <= maxEntries);
+        }
+        // the most recent failure is never the one evicted
+        assertTrue(cache.isFailed(user, "wrong" + (10 * maxEntries - 1)));
+    }
+
+    @Test
+    public void testFlush() {
+        FailedAuthenticationCache cache = new FailedAuthenticationCache(60000L, 100);
+        cache.failed(user, "wrong");
+        cache.failed(new SimplePrincipal("other"), "wrong");
+        assertEquals(2, cache.size());
+        cache.flush();
+        assertEquals(0, cache.size());
+        assertFalse(cache.isFailed(user, "wrong"));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.test;
+
+import static org.junit.assertEquals;
+import static org.junit.assertFalse;
+import static org.junit.fail;
+
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.security.SecurityExtension;
+import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
+import org.jboss.as.subsystem.test.AdditionalInitialization;
+import org.jboss.as.subsystem.test.KernelServices;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+public class SecurityDomainModelv12UnitTestCase extends AbstractSubsystemBaseTest {
+
+    public SecurityDomainModelv12UnitTestCase() {
+        super(SecurityExtension.SUBSYSTEM_NAME, new SecurityExtension());
+    }
+
+    @Test
+    public void testParseAndMarshalModel() throws Exception {
+        //Parse the subsystem xml and install into the first controller
+        String subsystemXml = readResource("securitysubsystemv12.xml");
+
+        KernelServices servicesA = super.installInController(AdditionalInitialization.MANAGEMENT, subsystemXml);
+        //Get the model and the persisted xml from the first controller
+        ModelNode modelA = servicesA.readWholeModel();
+        String marshalled = servicesA.getPersistedSubsystemXml();
+        servicesA.shutdown();
+
+        //Install the persisted xml from the first controller into a second controller
+        KernelServices servicesB = super.installInController(AdditionalInitialization.MANAGEMENT, marshalled);
+        ModelNode modelB = servicesB.readWholeModel();
+
+        //Make sure the models from the two controllers are identical
+        super.compare(modelA, modelB);
+
+        assertRemoveSubsystemResources(servicesA);
+    }
+
+    @Test
+    public void testCacheAttributes() throws Exception {
+        KernelServices services = super.installInController(AdditionalInitialization.MANAGEMENT, readResource("securitysubsystemv12.xml"));
+        ModelNode domain = services.readWholeModel().get("subsystem", "security", "security-domain", "other");
+        assertEquals(500, domain.get("cache-max-entries").asInt());
+        assertEquals(300L, domain.get("cache-max-age").asLong());
+        assertEquals(60L, domain.get("cache-max-idle").asLong());
+        assertEquals(30L, domain.get("failed-authentication-cache-max-age").asLong());
+        assertEquals(200, domain.get("authorization-cache-max-entries").asInt());
+
+        ModelNode undefined = services.readWholeModel().get("subsystem", "security", "security-domain", "DsRealm");
+        assertFalse(undefined.hasDefined("cache-max-age"));
+        services.shutdown();
+    }
+
+    @Test
+    public void testCacheAttributesRejectedBy11() throws Exception {
+        String subsystemXml = readResource("securitysubsystemv12.xml").replace("urn:jboss:domain:security:1.2", "urn:jboss:domain:security:1.1");
+        try {
+            parse(subsystemXml);
+            fail("cache-max-entries is not part of the 1.1 schema");
+        } catch (XMLStreamException expected) {
+            // expected
+        }
+    }
+
+    @Override
+    protected String getSubsystemXml() throws IOException {
+        return readResource("securitysubsystemv12.xml");
+    }
+}
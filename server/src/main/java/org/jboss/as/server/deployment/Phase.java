@@ -424,6 +424,7 @@ public enum Phase {
     public static final int INSTALL_WAR_DEPLOYMENT                      = 0x1D00;
     public static final int INSTALL_DEPLOYMENT_REPOSITORY               = 0x1E00;
     public static final int INSTALL_EJB_MANAGEMENT_RESOURCES            = 0x1F00;
+    public static final int INSTALL_CMP_MANAGEMENT_RESOURCES            = 0x1F01;
     public static final int INSTALL_APPLICATION_CLIENT                  = 0x2000;
     public static final int INSTALL_DSXML_DEPLOYMENT                    = 0x2010;
     public static final int INSTALL_MESSAGING_XML_RESOURCES             = 0x2011;
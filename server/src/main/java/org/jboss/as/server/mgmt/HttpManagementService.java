@@ -24,6 +24,7 @@ package org.jboss.as.server.mgmt;
 
 import java.net.BindException;
 import java.net.InetSocketAddress;
+import java.security.AccessController;
 import java.util.concurrent.ExecutorService;
 
 import org.jboss.as.controller.ControlledProcessStateService;
@@ -31,6 +32,7 @@ import org.jboss.as.controller.ModelController;
 import org.jboss.as.controller.client.ModelControllerClient;
 import org.jboss.as.domain.http.server.ConsoleMode;
 import org.jboss.as.domain.http.server.ManagementHttpServer;
+import org.jboss.as.domain.http.server.RequestLimiter;
 import org.jboss.as.domain.management.security.SecurityRealmService;
 import org.jboss.as.network.ManagedBinding;
 import org.jboss.as.network.ManagedBindingRegistry;
@@ -46,6 +48,7 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
+import org.jboss.threads.JBossThreadFactory;
 
 /**
  * A service which launches the domain HTTP API and serverManagement.
@@ -67,6 +70,10 @@ public class HttpManagementService implements Service<HttpManagement> {
     private final InjectedValue<ControlledProcessStateService> controlledProcessStateServiceValue = new InjectedValue<ControlledProcessStateService>();
     private final ConsoleMode consoleMode;
     private final String consoleSlot;
+    private final int maxThreads;
+    private final int readOnlyThreads;
+    private volatile RequestLimiter requestLimiter;
+    private ExecutorService requestExecutor;
     private ManagementHttpServer serverManagement;
     private SocketBindingManager socketBindingManager;
     private boolean useUnmanagedBindings = false;
@@ -132,8 +139,18 @@ public class HttpManagementService implements Service<HttpManagement> {
     };
 
     public HttpManagementService(ConsoleMode consoleMode, String consoleSlot) {
+        this(consoleMode, consoleSlot, RequestLimiter.DEFAULT_MAX_THREADS, RequestLimiter.DEFAULT_READ_ONLY_THREADS);
+    }
+
+    /**
+     * @param maxThreads the maximum number of management API requests handled at the same time
+     * @param readOnlyThreads the number of additional requests handled at the same time that are reserved for read-only GET requests
+     */
+    public HttpManagementService(ConsoleMode consoleMode, String consoleSlot, int maxThreads, int readOnlyThreads) {
         this.consoleMode = consoleMode;
         this.consoleSlot = consoleSlot;
+        this.maxThreads = maxThreads;
+        this.readOnlyThreads = readOnlyThreads;
     }
 
     /**
@@ -176,9 +193,14 @@ public class HttpManagementService implements Service<HttpManagement> {
             }
         }
 
+        final RequestLimiter requestLimiter = new RequestLimiter(maxThreads, readOnlyThreads);
+        requestExecutor = requestLimiter.createExecutor(new JBossThreadFactory(new ThreadGroup("HttpManagementService-request-threads"),
+                Boolean.FALSE, null, "%G - %t", null, null, AccessController.getContext()));
+        this.requestLimiter = requestLimiter;
+
         try {
             serverManagement = ManagementHttpServer.create(bindAddress, secureBindAddress, 50, modelControllerClient,
-                    executorService, securityRealmService, controlledProcessStateService, consoleMode, consoleSlot);
+                    requestExecutor, securityRealmService, controlledProcessStateService, consoleMode, consoleSlot, requestLimiter);
             serverManagement.start();
 
             // Register the now-created sockets with the SBM
@@ -206,6 +228,7 @@ public class HttpManagementService implements Service<HttpManagement> {
                 }
             }
         } catch (BindException e) {
+            shutdownRequestExecutor();
             final StringBuilder sb = new StringBuilder().append(e.getMessage());
             if (bindAddress != null)
                 sb.append(" ").append(bindAddress);
@@ -213,10 +236,18 @@ public class HttpManagementService implements Service<HttpManagement> {
                 sb.append(" ").append(secureBindAddress);
             throw new StartException(sb.toString(), e);
         } catch (Exception e) {
+            shutdownRequestExecutor();
             throw ServerMessages.MESSAGES.failedToStartHttpManagementService(e);
         }
     }
 
+    private void shutdownRequestExecutor() {
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+            requestExecutor = null;
+        }
+    }
+
     /**
      * Stops the service.
      *
@@ -245,6 +276,7 @@ public class HttpManagementService implements Service<HttpManagement> {
                 }
             }
         }
+        shutdownRequestExecutor();
     }
 
     /**
@@ -254,6 +286,15 @@ public class HttpManagementService implements Service<HttpManagement> {
         return httpManagement;
     }
 
+    /**
+     * Get the limits and statistics of the management API requests.
+     *
+     * @return the request limiter, or {@code null} if the service has not been started yet
+     */
+    public RequestLimiter getRequestLimiter() {
+        return requestLimiter;
+    }
+
     /**
      * Get the interface binding injector.
      *
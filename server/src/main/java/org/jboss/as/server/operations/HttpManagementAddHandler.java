@@ -25,6 +25,8 @@ package org.jboss.as.server.operations;
 import static org.jboss.as.server.mgmt.HttpManagementResourceDefinition.HTTPS_PORT;
 import static org.jboss.as.server.mgmt.HttpManagementResourceDefinition.HTTP_PORT;
 import static org.jboss.as.server.mgmt.HttpManagementResourceDefinition.INTERFACE;
+import static org.jboss.as.server.mgmt.HttpManagementResourceDefinition.MAX_THREADS;
+import static org.jboss.as.server.mgmt.HttpManagementResourceDefinition.READ_ONLY_THREADS;
 import static org.jboss.as.server.mgmt.HttpManagementResourceDefinition.SECURE_SOCKET_BINDING;
 import static org.jboss.as.server.mgmt.HttpManagementResourceDefinition.SECURITY_REALM;
 import static org.jboss.as.server.mgmt.HttpManagementResourceDefinition.SOCKET_BINDING;
@@ -213,8 +215,12 @@ public class HttpManagementAddHandler extends AbstractAddStepHandler {
             consoleMode = ConsoleMode.NO_CONSOLE;
         }
 
+        final int maxThreads = MAX_THREADS.resolveModelAttribute(context, model).asInt();
+        final int readOnlyThreads = READ_ONLY_THREADS.resolveModelAttribute(context, model).asInt();
+
         ServerEnvironment environment = (ServerEnvironment) context.getServiceRegistry(false).getRequiredService(ServerEnvironmentService.SERVICE_NAME).getValue();
-        final HttpManagementService service = new HttpManagementService(consoleMode, environment.getProductConfig().getConsoleSlot());
+        final HttpManagementService service = new HttpManagementService(consoleMode, environment.getProductConfig().getConsoleSlot(),
+                maxThreads, readOnlyThreads);
         ServiceBuilder<HttpManagement> builder = serviceTarget.addService(HttpManagementService.SERVICE_NAME, service)
                 .addDependency(Services.JBOSS_SERVER_CONTROLLER, ModelController.class, service.getModelControllerInjector())
                 .addDependency(SocketBindingManagerImpl.SOCKET_BINDING_MANAGER, SocketBindingManager.class, service.getSocketBindingManagerInjector())
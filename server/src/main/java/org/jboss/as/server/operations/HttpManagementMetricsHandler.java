@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.operations;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.domain.http.server.RequestLimiter;
+import org.jboss.as.server.mgmt.HttpManagementService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the request metrics of the HTTP management interface, of a standalone server or of a host controller.
+ */
+public class HttpManagementMetricsHandler implements OperationStepHandler {
+
+    public static final SimpleAttributeDefinition ACTIVE_REQUESTS = new SimpleAttributeDefinitionBuilder("active-requests", ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition REQUEST_COUNT = new SimpleAttributeDefinitionBuilder("request-count", ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition REJECTED_REQUEST_COUNT = new SimpleAttributeDefinitionBuilder("rejected-request-count", ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition AVERAGE_RESPONSE_TIME = new SimpleAttributeDefinitionBuilder("average-response-time", ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition MAX_RESPONSE_TIME = new SimpleAttributeDefinitionBuilder("max-response-time", ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+
+    public static final AttributeDefinition[] METRICS = new AttributeDefinition[] {ACTIVE_REQUESTS, REQUEST_COUNT,
+            REJECTED_REQUEST_COUNT, AVERAGE_RESPONSE_TIME, MAX_RESPONSE_TIME};
+
+    public static final HttpManagementMetricsHandler INSTANCE = new HttpManagementMetricsHandler();
+
+    private HttpManagementMetricsHandler() {
+        //
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                final ServiceController<?> controller = context.getServiceRegistry(false).getService(HttpManagementService.SERVICE_NAME);
+                RequestLimiter limiter = null;
+                if (controller != null && controller.getState() == ServiceController.State.UP) {
+                    limiter = HttpManagementService.class.cast(controller.getService()).getRequestLimiter();
+                }
+                final ModelNode result = context.getResult();
+                if (limiter == null) {
+                    result.set(0);
+                } else if (ACTIVE_REQUESTS.getName().equals(attributeName)) {
+                    result.set(limiter.getActiveRequests());
+                } else if (REQUEST_COUNT.getName().equals(attributeName)) {
+                    result.set(limiter.getRequestCount());
+                } else if (REJECTED_REQUEST_COUNT.getName().equals(attributeName)) {
+                    result.set(limiter.getRejectedRequestCount());
+                } else if (AVERAGE_RESPONSE_TIME.getName().equals(attributeName)) {
+                    result.set(limiter.getAverageResponseTime());
+                } else if (MAX_RESPONSE_TIME.getName().equals(attributeName)) {
+                    result.set(limiter.getMaxResponseTime());
+                }
+                context.completeStep();
+            }
+        }, OperationContext.Stage.RUNTIME);
+        context.completeStep();
+    }
+}
@@ -524,6 +524,20 @@ public class StandaloneXml extends CommonXml implements ManagementXml.Delegate {
         }
     }
 
+    /**
+     * The request limits of the HTTP management interface are only allowed from the 1.3 schema onwards.
+     */
+    private static boolean isRequestLimitSupported(final Namespace namespace) {
+        switch (namespace) {
+            case DOMAIN_1_0:
+            case DOMAIN_1_1:
+            case DOMAIN_1_2:
+                return false;
+            default:
+                return true;
+        }
+    }
+
     private void parseManagementInterface1_1(XMLExtendedStreamReader reader, ModelNode address, boolean http, Namespace expectedNs, List<ModelNode> list)  throws XMLStreamException {
         final ModelNode operationAddress = address.clone();
         operationAddress.add(MANAGEMENT_INTERFACE, http ? HTTP_INTERFACE : NATIVE_INTERFACE);
@@ -553,6 +567,20 @@ public class StandaloneXml extends CommonXml implements ManagementXml.Delegate {
                         }
                         break;
                     }
+                    case MAX_THREADS: {
+                        if (!http || !isRequestLimitSupported(expectedNs)) {
+                            throw unexpectedAttribute(reader, i);
+                        }
+                        HttpManagementResourceDefinition.MAX_THREADS.parseAndSetParameter(value, addOp, reader);
+                        break;
+                    }
+                    case READ_ONLY_THREADS: {
+                        if (!http || !isRequestLimitSupported(expectedNs)) {
+                            throw unexpectedAttribute(reader, i);
+                        }
+                        HttpManagementResourceDefinition.READ_ONLY_THREADS.parseAndSetParameter(value, addOp, reader);
+                        break;
+                    }
                     default:
                         throw unexpectedAttribute(reader, i);
                 }
@@ -1088,6 +1116,8 @@ public class StandaloneXml extends CommonXml implements ManagementXml.Delegate {
         if (!consoleEnabled){
             HttpManagementResourceDefinition.CONSOLE_ENABLED.marshallAsAttribute(protocol, writer);
         }
+        HttpManagementResourceDefinition.MAX_THREADS.marshallAsAttribute(protocol, false, writer);
+        HttpManagementResourceDefinition.READ_ONLY_THREADS.marshallAsAttribute(protocol, false, writer);
 
         if (HttpManagementResourceDefinition.INTERFACE.isMarshallable(protocol)) {
             writer.writeEmptyElement(Element.SOCKET.getLocalName());
@@ -0,0 +1,146 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.jboss.as.domain.http.server.DomainApiHandler.Format;
+import org.jboss.as.test.benchmark.MicroBenchmark;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Compares the size and the cost of writing a large management response in the encodings the HTTP management API can
+ * negotiate: JSON, base64 encoded DMR and binary DMR, each uncompressed, gzip and deflate compressed. The payload is
+ * written by {@link DomainApiHandler#writePayload}, which is why this benchmark lives in the handler's package.
+ */
+public class ResponseEncodingBenchmarkTestCase {
+
+    private static final int OPERATIONS = Integer.getInteger("benchmark.management.operations", 20);
+
+    private static final String[] CODINGS = {null, Constants.GZIP, Constants.DEFLATE};
+
+    @Test
+    public void testResponseEncodings() throws Exception {
+        final ModelNode response = createResponse(200);
+        for (final Format format : Format.values()) {
+            for (final String coding : CODINGS) {
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DomainApiHandler.writePayload(bytes, response, format, coding, false);
+                assertDecodes(response, bytes.toByteArray(), format, coding);
+
+                final String name = format + "/" + (coding == null ? "identity" : coding);
+                System.out.printf("%-60s %10d bytes%n", name, bytes.size());
+                MicroBenchmark.run(name, OPERATIONS, new MicroBenchmark.Operation() {
+                    public Object run() throws Exception {
+                        final CountingOutputStream out = new CountingOutputStream();
+                        DomainApiHandler.writePayload(out, response, format, coding, false);
+                        return out;
+                    }
+                });
+            }
+        }
+    }
+
+    private static void assertDecodes(final ModelNode expected, final byte[] bytes, final Format format, final String coding) throws IOException {
+        InputStream in = new ByteArrayInputStream(bytes);
+        if (Constants.GZIP.equals(coding)) {
+            in = new GZIPInputStream(in);
+        } else if (Constants.DEFLATE.equals(coding)) {
+            in = new InflaterInputStream(in);
+        }
+        switch (format) {
+            case DMR:
+                final ModelNode dmr = new ModelNode();
+                dmr.readExternal(new DataInputStream(in));
+                assertEquals(expected, dmr);
+                break;
+            case DMR_ENCODED:
+                assertEquals(expected, ModelNode.fromBase64(in));
+                break;
+            default:
+                // JSON does not keep the distinction between int and long values, so compare parsed JSON
+                assertEquals(ModelNode.fromJSONString(expected.toJSONString(true)), ModelNode.fromJSONStream(in));
+        }
+    }
+
+    /**
+     * Builds a response shaped like a recursive {@code read-resource} including runtime attributes of a server with the
+     * given number of deployments.
+     */
+    private static ModelNode createResponse(final int deployments) {
+        final ModelNode response = new ModelNode();
+        response.get("outcome").set("success");
+        final ModelNode result = response.get("result");
+        result.get("name").set("standalone");
+        result.get("release-version").set("7.1.2.Final-SNAPSHOT");
+        for (int i = 0; i < deployments; i++) {
+            final ModelNode deployment = result.get("deployment", "deployment-" + i + ".war");
+            deployment.get("name").set("deployment-" + i + ".war");
+            deployment.get("runtime-name").set("deployment-" + i + ".war");
+            deployment.get("enabled").set(true);
+            deployment.get("persistent").set(true);
+            deployment.get("content").add().get("hash").set(new byte[20]);
+            final ModelNode web = deployment.get("subsystem", "web");
+            web.get("context-root").set("/deployment-" + i);
+            web.get("virtual-host").set("default-host");
+            web.get("active-sessions").set(i);
+            web.get("expired-sessions").set(0);
+            web.get("max-active-sessions").set(-1);
+            web.get("session-max-alive-time").set(0);
+            for (int j = 0; j < 10; j++) {
+                final ModelNode servlet = web.get("servlet", "servlet-" + j);
+                servlet.get("servlet-class").set("org.jboss.example.servlet.ExampleServlet" + j);
+                servlet.get("request-count").set(j * 1000L);
+                servlet.get("processing-time").set(j * 12345L);
+                servlet.get("max-time").set(j * 10L);
+                servlet.get("min-time").set(j);
+                servlet.get("load-time").set(0L);
+            }
+        }
+        return response;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(final int b) {
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            count += len;
+        }
+    }
+}
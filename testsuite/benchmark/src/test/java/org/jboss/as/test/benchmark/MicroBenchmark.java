@@ -0,0 +1,172 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.test.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Minimal in-process micro benchmark harness: runs an operation through a number of warm-up rounds, so the JIT has
+ * compiled it, then reports the average time per operation over the measured rounds.
+ * <p/>
+ * The number of operations per round and of rounds can be changed with the {@code benchmark.operations},
+ * {@code benchmark.warmup} and {@code benchmark.rounds} system properties.
+ */
+public final class MicroBenchmark {
+
+    private static final int OPERATIONS = Integer.getInteger("benchmark.operations", 1000000);
+    private static final int WARMUP_ROUNDS = Integer.getInteger("benchmark.warmup", 5);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 10);
+
+    /** Written by every operation so the JIT cannot discard results as dead code. */
+    private static volatile Object sink;
+
+    private MicroBenchmark() {
+    }
+
+    /**
+     * A benchmarked operation.
+     */
+    public interface Operation {
+        Object run() throws Exception;
+    }
+
+    /**
+     * Runs the operation and prints the average time per call.
+     *
+     * @param name the name to print the result under
+     * @param operation the operation
+     * @return the average time per call, in nanoseconds
+     * @throws Exception if the operation fails
+     */
+    public static double run(final String name, final Operation operation) throws Exception {
+        return run(name, OPERATIONS, operation);
+    }
+
+    /**
+     * Runs an expensive operation, a fixed number of times per round, and prints the average time per call.
+     *
+     * @param name the name to print the result under
+     * @param operations the number of calls per round
+     * @param operation the operation
+     * @return the average time per call, in nanoseconds
+     * @throws Exception if the operation fails
+     */
+    public static double run(final String name, final int operations, final Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round(operations, operation);
+        }
+        long total = 0L;
+        for (int i = 0; i < ROUNDS; i++) {
+            total += round(operations, operation);
+        }
+        final double nanosPerOperation = (double) total / ((long) ROUNDS * operations);
+        System.out.printf("%-60s %10.1f ns/op%n", name, nanosPerOperation);
+        return nanosPerOperation;
+    }
+
+    /**
+     * Runs the operation on several threads at once and prints the average wall clock time per call, i.e. the
+     * inverse of the throughput of all the threads together.
+     *
+     * @param name the name to print the result under
+     * @param threads the number of threads calling the operation
+     * @param operation the operation
+     * @return the average wall clock time per call, in nanoseconds
+     * @throws Exception if the operation fails
+     */
+    public static double runConcurrently(final String name, final int threads, final Operation operation) throws Exception {
+        return runConcurrently(name, threads, OPERATIONS / threads, operation);
+    }
+
+    /**
+     * Runs an expensive operation on several threads at once, a fixed number of times per thread and round, and prints
+     * the average wall clock time per call.
+     *
+     * @param name the name to print the result under
+     * @param threads the number of threads calling the operation
+     * @param operations the number of calls per thread and round
+     * @param operation the operation
+     * @return the average wall clock time per call, in nanoseconds
+     * @throws Exception if the operation fails
+     */
+    public static double runConcurrently(final String name, final int threads, final int operations, final Operation operation) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                concurrentRound(executor, threads, operations, operation);
+            }
+            long total = 0L;
+            for (int i = 0; i < ROUNDS; i++) {
+                total += concurrentRound(executor, threads, operations, operation);
+            }
+            final double nanosPerOperation = (double) total / ((long) ROUNDS * operations * threads);
+            System.out.printf("%-60s %10.1f ns/op%n", name + " (" + threads + " threads)", nanosPerOperation);
+            return nanosPerOperation;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long concurrentRound(final ExecutorService executor, final int threads, final int operations, final Operation operation) throws Exception {
+        final CountDownLatch ready = new CountDownLatch(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Object>> results = new ArrayList<Future<Object>>(threads);
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    ready.countDown();
+                    start.await();
+                    Object result = null;
+                    for (int j = 0; j < operations; j++) {
+                        result = operation.run();
+                    }
+                    return result;
+                }
+            }));
+        }
+        ready.await();
+        final long begin = System.nanoTime();
+        start.countDown();
+        for (Future<Object> result : results) {
+            sink = result.get();
+        }
+        return System.nanoTime() - begin;
+    }
+
+    private static long round(final int operations, final Operation operation) throws Exception {
+        Object result = null;
+        final long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            result = operation.run();
+        }
+        final long elapsed = System.nanoTime() - start;
+        sink = result;
+        return elapsed;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.test.benchmark.cmp;
+
+import org.jboss.as.cmp.jdbc2.schema.Cache;
+import org.jboss.as.cmp.jdbc2.schema.ConcurrentTableCache;
+import org.jboss.as.cmp.jdbc2.schema.PartitionedTableCache;
+import org.jboss.as.cmp.jdbc2.schema.TableCache;
+import org.jboss.as.test.benchmark.MicroBenchmark;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Measures cached row lookups of a read-mostly entity, from several threads, with the jdbc2 row caches: the single
+ * {@link TableCache}, the {@link PartitionedTableCache} and the {@link ConcurrentTableCache}. Lookups are done the
+ * way the entity table does them, i.e. with the key locked. Every cache must find all the rows before it is timed.
+ */
+public class TableCacheBenchmarkTestCase {
+
+    private static final int ROWS = 10000;
+    private static final int FIELDS = 8;
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private static final ThreadLocal<int[]> SEED = new ThreadLocal<int[]>() {
+        protected int[] initialValue() {
+            return new int[]{System.identityHashCode(Thread.currentThread()) | 1};
+        }
+    };
+
+    @Test
+    public void testConcurrentLookups() throws Exception {
+        lookups("TableCache.getFields", new TableCache(0, ROWS, ROWS));
+        lookups("PartitionedTableCache.getFields", new PartitionedTableCache(ROWS, ROWS, 10));
+        lookups("ConcurrentTableCache.getFields", new ConcurrentTableCache(ROWS, ROWS));
+    }
+
+    private static void lookups(final String name, final Cache cache) throws Exception {
+        final Integer[] keys = new Integer[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            keys[i] = i;
+            cache.put(null, keys[i], new Object[FIELDS], null);
+        }
+        for (Integer pk : keys) {
+            final Object[] fields = getFields(cache, pk);
+            assertNotNull(name + " lost row " + pk, fields);
+            assertEquals(FIELDS, fields.length);
+        }
+
+        MicroBenchmark.runConcurrently(name, THREADS, new MicroBenchmark.Operation() {
+            public Object run() throws Exception {
+                return getFields(cache, keys[nextIndex()]);
+            }
+        });
+
+        if (cache instanceof ConcurrentTableCache) {
+            final ConcurrentTableCache concurrentCache = (ConcurrentTableCache) cache;
+            assertEquals(ROWS, concurrentCache.size());
+            assertEquals(0, concurrentCache.getEvictionCount());
+            assertEquals(0, concurrentCache.getMissCount());
+        }
+    }
+
+    private static Object[] getFields(final Cache cache, final Integer pk) {
+        cache.lock(pk);
+        try {
+            return cache.getFields(pk);
+        } finally {
+            cache.unlock(pk);
+        }
+    }
+
+    /**
+     * @return a pseudo random row index, from a per thread xorshift sequence
+     */
+    private static int nextIndex() {
+        final int[] seed = SEED.get();
+        int x = seed[0];
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        seed[0] = x;
+        return (x & Integer.MAX_VALUE) % ROWS;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.test.benchmark.iiop;
+
+import java.lang.reflect.Method;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.Properties;
+
+import org.jboss.as.ejb3.iiop.CDRParamsCompiler;
+import org.jboss.as.jacorb.rmi.marshal.CDRStream;
+import org.jboss.as.jacorb.rmi.marshal.strategy.SkeletonStrategy;
+import org.jboss.as.jacorb.rmi.marshal.strategy.StubStrategy;
+import org.jboss.as.test.benchmark.MicroBenchmark;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.omg.CORBA.ORB;
+import org.omg.CORBA_2_3.portable.InputStream;
+import org.omg.CORBA_2_3.portable.OutputStream;
+
+/**
+ * Measures the marshalling of the parameters of a five argument IIOP call, by the stub on the client side and by the
+ * skeleton on the server side, with the reflective per parameter strategies and with the generated ones.
+ */
+public class CDRMarshallingBenchmarkTestCase {
+
+    private static final Object[] PARAMS = { 42, 4200000000L, 19.99d, Boolean.TRUE, "express delivery" };
+    private static final String[] NO_EXCEPTIONS = {};
+
+    private static ORB orb;
+
+    @BeforeClass
+    public static void initOrb() {
+        final Properties properties = new Properties();
+        properties.setProperty("org.omg.CORBA.ORBClass", "org.jacorb.orb.ORB");
+        properties.setProperty("org.omg.CORBA.ORBSingletonClass", "org.jacorb.orb.ORBSingleton");
+        orb = ORB.init((String[]) null, properties);
+    }
+
+    @AfterClass
+    public static void shutdownOrb() {
+        orb.shutdown(false);
+    }
+
+    @Test
+    public void testReflectiveMarshalling() throws Exception {
+        final Method method = Orders.class.getMethod("placeOrder", int.class, long.class, double.class, boolean.class, String.class);
+        final StubStrategy stub = StubStrategy.forMethod(abbrevsFor(method), NO_EXCEPTIONS, NO_EXCEPTIONS, "V", getClass().getClassLoader());
+        final SkeletonStrategy skeleton = new SkeletonStrategy(method);
+        run("reflective", stub, skeleton);
+    }
+
+    @Test
+    public void testGeneratedMarshalling() throws Exception {
+        final Method method = Orders.class.getMethod("placeOrder", int.class, long.class, double.class, boolean.class, String.class);
+        // measure the generated classes, not the per parameter fallback
+        Assert.assertNotNull(CDRParamsCompiler.writerFor(abbrevsFor(method), getClass().getClassLoader()));
+        Assert.assertNotNull(CDRParamsCompiler.readerFor(method.getParameterTypes()));
+        final StubStrategy stub = CDRParamsCompiler.stubStrategy(abbrevsFor(method), NO_EXCEPTIONS, NO_EXCEPTIONS, "V", getClass().getClassLoader());
+        final SkeletonStrategy skeleton = CDRParamsCompiler.skeletonStrategy(method);
+        run("generated", stub, skeleton);
+    }
+
+    private static void run(final String name, final StubStrategy stub, final SkeletonStrategy skeleton) throws Exception {
+        Assert.assertArrayEquals(PARAMS, roundTrip(stub, skeleton));
+        MicroBenchmark.run("CDR parameter marshalling (" + name + ")", new MicroBenchmark.Operation() {
+            public Object run() throws Exception {
+                return roundTrip(stub, skeleton);
+            }
+        });
+    }
+
+    /**
+     * Marshals the parameters as the stub does, then unmarshals them from the same buffer as the skeleton does.
+     */
+    private static Object[] roundTrip(final StubStrategy stub, final SkeletonStrategy skeleton) {
+        final OutputStream out = (OutputStream) orb.create_output_stream();
+        stub.writeParams(out, PARAMS);
+        return skeleton.readParams((InputStream) out.create_input_stream());
+    }
+
+    private static String[] abbrevsFor(final Method method) {
+        final Class<?>[] types = method.getParameterTypes();
+        final String[] abbrevs = new String[types.length];
+        for (int i = 0; i < types.length; i++) {
+            abbrevs[i] = CDRStream.abbrevFor(types[i]);
+        }
+        return abbrevs;
+    }
+
+    public interface Orders extends Remote {
+        void placeOrder(int customer, long item, double price, boolean express, String notes) throws RemoteException;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.test.benchmark.iiop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.jboss.as.jacorb.rmi.ContainerAnalysis;
+import org.jboss.as.jacorb.rmi.InterfaceAnalysis;
+import org.jboss.as.test.benchmark.MicroBenchmark;
+import org.jboss.as.test.benchmark.iiop.shop.Catalog;
+import org.jboss.as.test.benchmark.iiop.shop.Customers;
+import org.jboss.as.test.benchmark.iiop.shop.Inventory;
+import org.jboss.as.test.benchmark.iiop.shop.Orders;
+import org.junit.Test;
+
+/**
+ * Measures the RMI/IDL analysis done when IIOP-enabled EJBs are deployed: every round deploys the same set of remote
+ * interfaces, with their value types and exceptions, in a fresh class loader, analyses them all and undeploys them
+ * again, from several threads at once. Cached lookups of an already analysed interface are measured as well.
+ * <p/>
+ * The behaviour of the analysis cache is tested by {@code ContainerAnalysisTestCase} in the jacorb module; the results
+ * measured here are checked before they are timed.
+ */
+public class InterfaceAnalysisBenchmarkTestCase {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int DEPLOYMENTS_PER_THREAD = 20;
+
+    private static final Class<?>[] REMOTE_INTERFACES = { Catalog.class, Orders.class, Customers.class, Inventory.class };
+
+    @Test
+    public void testDeploymentAnalysis() throws Exception {
+        // a deployment's analyses match those of the same interfaces in another class loader, and are dropped on undeploy
+        final ClassLoader loader = new DeploymentClassLoader(InterfaceAnalysisBenchmarkTestCase.class.getClassLoader());
+        for (Class<?> remoteInterface : REMOTE_INTERFACES) {
+            final Class<?> deployed = loader.loadClass(remoteInterface.getName());
+            assertNotSame(remoteInterface, deployed);
+            final InterfaceAnalysis expected = InterfaceAnalysis.getInterfaceAnalysis(remoteInterface);
+            final InterfaceAnalysis analysis = InterfaceAnalysis.getInterfaceAnalysis(deployed);
+            assertNotSame(expected, analysis);
+            assertEquals(expected.getRepositoryId(), analysis.getRepositoryId());
+            assertEquals(expected.getOperations().length, analysis.getOperations().length);
+            assertEquals(expected.getAttributes().length, analysis.getAttributes().length);
+            assertSame(analysis, InterfaceAnalysis.getInterfaceAnalysis(deployed));
+            ContainerAnalysis.clearCache(loader);
+            assertNotSame(analysis, InterfaceAnalysis.getInterfaceAnalysis(deployed));
+            ContainerAnalysis.clearCache(loader);
+        }
+
+        MicroBenchmark.run("InterfaceAnalysis per deployment", DEPLOYMENTS_PER_THREAD, new MicroBenchmark.Operation() {
+            public Object run() throws Exception {
+                return deploy();
+            }
+        });
+        MicroBenchmark.runConcurrently("InterfaceAnalysis per deployment", THREADS, DEPLOYMENTS_PER_THREAD, new MicroBenchmark.Operation() {
+            public Object run() throws Exception {
+                return deploy();
+            }
+        });
+    }
+
+    @Test
+    public void testCachedAnalysis() throws Exception {
+        final InterfaceAnalysis analysis = InterfaceAnalysis.getInterfaceAnalysis(Catalog.class);
+        assertSame(analysis, InterfaceAnalysis.getInterfaceAnalysis(Catalog.class));
+
+        MicroBenchmark.runConcurrently("InterfaceAnalysis.getInterfaceAnalysis (cached)", THREADS, new MicroBenchmark.Operation() {
+            public Object run() throws Exception {
+                return InterfaceAnalysis.getInterfaceAnalysis(Catalog.class);
+            }
+        });
+    }
+
+    /**
+     * Analyses all remote interfaces as defined by a new class loader, then drops them from the cache.
+     */
+    private static Object deploy() throws Exception {
+        final ClassLoader loader = new DeploymentClassLoader(InterfaceAnalysisBenchmarkTestCase.class.getClassLoader());
+        Object result = null;
+        for (Class<?> remoteInterface : REMOTE_INTERFACES) {
+            result = InterfaceAnalysis.getInterfaceAnalysis(loader.loadClass(remoteInterface.getName()));
+        }
+        ContainerAnalysis.clearCache(loader);
+        return result;
+    }
+
+    /**
+     * Defines its own copy of the classes of the {@code shop} package, so that each instance looks like a new deployment.
+     */
+    private static final class DeploymentClassLoader extends ClassLoader {
+        private static final String PREFIX = Catalog.class.getPackage().getName() + ".";
+
+        DeploymentClassLoader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(PREFIX)) {
+                return super.loadClass(name, resolve);
+            }
+            Class<?> c = findLoadedClass(name);
+            if (c == null) {
+                final byte[] bytes = readClass(name);
+                c = defineClass(name, bytes, 0, bytes.length);
+            }
+            if (resolve) {
+                resolveClass(c);
+            }
+            return c;
+        }
+
+        private byte[] readClass(final String name) throws ClassNotFoundException {
+            final InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class");
+            if (in == null) {
+                throw new ClassNotFoundException(name);
+            }
+            try {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            } finally {
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.test.benchmark.iiop.shop;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+public interface Customers extends Remote {
+    Customer getCustomer(long id) throws RemoteException, NotFoundException;
+    Customer[] findCustomers(String name) throws RemoteException;
+    long createCustomer(String name, Address billing, Address shipping) throws RemoteException;
+    void updateAddress(long id, Address address, boolean billing) throws RemoteException, NotFoundException;
+    void removeCustomer(long id) throws RemoteException, NotFoundException;
+    Orders getOrders() throws RemoteException;
+}
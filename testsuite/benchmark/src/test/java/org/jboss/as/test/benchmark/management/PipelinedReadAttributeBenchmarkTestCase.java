@@ -0,0 +1,149 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.test.benchmark.management;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.OperationAttachments;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.helpers.OperationPipeline;
+import org.jboss.as.controller.remote.ExistingChannelModelControllerClient;
+import org.jboss.as.controller.remote.ModelControllerClientOperationHandler;
+import org.jboss.as.controller.support.RemoteChannelPairSetup;
+import org.jboss.as.protocol.mgmt.ManagementChannelHandler;
+import org.jboss.as.protocol.mgmt.support.ManagementChannelInitialization;
+import org.jboss.dmr.ModelNode;
+import org.jboss.remoting3.Channel;
+import org.jboss.remoting3.HandleableCloseable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.xnio.IoUtils;
+
+/**
+ * Compares {@code read-attribute} round trips over a loopback native management connection executed one at a time
+ * with the same operations pipelined by an {@link OperationPipeline}.
+ */
+public class PipelinedReadAttributeBenchmarkTestCase {
+
+    private static final int OPERATIONS = Integer.getInteger("benchmark.management.pipeline.operations", 10000);
+    private static final int WARMUP_OPERATIONS = Math.min(1000, OPERATIONS);
+
+    private RemoteChannelPairSetup channels;
+    private ModelControllerClient client;
+
+    @Before
+    public void start() throws Exception {
+        channels = new RemoteChannelPairSetup();
+        client = setupClient(new ReadAttributeController());
+    }
+
+    @After
+    public void stop() throws Exception {
+        IoUtils.safeClose(client);
+        channels.stopChannels();
+        channels.shutdownRemoting();
+    }
+
+    @Test
+    public void testPipelinedReadAttribute() throws Exception {
+        final List<ModelNode> operations = new ArrayList<ModelNode>(OPERATIONS);
+        for (int i = 0; i < OPERATIONS; i++) {
+            final ModelNode operation = new ModelNode();
+            operation.get("operation").set("read-attribute");
+            operation.get("address").setEmptyList();
+            operation.get("name").set("attribute-" + i);
+            operations.add(operation);
+        }
+
+        // check both paths return the results of the operations, in order, and warm them up
+        for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+            assertEquals("attribute-" + i, client.execute(operations.get(i)).get("result").asString());
+        }
+        final List<ModelNode> warmup = new OperationPipeline(client).executeAll(operations.subList(0, WARMUP_OPERATIONS));
+        assertEquals(WARMUP_OPERATIONS, warmup.size());
+        for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+            assertEquals("attribute-" + i, warmup.get(i).get("result").asString());
+        }
+
+        long start = System.nanoTime();
+        for (ModelNode operation : operations) {
+            client.execute(operation);
+        }
+        final long sequential = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        final List<ModelNode> results = new OperationPipeline(client).executeAll(operations);
+        final long pipelined = System.nanoTime() - start;
+
+        assertEquals(OPERATIONS, results.size());
+        assertEquals("attribute-" + (OPERATIONS - 1), results.get(OPERATIONS - 1).get("result").asString());
+        System.out.printf("%d read-attribute operations: sequential %d ms, pipelined %d ms%n", OPERATIONS,
+                TimeUnit.NANOSECONDS.toMillis(sequential), TimeUnit.NANOSECONDS.toMillis(pipelined));
+    }
+
+    private ModelControllerClient setupClient(final ModelController controller) throws IOException {
+        try {
+            channels.setupRemoting(new ManagementChannelInitialization() {
+                @Override
+                public HandleableCloseable.Key startReceiving(Channel channel) {
+                    final ManagementChannelHandler support = new ManagementChannelHandler(channel, channels.getExecutorService());
+                    support.addHandlerFactory(new ModelControllerClientOperationHandler(controller, support));
+                    channel.receiveMessage(support.getReceiver());
+                    return null;
+                }
+            });
+            channels.startClientConnetion();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return ExistingChannelModelControllerClient.createReceiving(channels.getClientChannel(), channels.getExecutorService());
+    }
+
+    /**
+     * Answers every operation with the name of the attribute it reads.
+     */
+    private static final class ReadAttributeController implements ModelController {
+
+        @Override
+        public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+            final ModelNode result = new ModelNode();
+            result.get("outcome").set("success");
+            result.get("result").set(operation.get("name"));
+            return result;
+        }
+
+        @Override
+        public ModelControllerClient createClient(Executor executor) {
+            return null;
+        }
+    }
+}
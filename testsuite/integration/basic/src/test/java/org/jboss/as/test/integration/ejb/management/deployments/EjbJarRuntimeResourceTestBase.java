@@ -32,6 +32,7 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.ejb3.subsystem.deployment.EJBComponentType;
+import org.jboss.as.ejb3.subsystem.deployment.InterceptorChainsAttributeDefinition;
 import org.jboss.as.ejb3.subsystem.deployment.TimerAttributeDefinition;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -42,6 +43,7 @@ import org.junit.Test;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NILLABLE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
@@ -158,6 +160,8 @@ public class EjbJarRuntimeResourceTestBase {
 
         validateSecurity(address, resourceDescription, resource);
 
+        validateInterceptorChains(resourceDescription, resource);
+
         if (type.hasPool()) {
             validatePool(address, resourceDescription, resource);
         } else {
@@ -207,6 +211,30 @@ public class EjbJarRuntimeResourceTestBase {
 
     }
 
+    private void validateInterceptorChains(ModelNode resourceDescription, ModelNode resource) {
+
+        final String name = InterceptorChainsAttributeDefinition.INSTANCE.getName();
+        assertTrue(resourceDescription.get(ATTRIBUTES, name).isDefined());
+        assertEquals(ModelType.STRING, resourceDescription.get(ATTRIBUTES, name, DESCRIPTION).getType());
+        assertEquals(ModelType.LIST, resourceDescription.get(ATTRIBUTES, name, TYPE).asType());
+        assertEquals(ModelType.OBJECT, resourceDescription.get(ATTRIBUTES, name, VALUE_TYPE).getType());
+        assertTrue(resourceDescription.get(ATTRIBUTES, name, VALUE_TYPE, InterceptorChainsAttributeDefinition.COMPONENT_INTERCEPTORS, NILLABLE).asBoolean());
+
+        final ModelNode chainsAttr = resource.get(name);
+        assertTrue(chainsAttr.isDefined());
+        final List<ModelNode> chains = chainsAttr.asList();
+        assertFalse(chains.isEmpty());
+        for (ModelNode chain : chains) {
+            assertTrue(chain.get(InterceptorChainsAttributeDefinition.VIEW).isDefined());
+            assertTrue(chain.get(InterceptorChainsAttributeDefinition.METHOD).isDefined());
+            assertTrue(chain.get(InterceptorChainsAttributeDefinition.INTERCEPTORS).asInt() > 0);
+            final ModelNode componentChain = chain.get(InterceptorChainsAttributeDefinition.COMPONENT_INTERCEPTORS);
+            if (componentChain.isDefined()) {
+                assertTrue(componentChain.asInt() >= 0);
+            }
+        }
+    }
+
     private void validatePool(ModelNode address, ModelNode resourceDescription, ModelNode resource) {
 
         for (AttributeDefinition attr : POOL_ATTRIBUTES) {
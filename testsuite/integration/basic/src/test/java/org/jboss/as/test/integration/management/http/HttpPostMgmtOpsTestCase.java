@@ -31,6 +31,8 @@ import org.jboss.arquillian.container.test.api.Deployment;
 import org.jboss.arquillian.container.test.api.RunAsClient;
 import org.jboss.arquillian.junit.Arquillian;
 import org.jboss.arquillian.test.api.ArquillianResource;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.server.operations.HttpManagementMetricsHandler;
 import org.jboss.as.test.integration.common.HttpRequest;
 import org.jboss.as.test.integration.management.util.HttpMgmtProxy;
 import org.jboss.dmr.ModelNode;
@@ -228,6 +230,25 @@ public class HttpPostMgmtOpsTestCase {
 
     }
 
+    @Test
+    public void testReadRequestMetrics() throws Exception {
+
+        ModelNode op = httpMgmt.getOpNode("core-service=management/management-interface=http-interface", "read-resource");
+        op.get("include-runtime").set(true);
+
+        ModelNode ret = httpMgmt.sendPostCommand(op);
+        assertTrue("success".equals(ret.get("outcome").asString()));
+
+        ModelNode result = ret.get("result");
+        assertTrue(result.get("max-threads").asInt() > 0);
+        // at least the request reading the metrics is being handled
+        assertTrue(result.get(HttpManagementMetricsHandler.ACTIVE_REQUESTS.getName()).asInt() > 0);
+        assertTrue(result.get(HttpManagementMetricsHandler.REQUEST_COUNT.getName()).asLong() >= 0);
+        for (AttributeDefinition metric : HttpManagementMetricsHandler.METRICS) {
+            assertTrue(metric.getName(), result.has(metric.getName()));
+        }
+    }
+
 
     @Test
     public void testAddRemoveOperation() throws Exception {
@@ -40,7 +40,9 @@ import org.jboss.msc.service.ServiceName;
 public class BoundedQueueThreadPoolMetricsHandler extends ThreadPoolMetricsHandler {
 
     public static final List<AttributeDefinition> METRICS =
-            Arrays.asList(PoolAttributeDefinitions.CURRENT_THREAD_COUNT, PoolAttributeDefinitions.LARGEST_THREAD_COUNT, PoolAttributeDefinitions.REJECTED_COUNT);
+            Arrays.asList(PoolAttributeDefinitions.CURRENT_THREAD_COUNT, PoolAttributeDefinitions.LARGEST_THREAD_COUNT, PoolAttributeDefinitions.REJECTED_COUNT,
+                    PoolAttributeDefinitions.QUEUE_WAIT_TIME_AVERAGE, PoolAttributeDefinitions.QUEUE_WAIT_TIME_MAX, PoolAttributeDefinitions.QUEUE_WAIT_TIME_HISTOGRAM,
+                    PoolAttributeDefinitions.EXECUTION_TIME_AVERAGE, PoolAttributeDefinitions.EXECUTION_TIME_MAX, PoolAttributeDefinitions.EXECUTION_TIME_HISTOGRAM);
 
     public BoundedQueueThreadPoolMetricsHandler(final ServiceName serviceNameBase) {
         super(METRICS, serviceNameBase);
@@ -56,7 +58,7 @@ public class BoundedQueueThreadPoolMetricsHandler extends ThreadPoolMetricsHandl
             context.getResult().set(bounded.getLargestThreadCount());
         } else if (attributeName.equals(CommonAttributes.REJECTED_COUNT)) {
             context.getResult().set(bounded.getRejectedCount());
-        } else {
+        } else if (!setStatisticsResult(context, attributeName, bounded.getStatistics())) {
             // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
             throw ThreadsMessages.MESSAGES.unsupportedBoundedQueueThreadPoolMetric(attributeName);
         }
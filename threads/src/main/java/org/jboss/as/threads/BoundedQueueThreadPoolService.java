@@ -140,6 +140,11 @@ public class BoundedQueueThreadPoolService implements Service<ManagedQueueExecut
         return executor.getLargestThreadCount();
     }
 
+    public ThreadPoolStatistics getStatistics() {
+        final ManagedQueueExecutorService executor = getValue();
+        return executor.getStatistics();
+    }
+
     TimeUnit getKeepAliveUnit() {
         return keepAlive == null ? TimeSpec.DEFAULT_KEEPALIVE.getUnit() : keepAlive.getUnit();
     }
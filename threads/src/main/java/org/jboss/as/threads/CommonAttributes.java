@@ -35,6 +35,9 @@ public class CommonAttributes {
     public static final String CORE_THREADS = "core-threads";
     public static final String COUNT = "count";
     public static final String CURRENT_THREAD_COUNT = "current-thread-count";
+    public static final String EXECUTION_TIME_AVERAGE = "execution-time-average";
+    public static final String EXECUTION_TIME_HISTOGRAM = "execution-time-histogram";
+    public static final String EXECUTION_TIME_MAX = "execution-time-max";
     public static final String PER_CPU = "per-cpu";
     public static final String HANDOFF_EXECUTOR = "handoff-executor";
     public static final String LARGEST_THREAD_COUNT = "largest-thread-count";
@@ -47,8 +50,13 @@ public class CommonAttributes {
     public static final String PROPERTY = "property";
     public static final String QUEUELESS_THREAD_POOL = "queueless-thread-pool";
     public static final String QUEUE_LENGTH = "queue-length";
+    public static final String QUEUE_SIZE = "queue-size";
+    public static final String QUEUE_WAIT_TIME_AVERAGE = "queue-wait-time-average";
+    public static final String QUEUE_WAIT_TIME_HISTOGRAM = "queue-wait-time-histogram";
+    public static final String QUEUE_WAIT_TIME_MAX = "queue-wait-time-max";
     public static final String REJECTED_COUNT = "rejected-count";
     public static final String SCHEDULED_THREAD_POOL = "scheduled-thread-pool";
+    public static final String STEAL_COUNT = "steal-count";
     public static final String TASK_COUNT = "task-count";
     public static final String THREADS = "threads";
     public static final String TIME = "time";
@@ -57,4 +65,5 @@ public class CommonAttributes {
     public static final String UNBOUNDED_QUEUE_THREAD_POOL = "unbounded-queue-thread-pool";
     public static final String UNIT = "unit";
     public static final String VALUE = "value";
+    public static final String WORK_STEALING_THREAD_POOL = "work-stealing-thread-pool";
 }
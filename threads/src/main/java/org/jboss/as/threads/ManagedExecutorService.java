@@ -55,13 +55,37 @@ public abstract class ManagedExecutorService implements ExecutorService {
 
     abstract void internalShutdown();
 
+    /**
+     * Gives subclasses a chance to decorate a task before it is handed to the underlying executor.
+     *
+     * @param task the submitted task
+     * @return the task to execute
+     */
+    Runnable decorate(Runnable task) {
+        return task;
+    }
+
+    /**
+     * Gives subclasses a chance to decorate a task before it is handed to the underlying executor.
+     *
+     * @param task the submitted task
+     * @return the task to execute
+     */
+    <T> Callable<T> decorate(Callable<T> task) {
+        return task;
+    }
+
+    <T> Collection<? extends Callable<T>> decorate(Collection<? extends Callable<T>> tasks) {
+        return tasks;
+    }
+
     /**
      * {@inheritDoc}
      * @see java.util.concurrent.Executor#execute(java.lang.Runnable)
      */
     @Override
     public void execute(Runnable command) {
-        this.executor.execute(command);
+        this.executor.execute(decorate(command));
     }
 
     /**
@@ -116,7 +140,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> Future<T> submit(Callable<T> task) {
-        return this.executor.submit(task);
+        return this.executor.submit(decorate(task));
     }
 
     /**
@@ -125,7 +149,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> Future<T> submit(Runnable task, T result) {
-        return this.executor.submit(task, result);
+        return this.executor.submit(decorate(task), result);
     }
 
     /**
@@ -134,7 +158,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public Future<?> submit(Runnable task) {
-        return this.executor.submit(task);
+        return this.executor.submit(decorate(task));
     }
 
     /**
@@ -143,7 +167,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
-        return this.executor.invokeAll(tasks);
+        return this.executor.invokeAll(decorate(tasks));
     }
 
     /**
@@ -152,7 +176,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException {
-        return this.executor.invokeAll(tasks, timeout, unit);
+        return this.executor.invokeAll(decorate(tasks), timeout, unit);
     }
 
     /**
@@ -161,7 +185,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
-        return this.executor.invokeAny(tasks);
+        return this.executor.invokeAny(decorate(tasks));
     }
 
     /**
@@ -170,6 +194,6 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
-        return this.executor.invokeAny(tasks, timeout, unit);
+        return this.executor.invokeAny(decorate(tasks), timeout, unit);
     }
 }
@@ -21,6 +21,8 @@
  */
 package org.jboss.as.threads;
 
+import java.util.Collection;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -37,6 +39,7 @@ import org.jboss.threads.JBossThreadPoolExecutor;
 public class ManagedJBossThreadPoolExecutorService extends ManagedExecutorService implements BlockingExecutor {
 
     private final JBossThreadPoolExecutor executor;
+    private final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
 
     public ManagedJBossThreadPoolExecutorService(JBossThreadPoolExecutor executor) {
         super(executor);
@@ -53,6 +56,21 @@ public class ManagedJBossThreadPoolExecutorService extends ManagedExecutorServic
         executor.shutdown();
     }
 
+    @Override
+    Runnable decorate(Runnable task) {
+        return statistics.wrap(task);
+    }
+
+    @Override
+    <T> Callable<T> decorate(Callable<T> task) {
+        return statistics.wrap(task);
+    }
+
+    @Override
+    <T> Collection<? extends Callable<T>> decorate(Collection<? extends Callable<T>> tasks) {
+        return statistics.wrap(tasks);
+    }
+
     public int getCoreThreads() {
         return executor.getCoreThreads();
     }
@@ -122,6 +140,10 @@ public class ManagedJBossThreadPoolExecutorService extends ManagedExecutorServic
         return executor.getActiveCount();
     }
 
+    public ThreadPoolStatistics getStatistics() {
+        return statistics;
+    }
+
     <A> void addShutdownListener(final EventListener<A> shutdownListener, final A attachment) {
         executor.addShutdownListener(shutdownListener, attachment);
     }
@@ -129,18 +151,18 @@ public class ManagedJBossThreadPoolExecutorService extends ManagedExecutorServic
     @Override
     public void executeBlocking(Runnable task)
             throws RejectedExecutionException, InterruptedException {
-        executor.executeBlocking(task);
+        executor.executeBlocking(decorate(task));
     }
 
     @Override
     public void executeBlocking(Runnable task, long timeout, TimeUnit unit)
             throws RejectedExecutionException, InterruptedException {
-        executor.executeBlocking(task, timeout, unit);
+        executor.executeBlocking(decorate(task), timeout, unit);
     }
 
     @Override
     public void executeNonBlocking(Runnable task)
             throws RejectedExecutionException {
-        executor.executeNonBlocking(task);
+        executor.executeNonBlocking(decorate(task));
     }
 }
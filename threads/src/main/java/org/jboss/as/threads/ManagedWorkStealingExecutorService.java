@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+
+import org.jboss.threads.EventListener;
+
+/**
+ * {@link ManagedExecutorService} wrapping a {@link WorkStealingExecutor}.
+ */
+public class ManagedWorkStealingExecutorService extends ManagedExecutorService {
+
+    private final WorkStealingExecutor executor;
+    private final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+
+    ManagedWorkStealingExecutorService(WorkStealingExecutor executor) {
+        super(executor);
+        this.executor = executor;
+    }
+
+    @Override
+    void internalShutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    Runnable decorate(Runnable task) {
+        return statistics.wrap(task);
+    }
+
+    @Override
+    <T> Callable<T> decorate(Callable<T> task) {
+        return statistics.wrap(task);
+    }
+
+    @Override
+    <T> Collection<? extends Callable<T>> decorate(Collection<? extends Callable<T>> tasks) {
+        return statistics.wrap(tasks);
+    }
+
+    public int getMaxThreads() {
+        return executor.getThreadCount();
+    }
+
+    public int getCurrentThreadCount() {
+        return executor.getCurrentThreadCount();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getRejectedCount() {
+        return executor.getRejectedCount();
+    }
+
+    public long getTaskCount() {
+        return executor.getTaskCount();
+    }
+
+    public long getCompletedTaskCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    public long getStealCount() {
+        return executor.getStealCount();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueueSize();
+    }
+
+    public ThreadPoolStatistics getStatistics() {
+        return statistics;
+    }
+
+    <A> void addShutdownListener(final EventListener<A> shutdownListener, final A attachment) {
+        executor.addShutdownListener(shutdownListener, attachment);
+    }
+}
@@ -75,4 +75,12 @@ public interface PoolAttributeDefinitions {
     AttributeDefinition ACTIVE_COUNT = new SimpleAttributeDefinition(CommonAttributes.ACTIVE_COUNT, ModelType.INT, false);
     AttributeDefinition COMPLETED_TASK_COUNT = new SimpleAttributeDefinition(CommonAttributes.COMPLETED_TASK_COUNT, ModelType.INT, false);
     AttributeDefinition TASK_COUNT = new SimpleAttributeDefinition(CommonAttributes.TASK_COUNT, ModelType.INT, false);
+    AttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinition(CommonAttributes.QUEUE_SIZE, ModelType.INT, false);
+    AttributeDefinition STEAL_COUNT = new SimpleAttributeDefinition(CommonAttributes.STEAL_COUNT, ModelType.LONG, false);
+    AttributeDefinition QUEUE_WAIT_TIME_AVERAGE = new SimpleAttributeDefinition(CommonAttributes.QUEUE_WAIT_TIME_AVERAGE, ModelType.LONG, false, MeasurementUnit.MICROSECONDS);
+    AttributeDefinition QUEUE_WAIT_TIME_MAX = new SimpleAttributeDefinition(CommonAttributes.QUEUE_WAIT_TIME_MAX, ModelType.LONG, false, MeasurementUnit.MICROSECONDS);
+    AttributeDefinition QUEUE_WAIT_TIME_HISTOGRAM = new TaskTimeHistogramAttributeDefinition(CommonAttributes.QUEUE_WAIT_TIME_HISTOGRAM);
+    AttributeDefinition EXECUTION_TIME_AVERAGE = new SimpleAttributeDefinition(CommonAttributes.EXECUTION_TIME_AVERAGE, ModelType.LONG, false, MeasurementUnit.MICROSECONDS);
+    AttributeDefinition EXECUTION_TIME_MAX = new SimpleAttributeDefinition(CommonAttributes.EXECUTION_TIME_MAX, ModelType.LONG, false, MeasurementUnit.MICROSECONDS);
+    AttributeDefinition EXECUTION_TIME_HISTOGRAM = new TaskTimeHistogramAttributeDefinition(CommonAttributes.EXECUTION_TIME_HISTOGRAM);
 }
@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
+
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * {@link AttributeDefinition} for a thread pool metric holding a {@link TaskTimeStatistics} histogram. The value is an
+ * object whose keys are the bucket names and whose values are the number of samples in each bucket.
+ */
+class TaskTimeHistogramAttributeDefinition extends SimpleAttributeDefinition {
+
+    TaskTimeHistogramAttributeDefinition(final String name) {
+        super(name, ModelType.OBJECT, false);
+    }
+
+    @Override
+    public ModelNode addResourceAttributeDescription(ModelNode resourceDescription, ResourceDescriptionResolver resolver,
+                                                     Locale locale, ResourceBundle bundle) {
+        final ModelNode result = super.addResourceAttributeDescription(resourceDescription, resolver, locale, bundle);
+        result.get(VALUE_TYPE).set(ModelType.LONG);
+        return result;
+    }
+
+    /**
+     * Converts the histogram of the given statistics to the DMR representation of this attribute.
+     *
+     * @param statistics the statistics
+     * @return the attribute value
+     */
+    static ModelNode toModelNode(final TaskTimeStatistics statistics) {
+        final String[] names = TaskTimeStatistics.getBucketNames();
+        final long[] counts = statistics.getHistogram();
+        final ModelNode result = new ModelNode();
+        for (int i = 0; i < names.length; i++) {
+            result.get(names[i]).set(counts[i]);
+        }
+        return result;
+    }
+}
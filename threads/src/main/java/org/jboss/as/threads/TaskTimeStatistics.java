@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free accumulator for a stream of task timings, e.g. the time a task spent in a pool's queue
+ * or the time it took to execute. Samples are recorded in nanoseconds and grouped into a fixed set of
+ * exponentially sized buckets so that recording a sample never allocates.
+ */
+public final class TaskTimeStatistics {
+
+    /** Upper bounds (inclusive, in milliseconds) of the histogram buckets; a final bucket collects everything above. */
+    private static final long[] BUCKET_BOUNDS_MS = {1, 5, 10, 50, 100, 500, 1000, 5000, 10000};
+    private static final long[] BUCKET_BOUNDS_NS;
+    private static final String[] BUCKET_NAMES;
+
+    static {
+        BUCKET_BOUNDS_NS = new long[BUCKET_BOUNDS_MS.length];
+        BUCKET_NAMES = new String[BUCKET_BOUNDS_MS.length + 1];
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            BUCKET_BOUNDS_NS[i] = TimeUnit.MILLISECONDS.toNanos(BUCKET_BOUNDS_MS[i]);
+            BUCKET_NAMES[i] = "le-" + BUCKET_BOUNDS_MS[i] + "ms";
+        }
+        BUCKET_NAMES[BUCKET_BOUNDS_MS.length] = "gt-" + BUCKET_BOUNDS_MS[BUCKET_BOUNDS_MS.length - 1] + "ms";
+    }
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_NAMES.length);
+
+    /**
+     * Records a single sample.
+     *
+     * @param nanos the measured time, in nanoseconds
+     */
+    void record(final long nanos) {
+        // a non-monotonic clock may produce negative deltas; count them as zero
+        final long value = nanos < 0L ? 0L : nanos;
+        count.incrementAndGet();
+        total.addAndGet(value);
+        long current;
+        while (value > (current = max.get())) {
+            if (max.compareAndSet(current, value)) {
+                break;
+            }
+        }
+        buckets.incrementAndGet(bucketIndex(value));
+    }
+
+    private static int bucketIndex(final long nanos) {
+        final long[] bounds = BUCKET_BOUNDS_NS;
+        for (int i = 0; i < bounds.length; i++) {
+            if (nanos <= bounds[i]) {
+                return i;
+            }
+        }
+        return bounds.length;
+    }
+
+    /**
+     * Gets the number of recorded samples.
+     *
+     * @return the sample count
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Gets the average of the recorded samples.
+     *
+     * @param unit the unit in which to express the result
+     * @return the average, or {@code 0} if nothing has been recorded yet
+     */
+    public long getAverage(final TimeUnit unit) {
+        final long count = this.count.get();
+        return count == 0L ? 0L : unit.convert(total.get() / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the largest recorded sample.
+     *
+     * @param unit the unit in which to express the result
+     * @return the maximum, or {@code 0} if nothing has been recorded yet
+     */
+    public long getMax(final TimeUnit unit) {
+        return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets a snapshot of the histogram bucket counts, in the order given by {@link #getBucketNames()}.
+     *
+     * @return the bucket counts
+     */
+    public long[] getHistogram() {
+        final long[] result = new long[buckets.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = buckets.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the names of the histogram buckets, e.g. {@code le-10ms} for samples of at most 10 milliseconds.
+     *
+     * @return the bucket names
+     */
+    public static String[] getBucketNames() {
+        return BUCKET_NAMES.clone();
+    }
+}
@@ -24,6 +24,7 @@ package org.jboss.as.threads;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
@@ -72,6 +73,35 @@ public abstract class ThreadPoolMetricsHandler extends AbstractRuntimeOnlyHandle
 
     protected abstract void setResult(OperationContext context, String attributeName, Service<?> service) throws OperationFailedException;
 
+    /**
+     * Sets the result for one of the {@link ThreadPoolStatistics} based metrics.
+     *
+     * @param context the operation context
+     * @param attributeName the name of the metric
+     * @param statistics the pool's statistics
+     * @return {@code true} if {@code attributeName} named a statistics metric, {@code false} otherwise
+     */
+    protected static boolean setStatisticsResult(OperationContext context, String attributeName, ThreadPoolStatistics statistics) {
+        final TaskTimeStatistics queueWaitTime = statistics.getQueueWaitTime();
+        final TaskTimeStatistics executionTime = statistics.getExecutionTime();
+        if (attributeName.equals(CommonAttributes.QUEUE_WAIT_TIME_AVERAGE)) {
+            context.getResult().set(queueWaitTime.getAverage(TimeUnit.MICROSECONDS));
+        } else if (attributeName.equals(CommonAttributes.QUEUE_WAIT_TIME_MAX)) {
+            context.getResult().set(queueWaitTime.getMax(TimeUnit.MICROSECONDS));
+        } else if (attributeName.equals(CommonAttributes.QUEUE_WAIT_TIME_HISTOGRAM)) {
+            context.getResult().set(TaskTimeHistogramAttributeDefinition.toModelNode(queueWaitTime));
+        } else if (attributeName.equals(CommonAttributes.EXECUTION_TIME_AVERAGE)) {
+            context.getResult().set(executionTime.getAverage(TimeUnit.MICROSECONDS));
+        } else if (attributeName.equals(CommonAttributes.EXECUTION_TIME_MAX)) {
+            context.getResult().set(executionTime.getMax(TimeUnit.MICROSECONDS));
+        } else if (attributeName.equals(CommonAttributes.EXECUTION_TIME_HISTOGRAM)) {
+            context.getResult().set(TaskTimeHistogramAttributeDefinition.toModelNode(executionTime));
+        } else {
+            return false;
+        }
+        return true;
+    }
+
     protected ServiceController<?> getService(final OperationContext context, final ModelNode operation)
             throws OperationFailedException {
                 final String name = Util.getNameFromAddress(operation.require(OP_ADDR));
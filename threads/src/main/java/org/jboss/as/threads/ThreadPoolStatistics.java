@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Records, for a single thread pool, how long tasks wait between submission and the start of their
+ * execution and how long they take to execute. Tasks are wrapped on submission; the wrapper costs one
+ * allocation and three {@link System#nanoTime()} calls per task.
+ */
+public final class ThreadPoolStatistics {
+
+    private final TaskTimeStatistics queueWaitTime = new TaskTimeStatistics();
+    private final TaskTimeStatistics executionTime = new TaskTimeStatistics();
+
+    /**
+     * Gets the statistics for the time between task submission and the start of its execution.
+     *
+     * @return the queue wait time statistics
+     */
+    public TaskTimeStatistics getQueueWaitTime() {
+        return queueWaitTime;
+    }
+
+    /**
+     * Gets the statistics for the time tasks spent executing.
+     *
+     * @return the execution time statistics
+     */
+    public TaskTimeStatistics getExecutionTime() {
+        return executionTime;
+    }
+
+    Runnable wrap(final Runnable task) {
+        if (task == null) {
+            // let the executor produce its usual NPE
+            return null;
+        }
+        return new MeasuredRunnable(task, System.nanoTime());
+    }
+
+    <T> Callable<T> wrap(final Callable<T> task) {
+        if (task == null) {
+            return null;
+        }
+        return new MeasuredCallable<T>(task, System.nanoTime());
+    }
+
+    <T> Collection<Callable<T>> wrap(final Collection<? extends Callable<T>> tasks) {
+        final List<Callable<T>> result = new ArrayList<Callable<T>>(tasks.size());
+        for (Callable<T> task : tasks) {
+            result.add(wrap(task));
+        }
+        return result;
+    }
+
+    private final class MeasuredRunnable implements Runnable {
+        private final Runnable delegate;
+        private final long submitted;
+
+        MeasuredRunnable(final Runnable delegate, final long submitted) {
+            this.delegate = delegate;
+            this.submitted = submitted;
+        }
+
+        public void run() {
+            final long start = System.nanoTime();
+            queueWaitTime.record(start - submitted);
+            try {
+                delegate.run();
+            } finally {
+                executionTime.record(System.nanoTime() - start);
+            }
+        }
+
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+
+    private final class MeasuredCallable<T> implements Callable<T> {
+        private final Callable<T> delegate;
+        private final long submitted;
+
+        MeasuredCallable(final Callable<T> delegate, final long submitted) {
+            this.delegate = delegate;
+            this.submitted = submitted;
+        }
+
+        public T call() throws Exception {
+            final long start = System.nanoTime();
+            queueWaitTime.record(start - submitted);
+            try {
+                return delegate.call();
+            } finally {
+                executionTime.record(System.nanoTime() - start);
+            }
+        }
+
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
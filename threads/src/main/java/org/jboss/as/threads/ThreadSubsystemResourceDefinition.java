@@ -62,5 +62,7 @@ class ThreadSubsystemResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerSubModel(UnboundedQueueThreadPoolResourceDefinition.create(registerRuntimeOnly));
 
         resourceRegistration.registerSubModel(ScheduledThreadPoolResourceDefinition.create(registerRuntimeOnly));
+
+        resourceRegistration.registerSubModel(WorkStealingThreadPoolResourceDefinition.create(registerRuntimeOnly));
     }
 }
@@ -24,6 +24,7 @@ package org.jboss.as.threads;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import javax.xml.stream.Location;
@@ -142,4 +143,16 @@ interface ThreadsMessages {
 
     @Message(id = 12479, value = "unit is null")
     IllegalArgumentException nullUnit();
+
+    @Message(id = 12480, value = "The number of threads must be at least 1 but is %d")
+    IllegalArgumentException invalidThreadCount(int threads);
+
+    @Message(id = 12481, value = "The thread factory did not create a thread")
+    IllegalStateException noThreadCreated();
+
+    @Message(id = 12482, value = "task is null")
+    NullPointerException nullTask();
+
+    @Message(id = 12483, value = "The executor is shut down")
+    RejectedExecutionException executorShutDown();
 }
@@ -45,6 +45,7 @@ import static org.jboss.as.threads.CommonAttributes.THREAD_FACTORY;
 import static org.jboss.as.threads.CommonAttributes.TIME;
 import static org.jboss.as.threads.CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.UNIT;
+import static org.jboss.as.threads.CommonAttributes.WORK_STEALING_THREAD_POOL;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -180,6 +181,13 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
                     parseUnboundedQueueThreadPool(reader, readerNS, threadsNamespace, subsystemAddress, list, UNBOUNDED_QUEUE_THREAD_POOL, null);
                     break;
                 }
+                case WORK_STEALING_THREAD_POOL: {
+                    if (threadsNamespace == Namespace.THREADS_1_1) {
+                        throw unexpectedElement(reader);
+                    }
+                    parseWorkStealingThreadPool(reader, readerNS, threadsNamespace, subsystemAddress, list, WORK_STEALING_THREAD_POOL, null);
+                    break;
+                }
                 default: {
                     throw unexpectedElement(reader);
                 }
@@ -539,6 +547,64 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
         return name;
     }
 
+    public String parseWorkStealingThreadPool(final XMLExtendedStreamReader reader, String expectedNs, Namespace threadsNamespace, final ModelNode parentAddress,
+                                              final List<ModelNode> list, final String childType, final String providedName) throws XMLStreamException {
+        final ModelNode op = new ModelNode();
+        list.add(op);
+        op.get(OP).set(ADD);
+
+        String name = null;
+        int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            switch (attribute) {
+                case NAME: {
+                    name = value;
+                    break;
+                }
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (providedName != null) {
+            name = providedName;
+        } else if (name == null) {
+            throw missingRequired(reader, Collections.singleton(Attribute.NAME));
+        }
+
+        final ModelNode address = parentAddress.clone();
+        address.add(childType, name);
+        address.protect();
+        op.get(OP_ADDR).set(address);
+
+        boolean foundMaxThreads = false;
+        while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+            Element element = nextElement(reader, expectedNs);
+            switch (element) {
+                case MAX_THREADS: {
+                    String scaledCount = parseCount(reader, threadsNamespace);
+                    PoolAttributeDefinitions.MAX_THREADS.parseAndSetParameter(scaledCount, op, reader);
+                    foundMaxThreads = true;
+                    break;
+                }
+                case THREAD_FACTORY: {
+                    String ref = readStringAttributeElement(reader, Attribute.NAME.getLocalName());
+                    PoolAttributeDefinitions.THREAD_FACTORY.parseAndSetParameter(ref, op, reader);
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+        if (!foundMaxThreads) {
+            throw missingRequiredElement(reader, Collections.singleton(Element.MAX_THREADS));
+        }
+        return name;
+    }
+
     public String parseScheduledThreadPool(final XMLExtendedStreamReader reader, String expectedNs, Namespace threadsNamespace, final ModelNode parentAddress,
                                            final List<ModelNode> list, final String childType, final String providedName) throws XMLStreamException {
         final ModelNode op = new ModelNode();
@@ -1032,6 +1098,14 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
                 }
             }
         }
+        if (node.hasDefined(WORK_STEALING_THREAD_POOL)) {
+            for (String name : node.get(WORK_STEALING_THREAD_POOL).keys()) {
+                final ModelNode child = node.get(WORK_STEALING_THREAD_POOL, name);
+                if (child.isDefined()) {
+                    writeWorkStealingThreadPool(writer, child);
+                }
+            }
+        }
     }
 
     public void writeThreadFactory(final XMLExtendedStreamWriter writer, final ModelNode node) throws XMLStreamException {
@@ -1174,6 +1248,24 @@ public final class ThreadsParser implements XMLStreamConstants, XMLElementReader
         writer.writeEndElement();
     }
 
+    public void writeWorkStealingThreadPool(final XMLExtendedStreamWriter writer, final ModelNode node) throws XMLStreamException {
+        writeWorkStealingThreadPool(writer, node, Element.WORK_STEALING_THREAD_POOL.getLocalName(), true);
+    }
+
+    public void writeWorkStealingThreadPool(final XMLExtendedStreamWriter writer, final ModelNode node, final String elementName, final boolean includeName)
+            throws XMLStreamException {
+        writer.writeStartElement(elementName);
+
+        if (includeName && node.hasDefined(NAME)) {
+            writeAttribute(writer, Attribute.NAME, node.get(NAME));
+        }
+
+        writeCountElement(PoolAttributeDefinitions.MAX_THREADS, node, writer);
+        writeRef(writer, node, Element.THREAD_FACTORY, THREAD_FACTORY);
+
+        writer.writeEndElement();
+    }
+
     private void writeRef(final XMLExtendedStreamWriter writer, final ModelNode node, Element element, String name)
             throws XMLStreamException {
         if (node.hasDefined(name)) {
@@ -40,7 +40,9 @@ public class UnboundedQueueThreadPoolMetricsHandler extends ThreadPoolMetricsHan
 
     public static final List<AttributeDefinition> METRICS = Arrays.asList(PoolAttributeDefinitions.ACTIVE_COUNT, PoolAttributeDefinitions.COMPLETED_TASK_COUNT,
             PoolAttributeDefinitions.CURRENT_THREAD_COUNT, PoolAttributeDefinitions.LARGEST_THREAD_COUNT,
-            PoolAttributeDefinitions.REJECTED_COUNT, PoolAttributeDefinitions.TASK_COUNT);
+            PoolAttributeDefinitions.REJECTED_COUNT, PoolAttributeDefinitions.TASK_COUNT,
+            PoolAttributeDefinitions.QUEUE_WAIT_TIME_AVERAGE, PoolAttributeDefinitions.QUEUE_WAIT_TIME_MAX, PoolAttributeDefinitions.QUEUE_WAIT_TIME_HISTOGRAM,
+            PoolAttributeDefinitions.EXECUTION_TIME_AVERAGE, PoolAttributeDefinitions.EXECUTION_TIME_MAX, PoolAttributeDefinitions.EXECUTION_TIME_HISTOGRAM);
 
     public UnboundedQueueThreadPoolMetricsHandler(final ServiceName serviceNameBase) {
         super(METRICS, serviceNameBase);
@@ -62,7 +64,7 @@ public class UnboundedQueueThreadPoolMetricsHandler extends ThreadPoolMetricsHan
             context.getResult().set(pool.getRejectedCount());
         } else if (attributeName.equals(CommonAttributes.TASK_COUNT)) {
             context.getResult().set(pool.getTaskCount());
-        } else {
+        } else if (!setStatisticsResult(context, attributeName, pool.getStatistics())) {
             // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
             throw ThreadsMessages.MESSAGES.unsupportedUnboundedQueueThreadPoolMetric(attributeName);
         }
@@ -135,6 +135,11 @@ public class UnboundedQueueThreadPoolService implements Service<ManagedJBossThre
         return executor.getTaskCount();
     }
 
+    public ThreadPoolStatistics getStatistics() {
+        final ManagedJBossThreadPoolExecutorService executor = getValue();
+        return executor.getStatistics();
+    }
+
     TimeUnit getKeepAliveUnit() {
         return keepAlive == null ? TimeSpec.DEFAULT_KEEPALIVE.getUnit() : keepAlive.getUnit();
     }
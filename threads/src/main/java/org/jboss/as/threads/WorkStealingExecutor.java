@@ -0,0 +1,381 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.threads.EventListener;
+
+/**
+ * An executor with a fixed number of worker threads, each of which owns a task deque. Tasks submitted from a
+ * worker thread are pushed onto that worker's own deque; tasks submitted from any other thread are spread
+ * round-robin over the workers. A worker takes tasks from the head of its own deque and, once that is empty,
+ * steals from the tail of the other workers' deques, so submitters and workers do not all contend on a single
+ * shared queue.
+ * <p>
+ * Idle workers park on a shared condition which is only signalled if at least one worker is known to be idle, so
+ * a busy pool never touches the lock on the submission path.
+ */
+final class WorkStealingExecutor extends AbstractExecutorService {
+
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1;
+    private static final int STOP = 2;
+    private static final int TERMINATED = 3;
+
+    private final Worker[] workers;
+    private final ThreadLocal<Worker> currentWorker = new ThreadLocal<Worker>();
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+    private final AtomicInteger liveWorkers = new AtomicInteger();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicInteger rejectedCount = new AtomicInteger();
+    private final AtomicLong taskCount = new AtomicLong();
+    private final AtomicLong completedTaskCount = new AtomicLong();
+    private final AtomicLong stealCount = new AtomicLong();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Condition terminated = lock.newCondition();
+    private final List<ShutdownListener<?>> shutdownListeners = new ArrayList<ShutdownListener<?>>();
+
+    private volatile int state = RUNNING;
+
+    WorkStealingExecutor(final int threads, final ThreadFactory threadFactory) {
+        if (threads < 1) {
+            throw ThreadsMessages.MESSAGES.invalidThreadCount(threads);
+        }
+        workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            final Worker worker = new Worker(i);
+            final Thread thread = threadFactory.newThread(worker);
+            if (thread == null) {
+                throw ThreadsMessages.MESSAGES.noThreadCreated();
+            }
+            worker.thread = thread;
+            workers[i] = worker;
+        }
+    }
+
+    /**
+     * Starts all worker threads. Must be called exactly once.
+     */
+    void start() {
+        liveWorkers.set(workers.length);
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+    }
+
+    public void execute(final Runnable task) {
+        if (task == null) {
+            throw ThreadsMessages.MESSAGES.nullTask();
+        }
+        if (state != RUNNING) {
+            rejectedCount.incrementAndGet();
+            throw ThreadsMessages.MESSAGES.executorShutDown();
+        }
+        Worker worker = currentWorker.get();
+        if (worker == null) {
+            worker = workers[(nextWorker.getAndIncrement() & Integer.MAX_VALUE) % workers.length];
+        }
+        worker.deque.offerLast(task);
+        if (state != RUNNING && worker.deque.removeLastOccurrence(task)) {
+            // lost a race with shutdown; the workers may already have exited
+            rejectedCount.incrementAndGet();
+            throw ThreadsMessages.MESSAGES.executorShutDown();
+        }
+        taskCount.incrementAndGet();
+        if (idleWorkers.get() > 0) {
+            signalWork(false);
+        }
+    }
+
+    private void signalWork(final boolean all) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (all) {
+                workAvailable.signalAll();
+            } else {
+                workAvailable.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Runnable steal(final int thief) {
+        final Worker[] workers = this.workers;
+        final int length = workers.length;
+        for (int i = 1; i < length; i++) {
+            final Runnable task = workers[(thief + i) % length].deque.pollLast();
+            if (task != null) {
+                stealCount.incrementAndGet();
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private Runnable awaitTask(final Worker worker) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            idleWorkers.incrementAndGet();
+            try {
+                for (;;) {
+                    // re-check under the lock; a submitter that saw no idle worker enqueued before we counted ourselves
+                    Runnable task = worker.deque.pollFirst();
+                    if (task == null) {
+                        task = steal(worker.index);
+                    }
+                    if (task != null || state != RUNNING) {
+                        return task;
+                    }
+                    try {
+                        workAvailable.await();
+                    } catch (InterruptedException e) {
+                        // re-check state
+                    }
+                }
+            } finally {
+                idleWorkers.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void workerExited() {
+        if (liveWorkers.decrementAndGet() != 0) {
+            return;
+        }
+        final List<ShutdownListener<?>> listeners;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            state = TERMINATED;
+            terminated.signalAll();
+            listeners = new ArrayList<ShutdownListener<?>>(shutdownListeners);
+            shutdownListeners.clear();
+        } finally {
+            lock.unlock();
+        }
+        for (ShutdownListener<?> listener : listeners) {
+            listener.notifyListener();
+        }
+    }
+
+    /**
+     * Adds a listener which is notified once all worker threads have exited after a shutdown. If the executor is
+     * already terminated the listener is notified immediately.
+     *
+     * @param listener the listener
+     * @param attachment the attachment to pass to the listener
+     * @param <A> the attachment type
+     */
+    <A> void addShutdownListener(final EventListener<A> listener, final A attachment) {
+        final ShutdownListener<A> shutdownListener = new ShutdownListener<A>(listener, attachment);
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (state != TERMINATED) {
+                shutdownListeners.add(shutdownListener);
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        shutdownListener.notifyListener();
+    }
+
+    public void shutdown() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (state == RUNNING) {
+                state = SHUTDOWN;
+            }
+            workAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> pending = new ArrayList<Runnable>();
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (state < STOP) {
+                state = STOP;
+            }
+            workAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Worker worker : workers) {
+            worker.deque.drainTo(pending);
+            worker.thread.interrupt();
+        }
+        return pending;
+    }
+
+    public boolean isShutdown() {
+        return state != RUNNING;
+    }
+
+    public boolean isTerminated() {
+        return state == TERMINATED;
+    }
+
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            while (state != TERMINATED) {
+                if (remaining <= 0L) {
+                    return false;
+                }
+                remaining = terminated.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getThreadCount() {
+        return workers.length;
+    }
+
+    int getCurrentThreadCount() {
+        return liveWorkers.get();
+    }
+
+    int getActiveCount() {
+        return activeCount.get();
+    }
+
+    int getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    long getTaskCount() {
+        return taskCount.get();
+    }
+
+    long getCompletedTaskCount() {
+        return completedTaskCount.get();
+    }
+
+    long getStealCount() {
+        return stealCount.get();
+    }
+
+    int getQueueSize() {
+        int size = 0;
+        for (Worker worker : workers) {
+            size += worker.deque.size();
+        }
+        return size;
+    }
+
+    private final class Worker implements Runnable {
+        private final int index;
+        private final LinkedBlockingDeque<Runnable> deque = new LinkedBlockingDeque<Runnable>();
+        private Thread thread;
+
+        Worker(final int index) {
+            this.index = index;
+        }
+
+        public void run() {
+            currentWorker.set(this);
+            try {
+                for (;;) {
+                    if (state >= STOP) {
+                        return;
+                    }
+                    Runnable task = deque.pollFirst();
+                    if (task == null) {
+                        task = steal(index);
+                    }
+                    if (task == null) {
+                        task = awaitTask(this);
+                        if (task == null) {
+                            return;
+                        }
+                    }
+                    runTask(task);
+                }
+            } finally {
+                currentWorker.remove();
+                workerExited();
+            }
+        }
+
+        private void runTask(final Runnable task) {
+            activeCount.incrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                final Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+                if (handler != null) {
+                    handler.uncaughtException(thread, t);
+                }
+            } finally {
+                activeCount.decrementAndGet();
+                completedTaskCount.incrementAndGet();
+                // clear any interrupt left over by the task so it does not leak into the next one
+                if (state < STOP) {
+                    Thread.interrupted();
+                }
+            }
+        }
+    }
+
+    private static final class ShutdownListener<A> {
+        private final EventListener<A> listener;
+        private final A attachment;
+
+        ShutdownListener(final EventListener<A> listener, final A attachment) {
+            this.listener = listener;
+            this.attachment = attachment;
+        }
+
+        void notifyListener() {
+            listener.handleEvent(attachment);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+import org.jboss.threads.EventListener;
+
+/**
+ * Service responsible for creating, starting and stopping a work-stealing thread pool executor.
+ */
+public class WorkStealingThreadPoolService implements Service<ManagedWorkStealingExecutorService> {
+    private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
+
+    private ManagedWorkStealingExecutorService executor;
+
+    private final int maxThreads;
+
+    public WorkStealingThreadPoolService(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    public synchronized void start(final StartContext context) throws StartException {
+        final WorkStealingExecutor workStealingExecutor = new WorkStealingExecutor(maxThreads, threadFactoryValue.getValue());
+        workStealingExecutor.start();
+        executor = new ManagedWorkStealingExecutorService(workStealingExecutor);
+    }
+
+    public synchronized void stop(final StopContext context) {
+        final ManagedWorkStealingExecutorService executor = getValue();
+        context.asynchronous();
+        executor.internalShutdown();
+        executor.addShutdownListener(new EventListener<StopContext>() {
+            public void handleEvent(final StopContext stopContext) {
+                stopContext.complete();
+            }
+        }, context);
+        this.executor = null;
+    }
+
+    public synchronized ManagedWorkStealingExecutorService getValue() throws IllegalStateException {
+        final ManagedWorkStealingExecutorService value = this.executor;
+        if (value == null) {
+            throw ThreadsMessages.MESSAGES.unboundedQueueThreadPoolExecutorUninitialized();
+        }
+        return value;
+    }
+
+    public Injector<ThreadFactory> getThreadFactoryInjector() {
+        return threadFactoryValue;
+    }
+
+    public int getActiveCount() {
+        final ManagedWorkStealingExecutorService executor = getValue();
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedTaskCount() {
+        final ManagedWorkStealingExecutorService executor = getValue();
+        return executor.getCompletedTaskCount();
+    }
+
+    public int getCurrentThreadCount() {
+        final ManagedWorkStealingExecutorService executor = getValue();
+        return executor.getCurrentThreadCount();
+    }
+
+    public int getRejectedCount() {
+        final ManagedWorkStealingExecutorService executor = getValue();
+        return executor.getRejectedCount();
+    }
+
+    public long getTaskCount() {
+        final ManagedWorkStealingExecutorService executor = getValue();
+        return executor.getTaskCount();
+    }
+
+    public long getStealCount() {
+        final ManagedWorkStealingExecutorService executor = getValue();
+        return executor.getStealCount();
+    }
+
+    public int getQueueSize() {
+        final ManagedWorkStealingExecutorService executor = getValue();
+        return executor.getQueueSize();
+    }
+
+    public ThreadPoolStatistics getStatistics() {
+        final ManagedWorkStealingExecutorService executor = getValue();
+        return executor.getStatistics();
+    }
+}
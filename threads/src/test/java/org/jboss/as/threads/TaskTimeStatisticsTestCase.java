@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link TaskTimeStatistics}.
+ */
+public class TaskTimeStatisticsTestCase {
+
+    @Test
+    public void testEmpty() {
+        final TaskTimeStatistics statistics = new TaskTimeStatistics();
+        assertEquals(0L, statistics.getCount());
+        assertEquals(0L, statistics.getAverage(TimeUnit.NANOSECONDS));
+        assertEquals(0L, statistics.getMax(TimeUnit.NANOSECONDS));
+        assertArrayEquals(new long[TaskTimeStatistics.getBucketNames().length], statistics.getHistogram());
+    }
+
+    @Test
+    public void testAverageAndMax() {
+        final TaskTimeStatistics statistics = new TaskTimeStatistics();
+        statistics.record(ms(2));
+        statistics.record(ms(4));
+        statistics.record(ms(12));
+        assertEquals(3L, statistics.getCount());
+        assertEquals(6L, statistics.getAverage(TimeUnit.MILLISECONDS));
+        assertEquals(ms(6), statistics.getAverage(TimeUnit.NANOSECONDS));
+        assertEquals(12L, statistics.getMax(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testNegativeSamplesCountAsZero() {
+        final TaskTimeStatistics statistics = new TaskTimeStatistics();
+        statistics.record(-ms(5));
+        statistics.record(ms(2));
+        assertEquals(2L, statistics.getCount());
+        assertEquals(1L, statistics.getAverage(TimeUnit.MILLISECONDS));
+        assertEquals(2L, statistics.getMax(TimeUnit.MILLISECONDS));
+        assertEquals(1L, statistics.getHistogram()[0]);
+    }
+
+    @Test
+    public void testBucketNames() {
+        assertArrayEquals(new String[] { "le-1ms", "le-5ms", "le-10ms", "le-50ms", "le-100ms", "le-500ms", "le-1000ms",
+                "le-5000ms", "le-10000ms", "gt-10000ms" }, TaskTimeStatistics.getBucketNames());
+    }
+
+    @Test
+    public void testBucketBoundsAreInclusive() {
+        final TaskTimeStatistics statistics = new TaskTimeStatistics();
+        statistics.record(0L);
+        statistics.record(ms(1));
+        statistics.record(ms(1) + 1L);
+        statistics.record(ms(5));
+        statistics.record(ms(10000));
+        statistics.record(ms(10000) + 1L);
+        statistics.record(ms(60000));
+        assertArrayEquals(new long[] { 2, 2, 0, 0, 0, 0, 0, 0, 1, 2 }, statistics.getHistogram());
+    }
+
+    @Test
+    public void testHistogramIsASnapshot() {
+        final TaskTimeStatistics statistics = new TaskTimeStatistics();
+        statistics.record(ms(3));
+        final long[] histogram = statistics.getHistogram();
+        statistics.record(ms(3));
+        assertEquals(1L, histogram[1]);
+        assertEquals(2L, statistics.getHistogram()[1]);
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        final TaskTimeStatistics statistics = new TaskTimeStatistics();
+        final int threads = 4;
+        final int samples = 10000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] recorders = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final long base = t;
+            recorders[t] = new Thread() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < samples; i++) {
+                        statistics.record(ms(base));
+                    }
+                }
+            };
+            recorders[t].start();
+        }
+        start.countDown();
+        for (Thread recorder : recorders) {
+            recorder.join();
+        }
+        assertEquals((long) threads * samples, statistics.getCount());
+        assertEquals(threads - 1L, statistics.getMax(TimeUnit.MILLISECONDS));
+        long sum = 0L;
+        for (long bucket : statistics.getHistogram()) {
+            sum += bucket;
+        }
+        assertEquals(statistics.getCount(), sum);
+    }
+
+    private static long ms(final long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
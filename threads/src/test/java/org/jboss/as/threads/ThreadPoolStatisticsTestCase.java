@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link ThreadPoolStatistics}.
+ */
+public class ThreadPoolStatisticsTestCase {
+
+    @Test
+    public void testRunnableTimings() throws Exception {
+        final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+        final Runnable wrapped = statistics.wrap(new Runnable() {
+            public void run() {
+                sleep(20);
+            }
+        });
+        sleep(20);
+        wrapped.run();
+        assertEquals(1L, statistics.getQueueWaitTime().getCount());
+        assertEquals(1L, statistics.getExecutionTime().getCount());
+        assertTrue(statistics.getQueueWaitTime().getMax(TimeUnit.MILLISECONDS) >= 15L);
+        assertTrue(statistics.getExecutionTime().getMax(TimeUnit.MILLISECONDS) >= 15L);
+    }
+
+    @Test
+    public void testCallableTimingsAndResult() throws Exception {
+        final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+        final Callable<String> wrapped = statistics.wrap(new Callable<String>() {
+            public String call() {
+                return "done";
+            }
+        });
+        assertEquals("done", wrapped.call());
+        assertEquals(1L, statistics.getQueueWaitTime().getCount());
+        assertEquals(1L, statistics.getExecutionTime().getCount());
+    }
+
+    @Test
+    public void testFailedTaskIsTimed() throws Exception {
+        final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+        final Callable<Object> wrapped = statistics.wrap(new Callable<Object>() {
+            public Object call() throws Exception {
+                throw new IllegalStateException();
+            }
+        });
+        try {
+            wrapped.call();
+            fail("the task exception should be propagated");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(1L, statistics.getExecutionTime().getCount());
+    }
+
+    @Test
+    public void testWrapCollection() throws Exception {
+        final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+        final Callable<Integer> one = new Callable<Integer>() {
+            public Integer call() {
+                return 1;
+            }
+        };
+        final Callable<Integer> two = new Callable<Integer>() {
+            public Integer call() {
+                return 2;
+            }
+        };
+        final Collection<Callable<Integer>> wrapped = statistics.wrap(Arrays.asList(one, two));
+        assertEquals(2, wrapped.size());
+        int sum = 0;
+        for (Callable<Integer> task : wrapped) {
+            sum += task.call();
+        }
+        assertEquals(3, sum);
+        assertEquals(2L, statistics.getExecutionTime().getCount());
+    }
+
+    @Test
+    public void testNullTaskIsNotWrapped() {
+        final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+        assertNull(statistics.wrap((Runnable) null));
+        assertNull(statistics.wrap((Callable<Object>) null));
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -512,6 +512,71 @@ public class ThreadsSubsystemTestCase {
         assertEquals("test-poolB", threadFactory.require("test-poolB").require("name").asString());
     }
 
+    @Test
+    public void testSimpleWorkStealingThreadPool() throws Exception {
+        List<ModelNode> updates = createSubSystem("<work-stealing-thread-pool name=\"test-pool\"><max-threads count=\"1\"/></work-stealing-thread-pool>");
+        assertEquals(2, updates.size());
+        for (ModelNode update : updates) {
+            try {
+                executeForResult(update);
+            } catch (OperationFailedException e) {
+                throw new RuntimeException(e.getFailureDescription().toString());
+            }
+        }
+
+        ModelNode subsystem = model.require("profile").require("test").require("subsystem").require("threads");
+        ModelNode threadPool = subsystem.require("work-stealing-thread-pool");
+        assertEquals(1, threadPool.keys().size());
+        assertEquals("test-pool", threadPool.require("test-pool").require("name").asString());
+    }
+
+    @Test
+    public void testFullWorkStealingThreadPool() throws Exception {
+        List<ModelNode> updates = createSubSystem(
+                "<thread-factory name=\"test-factory\"/>" +
+                "<work-stealing-thread-pool name=\"test-pool\">" +
+                "   <max-threads count=\"100\"/>" +
+                "   <thread-factory name=\"test-factory\"/>" +
+                "</work-stealing-thread-pool>");
+
+        executeForResult(updates.get(0));
+        executeForResult(updates.get(1));
+        executeForResult(updates.get(2));
+
+        ModelNode subsystem = model.require("profile").require("test").require("subsystem").require("threads");
+        ModelNode threadPool = subsystem.require("work-stealing-thread-pool");
+        assertEquals(1, threadPool.keys().size());
+        assertEquals("test-pool", threadPool.require("test-pool").require("name").asString());
+        assertEquals(100, threadPool.require("test-pool").require(MAX_THREADS).asInt());
+        assertEquals("test-factory", threadPool.require("test-pool").require(THREAD_FACTORY).asString());
+    }
+
+    @Test
+    public void testSeveralWorkStealingThreadPools() throws Exception {
+        List<ModelNode> updates = createSubSystem("<work-stealing-thread-pool name=\"test-poolA\"><max-threads count=\"1\"/></work-stealing-thread-pool>"
+                + "<work-stealing-thread-pool name=\"test-poolB\"><max-threads count=\"2\"/></work-stealing-thread-pool>");
+        assertEquals(3, updates.size());
+        for (ModelNode update : updates) {
+            try {
+                executeForResult(update);
+            } catch (OperationFailedException e) {
+                throw new RuntimeException(e.getFailureDescription().toString());
+            }
+        }
+
+        ModelNode subsystem = model.require("profile").require("test").require("subsystem").require("threads");
+        ModelNode threadPool = subsystem.require("work-stealing-thread-pool");
+        assertEquals(2, threadPool.keys().size());
+        assertEquals("test-poolA", threadPool.require("test-poolA").require("name").asString());
+        assertEquals("test-poolB", threadPool.require("test-poolB").require("name").asString());
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testWorkStealingThreadPoolNotIn1_1() throws Exception {
+        createSubSystem("<work-stealing-thread-pool name=\"test-pool\"><max-threads count=\"1\"/></work-stealing-thread-pool>",
+                Namespace.THREADS_1_1);
+    }
+
     @Test
     public void testSimpleScheduledThreadPool() throws Exception {
         List<ModelNode> updates = createSubSystem("<scheduled-thread-pool name=\"test-pool\"><max-threads count=\"1\"/></scheduled-thread-pool>");
@@ -0,0 +1,309 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.threads.EventListener;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests of {@link WorkStealingExecutor}.
+ */
+public class WorkStealingExecutorTestCase {
+
+    private static final long TIMEOUT = 10L;
+
+    private final AtomicReference<Throwable> uncaught = new AtomicReference<Throwable>();
+    private final ThreadFactory threadFactory = new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "work-stealing-test-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+                public void uncaughtException(final Thread t, final Throwable e) {
+                    uncaught.set(e);
+                }
+            });
+            return thread;
+        }
+    };
+
+    private WorkStealingExecutor executor;
+
+    @After
+    public void shutdownExecutor() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(TIMEOUT, TimeUnit.SECONDS));
+        }
+    }
+
+    private WorkStealingExecutor start(final int threads) {
+        executor = new WorkStealingExecutor(threads, threadFactory);
+        executor.start();
+        return executor;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoThreads() {
+        new WorkStealingExecutor(0, threadFactory);
+    }
+
+    @Test
+    public void testExecutesAllTasks() throws Exception {
+        start(4);
+        final int tasks = 1000;
+        final CountDownLatch done = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(tasks, executor.getTaskCount());
+        assertEquals(4, executor.getThreadCount());
+        assertEquals(4, executor.getCurrentThreadCount());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(tasks, executor.getCompletedTaskCount());
+    }
+
+    @Test
+    public void testSubmitReturnsResult() throws Exception {
+        start(2);
+        final Future<String> future = executor.submit(new Callable<String>() {
+            public String call() {
+                return "result";
+            }
+        });
+        assertEquals("result", future.get(TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    /**
+     * A worker that is kept busy by the task that filled its own deque leaves those tasks to be stolen by the other
+     * worker.
+     */
+    @Test
+    public void testIdleWorkerStealsFromBusyWorker() throws Exception {
+        start(2);
+        final int tasks = 50;
+        final CountDownLatch stolen = new CountDownLatch(tasks);
+        final AtomicReference<Thread> owner = new AtomicReference<Thread>();
+        final AtomicInteger ranOnOwner = new AtomicInteger();
+        final CountDownLatch submitted = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            public void run() {
+                owner.set(Thread.currentThread());
+                for (int i = 0; i < tasks; i++) {
+                    // submitted from a worker, so pushed onto this worker's own deque
+                    executor.execute(new Runnable() {
+                        public void run() {
+                            if (Thread.currentThread() == owner.get()) {
+                                ranOnOwner.incrementAndGet();
+                            }
+                            stolen.countDown();
+                        }
+                    });
+                }
+                submitted.countDown();
+                try {
+                    // stay busy until the other worker has run everything
+                    stolen.await(TIMEOUT, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        assertTrue(submitted.await(TIMEOUT, TimeUnit.SECONDS));
+        assertTrue(stolen.await(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(0, ranOnOwner.get());
+        assertTrue(executor.getStealCount() >= tasks);
+    }
+
+    @Test
+    public void testQueueSizeAndActiveCount() throws Exception {
+        start(1);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(blocking(running, release));
+        assertTrue(running.await(TIMEOUT, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            executor.execute(noop());
+        }
+        assertEquals(1, executor.getActiveCount());
+        assertEquals(3, executor.getQueueSize());
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(0, executor.getActiveCount());
+        assertEquals(0, executor.getQueueSize());
+        assertEquals(4L, executor.getCompletedTaskCount());
+    }
+
+    @Test
+    public void testShutdownRunsQueuedTasks() throws Exception {
+        start(1);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger ran = new AtomicInteger();
+        executor.execute(blocking(running, release));
+        assertTrue(running.await(TIMEOUT, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    ran.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.isShutdown());
+        assertFalse(executor.isTerminated());
+        assertFalse(executor.awaitTermination(50L, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(executor.awaitTermination(TIMEOUT, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+        assertEquals(10, ran.get());
+        assertEquals(0, executor.getCurrentThreadCount());
+    }
+
+    @Test
+    public void testShutdownNowReturnsPendingTasksAndInterrupts() throws Exception {
+        start(1);
+        final CountDownLatch running = new CountDownLatch(1);
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        executor.execute(new Runnable() {
+            public void run() {
+                running.countDown();
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(TIMEOUT));
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+            }
+        });
+        assertTrue(running.await(TIMEOUT, TimeUnit.SECONDS));
+        final Runnable pending = noop();
+        executor.execute(pending);
+        executor.execute(noop());
+        final List<Runnable> notRun = executor.shutdownNow();
+        assertEquals(2, notRun.size());
+        assertSame(pending, notRun.get(0));
+        assertTrue(executor.awaitTermination(TIMEOUT, TimeUnit.SECONDS));
+        assertTrue(interrupted.get());
+    }
+
+    @Test
+    public void testRejectedAfterShutdown() throws Exception {
+        start(1);
+        executor.shutdown();
+        try {
+            executor.execute(noop());
+            fail("task accepted after shutdown");
+        } catch (RejectedExecutionException expected) {
+        }
+        assertEquals(1, executor.getRejectedCount());
+        assertEquals(0L, executor.getTaskCount());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullTask() {
+        start(1).execute(null);
+    }
+
+    @Test
+    public void testShutdownListener() throws Exception {
+        start(2);
+        final CountDownLatch notified = new CountDownLatch(2);
+        final EventListener<CountDownLatch> listener = new EventListener<CountDownLatch>() {
+            public void handleEvent(final CountDownLatch attachment) {
+                attachment.countDown();
+            }
+        };
+        executor.addShutdownListener(listener, notified);
+        assertEquals(2L, notified.getCount());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(TIMEOUT, TimeUnit.SECONDS));
+        // a listener added once terminated is notified immediately
+        executor.addShutdownListener(listener, notified);
+        assertTrue(notified.await(TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailingTaskDoesNotKillWorker() throws Exception {
+        start(1);
+        final RuntimeException failure = new RuntimeException("expected");
+        executor.execute(new Runnable() {
+            public void run() {
+                throw failure;
+            }
+        });
+        final CountDownLatch next = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            public void run() {
+                next.countDown();
+            }
+        });
+        assertTrue(next.await(TIMEOUT, TimeUnit.SECONDS));
+        assertSame(failure, uncaught.get());
+        assertEquals(1, executor.getCurrentThreadCount());
+    }
+
+    private static Runnable noop() {
+        return new Runnable() {
+            public void run() {
+            }
+        };
+    }
+
+    private static Runnable blocking(final CountDownLatch running, final CountDownLatch release) {
+        return new Runnable() {
+            public void run() {
+                running.countDown();
+                try {
+                    release.await(TIMEOUT, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link WorkStealingThreadPoolMetricsHandler} against a started {@link WorkStealingThreadPoolService}.
+ */
+public class WorkStealingThreadPoolMetricsHandlerTestCase {
+
+    private final WorkStealingThreadPoolMetricsHandler handler = new WorkStealingThreadPoolMetricsHandler(ServiceName.of("test"));
+    private WorkStealingThreadPoolService service;
+
+    @Before
+    public void startPool() throws Exception {
+        service = new WorkStealingThreadPoolService(2);
+        service.getThreadFactoryInjector().inject(Executors.defaultThreadFactory());
+        service.start(null);
+    }
+
+    @After
+    public void stopPool() {
+        service.getValue().internalShutdown();
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        final int tasks = 20;
+        final CountDownLatch done = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            service.getValue().execute(new Runnable() {
+                public void run() {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(10L, TimeUnit.SECONDS));
+        // the latch is counted down before the task is accounted as completed
+        final long deadline = System.currentTimeMillis() + 10000L;
+        while (service.getCompletedTaskCount() < tasks && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+
+        assertEquals(tasks, read(CommonAttributes.TASK_COUNT).asLong());
+        assertEquals(tasks, read(CommonAttributes.COMPLETED_TASK_COUNT).asLong());
+        assertEquals(2, read(CommonAttributes.CURRENT_THREAD_COUNT).asInt());
+        assertEquals(0, read(CommonAttributes.ACTIVE_COUNT).asInt());
+        assertEquals(0, read(CommonAttributes.QUEUE_SIZE).asInt());
+        assertEquals(0, read(CommonAttributes.REJECTED_COUNT).asInt());
+        assertTrue(read(CommonAttributes.STEAL_COUNT).asLong() >= 0L);
+
+        final ModelNode histogram = read(CommonAttributes.EXECUTION_TIME_HISTOGRAM);
+        long sum = 0L;
+        for (String bucket : TaskTimeStatistics.getBucketNames()) {
+            sum += histogram.get(bucket).asLong();
+        }
+        assertEquals(tasks, sum);
+        assertTrue(read(CommonAttributes.QUEUE_WAIT_TIME_MAX).asLong() >= read(CommonAttributes.QUEUE_WAIT_TIME_AVERAGE).asLong());
+        assertTrue(read(CommonAttributes.EXECUTION_TIME_MAX).asLong() >= read(CommonAttributes.EXECUTION_TIME_AVERAGE).asLong());
+    }
+
+    @Test
+    public void testEveryMetricIsHandled() throws Exception {
+        for (AttributeDefinition metric : WorkStealingThreadPoolMetricsHandler.METRICS) {
+            assertTrue(metric.getName(), read(metric.getName()).isDefined());
+        }
+    }
+
+    @Test
+    public void testUnknownMetric() throws Exception {
+        try {
+            read("no-such-metric");
+            fail("unknown metric accepted");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    private ModelNode read(final String metric) throws Exception {
+        final ModelNode result = new ModelNode();
+        final OperationContext context = mock(OperationContext.class);
+        when(context.getResult()).thenReturn(result);
+        handler.setResult(context, metric, service);
+        return result;
+    }
+}
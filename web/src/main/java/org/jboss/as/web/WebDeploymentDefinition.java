@@ -14,6 +14,8 @@ import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.web.security.AuthorizationDecisionCache;
+import org.jboss.as.web.security.JBossWebRealm;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.ServiceController;
@@ -34,6 +36,8 @@ public class WebDeploymentDefinition extends SimpleResourceDefinition {
 
     public static final AttributeDefinition CONTEXT_ROOT = new SimpleAttributeDefinitionBuilder("context-root", ModelType.STRING).setStorageRuntime().build();
     public static final AttributeDefinition VIRTUAL_HOST = new SimpleAttributeDefinitionBuilder("virtual-host", ModelType.STRING).setStorageRuntime().build();
+    public static final AttributeDefinition AUTHORIZATION_CACHE_HITS = new SimpleAttributeDefinitionBuilder("authorization-cache-hits", ModelType.LONG).setStorageRuntime().build();
+    public static final AttributeDefinition AUTHORIZATION_CACHE_MISSES = new SimpleAttributeDefinitionBuilder("authorization-cache-misses", ModelType.LONG).setStorageRuntime().build();
 
     private WebDeploymentDefinition() {
         super(PathElement.pathElement(SUBSYSTEM, WebExtension.SUBSYSTEM_NAME),
@@ -48,6 +52,44 @@ public class WebDeploymentDefinition extends SimpleResourceDefinition {
         for (SessionStat stat : SessionStat.values()) {
             resourceRegistration.registerMetric(stat.definition, SessionManagerStatsHandler.getInstance());
         }
+        resourceRegistration.registerMetric(AUTHORIZATION_CACHE_HITS, AuthorizationCacheStatsHandler.INSTANCE);
+        resourceRegistration.registerMetric(AUTHORIZATION_CACHE_MISSES, AuthorizationCacheStatsHandler.INSTANCE);
+    }
+
+    static class AuthorizationCacheStatsHandler extends AbstractRuntimeOnlyHandler {
+
+        static final AuthorizationCacheStatsHandler INSTANCE = new AuthorizationCacheStatsHandler();
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+
+            final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
+
+            final Resource web = context.readResourceFromRoot(address.subAddress(0, address.size()), false);
+            final ModelNode subModel = web.getModel();
+
+            final String host = VIRTUAL_HOST.resolveModelAttribute(context, subModel).asString();
+            final String path = CONTEXT_ROOT.resolveModelAttribute(context, subModel).asString();
+
+            final ServiceController<?> controller = context.getServiceRegistry(false).getService(WebSubsystemServices.deploymentServiceName(host, path));
+            final String name = operation.require(ModelDescriptionConstants.NAME).asString();
+
+            final Context webContext = Context.class.cast(controller.getValue());
+            final ModelNode result = new ModelNode(0L);
+            if (webContext.getRealm() instanceof JBossWebRealm) {
+                final AuthorizationDecisionCache cache = ((JBossWebRealm) webContext.getRealm()).getAuthorizationDecisionCache();
+                if (AUTHORIZATION_CACHE_HITS.getName().equals(name)) {
+                    result.set(cache.getHits());
+                } else if (AUTHORIZATION_CACHE_MISSES.getName().equals(name)) {
+                    result.set(cache.getMisses());
+                } else {
+                    context.getFailureDescription().set(WebMessages.MESSAGES.unknownMetric(name));
+                }
+            }
+            context.getResult().set(result);
+
+            context.completeStep();
+        }
     }
 
     static class SessionManagerStatsHandler extends AbstractRuntimeOnlyHandler {
@@ -0,0 +1,209 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.web.security;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.infinispan.util.concurrent.BoundedConcurrentHashMap;
+import org.infinispan.util.concurrent.BoundedConcurrentHashMap.Eviction;
+import org.jboss.as.security.service.JaccService;
+
+/**
+ * Caches the decisions of the JBoss authorization framework for web resources. For a given policy context, request
+ * path, HTTP method and caller role set the decision only changes with the policy, so entries are discarded whenever
+ * a {@link JaccService} commits or deletes a policy configuration. Callers read {@link JaccService#getPolicyGeneration()}
+ * before evaluating a decision and pass it along with the decision, which is only kept if the policy did not change in
+ * the meantime.
+ * <p/>
+ * The decisions are kept in a bounded LRU map, so the least recently used decisions are discarded first to make room
+ * for new ones. The maximum number of decisions is configured by the {@code authorization-cache-max-entries} attribute
+ * of the security domain.
+ */
+public final class AuthorizationDecisionCache {
+
+    private final ConcurrentMap<Key, Boolean> decisions;
+    private final int maxEntries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile int policyGeneration = JaccService.getPolicyGeneration();
+
+    /**
+     * @param maxEntries the maximum number of cached decisions, {@code 0} disables the cache
+     */
+    public AuthorizationDecisionCache(final int maxEntries) {
+        this.maxEntries = maxEntries;
+        final int capacity = Math.max(maxEntries, 1);
+        this.decisions = new BoundedConcurrentHashMap<Key, Boolean>(capacity, Math.min(16, capacity), Eviction.LRU);
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Looks up a resource permission decision.
+     *
+     * @return the cached decision, or {@code null} if it has to be evaluated
+     */
+    Boolean getResourceDecision(String contextId, String requestPath, String method, Collection<String> roles) {
+        return get(new Key(false, contextId, requestPath, method, roles));
+    }
+
+    /**
+     * Caches a resource permission decision.
+     *
+     * @param policyGeneration the {@link JaccService#getPolicyGeneration() policy generation} read before the decision
+     *                         was evaluated
+     */
+    void putResourceDecision(int policyGeneration, String contextId, String requestPath, String method, Collection<String> roles,
+            boolean decision) {
+        put(policyGeneration, new Key(false, contextId, requestPath, method, roles), decision);
+    }
+
+    /**
+     * Looks up a user data permission decision. These do not depend on the caller, but on whether the request came
+     * over a secure transport. Only granted user data permissions are cached.
+     *
+     * @return the cached decision, or {@code null} if it has to be evaluated
+     */
+    Boolean getUserDataDecision(String contextId, String requestPath, String method, boolean secure) {
+        return get(new Key(true, contextId, requestPath, method, secure ? Collections.singleton("secure") : null));
+    }
+
+    /**
+     * Caches a granted user data permission.
+     *
+     * @param policyGeneration the {@link JaccService#getPolicyGeneration() policy generation} read before the decision
+     *                         was evaluated
+     */
+    void putUserDataDecision(int policyGeneration, String contextId, String requestPath, String method, boolean secure) {
+        put(policyGeneration, new Key(true, contextId, requestPath, method, secure ? Collections.singleton("secure") : null), true);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        return decisions.size();
+    }
+
+    public void clear() {
+        decisions.clear();
+    }
+
+    private Boolean get(Key key) {
+        checkPolicyGeneration();
+        final Boolean decision = decisions.get(key);
+        if (decision == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return decision;
+    }
+
+    private void put(int generation, Key key, boolean decision) {
+        // a decision evaluated while the policy changed is not kept
+        if (generation != JaccService.getPolicyGeneration()) {
+            return;
+        }
+        checkPolicyGeneration();
+        final Boolean value = Boolean.valueOf(decision);
+        decisions.put(key, value);
+        // the policy may have changed, and the cache been cleared, while the decision was put
+        if (generation != JaccService.getPolicyGeneration()) {
+            decisions.remove(key, value);
+        }
+    }
+
+    /**
+     * Discards the cached decisions if the policy changed since they were taken.
+     */
+    private void checkPolicyGeneration() {
+        if (JaccService.getPolicyGeneration() != policyGeneration) {
+            synchronized (this) {
+                final int generation = JaccService.getPolicyGeneration();
+                if (generation != policyGeneration) {
+                    policyGeneration = generation;
+                    decisions.clear();
+                }
+            }
+        }
+    }
+
+    private static final class Key {
+        private final boolean userData;
+        private final String contextId;
+        private final String requestPath;
+        private final String method;
+        private final Set<String> roles;
+        private final int hashCode;
+
+        Key(boolean userData, String contextId, String requestPath, String method, Collection<String> roles) {
+            this.userData = userData;
+            this.contextId = contextId;
+            this.requestPath = requestPath;
+            this.method = method;
+            this.roles = roles == null ? Collections.<String>emptySet() : new HashSet<String>(roles);
+            int result = userData ? 1 : 0;
+            result = 31 * result + (contextId == null ? 0 : contextId.hashCode());
+            result = 31 * result + (requestPath == null ? 0 : requestPath.hashCode());
+            result = 31 * result + (method == null ? 0 : method.hashCode());
+            result = 31 * result + this.roles.hashCode();
+            this.hashCode = result;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+            Key other = (Key) obj;
+            return hashCode == other.hashCode && userData == other.userData && equal(contextId, other.contextId)
+                    && equal(requestPath, other.requestPath) && equal(method, other.method) && roles.equals(other.roles);
+        }
+
+        private static boolean equal(Object a, Object b) {
+            return a == null ? b == null : a.equals(b);
+        }
+    }
+}
@@ -49,6 +49,10 @@ import org.apache.catalina.connector.Response;
 import org.apache.catalina.deploy.SecurityConstraint;
 import org.apache.catalina.realm.GenericPrincipal;
 import org.apache.catalina.realm.RealmBase;
+import org.jboss.as.security.plugins.AuthenticationCacheStatistics;
+import org.jboss.as.security.plugins.FailedAuthenticationCache;
+import org.jboss.as.security.plugins.SecurityDomainContext;
+import org.jboss.as.security.service.JaccService;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.web.WebLogger;
 import org.jboss.as.web.deployment.WarMetaData;
@@ -140,6 +144,22 @@ public class JBossWebRealm extends RealmBase {
      */
     protected boolean disableAudit = false;
 
+    /**
+     * Statistics of the security domain's authentication cache, updated with the time taken by password logins
+     */
+    protected AuthenticationCacheStatistics authenticationCacheStatistics;
+
+    /**
+     * Recently failed password authentications, rejected without calling the {@code AuthenticationManager}
+     */
+    protected FailedAuthenticationCache failedAuthenticationCache;
+
+    /**
+     * Decisions of the JBoss authorization framework, per request path, method and caller roles
+     */
+    protected AuthorizationDecisionCache authorizationDecisionCache = new AuthorizationDecisionCache(
+            SecurityDomainContext.DEFAULT_AUTHORIZATION_CACHE_MAX_ENTRIES);
+
     /**
      * Set the {@code AuthenticationManager}
      *
@@ -176,6 +196,42 @@ public class JBossWebRealm extends RealmBase {
         this.mappingManager = mappingManager;
     }
 
+    /**
+     * Set the {@code AuthorizationDecisionCache}
+     *
+     * @param authorizationDecisionCache
+     */
+    public void setAuthorizationDecisionCache(AuthorizationDecisionCache authorizationDecisionCache) {
+        this.authorizationDecisionCache = authorizationDecisionCache;
+    }
+
+    /**
+     * Returns the cache of decisions taken by the JBoss authorization framework
+     *
+     * @return the cache
+     */
+    public AuthorizationDecisionCache getAuthorizationDecisionCache() {
+        return authorizationDecisionCache;
+    }
+
+    /**
+     * Set the {@code AuthenticationCacheStatistics}
+     *
+     * @param authenticationCacheStatistics
+     */
+    public void setAuthenticationCacheStatistics(AuthenticationCacheStatistics authenticationCacheStatistics) {
+        this.authenticationCacheStatistics = authenticationCacheStatistics;
+    }
+
+    /**
+     * Set the {@code FailedAuthenticationCache}, or {@code null} to disable it
+     *
+     * @param failedAuthenticationCache
+     */
+    public void setFailedAuthenticationCache(FailedAuthenticationCache failedAuthenticationCache) {
+        this.failedAuthenticationCache = failedAuthenticationCache;
+    }
+
     /**
      * Set the {@code DeploymentUnit}
      *
@@ -211,7 +267,15 @@ public class JBossWebRealm extends RealmBase {
         Principal userPrincipal = getPrincipal(username);
         Subject subject = new Subject();
         try {
-            boolean isValid = authenticationManager.isValid(userPrincipal, credentials, subject);
+            boolean isValid = false;
+            if (failedAuthenticationCache != null && failedAuthenticationCache.isFailed(userPrincipal, credentials)) {
+                if (authenticationCacheStatistics != null)
+                    authenticationCacheStatistics.failedAuthenticationHit();
+            } else {
+                isValid = isValid(userPrincipal, credentials, subject);
+                if (!isValid && failedAuthenticationCache != null)
+                    failedAuthenticationCache.failed(userPrincipal, credentials);
+            }
             if (isValid) {
                 WebLogger.WEB_SECURITY_LOGGER.tracef("User: " + userPrincipal + " is authenticated");
                 SecurityContext sc = SecurityActions.getSecurityContext();
@@ -271,6 +335,17 @@ public class JBossWebRealm extends RealmBase {
         return userPrincipal;
     }
 
+    private boolean isValid(Principal userPrincipal, String credentials, Subject subject) {
+        if (authenticationCacheStatistics == null)
+            return authenticationManager.isValid(userPrincipal, credentials, subject);
+        long start = authenticationCacheStatistics.startAuthentication();
+        try {
+            return authenticationManager.isValid(userPrincipal, credentials, subject);
+        } finally {
+            authenticationCacheStatistics.endAuthentication(start);
+        }
+    }
+
     @Override
     public Principal authenticate(X509Certificate[] certs) {
         if ((certs == null) || (certs.length < 1))
@@ -492,24 +567,37 @@ public class JBossWebRealm extends RealmBase {
 
         // if the RealmBase check has passed, then we can go to authz framework
         if (baseDecision && useJBossAuthorization) {
-            SecurityContext sc = SecurityActions.getSecurityContext();
-            Subject caller = sc.getUtil().getSubject();
-            if (caller == null)
-                caller = getSubjectFromRequestPrincipal(request.getPrincipal());
-            Map<String, Object> contextMap = new HashMap<String, Object>();
-            contextMap.put(ResourceKeys.RESOURCE_PERM_CHECK, Boolean.TRUE);
-            contextMap.put("securityConstraints", constraints);
+            String contextId = PolicyContext.getContextID();
+            String uri = requestURI(request);
+            List<String> roles = getPrincipalRoles(request);
+            Boolean cachedDecision = null;
+            if (authorizationDecisionCache.isEnabled())
+                cachedDecision = authorizationDecisionCache.getResourceDecision(contextId, uri, request.getMethod(), roles);
+            if (cachedDecision != null) {
+                authzDecision = cachedDecision.booleanValue();
+            } else {
+                // read before the decision is evaluated, so a decision taken while the policy changes is not cached
+                final int policyGeneration = JaccService.getPolicyGeneration();
+                SecurityContext sc = SecurityActions.getSecurityContext();
+                Subject caller = sc.getUtil().getSubject();
+                if (caller == null)
+                    caller = getSubjectFromRequestPrincipal(request.getPrincipal());
+                Map<String, Object> contextMap = new HashMap<String, Object>();
+                contextMap.put(ResourceKeys.RESOURCE_PERM_CHECK, Boolean.TRUE);
+                contextMap.put("securityConstraints", constraints);
+
+                AbstractWebAuthorizationHelper helper = null;
+                try {
+                    helper = SecurityHelperFactory.getWebAuthorizationHelper(sc);
+                } catch (Exception e) {
+                    WebLogger.WEB_SECURITY_LOGGER.noAuthorizationHelper(e);
+                    return false;
+                }
 
-            AbstractWebAuthorizationHelper helper = null;
-            try {
-                helper = SecurityHelperFactory.getWebAuthorizationHelper(sc);
-            } catch (Exception e) {
-                WebLogger.WEB_SECURITY_LOGGER.noAuthorizationHelper(e);
-                return false;
+                authzDecision = helper.checkResourcePermission(contextMap, request, response, caller, contextId, uri, roles);
+                if (authorizationDecisionCache.isEnabled())
+                    authorizationDecisionCache.putResourceDecision(policyGeneration, contextId, uri, request.getMethod(), roles, authzDecision);
             }
-
-            authzDecision = helper.checkResourcePermission(contextMap, request, response, caller, PolicyContext.getContextID(),
-                    requestURI(request), getPrincipalRoles(request));
         }
         boolean finalDecision = baseDecision && authzDecision;
         WebLogger.WEB_SECURITY_LOGGER.tracef("hasResourcePermission:RealmBase says:" + baseDecision + "::Authz framework says:" + authzDecision
@@ -602,6 +690,15 @@ public class JBossWebRealm extends RealmBase {
         boolean ok = super.hasUserDataPermission(request, response, constraints);
         // if the RealmBase check has passed, then we can go to authz framework
         if (ok && useJBossAuthorization) {
+            String contextId = PolicyContext.getContextID();
+            Boolean cachedDecision = null;
+            if (authorizationDecisionCache.isEnabled())
+                cachedDecision = authorizationDecisionCache.getUserDataDecision(contextId, requestURI(request),
+                        request.getMethod(), request.isSecure());
+            if (cachedDecision != null)
+                return cachedDecision.booleanValue();
+
+            final int policyGeneration = JaccService.getPolicyGeneration();
             Map<String, Object> map = new HashMap<String, Object>();
             map.put("securityConstraints", constraints);
             map.put(ResourceKeys.USERDATA_PERM_CHECK, Boolean.TRUE);
@@ -619,8 +716,12 @@ public class JBossWebRealm extends RealmBase {
             if (callerSubject == null)
                 callerSubject = new Subject();
 
-            ok = helper.hasUserDataPermission(map, request, response, PolicyContext.getContextID(), callerSubject,
+            ok = helper.hasUserDataPermission(map, request, response, contextId, callerSubject,
                     getPrincipalRoles(request));
+            // a refusal may have been answered on the response by the helper, so only grants are cached
+            if (ok && authorizationDecisionCache.isEnabled())
+                authorizationDecisionCache.putUserDataDecision(policyGeneration, contextId, requestURI(request),
+                        request.getMethod(), request.isSecure());
         }
 
         return ok;
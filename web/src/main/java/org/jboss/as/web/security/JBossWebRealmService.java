@@ -63,6 +63,9 @@ public class JBossWebRealmService implements Service<Realm> {
         jbossWebRealm.setAuthorizationManager(sdc.getAuthorizationManager());
         jbossWebRealm.setMappingManager(sdc.getMappingManager());
         jbossWebRealm.setAuditManager(sdc.getAuditManager());
+        jbossWebRealm.setAuthenticationCacheStatistics(sdc.getAuthenticationCacheStatistics());
+        jbossWebRealm.setFailedAuthenticationCache(sdc.getFailedAuthenticationCache());
+        jbossWebRealm.setAuthorizationDecisionCache(new AuthorizationDecisionCache(sdc.getAuthorizationCacheMaxEntries()));
         jbossWebRealm.setDeploymentUnit(deploymentUnit);
         this.realm = jbossWebRealm;
         try {
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.security.jacc.PolicyConfiguration;
+
+import org.jboss.as.security.service.JaccService;
+import org.junit.Test;
+
+public class AuthorizationDecisionCacheTestCase {
+
+    private static final String CONTEXT_ID = "test.war";
+
+    private final List<String> roles = Arrays.asList("admin", "user");
+
+    @Test
+    public void testDisabled() {
+        assertFalse(new AuthorizationDecisionCache(0).isEnabled());
+        assertTrue(new AuthorizationDecisionCache(1).isEnabled());
+    }
+
+    @Test
+    public void testResourceDecisions() {
+        AuthorizationDecisionCache cache = new AuthorizationDecisionCache(100);
+        assertNull(cache.getResourceDecision(CONTEXT_ID, "/secured", "GET", roles));
+        cache.putResourceDecision(JaccService.getPolicyGeneration(), CONTEXT_ID, "/secured", "GET", roles, true);
+        cache.putResourceDecision(JaccService.getPolicyGeneration(), CONTEXT_ID, "/secured", "POST", roles, false);
+
+        assertEquals(Boolean.TRUE, cache.getResourceDecision(CONTEXT_ID, "/secured", "GET", roles));
+        // the order of the roles does not matter
+        assertEquals(Boolean.TRUE, cache.getResourceDecision(CONTEXT_ID, "/secured", "GET", Arrays.asList("user", "admin")));
+        assertEquals(Boolean.FALSE, cache.getResourceDecision(CONTEXT_ID, "/secured", "POST", roles));
+        assertNull(cache.getResourceDecision(CONTEXT_ID, "/secured", "GET", Collections.singletonList("user")));
+        assertNull(cache.getResourceDecision("other.war", "/secured", "GET", roles));
+        assertNull(cache.getResourceDecision(CONTEXT_ID, "/other", "GET", roles));
+
+        assertEquals(3L, cache.getHits());
+        assertEquals(4L, cache.getMisses());
+    }
+
+    @Test
+    public void testUserDataDecisions() {
+        AuthorizationDecisionCache cache = new AuthorizationDecisionCache(100);
+        cache.putUserDataDecision(JaccService.getPolicyGeneration(), CONTEXT_ID, "/confidential", "GET", true);
+        assertEquals(Boolean.TRUE, cache.getUserDataDecision(CONTEXT_ID, "/confidential", "GET", true));
+        assertNull(cache.getUserDataDecision(CONTEXT_ID, "/confidential", "GET", false));
+        // user data decisions are kept apart from resource decisions
+        assertNull(cache.getResourceDecision(CONTEXT_ID, "/confidential", "GET", Collections.<String>emptyList()));
+    }
+
+    @Test
+    public void testBounded() {
+        final int maxEntries = 16;
+        AuthorizationDecisionCache cache = new AuthorizationDecisionCache(maxEntries);
+        for (int i = 0; i < 10 * maxEntries; i++) {
+            cache.putResourceDecision(JaccService.getPolicyGeneration(), CONTEXT_ID, "/" + i, "GET", roles, true);
+            assertTrue(cache.size() <= maxEntries);
+        }
+        // the most recent decision is never the one evicted
+        assertEquals(Boolean.TRUE, cache.getResourceDecision(CONTEXT_ID, "/" + (10 * maxEntries - 1), "GET", roles));
+    }
+
+    @Test
+    public void testPolicyChangeDiscardsDecisions() throws Exception {
+        AuthorizationDecisionCache cache = new AuthorizationDecisionCache(100);
+        cache.putResourceDecision(JaccService.getPolicyGeneration(), CONTEXT_ID, "/secured", "GET", roles, false);
+        assertEquals(Boolean.FALSE, cache.getResourceDecision(CONTEXT_ID, "/secured", "GET", roles));
+
+        TestJaccService jaccService = new TestJaccService();
+        jaccService.start(null);
+        assertNull(cache.getResourceDecision(CONTEXT_ID, "/secured", "GET", roles));
+        assertEquals(0, cache.size());
+
+        cache.putResourceDecision(JaccService.getPolicyGeneration(), CONTEXT_ID, "/secured", "GET", roles, true);
+        assertEquals(Boolean.TRUE, cache.getResourceDecision(CONTEXT_ID, "/secured", "GET", roles));
+
+        // a decision evaluated while the policy changed is not kept
+        final int policyGeneration = JaccService.getPolicyGeneration();
+        jaccService.stop(null);
+        cache.putResourceDecision(policyGeneration, CONTEXT_ID, "/other", "GET", roles, true);
+        cache.putUserDataDecision(policyGeneration, CONTEXT_ID, "/other", "GET", true);
+        assertNull(cache.getResourceDecision(CONTEXT_ID, "/other", "GET", roles));
+        assertNull(cache.getUserDataDecision(CONTEXT_ID, "/other", "GET", true));
+        assertEquals(0, cache.size());
+    }
+
+    private static final class TestJaccService extends JaccService<Object> {
+
+        TestJaccService() {
+            super(CONTEXT_ID, null, Boolean.TRUE);
+        }
+
+        @Override
+        public void createPermissions(Object metaData, PolicyConfiguration policyConfiguration) {
+        }
+    }
+}
@@ -30,6 +30,7 @@ import java.util.Set;
 import javax.enterprise.inject.spi.BeanManager;
 
 import org.jboss.as.weld.deployment.WeldDeployment;
+import org.jboss.as.weld.injection.WeldInjectionStatistics;
 import org.jboss.as.weld.services.ModuleGroupSingletonProvider;
 import org.jboss.weld.bootstrap.WeldBootstrap;
 import org.jboss.weld.bootstrap.api.Environment;
@@ -49,6 +50,7 @@ public class WeldContainer {
     private final WeldDeployment deployment;
     private final Environment environment;
     private final Map<String, BeanDeploymentArchive> beanDeploymentArchives;
+    private final WeldInjectionStatistics injectionStatistics = new WeldInjectionStatistics();
     private volatile boolean started;
 
     public WeldContainer(WeldDeployment deployment, Environment environment) {
@@ -172,4 +174,11 @@ public class WeldContainer {
         return started;
     }
 
+    /**
+     * Gets the statistics about the creation and injection of the EE components of the deployment
+     */
+    public WeldInjectionStatistics getInjectionStatistics() {
+        return injectionStatistics;
+    }
+
 }
@@ -79,6 +79,11 @@ public class WeldExtension implements Extension {
         registration.registerOperationHandler(DESCRIBE, WeldSubsystemDescribeHandler.INSTANCE, WeldSubsystemDescribeHandler.INSTANCE, false, OperationEntry.EntryType.PRIVATE);
         registration.registerOperationHandler(REMOVE, ReloadRequiredRemoveStepHandler.INSTANCE, SUBSYSTEM_REMOVE_DESCRIPTION, false);
         subsystem.registerXMLElementWriter(parser);
+
+        if (context.isRuntimeOnlyRegistrationValid()) {
+            final ManagementResourceRegistration deployments = subsystem.registerDeploymentModel(DEPLOYMENT_DESCRIPTION);
+            WeldInjectionMetricsHandler.registerMetrics(deployments);
+        }
     }
 
     /** {@inheritDoc} */
@@ -123,6 +128,13 @@ public class WeldExtension implements Extension {
         }
     };
 
+    static final DescriptionProvider DEPLOYMENT_DESCRIPTION = new DescriptionProvider() {
+        @Override
+        public ModelNode getModelDescription(Locale locale) {
+            return WeldSubsystemProviders.getDeploymentDescription(locale);
+        }
+    };
+
     static final DescriptionProvider SUBSYSTEM_ADD_DESCRIPTION = new DescriptionProvider() {
         @Override
         public ModelNode getModelDescription(Locale locale) {
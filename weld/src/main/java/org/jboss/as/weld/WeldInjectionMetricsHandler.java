@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.weld;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.server.deployment.Services;
+import org.jboss.as.weld.injection.WeldInjectionStatistics;
+import org.jboss.as.weld.services.WeldService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the metrics of a CDI deployment about the creation and injection of its EE components, from the
+ * {@link WeldContainer} of the deployment.
+ */
+class WeldInjectionMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    static final WeldInjectionMetricsHandler INSTANCE = new WeldInjectionMetricsHandler();
+
+    static final SimpleAttributeDefinition COMPONENT_INSTANCES =
+            new SimpleAttributeDefinitionBuilder("component-instances", ModelType.LONG, false).setStorageRuntime().build();
+
+    static final SimpleAttributeDefinition AVERAGE_INSTANTIATION_TIME =
+            new SimpleAttributeDefinitionBuilder("average-instantiation-time", ModelType.LONG, false)
+                    .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+                    .setStorageRuntime()
+                    .build();
+
+    static final SimpleAttributeDefinition AVERAGE_INJECTION_TIME =
+            new SimpleAttributeDefinitionBuilder("average-injection-time", ModelType.LONG, false)
+                    .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+                    .setStorageRuntime()
+                    .build();
+
+    static final SimpleAttributeDefinition[] METRICS = { COMPONENT_INSTANCES, AVERAGE_INSTANTIATION_TIME, AVERAGE_INJECTION_TIME };
+
+    private WeldInjectionMetricsHandler() {
+    }
+
+    static void registerMetrics(final ManagementResourceRegistration registration) {
+        for (SimpleAttributeDefinition metric : METRICS) {
+            registration.registerMetric(metric, INSTANCE);
+        }
+    }
+
+    @Override
+    protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final PathAddress address = PathAddress.pathAddress(operation.require(OP_ADDR));
+        final String deployment = address.getElement(0).getValue();
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(Services.deploymentUnitName(deployment).append(WeldService.SERVICE_NAME));
+        if (controller != null && controller.getState() == ServiceController.State.UP) {
+            final WeldContainer container = (WeldContainer) controller.getValue();
+            context.getResult().set(getMetric(container.getInjectionStatistics(), operation.require(NAME).asString()));
+        }
+        context.completeStep();
+    }
+
+    static long getMetric(final WeldInjectionStatistics statistics, final String metric) {
+        if (COMPONENT_INSTANCES.getName().equals(metric)) {
+            return statistics.getInstanceCount();
+        } else if (AVERAGE_INSTANTIATION_TIME.getName().equals(metric)) {
+            return statistics.getAverageInstantiationTime();
+        } else if (AVERAGE_INJECTION_TIME.getName().equals(metric)) {
+            return statistics.getAverageInjectionTime();
+        }
+        throw new IllegalArgumentException(metric);
+    }
+}
@@ -23,9 +23,12 @@
 package org.jboss.as.weld;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILDREN;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HEAD_COMMENT_ALLOWED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAMESPACE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REMOVE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REPLY_PROPERTIES;
@@ -35,6 +38,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TAI
 import java.util.Locale;
 import java.util.ResourceBundle;
 
+import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.dmr.ModelNode;
 
 
@@ -56,6 +60,20 @@ class WeldSubsystemProviders {
         return subsystem;
     }
 
+    static ModelNode getDeploymentDescription(Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+        final ModelNode deployment = new ModelNode();
+        deployment.get(DESCRIPTION).set(bundle.getString("weld.deployment"));
+        deployment.get(ATTRIBUTES).setEmptyObject();
+        for (SimpleAttributeDefinition metric : WeldInjectionMetricsHandler.METRICS) {
+            metric.addResourceAttributeDescription(bundle, "weld.deployment", deployment);
+        }
+        deployment.get(OPERATIONS); // placeholder
+        deployment.get(CHILDREN).setEmptyObject();
+
+        return deployment;
+    }
+
     static ModelNode getSubsystemAddDescription(Locale locale) {
         final ResourceBundle bundle = getResourceBundle(locale);
         final ModelNode op = new ModelNode();
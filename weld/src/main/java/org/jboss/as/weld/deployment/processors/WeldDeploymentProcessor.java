@@ -53,6 +53,7 @@ import org.jboss.as.txn.service.TransactionManagerService;
 import org.jboss.as.txn.service.UserTransactionService;
 import org.jboss.as.weld.WeldContainer;
 import org.jboss.as.weld.WeldDeploymentMarker;
+import org.jboss.as.weld.WeldExtension;
 import org.jboss.as.weld.WeldLogger;
 import org.jboss.as.weld.deployment.BeanDeploymentArchiveImpl;
 import org.jboss.as.weld.deployment.BeanDeploymentModule;
@@ -111,6 +112,9 @@ public class WeldDeploymentProcessor implements DeploymentUnitProcessor {
 
         WeldLogger.DEPLOYMENT_LOGGER.startingServicesForCDIDeployment(phaseContext.getDeploymentUnit().getName());
 
+        // exposes the metrics of the weld container
+        deploymentUnit.getDeploymentSubsystemModel(WeldExtension.SUBSYSTEM_NAME);
+
         final Module module = deploymentUnit.getAttachment(Attachments.MODULE);
         final ModuleSpecification moduleSpecification = deploymentUnit.getAttachment(Attachments.MODULE_SPECIFICATION);
 
@@ -40,16 +40,14 @@ import org.jboss.weld.manager.BeanManagerImpl;
 public class InjectableConstructor {
 
     private final Constructor constructor;
-    private final ParameterInjectionPoint[] parameterInjectionPoints;
-    private final Bean[] beans;
+    private final ResolvedInjectionPoint[] parameterInjectionPoints;
     private final BeanManagerImpl beanManager;
 
 
     public InjectableConstructor(AnnotatedConstructor<?> constructor, BeanManagerImpl beanManager, Bean bean) {
         this.constructor = constructor.getJavaMember();
         SecurityActions.setAccessible(this.constructor);
-        this.parameterInjectionPoints = new ParameterInjectionPoint[constructor.getParameters().size()];
-        this.beans = new Bean[parameterInjectionPoints.length];
+        this.parameterInjectionPoints = new ResolvedInjectionPoint[constructor.getParameters().size()];
         this.beanManager = beanManager;
 
         for(AnnotatedParameter<?> parameter : constructor.getParameters()) {
@@ -62,15 +60,14 @@ public class InjectableConstructor {
             ParameterInjectionPoint injectionPoint = new ParameterInjectionPoint(parameter, qualifiers, bean);
             final Set<Bean<?>> ipBeans = beanManager.getBeans(injectionPoint);
             final Bean<?> ipBean = beanManager.resolve(ipBeans);
-            parameterInjectionPoints[parameter.getPosition()] = injectionPoint;
-            beans[parameter.getPosition()] = ipBean;
+            parameterInjectionPoints[parameter.getPosition()] = new ResolvedInjectionPoint(injectionPoint, ipBean, beanManager);
         }
     }
 
     public Object createInstance(CreationalContext<?> ctx) throws InvocationTargetException, IllegalAccessException, InstantiationException {
-        final Object[] params = new Object[beans.length];
-        for(int i = 0; i < beans.length; ++i) {
-            params[i] = beanManager.getReference(parameterInjectionPoints[i],beans[i],ctx);
+        final Object[] params = new Object[parameterInjectionPoints.length];
+        for(int i = 0; i < params.length; ++i) {
+            params[i] = parameterInjectionPoints[i].getReference(beanManager, ctx);
         }
         return constructor.newInstance(params);
     }
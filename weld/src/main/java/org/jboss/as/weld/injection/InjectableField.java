@@ -24,7 +24,6 @@ package org.jboss.as.weld.injection;
 import java.lang.reflect.Field;
 
 import javax.enterprise.context.spi.CreationalContext;
-import javax.enterprise.inject.spi.Bean;
 
 import org.jboss.as.weld.WeldMessages;
 import org.jboss.weld.manager.BeanManagerImpl;
@@ -34,11 +33,9 @@ import org.jboss.weld.manager.BeanManagerImpl;
  */
 final class InjectableField {
     private final Field field;
-    private final Bean<?> bean;
-    private final FieldInjectionPoint injectionPoint;
+    private final ResolvedInjectionPoint injectionPoint;
 
-    public InjectableField(final Field field, final Bean<?> bean, final FieldInjectionPoint injectionPoint) {
-        this.bean = bean;
+    public InjectableField(final Field field, final ResolvedInjectionPoint injectionPoint) {
         this.field = field;
         this.injectionPoint = injectionPoint;
         SecurityActions.setAccessible(field);
@@ -53,7 +50,7 @@ final class InjectableField {
      */
     public void inject(Object instance, BeanManagerImpl beanManager, CreationalContext<?> ctx) {
         try {
-            final Object value = beanManager.getReference(injectionPoint, bean, ctx);
+            final Object value = injectionPoint.getReference(beanManager, ctx);
             field.set(instance, value);
         } catch (IllegalAccessException e) {
             throw WeldMessages.MESSAGES.couldNotInjectField(field, instance.getClass(), e);
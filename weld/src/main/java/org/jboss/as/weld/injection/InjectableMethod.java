@@ -25,8 +25,6 @@ import java.lang.reflect.Method;
 import java.util.List;
 
 import javax.enterprise.context.spi.CreationalContext;
-import javax.enterprise.inject.spi.Bean;
-import javax.enterprise.inject.spi.InjectionPoint;
 
 import org.jboss.as.weld.WeldMessages;
 import org.jboss.weld.manager.BeanManagerImpl;
@@ -36,13 +34,11 @@ import org.jboss.weld.manager.BeanManagerImpl;
  */
 final class InjectableMethod {
     private final Method method;
-    private final List<Bean<?>> beans;
-    private final List<InjectionPoint> injectionPoints;
+    private final ResolvedInjectionPoint[] injectionPoints;
 
-    public InjectableMethod(final Method method, final List<Bean<?>> beans, final List<InjectionPoint> injectionPoints) {
-        this.beans = beans;
+    public InjectableMethod(final Method method, final List<ResolvedInjectionPoint> injectionPoints) {
         this.method = method;
-        this.injectionPoints = injectionPoints;
+        this.injectionPoints = injectionPoints.toArray(new ResolvedInjectionPoint[injectionPoints.size()]);
         SecurityActions.setAccessible(method);
     }
 
@@ -55,11 +51,9 @@ final class InjectableMethod {
      */
     public void inject(Object instance, BeanManagerImpl beanManager, CreationalContext<?> ctx) {
         try {
-            final Object[] params = new Object[beans.size()];
-            int i = 0;
-            for(Bean<?> bean : beans) {
-                final Object value = beanManager.getReference(injectionPoints.get(i),bean, ctx);
-                params[i++] = value;
+            final Object[] params = new Object[injectionPoints.length];
+            for (int i = 0; i < params.length; ++i) {
+                params[i] = injectionPoints[i].getReference(beanManager, ctx);
             }
             method.invoke(instance,params);
         } catch (Exception e) {
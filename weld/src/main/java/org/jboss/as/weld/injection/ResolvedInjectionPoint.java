@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.weld.injection;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.manager.BeanManagerImpl;
+
+/**
+ * An injection point of an EE component together with the bean it was resolved to when the component was started.
+ * <p/>
+ * If the bean has a normal scope, the injected reference is its client proxy, which does not depend on the instance
+ * being injected or on its creational context, so it is obtained once and then shared by all instances of the
+ * component. References to beans of a pseudo scope, such as {@link javax.enterprise.context.Dependent}, are obtained
+ * from the bean manager for every instance.
+ */
+final class ResolvedInjectionPoint {
+
+    private final InjectionPoint injectionPoint;
+    private final Bean<?> bean;
+    private final boolean normalScoped;
+    private volatile Object clientProxy;
+
+    ResolvedInjectionPoint(final InjectionPoint injectionPoint, final Bean<?> bean, final BeanManagerImpl beanManager) {
+        this.injectionPoint = injectionPoint;
+        this.bean = bean;
+        // an unresolved bean is left for weld to report when the reference is requested
+        this.normalScoped = bean != null && beanManager.isNormalScope(bean.getScope());
+    }
+
+    /**
+     * Gets the reference to inject
+     *
+     * @param beanManager The current BeanManager
+     * @param ctx         The creational context of the instance being injected
+     * @return the reference
+     */
+    Object getReference(final BeanManagerImpl beanManager, final CreationalContext<?> ctx) {
+        if (!normalScoped) {
+            return beanManager.getReference(injectionPoint, bean, ctx);
+        }
+        Object reference = clientProxy;
+        if (reference == null) {
+            // racing threads get the same proxy from weld, so there is no need to lock
+            clientProxy = reference = beanManager.getReference(injectionPoint, bean, ctx);
+        }
+        return reference;
+    }
+}
@@ -160,15 +160,14 @@ class WeldEEInjection {
                     if (ipBean == null) {
                         throw WeldMessages.MESSAGES.couldNotResolveInjectionPoint(field.getJavaMember().toGenericString(), qualifiers);
                     }
-                    injectableFields.add(new InjectableField(field.getJavaMember(), ipBean, ip));
+                    injectableFields.add(new InjectableField(field.getJavaMember(), new ResolvedInjectionPoint(ip, ipBean, beanManager)));
                 }
             }
 
             //now look for @Inject methods
             for (AnnotatedMethod<?> method : type.getMethods()) {
                 if (method.isAnnotationPresent(Inject.class)) {
-                    final List<Bean<?>> parameterBeans = new ArrayList<Bean<?>>();
-                    final List<InjectionPoint> ips = new ArrayList<InjectionPoint>();
+                    final List<ResolvedInjectionPoint> ips = new ArrayList<ResolvedInjectionPoint>();
                     for (AnnotatedParameter<?> param : method.getParameters()) {
                         final Set<Annotation> qualifiers = new HashSet<Annotation>();
                         for (Annotation annotation : param.getAnnotations()) {
@@ -187,10 +186,9 @@ class WeldEEInjection {
                         if (ipBean == null) {
                             throw WeldMessages.MESSAGES.couldNotResolveInjectionPoint(param.toString(), qualifiers);
                         }
-                        parameterBeans.add(ipBean);
-                        ips.add(ip);
+                        ips.add(new ResolvedInjectionPoint(ip, ipBean, beanManager));
                     }
-                    injectableMethods.add(new InjectableMethod(method.getJavaMember(), parameterBeans, ips));
+                    injectableMethods.add(new InjectableMethod(method.getJavaMember(), ips));
                 }
             }
         }
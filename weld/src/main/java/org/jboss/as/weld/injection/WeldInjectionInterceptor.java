@@ -57,6 +57,7 @@ public class WeldInjectionInterceptor implements Interceptor {
         final ManagedReference managedReference = targetReference.get();
         if (managedReference instanceof WeldManagedReference) {
             final WeldManagedReference reference = (WeldManagedReference) managedReference;
+            final long start = System.nanoTime();
             reference.getInjectionTarget().inject(targetReference.get().getInstance(), reference.getContext());
             //now inject the interceptors
             for (final Map.Entry<Class<?>, AtomicReference<ManagedReference>> entry : interceptors.entrySet()) {
@@ -65,6 +66,7 @@ public class WeldInjectionInterceptor implements Interceptor {
                     reference.injectInterceptor(entry.getKey(), instance.getInstance());
                 }
             }
+            reference.getInjectionStatistics().injected(System.nanoTime() - start);
         } else if(managedReferenceFactory != null){
             //this component was not created by the managed reference factory, this can happen in the case of JSF managed beans
             final ManagedReference newReference = managedReferenceFactory.injectExistingReference(managedReference);
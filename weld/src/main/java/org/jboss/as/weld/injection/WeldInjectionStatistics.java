@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.weld.injection;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Times the creation and CDI injection of the EE component instances of a deployment that are created through a
+ * {@link WeldManagedReferenceFactory}. There is one per {@link org.jboss.as.weld.WeldContainer}, so the statistics start
+ * again when the deployment is redeployed.
+ */
+public final class WeldInjectionStatistics {
+
+    private final AtomicLong instances = new AtomicLong();
+    private final AtomicLong instantiationTime = new AtomicLong();
+    private final AtomicLong injections = new AtomicLong();
+    private final AtomicLong injectionTime = new AtomicLong();
+
+    void instantiated(final long nanos) {
+        instances.incrementAndGet();
+        instantiationTime.addAndGet(nanos);
+    }
+
+    void injected(final long nanos) {
+        injections.incrementAndGet();
+        injectionTime.addAndGet(nanos);
+    }
+
+    /**
+     * @return the number of component instances created
+     */
+    public long getInstanceCount() {
+        return instances.get();
+    }
+
+    /**
+     * @return the average time taken to create a component instance, including constructor injection, in microseconds
+     */
+    public long getAverageInstantiationTime() {
+        return average(instantiationTime.get(), instances.get());
+    }
+
+    /**
+     * @return the average time taken by the field and initializer method injection of a component instance and its
+     *         interceptors, in microseconds
+     */
+    public long getAverageInjectionTime() {
+        return average(injectionTime.get(), injections.get());
+    }
+
+    private static long average(final long nanos, final long count) {
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(nanos / count);
+    }
+}
@@ -49,12 +49,14 @@ class WeldManagedReference implements ManagedReference, Serializable {
     //and should not be needed after injection is complete
     private final transient WeldEEInjection injectionTarget;
     private final transient Map<Class<?>, WeldEEInjection> interceptorInjections;
+    private final transient WeldInjectionStatistics injectionStatistics;
 
-    public WeldManagedReference(CreationalContext<?> ctx, Object instance, final WeldEEInjection injectionTarget, final Map<Class<?>, WeldEEInjection> interceptorInjections) {
+    public WeldManagedReference(CreationalContext<?> ctx, Object instance, final WeldEEInjection injectionTarget, final Map<Class<?>, WeldEEInjection> interceptorInjections, final WeldInjectionStatistics injectionStatistics) {
         this.context = ctx;
         this.instance = instance;
         this.injectionTarget = injectionTarget;
         this.interceptorInjections = interceptorInjections;
+        this.injectionStatistics = injectionStatistics;
     }
 
     /**
@@ -90,4 +92,8 @@ class WeldManagedReference implements ManagedReference, Serializable {
     public WeldEEInjection getInjectionTarget() {
         return injectionTarget;
     }
+
+    public WeldInjectionStatistics getInjectionStatistics() {
+        return injectionStatistics;
+    }
 }
@@ -56,6 +56,7 @@ public class WeldManagedReferenceFactory implements ManagedReferenceFactory, Ser
     private WeldEEInjection injectionTarget;
     private Bean<?> bean;
     private BeanManagerImpl beanManager;
+    private WeldInjectionStatistics statistics;
 
     public WeldManagedReferenceFactory(Class<?> componentClass, String ejbName, final Set<Class<?>> interceptorClasses, final ClassLoader classLoader, final String beanDeploymentArchiveId) {
         this.componentClass = componentClass;
@@ -74,8 +75,10 @@ public class WeldManagedReferenceFactory implements ManagedReferenceFactory, Ser
         } else {
             ctx = beanManager.createCreationalContext(bean);
         }
+        final long start = System.nanoTime();
         final Object instance = injectionTarget.produce(ctx);
-        return new WeldManagedReference(ctx, instance, injectionTarget, interceptorInjections);
+        statistics.instantiated(System.nanoTime() - start);
+        return new WeldManagedReference(ctx, instance, injectionTarget, interceptorInjections, statistics);
     }
 
     public ManagedReference injectExistingReference(final ManagedReference existing) {
@@ -87,7 +90,9 @@ public class WeldManagedReferenceFactory implements ManagedReferenceFactory, Ser
         }
         final Object instance = existing.getInstance();
 
+        final long start = System.nanoTime();
         injectionTarget.inject(instance, ctx);
+        statistics.injected(System.nanoTime() - start);
 
         return new ManagedReference() {
             @Override
@@ -112,6 +117,7 @@ public class WeldManagedReferenceFactory implements ManagedReferenceFactory, Ser
         try {
             SecurityActions.setContextClassLoader(classLoader);
             beanManager = (BeanManagerImpl) weldContainer.getValue().getBeanManager(beanDeploymentArchiveId);
+            statistics = weldContainer.getValue().getInjectionStatistics();
 
             for (final Class<?> interceptor : interceptorClasses) {
                 interceptorInjections.put(interceptor, WeldEEInjection.createWeldEEInjection(interceptor, null, beanManager));
@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.weld;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+
+import java.util.Locale;
+
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.weld.injection.WeldInjectionStatistics;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the metrics of CDI deployments about the creation and injection of their EE components.
+ */
+public class WeldInjectionMetricsHandlerTestCase {
+
+    @Test
+    public void testMetricsOfNewDeployment() {
+        final WeldInjectionStatistics statistics = new WeldInjectionStatistics();
+        for (String metric : new String[] { "component-instances", "average-instantiation-time", "average-injection-time" }) {
+            Assert.assertEquals(metric, 0L, WeldInjectionMetricsHandler.getMetric(statistics, metric));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownMetric() {
+        WeldInjectionMetricsHandler.getMetric(new WeldInjectionStatistics(), "unknown");
+    }
+
+    @Test
+    public void testMetricsAreDescribedOnDeploymentsOnly() {
+        final ModelNode deployment = WeldSubsystemProviders.getDeploymentDescription(Locale.ENGLISH);
+        final ModelNode subsystem = WeldSubsystemProviders.getSubsystemDescription(Locale.ENGLISH);
+        for (SimpleAttributeDefinition metric : WeldInjectionMetricsHandler.METRICS) {
+            Assert.assertTrue(metric.getName(), deployment.get(ATTRIBUTES).hasDefined(metric.getName()));
+            Assert.assertFalse(metric.getName(), subsystem.get(ATTRIBUTES).hasDefined(metric.getName()));
+        }
+    }
+}
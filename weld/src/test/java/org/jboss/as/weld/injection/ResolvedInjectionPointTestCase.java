@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.weld.injection;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that the client proxies of normal scoped beans are shared by all the instances of a component, and that the
+ * references to other beans are obtained for every instance.
+ */
+public class ResolvedInjectionPointTestCase {
+
+    private final BeanManagerImpl beanManager = mock(BeanManagerImpl.class);
+    private final InjectionPoint injectionPoint = mock(InjectionPoint.class);
+    private final CreationalContext<?> firstContext = mock(CreationalContext.class);
+    private final CreationalContext<?> secondContext = mock(CreationalContext.class);
+
+    @Test
+    public void testNormalScopedReferenceIsShared() {
+        final Bean<?> bean = mock(Bean.class);
+        doReturn(RequestScoped.class).when(bean).getScope();
+        when(beanManager.isNormalScope(RequestScoped.class)).thenReturn(true);
+        final Object proxy = new Object();
+        when(beanManager.getReference(injectionPoint, bean, firstContext)).thenReturn(proxy);
+
+        final ResolvedInjectionPoint resolved = new ResolvedInjectionPoint(injectionPoint, bean, beanManager);
+
+        Assert.assertSame(proxy, resolved.getReference(beanManager, firstContext));
+        Assert.assertSame(proxy, resolved.getReference(beanManager, secondContext));
+        verify(beanManager, times(1)).getReference(injectionPoint, bean, firstContext);
+        verify(beanManager, times(0)).getReference(injectionPoint, bean, secondContext);
+    }
+
+    @Test
+    public void testDependentReferenceIsObtainedPerInstance() {
+        final Bean<?> bean = mock(Bean.class);
+        doReturn(Dependent.class).when(bean).getScope();
+        when(beanManager.isNormalScope(Dependent.class)).thenReturn(false);
+        final Object first = new Object();
+        final Object second = new Object();
+        when(beanManager.getReference(injectionPoint, bean, firstContext)).thenReturn(first);
+        when(beanManager.getReference(injectionPoint, bean, secondContext)).thenReturn(second);
+
+        final ResolvedInjectionPoint resolved = new ResolvedInjectionPoint(injectionPoint, bean, beanManager);
+
+        Assert.assertSame(first, resolved.getReference(beanManager, firstContext));
+        Assert.assertSame(second, resolved.getReference(beanManager, secondContext));
+        Assert.assertSame(first, resolved.getReference(beanManager, firstContext));
+        verify(beanManager, times(2)).getReference(injectionPoint, bean, firstContext);
+        verify(beanManager, times(1)).getReference(injectionPoint, bean, secondContext);
+    }
+
+    @Test
+    public void testUnresolvedBeanIsLeftToWeld() {
+        final Object reference = new Object();
+        when(beanManager.getReference(injectionPoint, null, firstContext)).thenReturn(reference);
+
+        final ResolvedInjectionPoint resolved = new ResolvedInjectionPoint(injectionPoint, null, beanManager);
+
+        Assert.assertSame(reference, resolved.getReference(beanManager, firstContext));
+        Assert.assertSame(reference, resolved.getReference(beanManager, firstContext));
+        verify(beanManager, times(2)).getReference(injectionPoint, null, firstContext);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.weld.injection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the statistics kept about the creation and injection of the EE components of a deployment.
+ */
+public class WeldInjectionStatisticsTestCase {
+
+    @Test
+    public void testNoInstances() {
+        final WeldInjectionStatistics statistics = new WeldInjectionStatistics();
+        Assert.assertEquals(0L, statistics.getInstanceCount());
+        Assert.assertEquals(0L, statistics.getAverageInstantiationTime());
+        Assert.assertEquals(0L, statistics.getAverageInjectionTime());
+    }
+
+    @Test
+    public void testAverages() {
+        final WeldInjectionStatistics statistics = new WeldInjectionStatistics();
+        statistics.instantiated(2000L);
+        statistics.instantiated(4000L);
+        statistics.injected(1500000L);
+
+        Assert.assertEquals(2L, statistics.getInstanceCount());
+        Assert.assertEquals(3L, statistics.getAverageInstantiationTime());
+        Assert.assertEquals(1500L, statistics.getAverageInjectionTime());
+    }
+
+    @Test
+    public void testInjectionOfExistingInstances() {
+        // JSF managed beans are injected without being created by the managed reference factory
+        final WeldInjectionStatistics statistics = new WeldInjectionStatistics();
+        statistics.injected(3000L);
+        statistics.injected(5000L);
+
+        Assert.assertEquals(0L, statistics.getInstanceCount());
+        Assert.assertEquals(4L, statistics.getAverageInjectionTime());
+    }
+
+    @Test
+    public void testStatisticsArePerDeployment() {
+        final WeldInjectionStatistics first = new WeldInjectionStatistics();
+        final WeldInjectionStatistics second = new WeldInjectionStatistics();
+        first.instantiated(1000L);
+        first.injected(1000L);
+
+        Assert.assertEquals(1L, first.getInstanceCount());
+        Assert.assertEquals(0L, second.getInstanceCount());
+        Assert.assertEquals(0L, second.getAverageInstantiationTime());
+        Assert.assertEquals(0L, second.getAverageInjectionTime());
+    }
+}